@@ -0,0 +1,99 @@
+package com.equals;
+
+/**
+ * Lexicographic comparisons of primitive arrays, consistent with {@code Arrays.equals()}: Two arrays compare as zero exactly
+ * when they're equal. Elements are compared like their wrapper classes' {@code compare()} methods, so floats and doubles are
+ * ordered like {@code Float.compare()} and {@code Double.compare()}. A proper prefix of an array comes before the array.
+ * <p>This is the Java 8 version, which compares one element at a time. The multi-release jar replaces it on Java 11 and later
+ * with a version that calls {@code Arrays.compare()}, which uses the JVM's vectorized mismatch search.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum ArrayCompare {
+  ;
+
+  static int compare(final int[] x, final int[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Integer.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final long[] x, final long[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Long.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final short[] x, final short[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Short.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final char[] x, final char[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Character.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final byte[] x, final byte[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Byte.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final double[] x, final double[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      final int result = Double.compare(x[i], y[i]); // consistent with Arrays.equals(), which uses doubleToLongBits()
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final float[] x, final float[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      final int result = Float.compare(x[i], y[i]); // consistent with Arrays.equals(), which uses floatToIntBits()
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  static int compare(final boolean[] x, final boolean[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      if (x[i] != y[i]) {
+        return Boolean.compare(x[i], y[i]);
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+}
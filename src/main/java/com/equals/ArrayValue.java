@@ -0,0 +1,97 @@
+package com.equals;
+
+/**
+ * An immutable array of primitive values, which computes its hash code once, when it's created. Arrays have no place to keep their
+ * hash codes, so an array field gets rehashed, element by element, every time its owner is hashed. An ArrayValue field costs no
+ * more to hash than an int field.
+ * <p>
+ * Equal values have equal hash codes, so the equality test compares the hash codes first, and rejects almost every unequal pair
+ * without reading a single element. DogTag recognizes fields declared as any ArrayValue type, and makes the identity and hash tests
+ * before it calls {@code equals()}.
+ * <p>
+ * Each subclass copies the array it's created from, and returns a copy from {@code toArray()}, so its contents can't change. Its
+ * hash code is the same as the one {@code Arrays.hashCode()} returns for its array, and two instances are equal when
+ * {@code Arrays.equals()} would return true for their arrays, and they are of the same class.
+ * <p>
+ * Values of the same class are ordered lexicographically, like arrays in a {@link DogTag.Factory#comparator()}, with elements
+ * compared like their wrapper classes' {@code compare()} methods. Values of different classes are ordered by class name. Two
+ * values compare as zero exactly when they're equal.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public abstract class ArrayValue implements Comparable<ArrayValue> {
+  private final int hash;
+
+  // Only the subclasses in this package may extend this.
+  ArrayValue(final int hash) {
+    this.hash = hash;
+  }
+
+  /**
+   * Returns the number of elements.
+   * @return the number of elements
+   */
+  public abstract int length();
+
+  /**
+   * Compare the elements to those of another instance of the same class.
+   * @param other The other instance, which is never null, and always of the same class as this one
+   * @return true if the elements are equal
+   */
+  abstract boolean elementsEqual(ArrayValue other);
+
+  /**
+   * Compare the elements to those of another instance of the same class, lexicographically.
+   * @param other The other instance, which is never null, and always of the same class as this one
+   * @return a negative number, zero, or a positive number, as this value comes before, equals, or comes after the other
+   */
+  abstract int compareElements(ArrayValue other);
+
+  @Override
+  public final int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public final boolean equals(final Object obj) {
+    return (obj instanceof ArrayValue) && valuesEqual(this, (ArrayValue) obj);
+  }
+
+  @Override
+  public final int compareTo(final ArrayValue other) {
+    final Class<? extends ArrayValue> type = getClass();
+    if (type != other.getClass()) {
+      return type.getName().compareTo(other.getClass().getName());
+    }
+    return compareElements(other);
+  }
+
+  /**
+   * Compare two values, either of which may be null. Identical values and nulls are settled first, then values with different hash
+   * codes are rejected. Only values that pass those tests have their elements compared.
+   * @param x one value, which may be null
+   * @param y the other value, which may be null
+   * @return true if they're equal
+   */
+  static boolean valuesEqual(final ArrayValue x, final ArrayValue y) {
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null)) {
+      return false;
+    }
+    return (x.hash == y.hash) && (x.getClass() == y.getClass()) && x.elementsEqual(y);
+  }
+
+  /**
+   * Returns the cached hash code of a value.
+   * @param value The value, which may be null
+   * @return the hash code, or 0 if the value is null
+   */
+  static int valueHash(final ArrayValue value) {
+    return (value == null) ? 0 : value.hash;
+  }
+}
@@ -0,0 +1,205 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests many candidates at once for equality with one set of values, one value at a time. The values are read once, from an
+ * instance or a {@link Probe}. Each value is then compared against every candidate that still matches, clearing the bits of the
+ * candidates that don't, so most candidates are rejected by the first value, without reading any of their others. Primitive values
+ * are compared first, since they're cheapest.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:30 AM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class BatchMatcher<T> {
+  // findEqual() tests this many candidates at a time, so it can stop at the first block with a match.
+  private static final int BLOCK_SIZE = 1024;
+
+  private final PlanEntry<T>[] plan;
+  private final long[] bits;
+  private final Object[] objects;
+
+  @SuppressWarnings("unchecked")
+  private BatchMatcher(final PlanEntry<T>[] entries, final long[] entryBits, final Object[] entryObjects) {
+    // Put the primitives first, keeping the factory's order otherwise.
+    final List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < entries.length; ++i) {
+      if (entries[i].getKind().isPrimitive()) {
+        order.add(i);
+      }
+    }
+    for (int i = 0; i < entries.length; ++i) {
+      if (!entries[i].getKind().isPrimitive()) {
+        order.add(i);
+      }
+    }
+    plan = new PlanEntry[entries.length];
+    bits = new long[entries.length];
+    objects = new Object[entries.length];
+    for (int i = 0; i < plan.length; ++i) {
+      final int index = order.get(i);
+      plan[i] = entries[index];
+      bits[i] = entryBits[index];
+      objects[i] = entryObjects[index];
+    }
+  }
+
+  /**
+   * Create a matcher for the values in a probe, which are the values of the plan, in the same order.
+   */
+  static <T> BatchMatcher<T> forValues(final PlanEntry<T>[] plan, final long[] bits, final Object[] objects) {
+    return new BatchMatcher<>(plan, bits, objects);
+  }
+
+  /**
+   * Create a matcher for the values of an instance.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> BatchMatcher<T> forInstance(final List<PlanEntry<T>> planList, final T instance) {
+    final PlanEntry<T>[] plan = planList.toArray(new PlanEntry[0]);
+    final long[] bits = new long[plan.length];
+    final Object[] objects = new Object[plan.length];
+    try {
+      for (int i = 0; i < plan.length; ++i) {
+        if (plan[i].getKind().isPrimitive()) {
+          bits[i] = plan[i].getBits(instance);
+        } else {
+          objects[i] = plan[i].getObject(instance);
+        }
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+    return new BatchMatcher<>(plan, bits, objects);
+  }
+
+  /**
+   * Returns the index of the first candidate that matches, or -1 if none do.
+   * @param candidates The candidates, which may include nulls
+   * @return The index of the first match, or -1
+   */
+  int findFirst(final T[] candidates) {
+    final long[] words = new long[wordCount(Math.min(BLOCK_SIZE, candidates.length))];
+    for (int start = 0; start < candidates.length; start += BLOCK_SIZE) {
+      final int end = Math.min(start + BLOCK_SIZE, candidates.length);
+      if (narrow(candidates, start, end, words)) {
+        for (int w = 0; w < words.length; ++w) {
+          if (words[w] != 0L) {
+            return start + (w * Long.SIZE) + Long.numberOfTrailingZeros(words[w]);
+          }
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a bitmap of the candidates that match, with bit {@code i % 64} of word {@code i / 64} set if candidate i matches.
+   * @param candidates The candidates, which may include nulls
+   * @return The bitmap
+   */
+  long[] matchAll(final T[] candidates) {
+    final long[] words = new long[wordCount(candidates.length)];
+    narrow(candidates, 0, candidates.length, words);
+    return words;
+  }
+
+  private static int wordCount(final int count) {
+    return (count + (Long.SIZE - 1)) / Long.SIZE;
+  }
+
+  /**
+   * Find the candidates from start to end that match. The bitmap starts with a bit set for each non-null candidate. Each value
+   * then clears the bits of the candidates it rejects.
+   * @return false if no candidates survived
+   */
+  private boolean narrow(final T[] candidates, final int start, final int end, final long[] words) {
+    final int count = end - start;
+    final int usedWords = wordCount(count);
+    for (int w = 0; w < usedWords; ++w) {
+      long word = 0L;
+      final int base = start + (w * Long.SIZE);
+      final int limit = Math.min(Long.SIZE, end - base);
+      for (int bit = 0; bit < limit; ++bit) {
+        if (candidates[base + bit] != null) {
+          word |= 1L << bit;
+        }
+      }
+      words[w] = word;
+    }
+    for (int w = usedWords; w < words.length; ++w) {
+      words[w] = 0L;
+    }
+
+    try {
+      for (int i = 0; i < plan.length; ++i) {
+        final PlanEntry<T> entry = plan[i];
+        final boolean survivors = entry.getKind().isPrimitive() ?
+            narrowByBits(entry, bits[i], candidates, start, words, usedWords) :
+            narrowByObject(entry, objects[i], candidates, start, words, usedWords);
+        if (!survivors) {
+          return false;
+        }
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+    return true;
+  }
+
+  private static <T> boolean narrowByBits(
+      final PlanEntry<T> entry,
+      final long value,
+      final T[] candidates,
+      final int start,
+      final long[] words,
+      final int usedWords
+  ) throws IllegalAccessException {
+    long any = 0L;
+    for (int w = 0; w < usedWords; ++w) {
+      final int base = start + (w * Long.SIZE);
+      long remaining = words[w];
+      long survivors = remaining;
+      while (remaining != 0L) {
+        final long lowest = remaining & -remaining;
+        remaining ^= lowest;
+        if (entry.getBits(candidates[base + Long.numberOfTrailingZeros(lowest)]) != value) {
+          survivors ^= lowest;
+        }
+      }
+      words[w] = survivors;
+      any |= survivors;
+    }
+    return any != 0L;
+  }
+
+  private static <T> boolean narrowByObject(
+      final PlanEntry<T> entry,
+      final Object value,
+      final T[] candidates,
+      final int start,
+      final long[] words,
+      final int usedWords
+  ) throws IllegalAccessException {
+    long any = 0L;
+    for (int w = 0; w < usedWords; ++w) {
+      final int base = start + (w * Long.SIZE);
+      long remaining = words[w];
+      long survivors = remaining;
+      while (remaining != 0L) {
+        final long lowest = remaining & -remaining;
+        remaining ^= lowest;
+        if (!entry.objectsEqual(value, entry.getObject(candidates[base + Long.numberOfTrailingZeros(lowest)]))) {
+          survivors ^= lowest;
+        }
+      }
+      words[w] = survivors;
+      any |= survivors;
+    }
+    return any != 0L;
+  }
+}
@@ -0,0 +1,183 @@
+package com.equals;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Derives the k cell indices of a Bloom filter from a factory's plan. Each value in the plan contributes 64 bits: the raw bits of
+ * a primitive value, or the 32-bit hash code of an object, which the factory's plan computes the same way as the factory. These are
+ * mixed into a 64-bit hash, so equal instances, as defined by the factory, always get the same cells. Enums, and arrays of enums,
+ * are hashed by name instead, as in {@link StableHash}, so a filter saved to a file gives the same cells in another JVM.
+ * <p>
+ * With double hashing, one 64-bit hash h and a step s derived from it give the cells h + i*s, which is nearly as good as k
+ * independent hashes (Kirsch and Mitzenmacher, "Less Hashing, Same Performance"). With independent hashing, each of the k hashes
+ * is computed from the plan with its own seed, which costs k passes over the values.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:10 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class BloomHashing<T> {
+  private static final long GOLDEN_RATIO_64 = 0x9E3779B97F4A7C15L;
+  private static final double LN_2 = Math.log(2.0);
+  private static final long MAGIC = 0x446F675461674246L; // "DogTagBF"
+
+  private final PlanEntry<T>[] plan;
+  private final ToIntFunction<Object>[] objectHashes; // null for primitives
+  private final DogTagBloomFilter.Strategy strategy;
+  private final int hashCount;
+  private final long cellCount;
+
+  @SuppressWarnings("unchecked")
+  BloomHashing(final DogTag.Factory<T> factory, final DogTagBloomFilter.Strategy strategy, final int hashCount,
+               final long cellCount) {
+    final List<PlanEntry<T>> entries = factory.getPlan();
+    plan = entries.toArray(new PlanEntry[0]);
+    objectHashes = new ToIntFunction[plan.length];
+    for (int i = 0; i < plan.length; ++i) {
+      objectHashes[i] = plan[i].getKind().isPrimitive() ? null : objectHashFor(plan[i]);
+    }
+    this.strategy = strategy;
+    this.hashCount = hashCount;
+    this.cellCount = cellCount;
+  }
+
+  /**
+   * Returns the hash function for the values of an Object entry. Enums and arrays of enums would use their identity hash codes,
+   * which change from one JVM to the next, so they get the stable hash. Equality is unaffected, so equal values still get equal
+   * hashes.
+   */
+  private static ToIntFunction<Object> objectHashFor(final PlanEntry<?> entry) {
+    final Class<?> valueType = entry.getValueType();
+    if (StableHash.needsStableHash(valueType)) {
+      return valueType.isArray() ? (v) -> StableHash.hashArray((Object[]) v) : (v) -> StableHash.hashEnum((Enum<?>) v);
+    }
+    return entry::hashObject;
+  }
+
+  /**
+   * Make sure every value has a hash that's the same in every JVM, so a filter saved to a file may be reopened anywhere.
+   * @throws IllegalArgumentException if any value's type has no stable hash
+   */
+  void requireStableHash() {
+    for (int i = 0; i < plan.length; ++i) {
+      final PlanEntry<T> entry = plan[i];
+      if (!entry.getKind().isPrimitive() && !StableHash.isStable(entry.getValueType())) {
+        final String name = (entry.getName() == null) ? String.format("#%d", i) : entry.getName();
+        throw new IllegalArgumentException(String.format(
+            "E38: Value %s of %s has no stable hash, so it can't be saved in a mapped filter", name, entry.getValueType()));
+      }
+    }
+  }
+
+  /**
+   * Returns the header of a mapped filter, which records its parameters, and the names and types of the values it hashes. A file
+   * may only be reopened by a filter with the same header.
+   * @param cellBits The number of bits in each cell
+   * @return The header
+   */
+  long[] header(final int cellBits) {
+    long values = 0L;
+    for (final PlanEntry<T> entry : plan) {
+      final String name = entry.getName();
+      values = (values ^ mix(entry.getValueType().getName().hashCode())) * GOLDEN_RATIO_64;
+      values = (values ^ mix((name == null) ? 0L : name.hashCode())) * GOLDEN_RATIO_64;
+    }
+    return new long[] {MAGIC, cellBits, cellCount, hashCount, strategy.ordinal(), mix(values)};
+  }
+
+  int getHashCount() {
+    return hashCount;
+  }
+
+  long getCellCount() {
+    return cellCount;
+  }
+
+  /**
+   * Returns the optimal number of cells for the expected number of insertions and false-positive rate.
+   */
+  static long optimalCellCount(final long expectedInsertions, final double falsePositiveRate) {
+    if ((expectedInsertions <= 0L) || !(falsePositiveRate > 0.0) || !(falsePositiveRate < 1.0)) {
+      throw new IllegalArgumentException(String.format(
+          "E26: Expected insertions must be positive, and the false-positive rate between 0 and 1: %d, %s", expectedInsertions,
+          falsePositiveRate));
+    }
+    return Math.max(Long.SIZE, (long) Math.ceil((-expectedInsertions * Math.log(falsePositiveRate)) / (LN_2 * LN_2)));
+  }
+
+  /**
+   * Returns the optimal number of hash functions for the number of cells and expected number of insertions.
+   */
+  static int optimalHashCount(final long expectedInsertions, final long cellCount) {
+    return Math.max(1, (int) Math.round(((double) cellCount / expectedInsertions) * LN_2));
+  }
+
+  /**
+   * The finalizer of MurmurHash3, which makes every bit of the result depend on every bit of the input.
+   */
+  static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Compute a 64-bit hash of the values of the instance.
+   * @param t The instance
+   * @param seed The seed, which selects one of a family of hash functions
+   * @return The hash
+   */
+  long hash64(final T t, final long seed) {
+    long h = seed * GOLDEN_RATIO_64;
+
+    // As in the factories, putting the try/catch outside the loop is faster.
+    try {
+      for (int i = 0; i < plan.length; ++i) {
+        final PlanEntry<T> entry = plan[i];
+        final long value = entry.getKind().isPrimitive() ? entry.getBits(t) : objectHashes[i].applyAsInt(entry.getObject(t));
+        h = (h ^ mix(value)) * GOLDEN_RATIO_64;
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+    return mix(h);
+  }
+
+  /**
+   * Returns the base hash of the instance, which is used to compute all the cells under double hashing.
+   */
+  long baseHash(final T t) {
+    return hash64(t, 0L);
+  }
+
+  /**
+   * Returns the step between cells under double hashing. It's odd, so it's never zero.
+   */
+  static long step(final long base) {
+    return mix(base ^ GOLDEN_RATIO_64) | 1L;
+  }
+
+  /**
+   * Returns cell i of the instance.
+   * @param t The instance
+   * @param base The base hash of the instance, from {@link #baseHash(Object)}
+   * @param step The step, from {@link #step(long)}
+   * @param i The index of the hash function, from 0 to k-1
+   * @return The index of the cell
+   */
+  long cell(final T t, final long base, final long step, final int i) {
+    final long h;
+    if ((i == 0) || (strategy == DogTagBloomFilter.Strategy.DOUBLE_HASHING)) {
+      h = base + (i * step);
+    } else {
+      h = hash64(t, i);
+    }
+    return (h & Long.MAX_VALUE) % cellCount;
+  }
+}
@@ -0,0 +1,33 @@
+package com.equals;
+
+/**
+ * Defines classes generated at run time in this package, so they may use its package-private classes.
+ * <p>This is the Java 8 version, which can't do that without {@code sun.misc.Unsafe}, so it defines nothing, and callers fall back
+ * to code that needs no generated classes. The multi-release jar replaces it on Java 11 and later with a version that calls
+ * {@code MethodHandles.Lookup.defineClass()}.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:20 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum ClassDefiner {
+  ;
+
+  /**
+   * Returns true if this version can define classes.
+   * @return false, so callers don't generate classes that can't be defined
+   */
+  static boolean canDefine() {
+    return false;
+  }
+
+  /**
+   * Define a class in this package.
+   * @param classFile The bytes of the class file
+   * @return null, since this version can't define classes
+   */
+  static Class<?> define(final byte[] classFile) {
+    return null;
+  }
+}
@@ -0,0 +1,654 @@
+package com.equals;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A concurrent hash map that uses a DogTag.Factory, rather than the keys' own {@code equals()} and {@code hashCode()} methods, to
+ * compare and hash its keys. This is the thread-safe counterpart of {@link DogTagHashMap}.
+ * <p>
+ * The map is divided into segments, chosen by the high bits of each key's spread hash code. Each segment is an open-addressing
+ * table like the one in DogTagHashMap, with keys, values, and hash codes in parallel arrays, guarded by its own StampedLock.
+ * Writers take the segment's write lock. Readers first try an optimistic read, which takes no lock at all, and only fall back to
+ * the read lock if a writer got in the way. Since each key's hash code is stored, probes only call the factory's {@code equals}
+ * test for keys with the same hash.
+ * <p>
+ * Null keys and null values are not allowed. Iterators are weakly consistent: They never throw
+ * ConcurrentModificationException, and they reflect each segment as it was when the iterator reached it.
+ * <pre>
+ *  {@literal ConcurrentDogTagHashMap<Customer, Account>} accounts = new ConcurrentDogTagHashMap<>(Customer.factory);
+ *  Account account = accounts.computeIfAbsent(customer, Account::new);
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 3:20 PM
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ * @author Miguel Mu\u00f1oz
+ */
+public class ConcurrentDogTagHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+  private static final int MAXIMUM_SEGMENTS = 1 << 16;
+  private static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 30;
+
+  private final DogTag.Factory<K> factory;
+  private final Class<K> keyClass;
+  private final Segment<K, V>[] segments;
+  private final int segmentBits;
+
+  /**
+   * Create an empty map that uses the specified factory to compare and hash its keys.
+   * @param factory The DogTag.Factory for the keys
+   */
+  public ConcurrentDogTagHashMap(final DogTag.Factory<K> factory) {
+    this(factory, 0);
+  }
+
+  /**
+   * Create an empty map that uses the specified factory to compare and hash its keys, sized to hold the expected number of keys
+   * without resizing.
+   * @param factory The DogTag.Factory for the keys
+   * @param expectedSize The number of keys expected
+   */
+  public ConcurrentDogTagHashMap(final DogTag.Factory<K> factory, final int expectedSize) {
+    this(factory, expectedSize, Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  /**
+   * Create an empty map that uses the specified factory to compare and hash its keys, sized to hold the expected number of keys
+   * without resizing.
+   * @param factory The DogTag.Factory for the keys
+   * @param expectedSize The number of keys expected
+   * @param concurrencyLevel The expected number of concurrently updating threads. This is rounded up to a power of two to give
+   *                         the number of segments.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public ConcurrentDogTagHashMap(final DogTag.Factory<K> factory, final int expectedSize, final int concurrencyLevel) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException(String.format("E16: Negative size: %d", expectedSize));
+    }
+    if (concurrencyLevel <= 0) {
+      throw new IllegalArgumentException(String.format("E19: Concurrency level must be positive: %d", concurrencyLevel));
+    }
+    this.factory = factory;
+    keyClass = factory.getTargetClass();
+    final int segmentCount = Math.max(2, Integer.highestOneBit((Math.min(MAXIMUM_SEGMENTS, concurrencyLevel) * 2) - 1));
+    segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+    segments = new Segment[segmentCount];
+    final int perSegment = (int) Math.min(MAXIMUM_SEGMENT_CAPACITY / 2, ((long) expectedSize + segmentCount - 1) / segmentCount);
+    for (int i = 0; i < segmentCount; ++i) {
+      segments[i] = new Segment<>(factory, segmentBits, DogTagHashMap.capacityFor(perSegment));
+    }
+  }
+
+  /**
+   * Returns the factory used to compare and hash the keys.
+   * @return The factory
+   */
+  public DogTag.Factory<K> getFactory() {
+    return factory;
+  }
+
+  private Segment<K, V> segmentFor(final int hash) {
+    return segments[OpenAddressing.segment(hash, segmentBits)];
+  }
+
+  @SuppressWarnings("unchecked")
+  private K asKey(final Object key) {
+    return keyClass.isInstance(key) ? (K) key : null;
+  }
+
+  @Override
+  public int size() {
+    long total = 0L;
+    for (final Segment<K, V> segment : segments) {
+      total += segment.size;
+    }
+    return (int) Math.min(total, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (final Segment<K, V> segment : segments) {
+      if (segment.size != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public V get(final Object key) {
+    final K k = asKey(key);
+    if (k == null) {
+      return null;
+    }
+    final int hash = factory.doHashCodeInternal(k);
+    return segmentFor(hash).get(k, hash);
+  }
+
+  /**
+   * Returns the value mapped to a key equal to an instance with the values in the probe. This allocates nothing.
+   * @param probe The probe, which must come from this map's factory. Probes aren't thread-safe, so each thread needs its own.
+   * @return The value, or null if there is none
+   */
+  public V getByProbe(final Probe<K> probe) {
+    DogTagHashMap.checkProbe(factory, probe);
+    final int hash = probe.hash();
+    return segmentFor(hash).get(probe, hash);
+  }
+
+  /**
+   * Returns true if the map contains a key equal to an instance with the values in the probe. This allocates nothing.
+   * @param probe The probe, which must come from this map's factory. Probes aren't thread-safe, so each thread needs its own.
+   * @return true if the key is present
+   */
+  public boolean containsProbe(final Probe<K> probe) {
+    return getByProbe(probe) != null;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(final Object value) {
+    Objects.requireNonNull(value);
+    for (final Segment<K, V> segment : segments) {
+      if (segment.containsValue(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V put(final K key, final V value) {
+    Objects.requireNonNull(value);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).put(key, hash, value, false);
+  }
+
+  @Override
+  public V putIfAbsent(final K key, final V value) {
+    Objects.requireNonNull(value);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).put(key, hash, value, true);
+  }
+
+  /**
+   * If the key is not already present, compute its value with the mapping function and enter it into the map, unless it's null.
+   * The whole operation is atomic, so the mapping function is called at most once per key. Since the function is called while
+   * holding a segment's write lock, it should be short and simple, and must not update this map.
+   * @param key The key
+   * @param mappingFunction The function to compute a value
+   * @return The current (existing or computed) value associated with the key, or null if the computed value is null
+   */
+  @Override
+  public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    final Segment<K, V> segment = segmentFor(hash);
+    final V existing = segment.get(key, hash);
+    return (existing == null) ? segment.computeIfAbsent(key, hash, mappingFunction) : existing;
+  }
+
+  @Override
+  public V remove(final Object key) {
+    final K k = asKey(key);
+    if (k == null) {
+      return null;
+    }
+    final int hash = factory.doHashCodeInternal(k);
+    return segmentFor(hash).remove(k, hash, null);
+  }
+
+  @Override
+  public boolean remove(final Object key, final Object value) {
+    final K k = asKey(key);
+    if ((k == null) || (value == null)) {
+      return false;
+    }
+    final int hash = factory.doHashCodeInternal(k);
+    return segmentFor(hash).remove(k, hash, value) != null;
+  }
+
+  @Override
+  public boolean replace(final K key, final V oldValue, final V newValue) {
+    Objects.requireNonNull(oldValue);
+    Objects.requireNonNull(newValue);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).replace(key, hash, oldValue, newValue) != null;
+  }
+
+  @Override
+  public V replace(final K key, final V value) {
+    Objects.requireNonNull(value);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).replace(key, hash, null, value);
+  }
+
+  /**
+   * Replace each value with the result of the function, one segment at a time. Each segment is updated in place, without looking
+   * up its keys again. Since the function is called while holding a segment's write lock, it must not update this map.
+   * @param function The function to compute each new value. It may not return null.
+   */
+  @Override
+  public void replaceAll(final BiFunction<? super K, ? super V, ? extends V> function) {
+    Objects.requireNonNull(function);
+    for (final Segment<K, V> segment : segments) {
+      segment.replaceAll(function);
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (final Segment<K, V> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<Entry<K, V>>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        return new SnapshotIterator();
+      }
+
+      @Override
+      public int size() {
+        return ConcurrentDogTagHashMap.this.size();
+      }
+
+      @Override
+      public void clear() {
+        ConcurrentDogTagHashMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * Iterates through the segments, taking a snapshot of each one as it gets to it.
+   */
+  private final class SnapshotIterator implements Iterator<Entry<K, V>> {
+    private int segmentIndex = 0;
+    private Object[] snapshot = new Object[0]; // alternating keys and values
+    private int index = 0;
+    private Entry<K, V> last = null;
+
+    @Override
+    public boolean hasNext() {
+      while ((index >= snapshot.length) && (segmentIndex < segments.length)) {
+        snapshot = segments[segmentIndex++].snapshot();
+        index = 0;
+      }
+      return index < snapshot.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final K key = (K) snapshot[index++];
+      final V value = (V) snapshot[index++];
+      last = new WriteThroughEntry(key, value);
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      ConcurrentDogTagHashMap.this.remove(last.getKey());
+      last = null;
+    }
+  }
+
+  private final class WriteThroughEntry extends SimpleEntry<K, V> {
+    private static final long serialVersionUID = 0L;
+
+    WriteThroughEntry(final K key, final V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(final V value) {
+      Objects.requireNonNull(value);
+      final V previous = super.setValue(value);
+      put(getKey(), value);
+      return previous;
+    }
+  }
+
+  /**
+   * The immutable shape of a segment's table. A resize builds a new one, so a reader holding an old one never sees arrays of
+   * different lengths.
+   */
+  private static final class Table implements OpenAddressing.SlotMover {
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    private final int shift; // 32 - log2(capacity)
+
+    Table(final int capacity) {
+      keys = new Object[capacity];
+      values = new Object[capacity];
+      hashes = new int[capacity];
+      shift = OpenAddressing.shift(capacity);
+    }
+
+    @Override
+    public void move(final int from, final int to) {
+      values[to] = values[from];
+      hashes[to] = hashes[from];
+    }
+
+    @Override
+    public void clear(final int slot) {
+      values[slot] = null;
+    }
+  }
+
+  /**
+   * One segment of the map. All writes hold the write lock. Reads may run concurrently with a write, using an optimistic read that
+   * gets validated afterwards. An optimistic read may see the table in an inconsistent state, and may even throw an exception, but
+   * if the stamp doesn't validate, the result is discarded, and the read is repeated under the read lock.
+   * @param <K> The type of keys
+   * @param <V> The type of values
+   */
+  private static final class Segment<K, V> {
+    private final DogTag.Factory<K> factory;
+    private final int segmentBits;
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+    private volatile int size;
+
+    Segment(final DogTag.Factory<K> factory, final int segmentBits, final int capacity) {
+      this.factory = factory;
+      this.segmentBits = segmentBits;
+      table = new Table(capacity);
+    }
+
+    /**
+     * The high bits of the spread hash choose the segment, so the slot uses the bits below them.
+     */
+    private int idealSlot(final int hash, final int shift) {
+      return OpenAddressing.idealSlot(hash, segmentBits, shift);
+    }
+
+    @SuppressWarnings({"unchecked", "ObjectEquality"})
+    private int findSlot(final Table t, final K key, final int hash) {
+      final Object[] keys = t.keys;
+      final int[] hashes = t.hashes;
+      final int mask = keys.length - 1;
+      int slot = idealSlot(hash, t.shift);
+      Object candidate;
+      while ((candidate = keys[slot]) != null) {
+        if ((hashes[slot] == hash) && ((candidate == key) || factory.doEqualsTest((K) candidate, key))) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int findSlot(final Table t, final Probe<K> probe, final int hash) {
+      final Object[] keys = t.keys;
+      final int[] hashes = t.hashes;
+      final int mask = keys.length - 1;
+      int slot = idealSlot(hash, t.shift);
+      Object candidate;
+      while ((candidate = keys[slot]) != null) {
+        if ((hashes[slot] == hash) && probe.matches((K) candidate)) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /**
+     * Find the value of the key, which is either a key or a probe.
+     */
+    @SuppressWarnings("unchecked")
+    private V findValue(final Object keyOrProbe, final int hash) {
+      final Table t = table;
+      final int slot = (keyOrProbe instanceof Probe) ? findSlot(t, (Probe<K>) keyOrProbe, hash) : findSlot(t, (K) keyOrProbe, hash);
+      return (slot < 0) ? null : (V) t.values[slot];
+    }
+
+    /**
+     * Get the value of the key.
+     * @param keyOrProbe Either a key, or a Probe for a key
+     * @param hash The hash code of the key
+     * @return The value, or null if the key isn't present
+     */
+    V get(final Object keyOrProbe, final int hash) {
+      final long optimisticStamp = lock.tryOptimisticRead();
+      if (optimisticStamp != 0L) {
+        try {
+          final V value = findValue(keyOrProbe, hash);
+          if (lock.validate(optimisticStamp)) {
+            return value;
+          }
+        } catch (RuntimeException e) {
+          if (lock.validate(optimisticStamp)) {
+            throw e;
+          }
+        }
+      }
+      final long stamp = lock.readLock();
+      try {
+        return findValue(keyOrProbe, hash);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    boolean containsValue(final Object value) {
+      final long stamp = lock.readLock();
+      try {
+        final Table t = table;
+        for (int i = 0; i < t.keys.length; ++i) {
+          if ((t.keys[i] != null) && value.equals(t.values[i])) {
+            return true;
+          }
+        }
+        return false;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Returns the keys and values in this segment, alternating.
+     */
+    Object[] snapshot() {
+      final long stamp = lock.readLock();
+      try {
+        final Table t = table;
+        final Object[] result = new Object[size * 2];
+        int index = 0;
+        for (int i = 0; i < t.keys.length; ++i) {
+          if (t.keys[i] != null) {
+            result[index++] = t.keys[i];
+            result[index++] = t.values[i];
+          }
+        }
+        return result;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(final K key, final int hash, final V value, final boolean onlyIfAbsent) {
+      final long stamp = lock.writeLock();
+      try {
+        final Table t = table;
+        final int slot = findSlot(t, key, hash);
+        if (slot >= 0) {
+          final V previous = (V) t.values[slot];
+          if (!onlyIfAbsent) {
+            t.values[slot] = value;
+          }
+          return previous;
+        }
+        insert(key, hash, value);
+        return null;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(final K key, final int hash, final Function<? super K, ? extends V> mappingFunction) {
+      final long stamp = lock.writeLock();
+      try {
+        final Table t = table;
+        final int slot = findSlot(t, key, hash);
+        if (slot >= 0) {
+          return (V) t.values[slot];
+        }
+        final V value = mappingFunction.apply(key);
+        if (value != null) {
+          insert(key, hash, value);
+        }
+        return value;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Replace the value for the key, if it's present and, when expected isn't null, if its value equals expected.
+     * @return The previous value if it was replaced, null otherwise
+     */
+    @SuppressWarnings("unchecked")
+    V replace(final K key, final int hash, final V expected, final V value) {
+      final long stamp = lock.writeLock();
+      try {
+        final Table t = table;
+        final int slot = findSlot(t, key, hash);
+        if (slot < 0) {
+          return null;
+        }
+        final V previous = (V) t.values[slot];
+        if ((expected != null) && !expected.equals(previous)) {
+          return null;
+        }
+        t.values[slot] = value;
+        return previous;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    void replaceAll(final BiFunction<? super K, ? super V, ? extends V> function) {
+      final long stamp = lock.writeLock();
+      try {
+        final Table t = table;
+        for (int i = 0; i < t.keys.length; ++i) {
+          if (t.keys[i] != null) {
+            t.values[i] = Objects.requireNonNull(function.apply((K) t.keys[i], (V) t.values[i]));
+          }
+        }
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Insert a key known to be absent. The caller must hold the write lock.
+     */
+    private void insert(final K key, final int hash, final V value) {
+      Table t = table;
+      if ((size + 1) > (t.keys.length / 2)) {
+        t = resize(t);
+      }
+      final int slot = OpenAddressing.emptySlot(t.keys, idealSlot(hash, t.shift));
+      t.values[slot] = value;
+      t.hashes[slot] = hash;
+      t.keys[slot] = key;
+      size++; // Only one writer at a time, so this is safe.
+    }
+
+    private Table resize(final Table old) {
+      if (old.keys.length == MAXIMUM_SEGMENT_CAPACITY) {
+        if ((size + 1) == MAXIMUM_SEGMENT_CAPACITY) {
+          throw new IllegalStateException("E17: Map is full");
+        }
+        return old;
+      }
+      final Table t = new Table(old.keys.length * 2);
+      for (int i = 0; i < old.keys.length; ++i) {
+        if (old.keys[i] != null) {
+          final int hash = old.hashes[i];
+          final int slot = OpenAddressing.emptySlot(t.keys, idealSlot(hash, t.shift));
+          t.keys[slot] = old.keys[i];
+          t.values[slot] = old.values[i];
+          t.hashes[slot] = hash;
+        }
+      }
+      table = t;
+      return t;
+    }
+
+    /**
+     * Remove the key, if it's present and, when expected isn't null, if its value equals expected.
+     * @return The removed value, or null if nothing was removed
+     */
+    @SuppressWarnings("unchecked")
+    V remove(final K key, final int hash, final Object expected) {
+      final long stamp = lock.writeLock();
+      try {
+        final Table t = table;
+        final int slot = findSlot(t, key, hash);
+        if (slot < 0) {
+          return null;
+        }
+        final V previous = (V) t.values[slot];
+        if ((expected != null) && !expected.equals(previous)) {
+          return null;
+        }
+        removeSlot(t, slot);
+        return previous;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Backward-shift deletion. The caller must hold the write lock.
+     */
+    private void removeSlot(final Table t, final int slot) {
+      OpenAddressing.removeSlot(t.keys, slot, (s) -> idealSlot(t.hashes[s], t.shift), t);
+      size--;
+    }
+
+    void clear() {
+      final long stamp = lock.writeLock();
+      try {
+        table = new Table(table.keys.length);
+        size = 0;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+  }
+}
@@ -5,14 +5,24 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -165,7 +175,8 @@ import java.util.function.ToLongFunction;
  * <p>
  * When using reflection, static fields are always excluded, as are the DogTag and DogTag.Factory fields.
  * <p> For each member Object used in the equals and hash code calculations, the DogTag will call the object's
- * {@code equals()} and {@code hashCode()} methods. DogTags do not recurse into member objects.
+ * {@code equals()} and {@code hashCode()} methods. DogTags do not recurse into member objects, except for members whose classes
+ * have DogTags of their own, when the reflective builder's {@code withInlinedMembers()} option is used.
  * <p>
  * For performance reasons, DogTags make no effort to prevent cyclic dependencies. It is the responsibility of the
  * user to exclude any fields that could cause a cyclic dependency.
@@ -191,6 +202,118 @@ public abstract class DogTag<T> {
     return instance;
   }
 
+  // Final JDK types whose equals() and hashCode() depend only on their values. See getProcessorForObjectType().
+  private static final Set<Class<?>> valueTypes = new HashSet<>(Arrays.asList(
+      String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class, Character.class, Boolean.class,
+      UUID.class, LocalDate.class, LocalDateTime.class, Instant.class
+  ));
+
+  /**
+   * Returns true for enums and the final JDK value types that get a processor, or a lambda handler, specialized for their type.
+   * @param type The declared type of a value
+   * @return true if the type gets a specialized processor
+   */
+  static boolean isValueType(final Class<?> type) {
+    return type.isEnum() || valueTypes.contains(type);
+  }
+
+  /**
+   * Returns the equality test and hash function for an Object value of a known type, other than an array. Both the reflective and
+   * the lambda builders use this, so each type is handled the same way by either one. Types for which {@link #isValueType(Class)}
+   * is true get lambdas specialized for their type. {@link ArrayValue}s compare their cached hash codes first, and Lists, Sets,
+   * and Maps compare their sizes first. Other types are compared with {@code Objects.equals()}.
+   * @param getter Reads the value from an instance of T
+   * @param type The declared type of the value
+   * @param <T> The type of DogTag
+   * @return A field processor for the value
+   */
+  private static <T> FieldProcessor<T> getProcessorForObjectType(final PlanEntry.ObjectGetter<T> getter, final Class<?> type) {
+    final ToBooleanBiFunction<T> valueEquals;
+    final ToIntThrowingFunction<T> valueHash;
+    if (isValueType(type)) {
+      return getProcessorForValueType(getter, type);
+    } else if (ArrayValue.class.isAssignableFrom(type)) {
+      valueEquals = (thisOne, thatOne) -> ArrayValue.valuesEqual((ArrayValue) getter.get(thisOne), (ArrayValue) getter.get(thatOne));
+      valueHash = (instance) -> ArrayValue.valueHash((ArrayValue) getter.get(instance));
+    } else if (List.class.isAssignableFrom(type)) {
+      valueEquals = (thisOne, thatOne) -> TypedCollections.listsEqual((List<?>) getter.get(thisOne), (List<?>) getter.get(thatOne));
+      valueHash = (instance) -> TypedCollections.listHash((List<?>) getter.get(instance));
+    } else if (Set.class.isAssignableFrom(type)) {
+      valueEquals = (thisOne, thatOne) -> TypedCollections.setsEqual((Set<?>) getter.get(thisOne), (Set<?>) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode(getter.get(instance));
+    } else if (Map.class.isAssignableFrom(type)) {
+      valueEquals = (thisOne, thatOne) -> TypedCollections.mapsEqual((Map<?, ?>) getter.get(thisOne), (Map<?, ?>) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode(getter.get(instance));
+    } else {
+      valueEquals = (thisOne, thatOne) -> Objects.equals(getter.get(thisOne), getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode(getter.get(instance));
+    }
+    return new FieldProcessor<>(valueEquals, valueHash);
+  }
+
+  /**
+   * Final JDK value types, like String, Long, UUID, and LocalDate, and enums, get lambdas of their own, which cast each value to its
+   * type. Otherwise, every Object value shares the call to equals() inside one lambda, which sees so many types that the JIT can't
+   * inline any of them. Since these types are final, the cast tells the JIT exactly which equals() and hashCode() to call. Enums
+   * are compared by identity.
+   * @param getter Reads the value from an instance of T
+   * @param type The declared type of the value, for which {@link #isValueType(Class)} must be true
+   * @param <T> The type of DogTag
+   * @return A field processor for the value
+   */
+  private static <T> FieldProcessor<T> getProcessorForValueType(final PlanEntry.ObjectGetter<T> getter, final Class<?> type) {
+    final ToBooleanBiFunction<T> valueEquals;
+    final ToIntThrowingFunction<T> valueHash;
+
+    // I can't use a switch statement, because type isn't a number, String, or enum!
+    if (type.isEnum()) {
+      valueEquals = (thisOne, thatOne) -> getter.get(thisOne) == getter.get(thatOne);
+      valueHash = (instance) -> Objects.hashCode((Enum<?>) getter.get(instance));
+    } else if (type == String.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((String) getter.get(thisOne), (String) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((String) getter.get(instance));
+    } else if (type == Integer.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Integer) getter.get(thisOne), (Integer) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Integer) getter.get(instance));
+    } else if (type == Long.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Long) getter.get(thisOne), (Long) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Long) getter.get(instance));
+    } else if (type == Double.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Double) getter.get(thisOne), (Double) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Double) getter.get(instance));
+    } else if (type == Float.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Float) getter.get(thisOne), (Float) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Float) getter.get(instance));
+    } else if (type == Short.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Short) getter.get(thisOne), (Short) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Short) getter.get(instance));
+    } else if (type == Byte.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Byte) getter.get(thisOne), (Byte) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Byte) getter.get(instance));
+    } else if (type == Character.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Character) getter.get(thisOne), (Character) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Character) getter.get(instance));
+    } else if (type == Boolean.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Boolean) getter.get(thisOne), (Boolean) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Boolean) getter.get(instance));
+    } else if (type == UUID.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((UUID) getter.get(thisOne), (UUID) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((UUID) getter.get(instance));
+    } else if (type == LocalDate.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((LocalDate) getter.get(thisOne), (LocalDate) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((LocalDate) getter.get(instance));
+    } else if (type == LocalDateTime.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((LocalDateTime) getter.get(thisOne), (LocalDateTime) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((LocalDateTime) getter.get(instance));
+    } else if (type == Instant.class) {
+      valueEquals = (thisOne, thatOne) -> Objects.equals((Instant) getter.get(thisOne), (Instant) getter.get(thatOne));
+      valueHash = (instance) -> Objects.hashCode((Instant) getter.get(instance));
+    } else {
+      throw new AssertionError(type);
+    }
+    return new FieldProcessor<>(valueEquals, valueHash);
+  }
+
   public abstract static class Factory<T> {
     public final DogTag<T> tag(final T t) {
       return constructor.apply(t); // Call the DogTag constructor that was specified in the Factory constructor
@@ -199,10 +322,13 @@ public abstract class DogTag<T> {
     protected abstract boolean doEqualsTest(T thisOneNeverNull, Object thatOneNullable);
     protected abstract int doHashCodeInternal(T thisOne);
     protected abstract Function<T, DogTag<T>> chooseConstructor(boolean useCache);
+    abstract Class<T> getTargetClass();
+    abstract List<PlanEntry<T>> getPlan();
 
     private final int startingHash;
     private final HashBuilder hashBuilder;
     private final Function<T, DogTag<T>> constructor;
+    private final boolean useCache;
 
     @SuppressWarnings("AccessingNonPublicFieldOfAnotherObject")
     final int doCachedHashCode(final T thisOne, final DogTag<T> dogTag) {
@@ -216,6 +342,7 @@ public abstract class DogTag<T> {
       this.constructor = chooseConstructor(useCache);
       this.hashBuilder = hashBuilder;
       this.startingHash = startingHash;
+      this.useCache = useCache;
     }
 
     protected final int getStartingHash() {
@@ -225,22 +352,137 @@ public abstract class DogTag<T> {
     protected final HashBuilder getHashBuilder() {
       return hashBuilder;
     }
+
+    /**
+     * Returns true if this factory uses the default HashBuilder, so callers that hash many values at once may inline its formula.
+     * @return true if the hash builder uses the same formula as {@code java.util.Objects.hash(Object...)}
+     */
+    final boolean hasDefaultHashBuilder() {
+      return hashBuilder instanceof ObjectsHashBuilder;
+    }
+
+    /**
+     * Returns true if the DogTags made by this factory cache their hash codes.
+     * @return true if the hash code is cached
+     */
+    final boolean isUseCachedHash() {
+      return useCache;
+    }
+
+    /**
+     * Create a Probe, which can look up an instance of T in a DogTagHashMap, ConcurrentDogTagHashMap, or DogTagHashSet by its field
+     * values, without constructing an instance.
+     * @return A new Probe, with all values set to zero or null
+     */
+    public final Probe<T> newProbe() {
+      return new Probe<>(this, getPlan());
+    }
+
+    /**
+     * Create a Comparator that is consistent with equals: It returns zero exactly when this factory considers two instances equal.
+     * Values are compared in the order given by their {@link DogTagInclude#order()} annotations, using the natural ordering of each
+     * value, and comparing arrays lexicographically. Object values must be Comparable.
+     * <p>
+     * This lets a class implement Comparable consistently with its DogTag, which keeps heavily-colliding HashMap bins efficient,
+     * and supports sorting and merging by the same fields used in equals(). Create the Comparator once, and reuse it.
+     * <pre>
+     *   private static final {@literal Comparator<Trade>} comparator = factory.comparator();
+     *   ...
+     *   {@literal @Override}
+     *   public int compareTo(Trade that) {
+     *     return comparator.compare(this, that);
+     *   }
+     * </pre>
+     * @return A Comparator consistent with this factory's equals() method
+     */
+    public final Comparator<T> comparator() {
+      return new DogTagComparator<>(getPlan());
+    }
+
+    /**
+     * Returns the index of the first candidate equal to an instance, or -1 if there is none. The instance's values are read once.
+     * The candidates are then tested one value at a time, starting with primitive values, keeping a bitmap of the candidates that
+     * still match, so most candidates are rejected by their first value. This is faster than calling equals() on each candidate
+     * when there are many of them.
+     * @param instance The instance to look for
+     * @param candidates The candidates, which may include nulls
+     * @return The index of the first candidate that equals the instance, or -1
+     */
+    public final int findEqual(final T instance, final T[] candidates) {
+      return BatchMatcher.forInstance(getPlan(), instance).findFirst(candidates);
+    }
+
+    /**
+     * Returns the index of the first candidate with the values in a probe, or -1 if there is none. The candidates are tested as
+     * described in {@link #findEqual(Object, Object[])}.
+     * @param probe The probe, which must have been made by this factory
+     * @param candidates The candidates, which may include nulls
+     * @return The index of the first candidate that matches the probe, or -1
+     */
+    public final int findEqual(final Probe<T> probe, final T[] candidates) {
+      return checkProbe(probe).newMatcher().findFirst(candidates);
+    }
+
+    /**
+     * Returns the set of candidates equal to an instance. The candidates are tested as described in
+     * {@link #findEqual(Object, Object[])}.
+     * @param instance The instance to look for
+     * @param candidates The candidates, which may include nulls
+     * @return A BitSet with the index of each equal candidate set
+     */
+    public final BitSet matchMask(final T instance, final T[] candidates) {
+      return BitSet.valueOf(BatchMatcher.forInstance(getPlan(), instance).matchAll(candidates));
+    }
+
+    /**
+     * Returns the set of candidates with the values in a probe. The candidates are tested as described in
+     * {@link #findEqual(Object, Object[])}.
+     * @param probe The probe, which must have been made by this factory
+     * @param candidates The candidates, which may include nulls
+     * @return A BitSet with the index of each matching candidate set
+     */
+    public final BitSet matchMask(final Probe<T> probe, final T[] candidates) {
+      return BitSet.valueOf(checkProbe(probe).newMatcher().matchAll(candidates));
+    }
+
+    private Probe<T> checkProbe(final Probe<T> probe) {
+      //noinspection ObjectEquality
+      if (probe.getFactory() != this) {
+        throw new IllegalArgumentException("E23: The probe was made by a different factory");
+      }
+      return probe;
+    }
   }
 
   public static final class ReflectiveFactory<T> extends Factory<T> {
     private final Class<T> targetClass;
     private final Collection<FieldProcessor<T>> fieldProcessors;
+    private final List<PlanEntry<T>> plan;
+    private final FusedHandler<T> handler; // from SmallPlans, or a PlanInterpreter
 
     private ReflectiveFactory(
         final Class<T> theClass,
         final Collection<FieldProcessor<T>> getters,
+        final List<PlanEntry<T>> plan,
         final int startingHash,
         final HashBuilder hashBuilder,
-        final boolean useCache
+        final boolean useCache,
+        final FusedHandler<T> handler
     ) {
       super(useCache, hashBuilder, startingHash);
       targetClass = theClass;
       fieldProcessors = Collections.unmodifiableCollection(getters);
+      this.plan = Collections.unmodifiableList(plan);
+      this.handler = handler;
+    }
+
+    /**
+     * Returns true if this factory compares and hashes instances with one of the {@link SmallPlans} handlers, rather than a
+     * {@link PlanInterpreter}.
+     * @return true if the factory has from one to {@link SmallPlans#MAX_VALUES} fields
+     */
+    boolean isFused() {
+      return !(handler instanceof PlanInterpreter);
     }
 
     @Override
@@ -250,6 +492,16 @@ public abstract class DogTag<T> {
           (t) -> new NonCachingDogTag<>(this, t);
     }
 
+    @Override
+    Class<T> getTargetClass() {
+      return targetClass;
+    }
+
+    @Override
+    List<PlanEntry<T>> getPlan() {
+      return plan;
+    }
+
     /**
      * This is the implementation of the equals() method of a DogTag instance. This sits in the inner Factory class
      * for testing purposes.
@@ -270,18 +522,7 @@ public abstract class DogTag<T> {
       }
 
       final T thatOneNeverNull = targetClass.cast(thatOneNullable);
-
-      // Putting the try/catch here instead of inside the testForEquals() method doubles the speed.
-      try {
-        for (final FieldProcessor<T> f : fieldProcessors) {
-          if (!f.testForEquals(thisOneNeverNull, thatOneNeverNull)) {
-            return false;
-          }
-        }
-        return true;
-      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
-        throw new AssertionError("E1: Illegal Access should not happen", e);
-      }
+      return handler.equal(thisOneNeverNull, thatOneNeverNull);
     }
 
     /**
@@ -292,17 +533,7 @@ public abstract class DogTag<T> {
      */
     @Override
     protected int doHashCodeInternal(final T thisOne) {
-      int hash = getStartingHash();
-
-      // Putting the try/catch here instead of inside the testForEquals() method doubles the speed.
-      try {
-        for (final FieldProcessor<T> f : fieldProcessors) {
-          hash = getHashBuilder().newHash(hash, f.getHashValue(thisOne));
-        }
-      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
-        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
-      }
-      return hash;
+      return handler.hash(thisOne);
     }
   }
 
@@ -394,7 +625,7 @@ public abstract class DogTag<T> {
     private final Class<T> targetClass;
     private int startingHash = 1;
     private boolean useCachedHash = false;
-    private static final HashBuilder defaultHashBuilder = (int h, Object o) -> (h * 31) + o.hashCode(); // Same as Objects.class
+    private static final HashBuilder defaultHashBuilder = new ObjectsHashBuilder(); // Same as Objects.class
     private HashBuilder hashBuilder = defaultHashBuilder; // Reuse the same HashBuilder
 
     DogTagBaseBuilder(final Class<T> theClass) {
@@ -451,6 +682,8 @@ public abstract class DogTag<T> {
 
     // pre-initialized fields
     private boolean testTransients = false;
+    private boolean stableHash = false;
+    private int inlineDepth = 0;
 
     private DogTagReflectiveBuilder(final Class<T> theClass, final Class<? extends Annotation> defaultSelectionAnnotation) {
       super(theClass);
@@ -583,6 +816,7 @@ public abstract class DogTag<T> {
      * @param hashBuilder  The formula for adding additional hash values.
      * @return this, for method chaining
      * @see HashBuilder
+     * @see SeededHashBuilder
      */
     public DogTagReflectiveBuilder<T> withHashBuilder(final int startingHash, final HashBuilder hashBuilder) {
       setStartingHash(startingHash);
@@ -618,6 +852,58 @@ public abstract class DogTag<T> {
       return this;
     }
 
+    /**
+     * Sets the StableHash option. Defaults to false. When true, the hash code is guaranteed to be the same for equal objects in every
+     * JVM, which makes it suitable for partitioning data across a cluster, or for persisting hash values. To do this, the fields are
+     * sorted by name and declaring class, rather than used in the unspecified order returned by {@code Class.getDeclaredFields()},
+     * and enums are hashed by their names instead of their identity hash codes.
+     * <p>
+     * Only primitives, their wrapper classes, Strings, enums, and arrays of these may be used in a stable hash. Any other field type
+     * will throw an IllegalArgumentException when the factory is built. Exclude those fields, or leave this option off.
+     * <p>
+     * A custom HashBuilder specified with {@code withHashBuilder()} will be used as is, so it should not depend on anything that
+     * varies between JVMs.
+     *
+     * @param useStableHash true if the hash code should be the same in every JVM
+     * @return this, for method chaining
+     */
+    public DogTagReflectiveBuilder<T> withStableHash(final boolean useStableHash) {
+      setStableHash(useStableHash);
+      return this;
+    }
+
+    /**
+     * Sets the InlinedMembers option. Defaults to 0, which turns it off. A field whose declared class is final, and has a static
+     * reflective DogTag.Factory of its own, is normally compared by calling its {@code equals()} method, which calls its DogTag's
+     * {@code equals()} method, which calls its factory's equality test, which checks the type of the other instance before it
+     * compares any fields. With this option, the field is compared by running its factory's field processors directly on the two
+     * members, after testing them for identity and null. Its hash code is computed the same way, unless its factory caches hash
+     * codes, in which case its {@code hashCode()} method is called, to use the cache. Fields of members inlined this way are
+     * themselves inlined, down to the specified depth. Members with lambda factories are compared by calling their factories
+     * directly, without inlining their fields.
+     * <p>
+     * The result is the same as calling the members' own methods, provided those methods delegate to the DogTag made by the
+     * factory, as they should. Members of any other class, including classes that aren't final, are still compared by calling their
+     * own {@code equals()} and {@code hashCode()} methods.
+     * <p>
+     * The member's factory is read when this factory is built, which initializes the member's class. A member factory that hasn't
+     * been assigned yet, as in a class that refers to itself, isn't used.
+     *
+     * @param depth The number of levels of member objects to inline. Must not be negative.
+     * @return this, for method chaining
+     */
+    public DogTagReflectiveBuilder<T> withInlinedMembers(final int depth) {
+      if (depth < 0) {
+        throw new IllegalArgumentException(String.format("E34: The inlining depth may not be negative, not %d", depth));
+      }
+      this.inlineDepth = depth;
+      return this;
+    }
+
+    private void setStableHash(final boolean useStableHash) {
+      this.stableHash = useStableHash;
+    }
+
     private void setTransients(final boolean useTransients) {
       this.testTransients = useTransients;
     }
@@ -628,15 +914,29 @@ public abstract class DogTag<T> {
 
     @Override
     public Factory<T> build() {
-      return new ReflectiveFactory<>(getTargetClass(), makeGetterList(), getStartingHash(), getHashBuilder(), isUseCachedHash());
+      final List<PlanEntry<T>> plan = new ArrayList<>();
+      final List<Field> fields = new ArrayList<>();
+      final Collection<FieldProcessor<T>> getters = makeGetterList(plan, fields);
+      final List<FieldProcessor<T>> processors = new ArrayList<>(getters);
+      final FusedHandler<T> smallPlan = SmallPlans.forProcessors(processors, getStartingHash(), getHashBuilder());
+      final FusedHandler<T> handler = (smallPlan != null) ?
+          smallPlan :
+          PlanInterpreter.compile(fields, processors, getStartingHash(), getHashBuilder());
+      return new ReflectiveFactory<>(getTargetClass(), getters, plan, getStartingHash(), getHashBuilder(), isUseCachedHash(),
+          handler);
     }
 
-    private Collection<FieldProcessor<T>> makeGetterList() {
+    /**
+     * Make the field processors, and the plan entry for each one.
+     * @param plan The list to receive the plan entries, in the same order as the field processors
+     * @param fields The list to receive the fields, in the same order as the field processors
+     * @return The field processors
+     */
+    private Collection<FieldProcessor<T>> makeGetterList(final List<PlanEntry<T>> plan, final List<Field> fields) {
       final Set<Field> excludedFields = new HashSet<>();
       collectMatchingFields(selectedFieldNames, excludedFields);
 
-      // two different inclusion modes exist. Each requires a different kind of collection.
-      final Collection<FieldProcessor<T>> fieldProcessorList = createEmptyFieldProcessorList();
+      final List<Field> includedFields = new LinkedList<>();
       Class<? super T> theClass = getTargetClass();
       final int index = 0;
       boolean isStaticFactoryMissing = true;
@@ -672,11 +972,7 @@ public abstract class DogTag<T> {
               && isFieldUsed(excludedFields, field)
               && (field.getName().indexOf('$') < 0) // disallow anonymous inner class fields
           ) {
-            field.setAccessible(true); // move this into getFPForType?
-            final FieldProcessor<T> fieldProcessor = getFieldProcessorForType(field, fieldType);
-
-            //The wrapper contains ordering information for lists that specify an order
-            fieldProcessorList.add(fieldProcessor);
+            includedFields.add(field);
           }
         }
         if (theClass == lastSuperClass) {
@@ -689,6 +985,22 @@ public abstract class DogTag<T> {
         throw new IllegalArgumentException(String.format("E12: No static DogTag.Factory found in %s", getTargetClass()));
       }
 
+      // getDeclaredFields() doesn't guarantee any order, so a stable hash needs to impose one.
+      if (stableHash) {
+        includedFields.sort(Comparator.comparing(Field::getName).thenComparing(f -> f.getDeclaringClass().getName()));
+      }
+
+      // two different inclusion modes exist. Each requires a different kind of collection.
+      final Collection<FieldProcessor<T>> fieldProcessorList = createEmptyFieldProcessorList();
+      for (final Field field : includedFields) {
+        field.setAccessible(true); // move this into getFPForType?
+        final FieldProcessor<T> fieldProcessor = getFieldProcessorForType(field, field.getType());
+        final PlanEntry<T> entry = PlanEntry.forField(field, stableHash);
+        fieldProcessorList.add(isHashedByBuilder(entry) ? getBuilderHashedProcessor(fieldProcessor, entry) : fieldProcessor);
+        plan.add(entry);
+        fields.add(field);
+      }
+
       // Now that they're in the proper order, we extract them from the list of wrappers and add them to the final list.
 //      List<FieldProcessor<T>> finalList = new LinkedList<>();
 //      for (FieldProcessorWrapper<T> wrapper: fieldProcessorList) {
@@ -697,22 +1009,188 @@ public abstract class DogTag<T> {
       return fieldProcessorList;
     }
 
+    /**
+     * A HashBuilder other than the default may hash long, double, and String values itself. See
+     * {@link HashBuilder#hashLong(long)} and {@link HashBuilder#hashString(String)}. With the default, the field processors
+     * already hash them the same way.
+     */
+    private boolean isHashedByBuilder(final PlanEntry<T> entry) {
+      return !(getHashBuilder() instanceof ObjectsHashBuilder) && entry.isHashedByBuilder();
+    }
+
+    private FieldProcessor<T> getBuilderHashedProcessor(final FieldProcessor<T> fieldProcessor, final PlanEntry<T> entry) {
+      final HashBuilder hashBuilder = getHashBuilder();
+      return new FieldProcessor<>(fieldProcessor.getEqualMethod(), (instance) -> entry.hashOf(instance, hashBuilder));
+    }
+
     // Todo: Test annotated field overridden by non-annotated field. What should it do?
     private FieldProcessor<T> getFieldProcessorForType(final Field field, final Class<?> fieldType) {
       final FieldProcessor<T> fieldProcessor;
-      if (fieldType.isArray()) {
+      if (stableHash && !StableHash.isStable(fieldType)) {
+        throw new IllegalArgumentException(String.format("E15: Field %s of %s has no stable hash. Exclude it or turn off the stable hash.",
+            field.getName(), fieldType));
+      }
+      final DogTagSampledHash sampledHash = field.getAnnotation(DogTagSampledHash.class);
+      final Factory<?> memberFactory = (inlineDepth > 0) ? findMemberFactory(fieldType) : null;
+      if (sampledHash != null) {
+        fieldProcessor = getSampledProcessor(field, fieldType, sampledHash.samples());
+      } else if (stableHash && StableHash.needsStableHash(fieldType)) {
+        fieldProcessor = getStableProcessorForEnum(field, fieldType);
+      } else if (fieldType.isArray()) {
         fieldProcessor = getProcessorForArray(field, fieldType);
       } else if (fieldType.isPrimitive()) {
         fieldProcessor = getProcessorForPrimitive(field, fieldType);
+      } else if (memberFactory != null) {
+        fieldProcessor = getInlinedProcessor(field::get, memberFactory, inlineDepth);
       } else {
-        final ToBooleanBiFunction<T> objectToBooleanBiFunction
-            = (thisOne, thatOne) -> Objects.equals(field.get(thisOne), (field.get(thatOne)));
-        final ToIntThrowingFunction<T> hashFunction = (t) -> Objects.hashCode(field.get(t));
-        fieldProcessor = new FieldProcessor<>(objectToBooleanBiFunction, hashFunction);
+        fieldProcessor = getProcessorForObjectType(field::get, fieldType);
       }
       return fieldProcessor;
     }
 
+    /**
+     * Find the factory to use for inlining a member of the specified type. The type must be a final class, so every non-null member
+     * is of exactly that type, and it must have a static DogTag.Factory that has been assigned a factory for that type.
+     * @param type The declared type of the member
+     * @return The factory, or null if members of the type can't be inlined
+     */
+    private static Factory<?> findMemberFactory(final Class<?> type) {
+      if (type.isPrimitive() || type.isArray() || type.isEnum() || !Modifier.isFinal(type.getModifiers())) {
+        return null;
+      }
+      try {
+        for (final Field field : type.getDeclaredFields()) {
+          if ((field.getType() == Factory.class) && Modifier.isStatic(field.getModifiers())) {
+            field.setAccessible(true);
+            final Factory<?> factory = (Factory<?>) field.get(null);
+            return ((factory != null) && (factory.getTargetClass() == type)) ? factory : null;
+          }
+        }
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E35: Illegal Access should not happen", e);
+      }
+      return null;
+    }
+
+    /**
+     * Members whose factories were found by {@link #findMemberFactory(Class)} are compared and hashed by running their factory's
+     * field processors on them directly, rather than by calling their {@code equals()} and {@code hashCode()} methods. See
+     * {@link #withInlinedMembers(int)}.
+     * @param getter Reads the member from an instance of T
+     * @param memberFactory The factory of the member's class
+     * @param depth The number of levels to inline, including this one
+     * @param <T> The type of DogTag
+     * @param <M> The type of the member
+     * @return A field processor for the member
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, M> FieldProcessor<T> getInlinedProcessor(
+        final PlanEntry.ObjectGetter<T> getter,
+        final Factory<M> memberFactory,
+        final int depth
+    ) {
+      final ToBooleanBiFunction<M> memberEquals;
+      final ToIntThrowingFunction<M> memberHash;
+      if (memberFactory instanceof ReflectiveFactory) {
+        final FieldProcessor<M>[] processors = getInlinedProcessors((ReflectiveFactory<M>) memberFactory, depth - 1);
+        final int startingHash = memberFactory.getStartingHash();
+        final HashBuilder hashBuilder = memberFactory.getHashBuilder();
+        memberEquals = (thisMember, thatMember) -> {
+          for (final FieldProcessor<M> processor : processors) {
+            if (!processor.testForEquals(thisMember, thatMember)) {
+              return false;
+            }
+          }
+          return true;
+        };
+        memberHash = (member) -> {
+          int hash = startingHash;
+          for (final FieldProcessor<M> processor : processors) {
+            hash = hashBuilder.newHash(hash, processor.getHashValue(member));
+          }
+          return hash;
+        };
+      } else {
+        memberEquals = memberFactory::doEqualsTest;
+        memberHash = memberFactory::doHashCodeInternal;
+      }
+      final ToIntThrowingFunction<M> hash = memberFactory.isUseCachedHash() ? Object::hashCode : memberHash;
+      final ToBooleanBiFunction<T> inlinedEquals = (thisOne, thatOne) -> {
+        final M thisMember = (M) getter.get(thisOne);
+        final M thatMember = (M) getter.get(thatOne);
+        if (thisMember == thatMember) {
+          return true;
+        }
+        return (thisMember != null) && (thatMember != null) && memberEquals.eval(thisMember, thatMember);
+      };
+      final ToIntThrowingFunction<T> inlinedHash = (instance) -> {
+        final M member = (M) getter.get(instance);
+        return (member == null) ? 0 : hash.get(member);
+      };
+      return new FieldProcessor<>(inlinedEquals, inlinedHash);
+    }
+
+    /**
+     * Returns the field processors of a reflective factory. If depth is greater than zero, the processors of any fields that can
+     * themselves be inlined are replaced by inlined processors.
+     */
+    @SuppressWarnings({"unchecked", "AccessingNonPublicFieldOfAnotherObject"})
+    private static <M> FieldProcessor<M>[] getInlinedProcessors(final ReflectiveFactory<M> factory, final int depth) {
+      final FieldProcessor<M>[] processors = factory.fieldProcessors.toArray(new FieldProcessor[0]);
+      if (depth > 0) {
+        for (int i = 0; i < processors.length; ++i) {
+          final PlanEntry<M> entry = factory.plan.get(i);
+          final Factory<?> memberFactory = entry.getKind().isPrimitive() ? null : findMemberFactory(entry.getValueType());
+          if (memberFactory != null) {
+            processors[i] = getInlinedProcessor(entry::getObject, memberFactory, depth);
+          }
+        }
+      }
+      return processors;
+    }
+
+    /**
+     * Enums and arrays of enums use their identity hash codes, which differ from one JVM to the next. For a stable hash, we hash
+     * them by name instead. Equality is unaffected.
+     * @param field The field, of an enum type or an array of any depth of an enum type
+     * @param fieldType The type of the field
+     * @param <T> The type of DogTag
+     * @return A field processor for the specified field.
+     */
+    private static <T> FieldProcessor<T> getStableProcessorForEnum(final Field field, final Class<?> fieldType) {
+      if (fieldType.isArray()) {
+        final ToBooleanBiFunction<T> arrayEquals
+            = (thisOne, thatOne) -> Arrays.deepEquals((Object[]) field.get(thisOne), (Object[]) field.get(thatOne));
+        final ToIntThrowingFunction<T> arrayHash = (array) -> StableHash.hashArray((Object[]) field.get(array));
+        return new FieldProcessor<>(arrayEquals, arrayHash);
+      }
+      final ToBooleanBiFunction<T> enumEquals = (thisOne, thatOne) -> field.get(thisOne) == field.get(thatOne);
+      final ToIntThrowingFunction<T> enumHash = (t) -> StableHash.hashEnum((Enum<?>) field.get(t));
+      return new FieldProcessor<>(enumEquals, enumHash);
+    }
+
+    /**
+     * Fields annotated with {@link DogTagSampledHash} are compared in full, but hash only a sample of their elements.
+     * @param field The field, of an array or List type
+     * @param fieldType The type of the field
+     * @param samples The number of elements to sample
+     * @param <T> The type of DogTag
+     * @return A field processor for the specified field.
+     */
+    private static <T> FieldProcessor<T> getSampledProcessor(final Field field, final Class<?> fieldType, final int samples) {
+      if (!fieldType.isArray() && !List.class.isAssignableFrom(fieldType)) {
+        throw new IllegalArgumentException(String.format("E31: @DogTagSampledHash on field %s needs an array or List, not %s",
+            field.getName(), fieldType));
+      }
+      if (samples < 1) {
+        throw new IllegalArgumentException(String.format("E32: @DogTagSampledHash on field %s needs at least 1 sample, not %d",
+            field.getName(), samples));
+      }
+      final ToBooleanBiFunction<T> sampledEquals = (thisOne, thatOne) -> Objects.deepEquals(field.get(thisOne), field.get(thatOne));
+      final ToIntThrowingFunction<T> sampledHash = (t) -> SampledHash.hashCode(field.get(t), samples);
+      return new FieldProcessor<>(sampledEquals, sampledHash);
+    }
+
     @SuppressWarnings("BoundedWildcard")
     private void collectMatchingFields(final Set<String> fieldNames, final Set<Field> searchField) {
       for (final String fieldName : fieldNames) {
@@ -794,34 +1272,36 @@ public abstract class DogTag<T> {
       // I can't use a switch statement, because fieldType isn't a number, String, or enum!
       if (componentType == Integer.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((int[]) field.get(thisOne), (int[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((int[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((int[]) field.get(array));
       } else if (componentType == Long.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((long[]) field.get(thisOne), (long[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((long[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((long[]) field.get(array));
       } else if (componentType == Short.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((short[]) field.get(thisOne), (short[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((short[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((short[]) field.get(array));
       } else if (componentType == Character.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((char[]) field.get(thisOne), (char[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((char[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((char[]) field.get(array));
       } else if (componentType == Byte.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((byte[]) field.get(thisOne), (byte[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((byte[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((byte[]) field.get(array));
       } else if (componentType == Double.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((double[]) field.get(thisOne), (double[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((double[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((double[]) field.get(array));
       } else if (componentType == Float.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((float[]) field.get(thisOne), (float[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((float[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((float[]) field.get(array));
       } else if (componentType == Boolean.TYPE) {
         arrayEquals = (thisOne, thatOne) -> Arrays.equals((boolean[]) field.get(thisOne), (boolean[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.hashCode((boolean[]) field.get(array));
+        arrayHash = (array) -> ArrayHash.hashCode((boolean[]) field.get(array));
       } else {
         // componentType is Object.class or some subclass of it. It is not a primitive. It may be an array, if the
-        // field is a multi-dimensional array.
+        // field is a multi-dimensional array. TypedArrays only uses the deep versions if the declared type needs them.
         assert !componentType.isPrimitive() : componentType;
-        arrayEquals = (thisOne, thatOne) -> Arrays.deepEquals((Object[]) field.get(thisOne), (Object[]) field.get(thatOne));
-        arrayHash = (array) -> Arrays.deepHashCode((Object[]) field.get(array));
+        final BiPredicate<Object, Object> typedEquals = TypedArrays.equalsFor(componentType);
+        final ToIntFunction<Object> typedHash = TypedArrays.hashFor(componentType);
+        arrayEquals = (thisOne, thatOne) -> typedEquals.test(field.get(thisOne), field.get(thatOne));
+        arrayHash = (array) -> typedHash.applyAsInt(field.get(array));
       }
       return new FieldProcessor<>(arrayEquals, arrayHash);
     }
@@ -893,7 +1373,7 @@ public abstract class DogTag<T> {
   }
 
   @FunctionalInterface
-  private interface ToBooleanBiFunction<T>  {
+  interface ToBooleanBiFunction<T>  {
     boolean eval(T thisOne, T thatOne) throws IllegalAccessException;
   }
 
@@ -915,6 +1395,145 @@ public abstract class DogTag<T> {
   @FunctionalInterface
   public interface HashBuilder {
     int newHash(int previousHash, Object nextObject);
+
+    /**
+     * Calculate a new value from the current hashCode in progress and the hash code of the next field. The factories call this
+     * method, which delegates to {@code newHash(int, Object)} by default. Implementations may override it to avoid boxing the
+     * hash value.
+     * @param previousHash The hash value calculated so far
+     * @param nextHash The hash code of the next field
+     * @return The new hash value
+     */
+    default int newHash(final int previousHash, final int nextHash) {
+      return newHash(previousHash, (Object) nextHash);
+    }
+
+    /**
+     * Returns the hash code of a long value, or of the bits of a double value, to pass to {@code newHash()} as the hash code of
+     * its field. This applies to Long and Double objects, too. By default, this is {@code Long.hashCode()}, which folds the high
+     * half of the value into the low half, so values like {@code (i << 32) | i} all hash to zero. A keyed HashBuilder may
+     * override this to hash all 64 bits with its key.
+     * @param value The value, or the bits of a double from {@code Double.doubleToLongBits()}
+     * @return The hash code of the value
+     */
+    default int hashLong(final long value) {
+      return Long.hashCode(value);
+    }
+
+    /**
+     * Returns the hash code of a non-null String value, to pass to {@code newHash()} as the hash code of its field. By default,
+     * this is {@code String.hashCode()}, for which colliding Strings are easy to build: "Aa" and "BB" collide, so do any two
+     * Strings made of the same number of these blocks. A keyed HashBuilder may override this to hash the chars with its key.
+     * @param value The String, which is never null. Null Strings have a hash code of zero.
+     * @return The hash code of the String
+     */
+    default int hashString(final String value) {
+      return value.hashCode();
+    }
+  }
+
+  /**
+   * The default HashBuilder, which uses the same formula as {@code java.util.Objects.hash(Object...)}. It overrides the int version
+   * of {@code newHash()} to avoid boxing.
+   */
+  private static final class ObjectsHashBuilder implements HashBuilder {
+    @Override
+    public int newHash(final int previousHash, final Object nextObject) {
+      return newHash(previousHash, nextObject.hashCode());
+    }
+
+    @Override
+    public int newHash(final int previousHash, final int nextHash) {
+      return (previousHash * 31) + nextHash;
+    }
+  }
+
+  /**
+   * A keyed HashBuilder, for DogTags used as keys that are built from untrusted data, such as request parameters. With the default
+   * formula, an attacker who knows the field values can easily craft many different keys with the same hash code. For example,
+   * with two int fields, the keys (0, 0), (1, -31), (2, -62), and so on all collide. Putting enough of these into a
+   * {@code HashMap} degrades its buckets to linear searches. This HashBuilder mixes a secret seed into every step, so the
+   * colliding keys can't be predicted without knowing the seed. It also hashes the values of long, double, and String fields,
+   * and of Long and Double fields, with SipHash, keyed by the seed, so that the hash codes of these values can't be made to
+   * collide either. Their default hash codes collide easily: {@code Long.hashCode()} is zero for every value of the form
+   * {@code (i << 32) | i}, and {@code String.hashCode()} is the same for "Aa" and "BB".
+   * <p>
+   * The seed may be chosen per JVM, by calling {@code SeededHashBuilder.perJvm()}, or per factory, by constructing a new instance.
+   * Either way, it is installed with the {@code withHashBuilder()} option of either builder:
+   * <pre>
+   *     private static final{@literal DogTag.Factory<MyClass>} factory = DogTag.startWithAll(MyClass.class)
+   *         .withHashBuilder(1, DogTag.SeededHashBuilder.perJvm())
+   *         .build();
+   * </pre>
+   * <p>
+   * This can't protect against collisions within the hash code of any other kind of member, such as an array, a List, or an
+   * object with its own {@code hashCode()} method, since their hash codes don't depend on the seed. Since hash values will differ
+   * from one JVM to the next, this should not be combined with the StableHash option, unless the seed is fixed.
+   */
+  public static final class SeededHashBuilder implements HashBuilder {
+    private static final int C1 = 0xcc9e2d51; // Multipliers from MurmurHash3
+    private static final int C2 = 0x1b873593;
+    private final int seedLow;
+    private final int seedHigh;
+    private final long sipKey0; // The 128-bit SipHash key, derived from the seed
+    private final long sipKey1;
+
+    /**
+     * Create a SeededHashBuilder with a random seed, for use by a single factory.
+     */
+    public SeededHashBuilder() {
+      this(JvmSeed.RANDOM.nextLong());
+    }
+
+    /**
+     * Create a SeededHashBuilder with the specified seed.
+     * @param seed The seed, which should be kept secret.
+     */
+    public SeededHashBuilder(final long seed) {
+      seedLow = (int) seed;
+      seedHigh = (int) (seed >>> 32);
+      sipKey0 = seed;
+      sipKey1 = BloomHashing.mix(~seed);
+    }
+
+    /**
+     * Returns a SeededHashBuilder shared by the entire JVM. Its seed is chosen at random the first time this method is called.
+     * @return the SeededHashBuilder for this JVM
+     */
+    public static SeededHashBuilder perJvm() {
+      return JvmSeed.INSTANCE;
+    }
+
+    @Override
+    public int newHash(final int previousHash, final Object nextObject) {
+      return newHash(previousHash, Objects.hashCode(nextObject));
+    }
+
+    @Override
+    public int newHash(final int previousHash, final int nextHash) {
+      int k = nextHash * C1;
+      k = Integer.rotateLeft(k, 15);
+      k *= C2;
+      int h = (previousHash ^ k) + seedLow;
+      h = Integer.rotateLeft(h, 13);
+      return (h * 5) + seedHigh;
+    }
+
+    @Override
+    public int hashLong(final long value) {
+      return (int) SipHash.hash(sipKey0, sipKey1, value);
+    }
+
+    @Override
+    public int hashString(final String value) {
+      return (int) SipHash.hash(sipKey0, sipKey1, value);
+    }
+
+    // Lazy holder, so nobody pays for the SecureRandom unless they use a seeded hash.
+    private static final class JvmSeed {
+      private static final SecureRandom RANDOM = new SecureRandom();
+      private static final SeededHashBuilder INSTANCE = new SeededHashBuilder(RANDOM.nextLong());
+    }
   }
 
   /**
@@ -941,6 +1560,14 @@ public abstract class DogTag<T> {
     private int getHashValue(final T thisOne) throws IllegalAccessException {
       return hashMethod.get(thisOne);
     }
+
+    ToBooleanBiFunction<T> getEqualMethod() {
+      return compareFieldMethod;
+    }
+
+    ToIntThrowingFunction<T> getHashMethod() {
+      return hashMethod;
+    }
   }
 
 //  private static final class FieldProcessorWrapper<T> implements Comparable<FieldProcessorWrapper<T>> {
@@ -1055,7 +1682,9 @@ public abstract class DogTag<T> {
   public static final class LambdaFactory<T> extends Factory<T> {
     private final List<EqualHandler<T>> equalHandlerList;
     private final List<HashHandler<T>> hashHandlerList;
+    private final List<PlanEntry<T>> plan;
     private final Class<T> targetClass;
+    private final FusedHandler<T> fusedHandler; // null if no class could be generated, and the plan isn't small
 
     LambdaFactory(
         final Class<T> theClass,
@@ -1063,12 +1692,25 @@ public abstract class DogTag<T> {
         final HashBuilder hashBuilder,
         final boolean useCache,
         final List<EqualHandler<T>> equalHandlerList,
-        final List<HashHandler<T>> hashHandlerList
+        final List<HashHandler<T>> hashHandlerList,
+        final List<PlanEntry<T>> plan,
+        final FusedHandler<T> fusedHandler
     ) {
       super(useCache, hashBuilder, startingHash);
       targetClass = theClass;
       this.equalHandlerList = Collections.unmodifiableList(equalHandlerList);
       this.hashHandlerList = Collections.unmodifiableList(hashHandlerList);
+      this.plan = Collections.unmodifiableList(new ArrayList<>(plan));
+      this.fusedHandler = fusedHandler;
+    }
+
+    /**
+     * Returns true if this factory compares and hashes instances with a generated class, or, failing that, with one of the
+     * {@link SmallPlans} handlers. See {@link FusedHandler}.
+     * @return true if the factory doesn't loop over its handlers
+     */
+    boolean isFused() {
+      return fusedHandler != null;
     }
 
     @Override
@@ -1087,10 +1729,16 @@ public abstract class DogTag<T> {
       return hashHandlerList;
     }
 
+    @Override
     Class<T> getTargetClass() {
       return targetClass;
     }
 
+    @Override
+    List<PlanEntry<T>> getPlan() {
+      return plan;
+    }
+
     @Override
     protected boolean doEqualsTest(final T thisOne, final Object thatOne) {
       //noinspection ObjectEquality
@@ -1105,6 +1753,9 @@ public abstract class DogTag<T> {
         return false;
       }
       final T thatOneNotNull = thisClass.cast(thatOne);
+      if (fusedHandler != null) {
+        return fusedHandler.equal(thisOne, thatOneNotNull);
+      }
       final Collection<EqualHandler<T>> equalHandlers = getEqualHandlerList();
 
       /* This imperative loop outperforms the stream expression that's commented out below. */
@@ -1122,18 +1773,24 @@ public abstract class DogTag<T> {
 
     @Override
     public int doHashCodeInternal(final T thisOne) {
-      final List<Integer> hashValues = new LinkedList<>();
+      if (fusedHandler != null) {
+        return fusedHandler.hash(thisOne);
+      }
+      int hash = getStartingHash();
+      final HashBuilder hashBuilder = getHashBuilder();
       final Collection<HashHandler<T>> hashHandlers = getHashHandlerList();
       for (final HashHandler<T> hashHandler : hashHandlers) {
-        hashValues.add(hashHandler.doHashCode(thisOne));
+        hash = hashBuilder.newHash(hash, hashHandler.doHashCode(thisOne));
       }
-      return Arrays.deepHashCode(hashValues.toArray());
+      return hash;
     }
 
     public static class LambdaBuilder<T> extends DogTagBaseBuilder<T> {
 //      private final List<FieldHandler<T>> fieldHandlerList = new LinkedList<>();
       private final List<EqualHandler<T>> equalHandlerList = new LinkedList<>();
       private final List<HashHandler<T>> hashHandlerList = new LinkedList<>();
+      private final List<PlanEntry<T>> plan = new LinkedList<>();
+      private final List<FusedHandler.Step> steps = new ArrayList<>();
 
       LambdaBuilder(final Class<T> theClass) {
         super(theClass);
@@ -1164,33 +1821,59 @@ public abstract class DogTag<T> {
         return this;
       }
 
+      /**
+       * Specify a custom formula for building a single hash value out of a series of hash values. The default
+       * formula matches the one used by java.util.Objects.hash(Object...)
+       *
+       * @param startingHash The starting value.
+       * @param hashBuilder  The formula for adding additional hash values.
+       * @return this, for method chaining
+       * @see HashBuilder
+       * @see SeededHashBuilder
+       */
+      public LambdaBuilder<T> withHashBuilder(final int startingHash, final HashBuilder hashBuilder) {
+        setStartingHash(startingHash);
+        setHashBuilder(hashBuilder);
+        return this;
+      }
+
       public LambdaBuilder<T> addSimple(final ToIntFunction<T> intFunction) {
         equalHandlerList.add((thisOne, thatOne) -> intFunction.applyAsInt(thisOne) == intFunction.applyAsInt(thatOne));
         hashHandlerList.add(intFunction::applyAsInt);
+        plan.add(PlanEntry.forPrimitive(ValueKind.INT, null, intFunction::applyAsInt));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.INT, intFunction));
         return this;
       }
 
       public LambdaBuilder<T> addSimple(final ToLongFunction<T> longFunction) {
         equalHandlerList.add((thisOne, thatOne) -> longFunction.applyAsLong(thisOne) == longFunction.applyAsLong(thatOne));
         hashHandlerList.add(thisOne -> Long.hashCode(longFunction.applyAsLong(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.LONG, null, longFunction::applyAsLong));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.LONG, longFunction));
         return this;
       }
 
       public LambdaBuilder<T> addSimple(final ToCharFunction<T> charFunction) {
         equalHandlerList.add((thisOne, thatOne) -> charFunction.applyAsChar(thisOne) == charFunction.applyAsChar(thatOne));
         hashHandlerList.add(thisOne -> Character.hashCode(charFunction.applyAsChar(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.CHAR, null, charFunction::applyAsChar));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.CHAR, charFunction));
         return this;
       }
 
       public LambdaBuilder<T> addSimple(final ToByteFunction<T> byteFunction) {
         equalHandlerList.add((thisOne, thatOne) -> byteFunction.applyAsByte(thisOne) == byteFunction.applyAsByte(thatOne));
         hashHandlerList.add(thisOne -> Byte.hashCode(byteFunction.applyAsByte(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.BYTE, null, byteFunction::applyAsByte));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.BYTE, byteFunction));
         return this;
       }
 
       public LambdaBuilder<T> addSimple(final ToShortFunction<T> shortFunction) {
         equalHandlerList.add((thisOne, thatOne) -> shortFunction.applyAsShort(thisOne) == shortFunction.applyAsShort(thatOne));
         hashHandlerList.add(thisOne -> Short.hashCode(shortFunction.applyAsShort(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.SHORT, null, shortFunction::applyAsShort));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.SHORT, shortFunction));
         return this;
       }
 
@@ -1198,6 +1881,8 @@ public abstract class DogTag<T> {
         equalHandlerList.add((thisOne, thatOne)
             -> Float.floatToIntBits(floatFunction.applyAsFloat(thisOne)) == Float.floatToIntBits(floatFunction.applyAsFloat(thatOne)));
         hashHandlerList.add(thisOne -> Float.hashCode(floatFunction.applyAsFloat(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.FLOAT, null, (t) -> Float.floatToIntBits(floatFunction.applyAsFloat(t))));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.FLOAT, floatFunction));
         return this;
       }
 
@@ -1205,6 +1890,8 @@ public abstract class DogTag<T> {
         equalHandlerList.add((thisOne, thatOne)
             -> Double.doubleToLongBits(doubleFunction.applyAsDouble(thisOne)) == Double.doubleToLongBits(doubleFunction.applyAsDouble(thatOne)));
         hashHandlerList.add(thisOne -> Double.hashCode(doubleFunction.applyAsDouble(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.DOUBLE, null, (t) -> Double.doubleToLongBits(doubleFunction.applyAsDouble(t))));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.DOUBLE, doubleFunction));
         return this;
       }
 
@@ -1232,74 +1919,181 @@ public abstract class DogTag<T> {
           }
           return (Objects.hashCode(thisObject));
         });
+        plan.add(PlanEntry.forLambdaObject(objectFunction::applyAsObject));
+        steps.add(FusedHandler.Step.handled());
+        return this;
+      }
+
+      /**
+       * Add a large array or List value, which is compared in full, but hashes only its length, a sample of its elements taken at
+       * evenly spaced positions, and its last element. This is the lambda equivalent of the {@link DogTagSampledHash} annotation.
+       * Values that aren't arrays or Lists are hashed in full.
+       * @param objectFunction The function that returns the array or List
+       * @param samples The number of elements to sample, which must be at least 1
+       * @return this, for method chaining
+       */
+      public LambdaBuilder<T> addSampled(final ToObjectFunction<T> objectFunction, final int samples) {
+        if (samples < 1) {
+          throw new IllegalArgumentException(String.format("E32: A sampled hash needs at least 1 sample, not %d", samples));
+        }
+        equalHandlerList.add((thisOne, thatOne)
+            -> Objects.deepEquals(objectFunction.applyAsObject(thisOne), objectFunction.applyAsObject(thatOne)));
+        hashHandlerList.add(thisOne -> SampledHash.hashCode(objectFunction.applyAsObject(thisOne), samples));
+        plan.add(PlanEntry.forObject(Object.class, null, objectFunction::applyAsObject, Objects::deepEquals,
+            (v) -> SampledHash.hashCode(v, samples)));
+        steps.add(FusedHandler.Step.handled());
+        return this;
+      }
+
+      /**
+       * Add a String value. This is faster than {@code addObject()}, which can't know the type of the value, so it must test
+       * every value to see if it's an array, and must call equals() in a way that the JIT can't inline.
+       * @param stringFunction The function that returns the String
+       * @return this, for method chaining
+       */
+      public LambdaBuilder<T> addString(final ToStringFunction<T> stringFunction) {
+        equalHandlerList.add((thisOne, thatOne)
+            -> Objects.equals(stringFunction.applyAsString(thisOne), stringFunction.applyAsString(thatOne)));
+        hashHandlerList.add(thisOne -> Objects.hashCode(stringFunction.applyAsString(thisOne)));
+        plan.add(PlanEntry.forValue(String.class, stringFunction::applyAsString));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.STRING, stringFunction));
+        return this;
+      }
+
+      /**
+       * Add an Object value of a known type. Like the reflective builders, this uses handlers specialized for the type, with
+       * identity comparison for enums, and typed comparisons for String, the wrapper classes, UUID, LocalDate, LocalDateTime,
+       * and Instant, so the JIT can inline their equals() and hashCode() methods. Arrays are compared like the reflective
+       * builders compare array fields of the same type, Lists, Sets, and Maps compare their sizes first, and {@link ArrayValue}s
+       * compare their cached hash codes first. Other types are compared with {@code Objects.equals()}, without the array test
+       * that {@link #addObject(ToObjectFunction)} makes on each call.
+       * @param objectFunction The function that returns the value
+       * @param valueType The declared type of the value. Every value must be an instance of this type, or null.
+       * @return this, for method chaining
+       */
+      public LambdaBuilder<T> addObject(final ToObjectFunction<T> objectFunction, final Class<?> valueType) {
+        if (valueType.isPrimitive()) {
+          throw new IllegalArgumentException(String.format("E33: Primitive type %s needs addSimple(), not addObject()", valueType));
+        }
+        final PlanEntry<T> entry = PlanEntry.forValue(valueType, objectFunction::applyAsObject);
+        if (valueType.isArray()) {
+          equalHandlerList.add((thisOne, thatOne) -> entry.objectsEqual(objectFunction.applyAsObject(thisOne),
+              objectFunction.applyAsObject(thatOne)));
+          hashHandlerList.add(thisOne -> entry.hashObject(objectFunction.applyAsObject(thisOne)));
+        } else {
+          final FieldProcessor<T> processor = getProcessorForObjectType(objectFunction::applyAsObject, valueType);
+          final ToBooleanBiFunction<T> valueEquals = processor.getEqualMethod();
+          final ToIntThrowingFunction<T> valueHash = processor.getHashMethod();
+          equalHandlerList.add((thisOne, thatOne) -> {
+            try {
+              return valueEquals.eval(thisOne, thatOne);
+            } catch (final IllegalAccessException e) { // Can't happen: The getter calls a lambda, not Field.get().
+              throw new AssertionError("E1: Illegal Access should not happen", e);
+            }
+          });
+          hashHandlerList.add(thisOne -> {
+            try {
+              return valueHash.get(thisOne);
+            } catch (final IllegalAccessException e) { // Can't happen: The getter calls a lambda, not Field.get().
+              throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+            }
+          });
+        }
+        plan.add(entry);
+        steps.add(FusedHandler.Step.handled());
         return this;
       }
 
       public LambdaBuilder<T> addSimple(final ToBooleanFunction<T> booleanFunction) {
         equalHandlerList.add((thisOne, thatOne) -> booleanFunction.applyAsBoolean(thisOne) == booleanFunction.applyAsBoolean(thatOne));
         hashHandlerList.add(thisOne -> Boolean.hashCode(booleanFunction.applyAsBoolean(thisOne)));
+        plan.add(PlanEntry.forPrimitive(ValueKind.BOOLEAN, null, (t) -> booleanFunction.applyAsBoolean(t) ? 1L : 0L));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.BOOLEAN, booleanFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToIntArrayFunction<T> intArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(intArrayFunction.applyAsIntArray(thisOne), intArrayFunction.applyAsIntArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(intArrayFunction.applyAsIntArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(intArrayFunction.applyAsIntArray(thisOne)));
+        plan.add(arrayEntry(int[].class, intArrayFunction::applyAsIntArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.INT_ARRAY, intArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToLongArrayFunction<T> longArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(longArrayFunction.applyAsLongArray(thisOne), longArrayFunction.applyAsLongArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(longArrayFunction.applyAsLongArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(longArrayFunction.applyAsLongArray(thisOne)));
+        plan.add(arrayEntry(long[].class, longArrayFunction::applyAsLongArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.LONG_ARRAY, longArrayFunction));
         return this;
       }
 
 
       public LambdaBuilder<T> addArray(final ToCharArrayFunction<T> charArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(charArrayFunction.applyAsCharArray(thisOne), charArrayFunction.applyAsCharArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(charArrayFunction.applyAsCharArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(charArrayFunction.applyAsCharArray(thisOne)));
+        plan.add(arrayEntry(char[].class, charArrayFunction::applyAsCharArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.CHAR_ARRAY, charArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToByteArrayFunction<T> byteArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(byteArrayFunction.applyAsByteArray(thisOne), byteArrayFunction.applyAsByteArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(byteArrayFunction.applyAsByteArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(byteArrayFunction.applyAsByteArray(thisOne)));
+        plan.add(arrayEntry(byte[].class, byteArrayFunction::applyAsByteArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.BYTE_ARRAY, byteArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToShortArrayFunction<T> shortArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(shortArrayFunction.applyAsShortArray(thisOne), shortArrayFunction.applyAsShortArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(shortArrayFunction.applyAsShortArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(shortArrayFunction.applyAsShortArray(thisOne)));
+        plan.add(arrayEntry(short[].class, shortArrayFunction::applyAsShortArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.SHORT_ARRAY, shortArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToFloatArrayFunction<T> floatArrayFunction) {
         equalHandlerList.add((thisOne, thatOne) -> Arrays.equals(floatArrayFunction.applyAsFloatArray(thisOne), floatArrayFunction.applyAsFloatArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(floatArrayFunction.applyAsFloatArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(floatArrayFunction.applyAsFloatArray(thisOne)));
+        plan.add(arrayEntry(float[].class, floatArrayFunction::applyAsFloatArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.FLOAT_ARRAY, floatArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToDoubleArrayFunction<T> doubleArrayFunction) {
         equalHandlerList.add((thisOne, thatOne)
             -> Arrays.equals(doubleArrayFunction.applyAsDoubleArray(thisOne), doubleArrayFunction.applyAsDoubleArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(doubleArrayFunction.applyAsDoubleArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(doubleArrayFunction.applyAsDoubleArray(thisOne)));
+        plan.add(arrayEntry(double[].class, doubleArrayFunction::applyAsDoubleArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.DOUBLE_ARRAY, doubleArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToBooleanArrayFunction<T> booleanArrayFunction) {
         equalHandlerList.add((thisOne, thatOne)
             -> Arrays.equals(booleanArrayFunction.applyAsBooleanArray(thisOne), booleanArrayFunction.applyAsBooleanArray(thatOne)));
-        hashHandlerList.add((thisOne) -> Arrays.hashCode(booleanArrayFunction.applyAsBooleanArray(thisOne)));
+        hashHandlerList.add((thisOne) -> ArrayHash.hashCode(booleanArrayFunction.applyAsBooleanArray(thisOne)));
+        plan.add(arrayEntry(boolean[].class, booleanArrayFunction::applyAsBooleanArray));
+        steps.add(FusedHandler.Step.of(FusedHandler.Form.BOOLEAN_ARRAY, booleanArrayFunction));
         return this;
       }
 
       public LambdaBuilder<T> addArray(final ToObjectArrayFunction<T> objectArrayFunction) {
         // Because this could be a multi-dimensional array, we call the deep version of equals and hashCode.
-          equalHandlerList.add((thisOne, thatOne)
-              -> Arrays.deepEquals(objectArrayFunction.applyAsObjectArray(thisOne), objectArrayFunction.applyAsObjectArray(thatOne)));
-          hashHandlerList.add((thisOne) -> Arrays.deepHashCode(objectArrayFunction.applyAsObjectArray(thisOne)));
+        equalHandlerList.add((thisOne, thatOne)
+            -> Arrays.deepEquals(objectArrayFunction.applyAsObjectArray(thisOne), objectArrayFunction.applyAsObjectArray(thatOne)));
+        hashHandlerList.add((thisOne) -> Arrays.deepHashCode(objectArrayFunction.applyAsObjectArray(thisOne)));
+        plan.add(arrayEntry(Object[].class, objectArrayFunction::applyAsObjectArray));
+        steps.add(FusedHandler.Step.handled());
         return this;
       }
 
+      private static <T> PlanEntry<T> arrayEntry(final Class<?> arrayType, final PlanEntry.ObjectGetter<T> getter) {
+        final Class<?> componentType = arrayType.getComponentType();
+        return PlanEntry.forObject(arrayType, null, getter, PlanEntry.arrayEquals(componentType), PlanEntry.arrayHash(componentType));
+      }
+
       @Override
       public Factory<T> build() {
         // Check for a static factory
@@ -1321,18 +2115,56 @@ public abstract class DogTag<T> {
         if (isFactoryMissing) {
           throw new IllegalArgumentException(String.format("E14: No static DogTag.Factory found in %s.", targetClass));
         }
-        return new LambdaFactory<>(targetClass, getStartingHash(), getHashBuilder(), isUseCachedHash(), equalHandlerList, hashHandlerList);
+        final List<EqualHandler<T>> equalHandlers = new ArrayList<>(equalHandlerList);
+        final List<HashHandler<T>> hashHandlers = new ArrayList<>(hashHandlerList);
+        final List<FusedHandler.Step> fusedSteps = new ArrayList<>(steps);
+        if (!(getHashBuilder() instanceof ObjectsHashBuilder)) {
+          useBuilderHashes(hashHandlers, fusedSteps);
+        }
+        final FusedHandler<T> generated = FusedHandler.create(fusedSteps, equalHandlers, hashHandlers, getStartingHash(),
+            getHashBuilder(), getHashBuilder() instanceof ObjectsHashBuilder, ClassDefiner.canDefine() ? ClassDefiner::define : null);
+        final FusedHandler<T> fusedHandler = (generated != null) ?
+            generated :
+            SmallPlans.forHandlers(equalHandlers, hashHandlers, getStartingHash(), getHashBuilder());
+        return new LambdaFactory<>(targetClass, getStartingHash(), getHashBuilder(), isUseCachedHash(), equalHandlerList, hashHandlers,
+            plan, fusedHandler);
+      }
+
+      /**
+       * A HashBuilder other than the default may hash long, double, and String values itself. See
+       * {@link HashBuilder#hashLong(long)} and {@link HashBuilder#hashString(String)}. This replaces the hash handlers of those
+       * values with ones that call the HashBuilder. Their fused steps become handler steps, since generated classes hash
+       * values inline.
+       * @param hashHandlers The hash handlers, in the same order as the plan
+       * @param fusedSteps The fused steps, in the same order as the plan
+       */
+      private void useBuilderHashes(final List<HashHandler<T>> hashHandlers, final List<FusedHandler.Step> fusedSteps) {
+        final HashBuilder hashBuilder = getHashBuilder();
+        int i = 0;
+        for (final PlanEntry<T> entry : plan) {
+          if (entry.isHashedByBuilder()) {
+            hashHandlers.set(i, thisOne -> {
+              try {
+                return entry.hashOf(thisOne, hashBuilder);
+              } catch (final IllegalAccessException e) { // Can't happen: The getter calls a lambda, not Field.get().
+                throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+              }
+            });
+            fusedSteps.set(i, FusedHandler.Step.handled());
+          }
+          ++i;
+        }
       }
     }
   }
 
   @FunctionalInterface
-  private interface EqualHandler<T> {
+  interface EqualHandler<T> {
     boolean doEqual(T thisOne, T thatOne);
   }
 
   @FunctionalInterface
-  private interface HashHandler<T> {
+  interface HashHandler<T> {
     int doHashCode(T t);
   }
 
@@ -0,0 +1,210 @@
+package com.equals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A Bloom filter that derives its hash functions from the values a DogTag.Factory compares, so it gives the same answer for any
+ * instances the factory considers equal. It's meant as a cheap membership pre-check before a slow lookup: If
+ * {@link #mightContain(Object)} returns false, the instance was never added. If it returns true, it probably was.
+ * <p>
+ * The bits are kept in a flat array of longs, either on the heap or in a memory-mapped file. A mapped filter may be reopened later
+ * with the same file, factory, and parameters. The cells are chosen by double hashing or independent hashing, as described in
+ * {@link Strategy}.
+ * <p>
+ * A filter may be read by many threads at once, but adding instances must not happen concurrently with any other access.
+ * <pre>
+ *   {@literal DogTagBloomFilter<Trade>} seen = new {@literal DogTagBloomFilter<>}(Trade.factory, 1_000_000, 0.01);
+ *   seen.put(trade);
+ *   ...
+ *   if (seen.mightContain(trade)) {
+ *     lookUpInBackingStore(trade);
+ *   }
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:35 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+public final class DogTagBloomFilter<T> {
+
+  /**
+   * How the k cells of an instance are chosen.
+   */
+  public enum Strategy {
+    /**
+     * Compute one 64-bit hash, and derive the k cells from it by double hashing. This is the fastest, and works about as well as
+     * independent hashing.
+     */
+    DOUBLE_HASHING,
+    /**
+     * Compute k independent 64-bit hashes, each one with its own seed. This costs k passes over the instance's values.
+     */
+    INDEPENDENT
+  }
+
+  private final BloomHashing<T> hashing;
+  private final LongStore bits;
+
+  /**
+   * Create an empty filter on the heap, sized for the expected number of insertions and false-positive rate, using double
+   * hashing.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances to be added
+   * @param falsePositiveRate The desired false-positive rate, once the expected number of instances have been added
+   */
+  public DogTagBloomFilter(final DogTag.Factory<T> factory, final long expectedInsertions, final double falsePositiveRate) {
+    this(factory, expectedInsertions, falsePositiveRate, Strategy.DOUBLE_HASHING);
+  }
+
+  /**
+   * Create an empty filter on the heap, sized for the expected number of insertions and false-positive rate.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances to be added
+   * @param falsePositiveRate The desired false-positive rate, once the expected number of instances have been added
+   * @param strategy How the cells are chosen
+   */
+  public DogTagBloomFilter(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final Strategy strategy
+  ) {
+    this(makeHashing(factory, expectedInsertions, falsePositiveRate, strategy), null);
+  }
+
+  private DogTagBloomFilter(final BloomHashing<T> hashing, final LongStore bits) {
+    this.hashing = hashing;
+    this.bits = (bits == null) ? LongStore.onHeap(wordCount(hashing)) : bits;
+  }
+
+  /**
+   * Open a filter backed by a memory-mapped file. If the file exists, its contents are used, so it must have been created with the
+   * same factory and parameters. Otherwise, it's created as an empty filter. The file starts with a header that records the
+   * parameters and the values the factory compares, and a file whose header doesn't match throws an IllegalArgumentException.
+   * <p>
+   * Since the file may be reopened by another JVM, every value the factory compares must have a hash that's the same in every
+   * JVM: a primitive, a wrapper, a String, an enum, an {@link ArrayValue}, or an array of these. Other values throw an
+   * IllegalArgumentException.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances to be added
+   * @param falsePositiveRate The desired false-positive rate, once the expected number of instances have been added
+   * @param strategy How the cells are chosen
+   * @param file The backing file
+   * @param <T> The type of the instances
+   * @return The filter
+   * @throws IOException If the file can't be opened or mapped
+   */
+  public static <T> DogTagBloomFilter<T> mapped(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final Strategy strategy,
+      final Path file
+  ) throws IOException {
+    final BloomHashing<T> hashing = makeHashing(factory, expectedInsertions, falsePositiveRate, strategy);
+    hashing.requireStableHash();
+    return new DogTagBloomFilter<>(hashing, LongStore.mapped(file, hashing.header(1), wordCount(hashing)));
+  }
+
+  private static <T> BloomHashing<T> makeHashing(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final Strategy strategy
+  ) {
+    final long cells = BloomHashing.optimalCellCount(expectedInsertions, falsePositiveRate);
+    if ((cells / Long.SIZE) >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format("E27: %d bits is too large", cells));
+    }
+    return new BloomHashing<>(factory, strategy, BloomHashing.optimalHashCount(expectedInsertions, cells), cells);
+  }
+
+  private static int wordCount(final BloomHashing<?> hashing) {
+    return (int) (((hashing.getCellCount() + Long.SIZE) - 1) / Long.SIZE);
+  }
+
+  /**
+   * Add an instance to the filter.
+   * @param instance The instance
+   * @return true if any bits changed, which means this instance was definitely not present before
+   */
+  public boolean put(final T instance) {
+    final long base = hashing.baseHash(instance);
+    final long step = BloomHashing.step(base);
+    boolean changed = false;
+    for (int i = 0; i < hashing.getHashCount(); ++i) {
+      final long cell = hashing.cell(instance, base, step, i);
+      final int word = (int) (cell >>> 6);
+      final long mask = 1L << cell; // Shifts only use the low 6 bits.
+      final long current = bits.get(word);
+      if ((current & mask) == 0L) {
+        bits.set(word, current | mask);
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Returns false if the instance, or any instance equal to it, was definitely never added, and true if it might have been.
+   * @param instance The instance
+   * @return true if the instance might have been added
+   */
+  public boolean mightContain(final T instance) {
+    final long base = hashing.baseHash(instance);
+    final long step = BloomHashing.step(base);
+    for (int i = 0; i < hashing.getHashCount(); ++i) {
+      final long cell = hashing.cell(instance, base, step, i);
+      if ((bits.get((int) (cell >>> 6)) & (1L << cell)) == 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of hash functions, k.
+   * @return k
+   */
+  public int getHashCount() {
+    return hashing.getHashCount();
+  }
+
+  /**
+   * Returns the number of bits, m.
+   * @return m
+   */
+  public long getBitCount() {
+    return hashing.getCellCount();
+  }
+
+  /**
+   * Returns the number of bits that are set.
+   * @return The number of set bits
+   */
+  public long getSetBitCount() {
+    long count = 0L;
+    for (int i = 0; i < bits.size(); ++i) {
+      count += Long.bitCount(bits.get(i));
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the current false-positive rate from the fraction of bits that are set.
+   * @return The estimated false-positive rate
+   */
+  public double getExpectedFalsePositiveRate() {
+    return Math.pow((double) getSetBitCount() / getBitCount(), getHashCount());
+  }
+
+  /**
+   * Write any changes through to the backing file. This does nothing for a filter on the heap.
+   */
+  public void flush() {
+    bits.flush();
+  }
+}
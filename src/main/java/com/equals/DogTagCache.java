@@ -0,0 +1,563 @@
+package com.equals;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, thread-safe cache that uses a DogTag.Factory, rather than the keys' own {@code equals()} and {@code hashCode()}
+ * methods, to compare and hash its keys. This is meant for memoizing expensive computations on value objects.
+ * <p>
+ * The cache is divided into segments, each with its own lock, its own open-addressing table, and its own least-recently-used list.
+ * When a segment holds more than its share of the maximum size, its least-recently-used entry is evicted, so eviction is LRU
+ * within each segment. Entries that are still loading are never evicted, and only count against the maximum size once they've
+ * loaded, so a segment may briefly hold more entries while many loads are in flight. If an expiration time is set, entries expire that long after they were written. Expired entries are never
+ * returned, and are removed when they're found, or when they reach the end of the LRU list.
+ * <p>
+ * {@link #get(Object, Function)} loads each missing key only once: Other threads asking for the same key while it's loading wait
+ * for the result. The loader runs without holding any lock, so slow loads don't block other keys. Null values are not cached.
+ * <pre>
+ *   private final {@literal DogTagCache<Trade, Price>} prices = new {@literal DogTagCache<>}(Trade.factory, 10_000, 5, TimeUnit.MINUTES);
+ *   ...
+ *   Price price = prices.get(trade, this::computePrice);
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:25 PM
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ * @author Miguel Mu\u00f1oz
+ */
+public class DogTagCache<K, V> {
+  private static final int MAXIMUM_SEGMENTS = 1 << 16;
+  private static final int MINIMUM_SEGMENT_SIZE = 16;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+  private final DogTag.Factory<K> factory;
+  private final Segment<K, V>[] segments;
+  private final int segmentBits;
+  private final long expireNanos; // zero for never
+  private final LongSupplier ticker;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create an empty cache that never expires its entries.
+   * @param factory The DogTag.Factory for the keys
+   * @param maximumSize The maximum number of entries
+   */
+  public DogTagCache(final DogTag.Factory<K> factory, final int maximumSize) {
+    this(factory, maximumSize, 0L, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Create an empty cache that expires its entries a fixed time after they're written.
+   * @param factory The DogTag.Factory for the keys
+   * @param maximumSize The maximum number of entries
+   * @param expireAfterWrite The time after which an entry expires, or zero for never
+   * @param unit The unit of expireAfterWrite
+   */
+  public DogTagCache(final DogTag.Factory<K> factory, final int maximumSize, final long expireAfterWrite, final TimeUnit unit) {
+    this(factory, maximumSize, expireAfterWrite, unit, Runtime.getRuntime().availableProcessors() * 4, System::nanoTime);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  DogTagCache(
+      final DogTag.Factory<K> factory,
+      final int maximumSize,
+      final long expireAfterWrite,
+      final TimeUnit unit,
+      final int concurrencyLevel,
+      final LongSupplier ticker
+  ) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(String.format("E24: Maximum size must be positive: %d", maximumSize));
+    }
+    if (expireAfterWrite < 0L) {
+      throw new IllegalArgumentException(String.format("E25: Negative expiration time: %d", expireAfterWrite));
+    }
+    this.factory = factory;
+    this.ticker = ticker;
+    expireNanos = unit.toNanos(expireAfterWrite);
+
+    // Enough segments for the concurrency level, but not so many that each segment's LRU list is too short to mean much.
+    final int wanted = Math.min(Math.min(MAXIMUM_SEGMENTS, concurrencyLevel), Math.max(1, maximumSize / MINIMUM_SEGMENT_SIZE));
+    final int segmentCount = Integer.highestOneBit((wanted * 2) - 1);
+    segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+    segments = new Segment[segmentCount];
+    final int perSegment = (maximumSize + segmentCount - 1) / segmentCount;
+    for (int i = 0; i < segmentCount; ++i) {
+      segments[i] = new Segment<>(this, perSegment);
+    }
+  }
+
+  /**
+   * Returns the factory used to compare and hash the keys.
+   * @return The factory
+   */
+  public DogTag.Factory<K> getFactory() {
+    return factory;
+  }
+
+  private Segment<K, V> segmentFor(final int hash) {
+    return segments[OpenAddressing.segment(hash, segmentBits)];
+  }
+
+  /**
+   * Returns the value cached for the key, loading it if it's missing. If another thread is already loading the value, this waits
+   * for it rather than loading it again. If the loader throws an exception, nothing is cached, and the exception is thrown to this
+   * thread and to any others waiting for the same key. Other threads get a checked exception, which a loader can only throw
+   * sneakily, wrapped in a CompletionException.
+   * @param key The key
+   * @param loader The function to compute the value of a missing key
+   * @return The value, which is null only if the loader returned null
+   */
+  public V get(final K key, final Function<? super K, ? extends V> loader) {
+    Objects.requireNonNull(loader);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).get(key, hash, loader);
+  }
+
+  /**
+   * Returns the value cached for the key, or null if there is none. This doesn't wait for a value that's being loaded.
+   * @param key The key
+   * @return The value, or null
+   */
+  public V getIfPresent(final K key) {
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    return segmentFor(hash).getIfPresent(key, hash);
+  }
+
+  /**
+   * Cache a value, replacing any previous value for the key.
+   * @param key The key
+   * @param value The value
+   */
+  public void put(final K key, final V value) {
+    Objects.requireNonNull(value);
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    segmentFor(hash).put(key, hash, value);
+  }
+
+  /**
+   * Remove the key from the cache.
+   * @param key The key
+   */
+  public void invalidate(final K key) {
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(key));
+    segmentFor(hash).invalidate(key, hash);
+  }
+
+  /**
+   * Remove all entries from the cache.
+   */
+  public void invalidateAll() {
+    for (final Segment<K, V> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns the number of entries, including those still loading, and any that have expired but haven't been removed yet.
+   * @return The number of entries
+   */
+  public int size() {
+    long total = 0L;
+    for (final Segment<K, V> segment : segments) {
+      total += segment.size;
+    }
+    return (int) Math.min(total, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a snapshot of the hit, miss, load failure, and eviction counts since the cache was created.
+   * @return The statistics
+   */
+  public Stats getStats() {
+    return new Stats(hits.sum(), misses.sum(), loadFailures.sum(), evictions.sum());
+  }
+
+  /**
+   * An immutable snapshot of a cache's statistics. A call to {@code get()} that waits for another thread's load counts as a hit.
+   * Evictions include expired entries.
+   */
+  public static final class Stats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+
+    Stats(final long hitCount, final long missCount, final long loadFailureCount, final long evictionCount) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.loadFailureCount = loadFailureCount;
+      this.evictionCount = evictionCount;
+    }
+
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    public long getMissCount() {
+      return missCount;
+    }
+
+    public long getLoadFailureCount() {
+      return loadFailureCount;
+    }
+
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or 1.0 if there were no lookups.
+     * @return The hit rate
+     */
+    public double getHitRate() {
+      final long total = hitCount + missCount;
+      return (total == 0L) ? 1.0 : (((double) hitCount) / total);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Stats{hits=%d, misses=%d, loadFailures=%d, evictions=%d}", hitCount, missCount, loadFailureCount,
+          evictionCount);
+    }
+  }
+
+  /**
+   * An entry, which is also a link in its segment's LRU list. While the value is loading, {@code loading} holds the future that
+   * other threads wait for.
+   */
+  private static final class Node<K, V> {
+    private final K key;
+    private final int hash;
+    private V value;
+    private CompletableFuture<V> loading;
+    private long writeTime;
+    private boolean removed;
+    private Node<K, V> newer;
+    private Node<K, V> older;
+
+    Node(final K key, final int hash) {
+      this.key = key;
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * One segment of the cache. Every operation, including a hit, holds the lock, since a hit moves the entry to the front of the
+   * LRU list.
+   * @param <K> The type of keys
+   * @param <V> The type of values
+   */
+  private static final class Segment<K, V> {
+    private final DogTagCache<K, V> cache;
+    private final DogTag.Factory<K> factory;
+    private final int maximumSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Node<K, V>[] table;
+    private Node<K, V> newest; // head of the LRU list
+    private Node<K, V> oldest; // tail of the LRU list
+    private volatile int size;
+    private int loadingCount; // Nodes still loading, which aren't counted against the maximum size
+
+    Segment(final DogTagCache<K, V> cache, final int maximumSize) {
+      this.cache = cache;
+      factory = cache.factory;
+      this.maximumSize = maximumSize;
+      table = newTable(INITIAL_SEGMENT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(final int capacity) {
+      return new Node[capacity];
+    }
+
+    /**
+     * The high bits of the spread hash choose the segment, so the slot uses the bits below them.
+     */
+    private int idealSlot(final int hash, final int capacity) {
+      return OpenAddressing.idealSlot(hash, cache.segmentBits, OpenAddressing.shift(capacity));
+    }
+
+    V get(final K key, final int hash, final Function<? super K, ? extends V> loader) {
+      final CompletableFuture<V> future;
+      final Node<K, V> node;
+      lock.lock();
+      try {
+        final Node<K, V> existing = findLive(key, hash);
+        if (existing != null) {
+          cache.hits.increment();
+          if (existing.loading == null) {
+            return existing.value;
+          }
+          future = existing.loading;
+          node = null;
+        } else {
+          cache.misses.increment();
+          node = new Node<>(key, hash);
+          future = new CompletableFuture<>();
+          node.loading = future;
+          loadingCount++;
+          insert(node);
+        }
+      } finally {
+        lock.unlock();
+      }
+      return (node == null) ? await(future) : load(node, loader);
+    }
+
+    private V load(final Node<K, V> node, final Function<? super K, ? extends V> loader) {
+      final V value;
+      try {
+        value = loader.apply(node.key);
+      } catch (final Throwable e) { // Checked exceptions can be thrown sneakily, and must not leave the node loading forever.
+        cache.loadFailures.increment();
+        lock.lock();
+        try {
+          if (!node.removed) {
+            remove(node);
+          }
+        } finally {
+          lock.unlock();
+        }
+        node.loading.completeExceptionally(e);
+        throw e;
+      }
+      final CompletableFuture<V> future = node.loading;
+      lock.lock();
+      try {
+        if (!node.removed) {
+          if (value == null) {
+            remove(node);
+          } else {
+            node.value = value;
+            node.writeTime = cache.ticker.getAsLong();
+            node.loading = null;
+            loadingCount--;
+            evict(); // Now that it's loaded, this node counts against the maximum size.
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+      future.complete(value);
+      return value;
+    }
+
+    private static <V> V await(final CompletableFuture<V> future) {
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw e;
+      }
+    }
+
+    V getIfPresent(final K key, final int hash) {
+      lock.lock();
+      try {
+        final Node<K, V> node = findLive(key, hash);
+        if ((node == null) || (node.loading != null)) {
+          cache.misses.increment();
+          return null;
+        }
+        cache.hits.increment();
+        return node.value;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void put(final K key, final int hash, final V value) {
+      lock.lock();
+      try {
+        Node<K, V> node = findLive(key, hash);
+        if ((node != null) && (node.loading != null)) {
+          remove(node); // The load will finish, but its value won't replace this one.
+          node = null;
+        }
+        if (node == null) {
+          node = new Node<>(key, hash);
+          insert(node);
+        }
+        node.value = value;
+        node.writeTime = cache.ticker.getAsLong();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void invalidate(final K key, final int hash) {
+      lock.lock();
+      try {
+        final int slot = findSlot(key, hash);
+        if (slot >= 0) {
+          remove(table[slot]);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void clear() {
+      lock.lock();
+      try {
+        for (Node<K, V> node = newest; node != null; node = node.older) {
+          node.removed = true;
+        }
+        table = newTable(INITIAL_SEGMENT_CAPACITY);
+        newest = null;
+        oldest = null;
+        size = 0;
+        loadingCount = 0;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private boolean isExpired(final Node<K, V> node, final long now) {
+      return (cache.expireNanos != 0L) && (node.loading == null) && ((now - node.writeTime) >= cache.expireNanos);
+    }
+
+    /**
+     * Find the node for the key, and move it to the front of the LRU list. An expired node is removed. The caller must hold the
+     * lock.
+     */
+    private Node<K, V> findLive(final K key, final int hash) {
+      final int slot = findSlot(key, hash);
+      if (slot < 0) {
+        return null;
+      }
+      final Node<K, V> node = table[slot];
+      if (isExpired(node, cache.ticker.getAsLong())) {
+        cache.evictions.increment();
+        remove(node);
+        return null;
+      }
+      unlink(node);
+      linkNewest(node);
+      return node;
+    }
+
+    @SuppressWarnings("ObjectEquality")
+    private int findSlot(final K key, final int hash) {
+      final Node<K, V>[] t = table;
+      final int mask = t.length - 1;
+      int slot = idealSlot(hash, t.length);
+      Node<K, V> node;
+      while ((node = t[slot]) != null) {
+        if ((node.hash == hash) && ((node.key == key) || factory.doEqualsTest(node.key, key))) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /**
+     * Insert a node for a key known to be absent, then evict the oldest nodes if the segment is too big. The caller must hold the
+     * lock, and must count the node in loadingCount first if it's loading.
+     */
+    private void insert(final Node<K, V> node) {
+      if ((size + 1) > (table.length / 2)) {
+        resize();
+      }
+      final Node<K, V>[] t = table;
+      t[OpenAddressing.emptySlot(t, idealSlot(node.hash, t.length))] = node;
+      size++;
+      linkNewest(node);
+      evict();
+    }
+
+    /**
+     * Evict the least recently used nodes while the segment holds too many loaded nodes, or while they've expired. Nodes that are
+     * still loading are skipped, since evicting one would let another thread start a second load of the same key, and they don't
+     * count against the maximum size until their loads complete. The newest node is never evicted, since it was just written or
+     * read. The caller must hold the lock.
+     */
+    private void evict() {
+      final long now = cache.ticker.getAsLong();
+      Node<K, V> node = oldest;
+      while (node != newest) {
+        final Node<K, V> newer = node.newer;
+        if (node.loading == null) {
+          if (((size - loadingCount) <= maximumSize) && !isExpired(node, now)) {
+            return;
+          }
+          cache.evictions.increment();
+          remove(node);
+        }
+        node = newer;
+      }
+    }
+
+    private void resize() {
+      final Node<K, V>[] old = table;
+      final Node<K, V>[] t = newTable(old.length * 2);
+      for (final Node<K, V> node : old) {
+        if (node != null) {
+          t[OpenAddressing.emptySlot(t, idealSlot(node.hash, t.length))] = node;
+        }
+      }
+      table = t;
+    }
+
+    /**
+     * Remove the node from the table and the LRU list. The caller must hold the lock.
+     */
+    private void remove(final Node<K, V> node) {
+      final Node<K, V>[] t = table;
+      final int slot = OpenAddressing.slotOf(t, node, idealSlot(node.hash, t.length));
+      OpenAddressing.removeSlot(t, slot, (s) -> idealSlot(t[s].hash, t.length));
+      size--;
+      if (node.loading != null) {
+        loadingCount--;
+      }
+      unlink(node);
+      node.removed = true;
+    }
+
+    private void linkNewest(final Node<K, V> node) {
+      node.older = newest;
+      node.newer = null;
+      if (newest == null) {
+        oldest = node;
+      } else {
+        newest.newer = node;
+      }
+      newest = node;
+    }
+
+    private void unlink(final Node<K, V> node) {
+      if (node.newer == null) {
+        newest = node.older;
+      } else {
+        node.newer.older = node.older;
+      }
+      if (node.older == null) {
+        oldest = node.newer;
+      } else {
+        node.older.newer = node.newer;
+      }
+      node.newer = null;
+      node.older = null;
+    }
+  }
+}
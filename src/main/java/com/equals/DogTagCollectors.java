@@ -0,0 +1,146 @@
+package com.equals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors that group elements by the equality of a DogTag.Factory, rather than by the {@code equals()} and {@code hashCode()}
+ * methods of the keys. These are the counterparts of {@code Collectors.groupingByConcurrent()}.
+ * <p>
+ * The groups are accumulated directly into a single, presized ConcurrentDogTagHashMap, which is shared by all the threads of a
+ * parallel stream, so there's no merge phase. Each element's key is hashed once, by the map's {@code computeIfAbsent()}. If the
+ * downstream collector isn't concurrent, each group's container is locked while an element is added to it, as in the JDK.
+ * <pre>
+ *   {@literal ConcurrentDogTagHashMap<Order, Long>} counts = orders.parallelStream()
+ *       .collect(DogTagCollectors.groupingByConcurrent(Order.factory, Collectors.counting()));
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public enum DogTagCollectors {
+  ;
+
+  /**
+   * Returns a concurrent Collector that groups equal elements into lists, using the factory to compare and hash them. The first
+   * element of each group is its key.
+   * @param factory The factory used to compare and hash the elements
+   * @param <T> The type of the elements
+   * @return The collector
+   */
+  public static <T> Collector<T, ?, ConcurrentDogTagHashMap<T, List<T>>> groupingByConcurrent(final DogTag.Factory<T> factory) {
+    return groupingByConcurrent(Function.identity(), factory, Collectors.toList(), 0);
+  }
+
+  /**
+   * Returns a concurrent Collector that groups equal elements, using the factory to compare and hash them, and reduces each group
+   * with the downstream collector. The first element of each group is its key.
+   * @param factory The factory used to compare and hash the elements
+   * @param downstream The collector for the elements of each group
+   * @param <T> The type of the elements
+   * @param <A> The intermediate accumulation type of the downstream collector
+   * @param <D> The result type of the downstream collector
+   * @return The collector
+   */
+  public static <T, A, D> Collector<T, ?, ConcurrentDogTagHashMap<T, D>> groupingByConcurrent(
+      final DogTag.Factory<T> factory,
+      final Collector<? super T, A, D> downstream
+  ) {
+    return groupingByConcurrent(Function.identity(), factory, downstream, 0);
+  }
+
+  /**
+   * Returns a concurrent Collector that groups elements by a key, using the factory to compare and hash the keys, and reduces each
+   * group with the downstream collector.
+   * @param classifier The function that maps elements to keys
+   * @param factory The factory used to compare and hash the keys
+   * @param downstream The collector for the elements of each group
+   * @param <T> The type of the elements
+   * @param <K> The type of the keys
+   * @param <A> The intermediate accumulation type of the downstream collector
+   * @param <D> The result type of the downstream collector
+   * @return The collector
+   */
+  public static <T, K, A, D> Collector<T, ?, ConcurrentDogTagHashMap<K, D>> groupingByConcurrent(
+      final Function<? super T, ? extends K> classifier,
+      final DogTag.Factory<K> factory,
+      final Collector<? super T, A, D> downstream
+  ) {
+    return groupingByConcurrent(classifier, factory, downstream, 0);
+  }
+
+  /**
+   * Returns a concurrent Collector that groups elements by a key, using the factory to compare and hash the keys, and reduces each
+   * group with the downstream collector. The map is sized to hold the expected number of groups without resizing.
+   * @param classifier The function that maps elements to keys
+   * @param factory The factory used to compare and hash the keys
+   * @param downstream The collector for the elements of each group
+   * @param expectedGroups The number of groups expected
+   * @param <T> The type of the elements
+   * @param <K> The type of the keys
+   * @param <A> The intermediate accumulation type of the downstream collector
+   * @param <D> The result type of the downstream collector
+   * @return The collector
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, K, A, D> Collector<T, ?, ConcurrentDogTagHashMap<K, D>> groupingByConcurrent(
+      final Function<? super T, ? extends K> classifier,
+      final DogTag.Factory<K> factory,
+      final Collector<? super T, A, D> downstream,
+      final int expectedGroups
+  ) {
+    if (expectedGroups < 0) {
+      throw new IllegalArgumentException(String.format("E16: Negative size: %d", expectedGroups));
+    }
+    final Supplier<A> downstreamSupplier = downstream.supplier();
+    final BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+    final BinaryOperator<A> downstreamCombiner = downstream.combiner();
+    final Supplier<ConcurrentDogTagHashMap<K, A>> mapSupplier = () -> new ConcurrentDogTagHashMap<>(factory, expectedGroups);
+    final Function<K, A> newContainer = k -> downstreamSupplier.get();
+
+    final BiConsumer<ConcurrentDogTagHashMap<K, A>, T> accumulator;
+    if (downstream.characteristics().contains(Collector.Characteristics.CONCURRENT)) {
+      accumulator = (map, element) -> downstreamAccumulator.accept(map.computeIfAbsent(classifier.apply(element), newContainer),
+          element);
+    } else {
+      accumulator = (map, element) -> {
+        final A container = map.computeIfAbsent(classifier.apply(element), newContainer);
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (container) {
+          downstreamAccumulator.accept(container, element);
+        }
+      };
+    }
+
+    // Since the collector is CONCURRENT and UNORDERED, streams shouldn't need to combine maps, but Collector requires a combiner.
+    final BinaryOperator<ConcurrentDogTagHashMap<K, A>> combiner = (left, right) -> {
+      for (final Map.Entry<K, A> entry : right.entrySet()) {
+        left.merge(entry.getKey(), entry.getValue(), downstreamCombiner);
+      }
+      return left;
+    };
+
+    if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+      return (Collector<T, ?, ConcurrentDogTagHashMap<K, D>>) (Collector<T, ?, ?>)
+          Collector.of(mapSupplier, accumulator, combiner, Collector.Characteristics.CONCURRENT,
+              Collector.Characteristics.UNORDERED);
+    }
+
+    // As in the JDK, the finisher replaces each intermediate container with the downstream result, in place.
+    final Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+    final Function<ConcurrentDogTagHashMap<K, A>, ConcurrentDogTagHashMap<K, D>> finisher = map -> {
+      map.replaceAll((k, v) -> downstreamFinisher.apply(v));
+      return (ConcurrentDogTagHashMap<K, D>) (ConcurrentDogTagHashMap<K, ?>) map;
+    };
+    return Collector.of(mapSupplier, accumulator, combiner, finisher, Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED);
+  }
+}
@@ -0,0 +1,581 @@
+package com.equals;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Extracts the values a factory compares from many instances at once, into one column per value, so hash codes and equality can be
+ * computed over whole columns in tight loops. Each instance is read once. After that, the loops touch only primitive arrays, and
+ * arrays of references for Object values, which is a layout the JIT compiler handles well.
+ * <p>
+ * The columns are in the factory's order, the same order used by {@link Probe}. Columns for ints, shorts, chars, bytes, and
+ * booleans are held in {@code int[]} arrays, with booleans as 1 or 0. Longs, floats, and doubles have columns of their own types.
+ * Everything else, including arrays, goes in an {@code Object[]}. The column arrays are reused by later calls to
+ * {@code fill()}, and may be longer than {@link #size()}. Only the first {@code size()} elements are valid.
+ * <pre>
+ *   {@literal DogTagColumns<Trade>} columns = new {@literal DogTagColumns<>}(Trade.factory);
+ *   int[] hashes = null;
+ *   for ({@literal List<Trade>} batch : batches) {
+ *     columns.fill(batch);
+ *     hashes = columns.hashCodes(hashes);
+ *     long[] quantities = columns.getLongColumn(columns.indexOf("quantity"));
+ *     ...
+ *   }
+ * </pre>
+ * An instance of DogTagColumns is not thread-safe.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:20 AM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+public final class DogTagColumns<T> {
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final DogTag.Factory<T> factory;
+  private final PlanEntry<T>[] plan;
+  private final Column<T>[] columns;
+  private int size;
+
+  /**
+   * Create an empty set of columns for the values compared by a factory.
+   * @param factory The factory
+   */
+  public DogTagColumns(final DogTag.Factory<T> factory) {
+    this(factory, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty set of columns for the values compared by a factory, presized to hold the specified number of instances.
+   * @param factory The factory
+   * @param initialCapacity The number of instances to make room for
+   */
+  @SuppressWarnings("unchecked")
+  public DogTagColumns(final DogTag.Factory<T> factory, final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException(String.format("E16: Negative size: %d", initialCapacity));
+    }
+    this.factory = factory;
+    plan = factory.getPlan().toArray(new PlanEntry[0]);
+    columns = new Column[plan.length];
+    for (int i = 0; i < plan.length; ++i) {
+      columns[i] = columnFor(plan[i], initialCapacity);
+    }
+  }
+
+  private static <T> Column<T> columnFor(final PlanEntry<T> entry, final int capacity) {
+    switch (entry.getKind()) {
+      case LONG:
+        return new LongColumn<>(entry, capacity);
+      case FLOAT:
+        return new FloatColumn<>(entry, capacity);
+      case DOUBLE:
+        return new DoubleColumn<>(entry, capacity);
+      case OBJECT:
+        return new ObjectColumn<>(entry, capacity);
+      default:
+        return new IntColumn<>(entry, capacity);
+    }
+  }
+
+  /**
+   * Replace the contents of the columns with the values of the specified instances.
+   * @param instances The instances, none of which may be null
+   */
+  public void fill(final List<? extends T> instances) {
+    final int count = instances.size();
+    ensureCapacity(count);
+    int row = 0;
+    try {
+      for (final T t : instances) {
+        readRow(t, row++);
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+    size = count;
+  }
+
+  /**
+   * Replace the contents of the columns with the values of the specified instances.
+   * @param instances The instances, none of which may be null
+   */
+  public void fill(final T[] instances) {
+    fill(Arrays.asList(instances));
+  }
+
+  private void ensureCapacity(final int count) {
+    size = 0; // in case a read fails part way through
+    for (final Column<T> column : columns) {
+      column.ensureCapacity(count);
+    }
+  }
+
+  private void readRow(final T t, final int row) throws IllegalAccessException {
+    for (final Column<T> column : columns) {
+      column.read(t, row);
+    }
+  }
+
+  /**
+   * Returns the number of instances in the columns.
+   * @return the number of rows
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of columns, which is the number of values the factory compares.
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Find the column of a field by name. This only works with reflective factories.
+   * @param fieldName The name of the field
+   * @return The index of the column
+   * @throws IllegalArgumentException if the field isn't used by the factory
+   */
+  public int indexOf(final String fieldName) {
+    for (int i = 0; i < plan.length; ++i) {
+      if (fieldName.equals(plan[i].getName())) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(String.format("E20: Field %s not used by factory for %s", fieldName,
+        factory.getTargetClass()));
+  }
+
+  /**
+   * Returns the type of the values in a column. For lambda-specified objects, this is Object.class.
+   * @param column The index of the column
+   * @return The type of the values
+   */
+  public Class<?> getColumnType(final int column) {
+    return plan[column].getValueType();
+  }
+
+  /**
+   * Returns the column of an int, short, char, byte, or boolean value. Booleans are 1 for true and 0 for false.
+   * @param column The index of the column
+   * @return The column's array, whose first {@code size()} elements are valid
+   */
+  public int[] getIntColumn(final int column) {
+    return ((IntColumn<T>) checkColumn(column, IntColumn.class)).values;
+  }
+
+  /**
+   * Returns the column of a long value.
+   * @param column The index of the column
+   * @return The column's array, whose first {@code size()} elements are valid
+   */
+  public long[] getLongColumn(final int column) {
+    return ((LongColumn<T>) checkColumn(column, LongColumn.class)).values;
+  }
+
+  /**
+   * Returns the column of a float value.
+   * @param column The index of the column
+   * @return The column's array, whose first {@code size()} elements are valid
+   */
+  public float[] getFloatColumn(final int column) {
+    return ((FloatColumn<T>) checkColumn(column, FloatColumn.class)).values;
+  }
+
+  /**
+   * Returns the column of a double value.
+   * @param column The index of the column
+   * @return The column's array, whose first {@code size()} elements are valid
+   */
+  public double[] getDoubleColumn(final int column) {
+    return ((DoubleColumn<T>) checkColumn(column, DoubleColumn.class)).values;
+  }
+
+  /**
+   * Returns the column of an Object value, including Strings, boxed primitives, and arrays.
+   * @param column The index of the column
+   * @return The column's array, whose first {@code size()} elements are valid
+   */
+  public Object[] getObjectColumn(final int column) {
+    return ((ObjectColumn<T>) checkColumn(column, ObjectColumn.class)).values;
+  }
+
+  private Column<T> checkColumn(final int column, final Class<?> columnClass) {
+    final Column<T> result = columns[column];
+    if (!columnClass.isInstance(result)) {
+      throw new IllegalArgumentException(String.format("E21: Value %d is of %s, not %s", column, plan[column].getValueType(),
+          columnClass.getSimpleName().replace("Column", "").toLowerCase()));
+    }
+    return result;
+  }
+
+  /**
+   * Compute the hash code of every row, which is the hash code the factory would compute for the instance in that row.
+   * @param result An array to receive the hash codes. If this is null or too short, a new array is allocated.
+   * @return The array holding the hash codes, whose first {@code size()} elements are valid
+   */
+  public int[] hashCodes(final int[] result) {
+    final int[] hashes = ((result == null) || (result.length < size)) ? new int[size] : result;
+    Arrays.fill(hashes, 0, size, factory.getStartingHash());
+    final boolean inline = factory.hasDefaultHashBuilder();
+    final DogTag.HashBuilder hashBuilder = factory.getHashBuilder();
+    for (final Column<T> column : columns) {
+      if (inline) {
+        column.hash(hashes, size);
+      } else {
+        column.hash(hashes, size, hashBuilder);
+      }
+    }
+    return hashes;
+  }
+
+  /**
+   * Returns true if the instances in two rows are equal, according to the factory.
+   * @param row The first row
+   * @param otherRow The second row
+   * @return true if the rows are equal
+   */
+  public boolean rowsEqual(final int row, final int otherRow) {
+    checkRow(row);
+    checkRow(otherRow);
+    for (final Column<T> column : columns) {
+      if (!column.equal(row, column, otherRow)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void checkRow(final int row) {
+    if ((row < 0) || (row >= size)) {
+      throw new IndexOutOfBoundsException(String.format("Row %d of %d", row, size));
+    }
+  }
+
+  /**
+   * Compare each row of these columns with the same row of another set of columns from the same factory, such as an earlier
+   * snapshot of the same instances.
+   * @param other The other columns, which must have the same factory and size
+   * @param result An array to receive the results. If this is null or too short, a new array is allocated.
+   * @return The array holding true for each row that's equal in both sets of columns, whose first {@code size()} elements are
+   * valid
+   */
+  public boolean[] equalRows(final DogTagColumns<T> other, final boolean[] result) {
+    //noinspection ObjectEquality
+    if ((other.factory != factory) || (other.size != size)) {
+      throw new IllegalArgumentException(String.format("E30: Can't compare %d rows with %d rows from another factory", size,
+          other.size));
+    }
+    final boolean[] equal = ((result == null) || (result.length < size)) ? new boolean[size] : result;
+    Arrays.fill(equal, 0, size, true);
+    for (int i = 0; i < columns.length; ++i) {
+      columns[i].equal(other.columns[i], equal, size);
+    }
+    return equal;
+  }
+
+  /**
+   * One column of values. The bulk methods loop over the rows of a single column, so each loop is short and monomorphic.
+   */
+  private abstract static class Column<T> {
+    final PlanEntry<T> entry;
+
+    Column(final PlanEntry<T> entry) {
+      this.entry = entry;
+    }
+
+    abstract void ensureCapacity(int count);
+
+    abstract void read(T t, int row) throws IllegalAccessException;
+
+    /**
+     * Combine the hash of each row's value into the hash codes, using the default formula.
+     */
+    abstract void hash(int[] hashes, int size);
+
+    abstract void hash(int[] hashes, int size, DogTag.HashBuilder hashBuilder);
+
+    abstract boolean equal(int row, Column<T> other, int otherRow);
+
+    /**
+     * Clear the result of each row whose value differs from the same row of the other column.
+     */
+    abstract void equal(Column<T> other, boolean[] equal, int size);
+
+    static int grow(final int length, final int count) {
+      return (length >= count) ? length : Math.max(count, length + (length >> 1));
+    }
+  }
+
+  private static final class IntColumn<T> extends Column<T> {
+    private final ValueKind kind;
+    private int[] values;
+
+    IntColumn(final PlanEntry<T> entry, final int capacity) {
+      super(entry);
+      kind = entry.getKind();
+      values = new int[capacity];
+    }
+
+    @Override
+    void ensureCapacity(final int count) {
+      if (values.length < count) {
+        values = new int[grow(values.length, count)];
+      }
+    }
+
+    @Override
+    void read(final T t, final int row) throws IllegalAccessException {
+      values[row] = (int) entry.getBits(t);
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size) {
+      final int[] v = values;
+      if (kind == ValueKind.BOOLEAN) {
+        for (int i = 0; i < size; ++i) {
+          hashes[i] = (hashes[i] * 31) + ((v[i] != 0) ? 1231 : 1237); // Boolean.hashCode()
+        }
+      } else {
+        for (int i = 0; i < size; ++i) {
+          hashes[i] = (hashes[i] * 31) + v[i];
+        }
+      }
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size, final DogTag.HashBuilder hashBuilder) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = hashBuilder.newHash(hashes[i], kind.hashBits(values[i]));
+      }
+    }
+
+    @Override
+    boolean equal(final int row, final Column<T> other, final int otherRow) {
+      return values[row] == ((IntColumn<T>) other).values[otherRow];
+    }
+
+    @Override
+    void equal(final Column<T> other, final boolean[] equal, final int size) {
+      final int[] a = values;
+      final int[] b = ((IntColumn<T>) other).values;
+      for (int i = 0; i < size; ++i) {
+        equal[i] &= a[i] == b[i];
+      }
+    }
+  }
+
+  private static final class LongColumn<T> extends Column<T> {
+    private long[] values;
+
+    LongColumn(final PlanEntry<T> entry, final int capacity) {
+      super(entry);
+      values = new long[capacity];
+    }
+
+    @Override
+    void ensureCapacity(final int count) {
+      if (values.length < count) {
+        values = new long[grow(values.length, count)];
+      }
+    }
+
+    @Override
+    void read(final T t, final int row) throws IllegalAccessException {
+      values[row] = entry.getBits(t);
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size) {
+      final long[] v = values;
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = (hashes[i] * 31) + (int) (v[i] ^ (v[i] >>> 32)); // Long.hashCode()
+      }
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size, final DogTag.HashBuilder hashBuilder) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = hashBuilder.newHash(hashes[i], hashBuilder.hashLong(values[i]));
+      }
+    }
+
+    @Override
+    boolean equal(final int row, final Column<T> other, final int otherRow) {
+      return values[row] == ((LongColumn<T>) other).values[otherRow];
+    }
+
+    @Override
+    void equal(final Column<T> other, final boolean[] equal, final int size) {
+      final long[] a = values;
+      final long[] b = ((LongColumn<T>) other).values;
+      for (int i = 0; i < size; ++i) {
+        equal[i] &= a[i] == b[i];
+      }
+    }
+  }
+
+  /**
+   * Floats are compared by their bits, like the factory compares them, so NaN equals NaN, and 0.0 doesn't equal -0.0.
+   */
+  private static final class FloatColumn<T> extends Column<T> {
+    private float[] values;
+
+    FloatColumn(final PlanEntry<T> entry, final int capacity) {
+      super(entry);
+      values = new float[capacity];
+    }
+
+    @Override
+    void ensureCapacity(final int count) {
+      if (values.length < count) {
+        values = new float[grow(values.length, count)];
+      }
+    }
+
+    @Override
+    void read(final T t, final int row) throws IllegalAccessException {
+      values[row] = Float.intBitsToFloat((int) entry.getBits(t));
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size) {
+      final float[] v = values;
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = (hashes[i] * 31) + Float.floatToIntBits(v[i]);
+      }
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size, final DogTag.HashBuilder hashBuilder) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = hashBuilder.newHash(hashes[i], Float.hashCode(values[i]));
+      }
+    }
+
+    @Override
+    boolean equal(final int row, final Column<T> other, final int otherRow) {
+      return Float.floatToIntBits(values[row]) == Float.floatToIntBits(((FloatColumn<T>) other).values[otherRow]);
+    }
+
+    @Override
+    void equal(final Column<T> other, final boolean[] equal, final int size) {
+      final float[] a = values;
+      final float[] b = ((FloatColumn<T>) other).values;
+      for (int i = 0; i < size; ++i) {
+        equal[i] &= Float.floatToIntBits(a[i]) == Float.floatToIntBits(b[i]);
+      }
+    }
+  }
+
+  /**
+   * Doubles are compared by their bits, like the factory compares them, so NaN equals NaN, and 0.0 doesn't equal -0.0.
+   */
+  private static final class DoubleColumn<T> extends Column<T> {
+    private double[] values;
+
+    DoubleColumn(final PlanEntry<T> entry, final int capacity) {
+      super(entry);
+      values = new double[capacity];
+    }
+
+    @Override
+    void ensureCapacity(final int count) {
+      if (values.length < count) {
+        values = new double[grow(values.length, count)];
+      }
+    }
+
+    @Override
+    void read(final T t, final int row) throws IllegalAccessException {
+      values[row] = Double.longBitsToDouble(entry.getBits(t));
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size) {
+      final double[] v = values;
+      for (int i = 0; i < size; ++i) {
+        final long bits = Double.doubleToLongBits(v[i]);
+        hashes[i] = (hashes[i] * 31) + (int) (bits ^ (bits >>> 32)); // Double.hashCode()
+      }
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size, final DogTag.HashBuilder hashBuilder) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = hashBuilder.newHash(hashes[i], hashBuilder.hashLong(Double.doubleToLongBits(values[i])));
+      }
+    }
+
+    @Override
+    boolean equal(final int row, final Column<T> other, final int otherRow) {
+      return Double.doubleToLongBits(values[row]) == Double.doubleToLongBits(((DoubleColumn<T>) other).values[otherRow]);
+    }
+
+    @Override
+    void equal(final Column<T> other, final boolean[] equal, final int size) {
+      final double[] a = values;
+      final double[] b = ((DoubleColumn<T>) other).values;
+      for (int i = 0; i < size; ++i) {
+        equal[i] &= Double.doubleToLongBits(a[i]) == Double.doubleToLongBits(b[i]);
+      }
+    }
+  }
+
+  private static final class ObjectColumn<T> extends Column<T> {
+    private Object[] values;
+
+    ObjectColumn(final PlanEntry<T> entry, final int capacity) {
+      super(entry);
+      values = new Object[capacity];
+    }
+
+    @Override
+    void ensureCapacity(final int count) {
+      if (values.length < count) {
+        values = new Object[grow(values.length, count)];
+      } else {
+        Arrays.fill(values, count, values.length, null); // Don't hold on to values from an earlier fill.
+      }
+    }
+
+    @Override
+    void read(final T t, final int row) throws IllegalAccessException {
+      values[row] = entry.getObject(t);
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = (hashes[i] * 31) + entry.hashObject(values[i]);
+      }
+    }
+
+    @Override
+    void hash(final int[] hashes, final int size, final DogTag.HashBuilder hashBuilder) {
+      for (int i = 0; i < size; ++i) {
+        hashes[i] = hashBuilder.newHash(hashes[i], entry.hashObject(values[i], hashBuilder));
+      }
+    }
+
+    @Override
+    boolean equal(final int row, final Column<T> other, final int otherRow) {
+      return entry.objectsEqual(values[row], ((ObjectColumn<T>) other).values[otherRow]);
+    }
+
+    @Override
+    void equal(final Column<T> other, final boolean[] equal, final int size) {
+      final Object[] a = values;
+      final Object[] b = ((ObjectColumn<T>) other).values;
+      for (int i = 0; i < size; ++i) {
+        if (equal[i]) { // Skip the comparison when an earlier column already differs.
+          equal[i] = entry.objectsEqual(a[i], b[i]);
+        }
+      }
+    }
+  }
+}
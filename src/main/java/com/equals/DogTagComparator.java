@@ -0,0 +1,237 @@
+package com.equals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A Comparator built from a factory's plan, which orders instances consistently with the factory's equals() method: compare()
+ * returns zero exactly when the factory considers the two instances equal.
+ * <p>
+ * Values are compared in the order given by their {@link DogTagInclude#order()} annotations, and in the factory's order when
+ * they're not annotated. Each value is compared by its natural ordering:
+ * <ul>
+ *   <li>Primitives use the same ordering as their wrapper class. For floats and doubles, this means -0.0 comes before 0.0, and NaN
+ *   comes last and equals itself, which matches the way the factory compares them.</li>
+ *   <li>Arrays are compared lexicographically, element by element, with shorter arrays first when one is a prefix of the other.
+ *   Object arrays are compared deeply. {@link ArrayValue} wrappers are compared the same way.</li>
+ *   <li>Other objects must be Comparable. If compareTo() returns zero for two objects that aren't equal, such as
+ *   {@code BigDecimal} values of 1.0 and 1.00, the tie is broken by their hash codes.</li>
+ * </ul>
+ * Null values come before non-null values.
+ * <p>
+ * Comparing a value that isn't Comparable throws an IllegalArgumentException. So does comparing two unequal values that
+ * compareTo() and hashCode() can't tell apart, since no ordering consistent with equals is possible.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:10 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class DogTagComparator<T> implements Comparator<T> {
+  private final ValueComparator<T>[] comparators;
+
+  @SuppressWarnings("unchecked")
+  DogTagComparator(final List<PlanEntry<T>> plan) {
+    final List<PlanEntry<T>> ordered = orderedPlan(plan);
+    comparators = new ValueComparator[ordered.size()];
+    for (int i = 0; i < comparators.length; ++i) {
+      comparators[i] = comparatorFor(ordered.get(i));
+    }
+  }
+
+  /**
+   * Returns the plan entries in the order they're compared.
+   * @param plan The factory's plan
+   * @param <T> The type of the instances
+   * @return A new list of the same entries, sorted by their order
+   */
+  static <T> List<PlanEntry<T>> orderedPlan(final List<PlanEntry<T>> plan) {
+    final List<PlanEntry<T>> ordered = new ArrayList<>(plan);
+    ordered.sort(Comparator.comparingInt(PlanEntry::getOrder)); // List.sort() is stable, so ties keep the factory's order.
+    return ordered;
+  }
+
+  @Override
+  public int compare(final T a, final T b) {
+    //noinspection ObjectEquality
+    if (a == b) {
+      return 0;
+    }
+    try {
+      for (final ValueComparator<T> comparator : comparators) {
+        final int result = comparator.compare(a, b);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+  }
+
+  private static <T> ValueComparator<T> comparatorFor(final PlanEntry<T> entry) {
+    switch (entry.getKind()) {
+      case FLOAT:
+        return (a, b) -> Float.compare(Float.intBitsToFloat((int) entry.getBits(a)), Float.intBitsToFloat((int) entry.getBits(b)));
+      case DOUBLE:
+        return (a, b) -> Double.compare(Double.longBitsToDouble(entry.getBits(a)), Double.longBitsToDouble(entry.getBits(b)));
+      case OBJECT:
+        if (isConsistentWithEquals(entry.getValueType())) {
+          return (a, b) -> compareConsistent(entry.getObject(a), entry.getObject(b));
+        }
+        return (a, b) -> compareValues(entry, entry.getObject(a), entry.getObject(b));
+      default:
+        // The other primitives are sign-extended into a long, except for char, which is unsigned, and boolean, which is 0 or 1.
+        return (a, b) -> Long.compare(entry.getBits(a), entry.getBits(b));
+    }
+  }
+
+  /**
+   * Returns true for the common final types whose compareTo() method returns zero exactly when equals() returns true. Values of
+   * these types don't need the tie-breaking test.
+   */
+  static boolean isConsistentWithEquals(final Class<?> type) {
+    return (type == String.class)
+        || (type == Integer.class)
+        || (type == Long.class)
+        || (type == Short.class)
+        || (type == Byte.class)
+        || (type == Character.class)
+        || (type == Boolean.class)
+        || (type == Double.class) // Double.compareTo() and Double.equals() both use doubleToLongBits()
+        || (type == Float.class)
+        || (type == BigInteger.class)
+        || ArrayValue.class.isAssignableFrom(type)
+        || type.isEnum();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareConsistent(final Object a, final Object b) {
+    if ((a == null) || (b == null)) {
+      return compareNulls(a, b);
+    }
+    return ((Comparable) a).compareTo(b);
+  }
+
+  private static int compareValues(final PlanEntry<?> entry, final Object a, final Object b) {
+    if ((a == null) || (b == null)) {
+      return compareNulls(a, b);
+    }
+    final boolean aIsArray = a.getClass().isArray();
+    if (aIsArray || b.getClass().isArray()) {
+      return compareMixed(a, b, aIsArray);
+    }
+    return compareObjects(entry, a, b);
+  }
+
+  private static int compareNulls(final Object a, final Object b) {
+    if (a == null) {
+      return (b == null) ? 0 : -1;
+    }
+    return 1;
+  }
+
+  /**
+   * Compare two non-null objects, at least one of which is an array. Arrays.deepEquals() never finds an array equal to a non-array,
+   * so arrays go last.
+   */
+  private static int compareMixed(final Object a, final Object b, final boolean aIsArray) {
+    if (aIsArray != b.getClass().isArray()) {
+      return aIsArray ? 1 : -1;
+    }
+    return compareArrays(a, b);
+  }
+
+  /**
+   * Compare two non-null objects by their natural ordering, breaking ties between unequal objects by their hash codes.
+   * @param entry The plan entry that tests the objects for equality and hashes them, or null to use their own equals() and
+   *              hashCode() methods
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareObjects(final PlanEntry<?> entry, final Object a, final Object b) {
+    if (!(a instanceof Comparable)) {
+      throw new IllegalArgumentException(String.format("E28: %s is not Comparable", a.getClass()));
+    }
+    final int result = ((Comparable) a).compareTo(b);
+    if ((result != 0) || ((entry == null) ? a.equals(b) : entry.objectsEqual(a, b))) {
+      return result;
+    }
+    final int hashA = (entry == null) ? a.hashCode() : entry.hashObject(a);
+    final int hashB = (entry == null) ? b.hashCode() : entry.hashObject(b);
+    if (hashA != hashB) {
+      return Integer.compare(hashA, hashB);
+    }
+    throw new IllegalArgumentException(String.format("E29: Unequal values %s and %s can't be ordered", a, b));
+  }
+
+  /**
+   * Compare two arrays lexicographically, the same way the factory tests them for equality: Primitive arrays like
+   * {@code Arrays.equals()}, and Object arrays like {@code Arrays.deepEquals()}.
+   */
+  private static int compareArrays(final Object a, final Object b) {
+    final Class<?> type = a.getClass();
+    if (type != b.getClass()) {
+      // Arrays.deepEquals() never finds arrays of different primitive types equal, so any consistent order will do.
+      final boolean aIsObjects = a instanceof Object[];
+      if (aIsObjects && (b instanceof Object[])) {
+        return compareObjectArrays((Object[]) a, (Object[]) b);
+      }
+      return (aIsObjects == (b instanceof Object[])) ? type.getName().compareTo(b.getClass().getName()) : (aIsObjects ? 1 : -1);
+    }
+    // I can't use a switch statement, because type isn't a number, String, or enum!
+    if (type == int[].class) {
+      return ArrayCompare.compare((int[]) a, (int[]) b);
+    } else if (type == long[].class) {
+      return ArrayCompare.compare((long[]) a, (long[]) b);
+    } else if (type == short[].class) {
+      return ArrayCompare.compare((short[]) a, (short[]) b);
+    } else if (type == char[].class) {
+      return ArrayCompare.compare((char[]) a, (char[]) b);
+    } else if (type == byte[].class) {
+      return ArrayCompare.compare((byte[]) a, (byte[]) b);
+    } else if (type == double[].class) {
+      return ArrayCompare.compare((double[]) a, (double[]) b);
+    } else if (type == float[].class) {
+      return ArrayCompare.compare((float[]) a, (float[]) b);
+    } else if (type == boolean[].class) {
+      return ArrayCompare.compare((boolean[]) a, (boolean[]) b);
+    }
+    return compareObjectArrays((Object[]) a, (Object[]) b);
+  }
+
+  private static int compareObjectArrays(final Object[] x, final Object[] y) {
+    final int length = Math.min(x.length, y.length);
+    for (int i = 0; i < length; ++i) {
+      final int result = compareElements(x[i], y[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(x.length, y.length);
+  }
+
+  private static int compareElements(final Object a, final Object b) {
+    //noinspection ObjectEquality
+    if (a == b) {
+      return 0;
+    }
+    if ((a == null) || (b == null)) {
+      return compareNulls(a, b);
+    }
+    final boolean aIsArray = a.getClass().isArray();
+    if (aIsArray || b.getClass().isArray()) {
+      return compareMixed(a, b, aIsArray);
+    }
+    return compareObjects(null, a, b);
+  }
+
+  // Like PlanEntry.BitsGetter, this declares an exception that never gets thrown, so the caller can catch it outside of its loop.
+  @FunctionalInterface
+  private interface ValueComparator<T> {
+    int compare(T a, T b) throws IllegalAccessException;
+  }
+}
@@ -0,0 +1,195 @@
+package com.equals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A counting Bloom filter, which supports removal. It's the same as a {@link DogTagBloomFilter}, except that each cell is a 4-bit
+ * counter, rather than a bit, so it takes four times the memory. The counters are packed sixteen to a long, either on the heap or
+ * in a memory-mapped file.
+ * <p>
+ * A counter that reaches 15 sticks there, since it no longer knows how many instances set it, so removing instances never creates
+ * a false negative. Only remove instances that were added: Removing an instance that was never added may remove others.
+ * <p>
+ * A filter may be read by many threads at once, but adding or removing instances must not happen concurrently with any other
+ * access.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:55 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+public final class DogTagCountingBloomFilter<T> {
+  private static final int COUNTERS_PER_WORD = Long.SIZE / 4;
+  private static final long MAXIMUM_COUNT = 0xFL;
+
+  private final BloomHashing<T> hashing;
+  private final LongStore counters;
+
+  /**
+   * Create an empty filter on the heap, sized for the expected number of insertions and false-positive rate, using double
+   * hashing.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances in the filter
+   * @param falsePositiveRate The desired false-positive rate, when the filter holds the expected number of instances
+   */
+  public DogTagCountingBloomFilter(final DogTag.Factory<T> factory, final long expectedInsertions, final double falsePositiveRate) {
+    this(factory, expectedInsertions, falsePositiveRate, DogTagBloomFilter.Strategy.DOUBLE_HASHING);
+  }
+
+  /**
+   * Create an empty filter on the heap, sized for the expected number of insertions and false-positive rate.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances in the filter
+   * @param falsePositiveRate The desired false-positive rate, when the filter holds the expected number of instances
+   * @param strategy How the cells are chosen
+   */
+  public DogTagCountingBloomFilter(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final DogTagBloomFilter.Strategy strategy
+  ) {
+    this(makeHashing(factory, expectedInsertions, falsePositiveRate, strategy), null);
+  }
+
+  private DogTagCountingBloomFilter(final BloomHashing<T> hashing, final LongStore counters) {
+    this.hashing = hashing;
+    this.counters = (counters == null) ? LongStore.onHeap(wordCount(hashing)) : counters;
+  }
+
+  /**
+   * Open a filter backed by a memory-mapped file. If the file exists, its contents are used, so it must have been created with the
+   * same factory and parameters. Otherwise, it's created as an empty filter. The file starts with a header that records the
+   * parameters and the values the factory compares, and a file whose header doesn't match throws an IllegalArgumentException.
+   * <p>
+   * Since the file may be reopened by another JVM, every value the factory compares must have a hash that's the same in every
+   * JVM: a primitive, a wrapper, a String, an enum, an {@link ArrayValue}, or an array of these. Other values throw an
+   * IllegalArgumentException.
+   * @param factory The factory whose values are hashed
+   * @param expectedInsertions The expected number of instances in the filter
+   * @param falsePositiveRate The desired false-positive rate, when the filter holds the expected number of instances
+   * @param strategy How the cells are chosen
+   * @param file The backing file
+   * @param <T> The type of the instances
+   * @return The filter
+   * @throws IOException If the file can't be opened or mapped
+   */
+  public static <T> DogTagCountingBloomFilter<T> mapped(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final DogTagBloomFilter.Strategy strategy,
+      final Path file
+  ) throws IOException {
+    final BloomHashing<T> hashing = makeHashing(factory, expectedInsertions, falsePositiveRate, strategy);
+    hashing.requireStableHash();
+    return new DogTagCountingBloomFilter<>(hashing, LongStore.mapped(file, hashing.header(Long.SIZE / COUNTERS_PER_WORD), wordCount(hashing)));
+  }
+
+  private static <T> BloomHashing<T> makeHashing(
+      final DogTag.Factory<T> factory,
+      final long expectedInsertions,
+      final double falsePositiveRate,
+      final DogTagBloomFilter.Strategy strategy
+  ) {
+    final long cells = BloomHashing.optimalCellCount(expectedInsertions, falsePositiveRate);
+    if ((cells / COUNTERS_PER_WORD) >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format("E27: %d counters is too large", cells));
+    }
+    return new BloomHashing<>(factory, strategy, BloomHashing.optimalHashCount(expectedInsertions, cells), cells);
+  }
+
+  private static int wordCount(final BloomHashing<?> hashing) {
+    return (int) (((hashing.getCellCount() + COUNTERS_PER_WORD) - 1) / COUNTERS_PER_WORD);
+  }
+
+  private long count(final long cell) {
+    return (counters.get((int) (cell / COUNTERS_PER_WORD)) >>> shiftOf(cell)) & MAXIMUM_COUNT;
+  }
+
+  private static int shiftOf(final long cell) {
+    return (int) (cell % COUNTERS_PER_WORD) * 4;
+  }
+
+  private void add(final long cell, final long delta) {
+    final int word = (int) (cell / COUNTERS_PER_WORD);
+    counters.set(word, counters.get(word) + (delta << shiftOf(cell)));
+  }
+
+  /**
+   * Add an instance to the filter.
+   * @param instance The instance
+   */
+  public void put(final T instance) {
+    final long base = hashing.baseHash(instance);
+    final long step = BloomHashing.step(base);
+    for (int i = 0; i < hashing.getHashCount(); ++i) {
+      final long cell = hashing.cell(instance, base, step, i);
+      if (count(cell) < MAXIMUM_COUNT) {
+        add(cell, 1L);
+      }
+    }
+  }
+
+  /**
+   * Remove an instance that was previously added. If the instance is definitely not in the filter, this does nothing.
+   * @param instance The instance
+   * @return false if the instance was definitely not in the filter, true if it was removed
+   */
+  public boolean remove(final T instance) {
+    if (!mightContain(instance)) {
+      return false;
+    }
+    final long base = hashing.baseHash(instance);
+    final long step = BloomHashing.step(base);
+    for (int i = 0; i < hashing.getHashCount(); ++i) {
+      final long cell = hashing.cell(instance, base, step, i);
+      final long count = count(cell);
+      if ((count > 0L) && (count < MAXIMUM_COUNT)) {
+        add(cell, -1L);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns false if the instance, or any instance equal to it, is definitely not in the filter, and true if it might be.
+   * @param instance The instance
+   * @return true if the instance might be in the filter
+   */
+  public boolean mightContain(final T instance) {
+    final long base = hashing.baseHash(instance);
+    final long step = BloomHashing.step(base);
+    for (int i = 0; i < hashing.getHashCount(); ++i) {
+      if (count(hashing.cell(instance, base, step, i)) == 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of hash functions, k.
+   * @return k
+   */
+  public int getHashCount() {
+    return hashing.getHashCount();
+  }
+
+  /**
+   * Returns the number of counters, m.
+   * @return m
+   */
+  public long getCounterCount() {
+    return hashing.getCellCount();
+  }
+
+  /**
+   * Write any changes through to the backing file. This does nothing for a filter on the heap.
+   */
+  public void flush() {
+    counters.flush();
+  }
+}
@@ -0,0 +1,306 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk deduplication of large arrays, lists, or spliterators, using a DogTag.Factory to compare and hash the elements.
+ * <p>
+ * The elements are hashed once, in parallel. They're then partitioned by the high bits of their spread hash codes, so equal
+ * elements always land in the same partition, and each partition is deduplicated in parallel, using a compact open-addressing
+ * table of int indices. Since the only per-element storage is a few int arrays, this produces far less garbage than a HashSet,
+ * or {@code stream().distinct()}, which allocate a node for each element.
+ * <p>
+ * Results keep the encounter order: Distinct elements are the first occurrence of each one, in their original order, and duplicate
+ * groups are ordered by their first element. Null elements are not allowed.
+ * <pre>
+ *   {@literal List<Record>} unique = DogTagDedup.distinct(Record.factory, records);
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public enum DogTagDedup {
+  ;
+
+  private static final int HASH_CHUNK = 8192;
+  private static final int MINIMUM_PARTITION_SIZE = 1024;
+
+  /**
+   * Returns the distinct elements of the array, in order of first occurrence, using the common ForkJoinPool.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The first occurrence of each distinct element
+   */
+  public static <T> List<T> distinct(final DogTag.Factory<T> factory, final T[] items) {
+    return distinct(factory, items, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the distinct elements of the array, in order of first occurrence.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param pool The ForkJoinPool that does the work
+   * @param <T> The type of the elements
+   * @return The first occurrence of each distinct element
+   */
+  public static <T> List<T> distinct(final DogTag.Factory<T> factory, final T[] items, final ForkJoinPool pool) {
+    return new Dedup<>(factory, items, pool).distinct();
+  }
+
+  /**
+   * Returns the distinct elements of the list, in order of first occurrence, using the common ForkJoinPool.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The first occurrence of each distinct element
+   */
+  public static <T> List<T> distinct(final DogTag.Factory<T> factory, final List<? extends T> items) {
+    return distinct(factory, toArray(items), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the distinct elements remaining in the spliterator, in order of first occurrence, using the common ForkJoinPool.
+   * The elements are first copied into an array.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The first occurrence of each distinct element
+   */
+  public static <T> List<T> distinct(final DogTag.Factory<T> factory, final Spliterator<? extends T> items) {
+    return distinct(factory, toArray(items), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns each group of two or more equal elements in the array, using the common ForkJoinPool. Elements with no duplicates are
+   * left out.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The groups of equal elements, each in its original order, ordered by the first element of each group.
+   */
+  public static <T> List<List<T>> duplicateGroups(final DogTag.Factory<T> factory, final T[] items) {
+    return duplicateGroups(factory, items, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns each group of two or more equal elements in the array. Elements with no duplicates are left out.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param pool The ForkJoinPool that does the work
+   * @param <T> The type of the elements
+   * @return The groups of equal elements, each in its original order, ordered by the first element of each group.
+   */
+  public static <T> List<List<T>> duplicateGroups(final DogTag.Factory<T> factory, final T[] items, final ForkJoinPool pool) {
+    return new Dedup<>(factory, items, pool).duplicateGroups();
+  }
+
+  /**
+   * Returns each group of two or more equal elements in the list, using the common ForkJoinPool.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The groups of equal elements, each in its original order, ordered by the first element of each group.
+   */
+  public static <T> List<List<T>> duplicateGroups(final DogTag.Factory<T> factory, final List<? extends T> items) {
+    return duplicateGroups(factory, toArray(items), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns each group of two or more equal elements remaining in the spliterator, using the common ForkJoinPool. The elements are
+   * first copied into an array.
+   * @param factory The factory used to compare and hash the elements
+   * @param items The elements
+   * @param <T> The type of the elements
+   * @return The groups of equal elements, each in its original order, ordered by the first element of each group.
+   */
+  public static <T> List<List<T>> duplicateGroups(final DogTag.Factory<T> factory, final Spliterator<? extends T> items) {
+    return duplicateGroups(factory, toArray(items), ForkJoinPool.commonPool());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] toArray(final List<? extends T> items) {
+    return (T[]) items.toArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] toArray(final Spliterator<? extends T> items) {
+    final long estimate = items.hasCharacteristics(Spliterator.SIZED) ? items.estimateSize() : 16L;
+    final List<T> list = new ArrayList<>((int) Math.min(estimate, Integer.MAX_VALUE - 8));
+    items.forEachRemaining(list::add);
+    return (T[]) list.toArray();
+  }
+
+  /**
+   * One deduplication job. The result of the job is the representative array: For each element, the index of the first element
+   * equal to it, which is its own index if it's the first.
+   * @param <T> The type of the elements
+   */
+  private static final class Dedup<T> {
+    private final DogTag.Factory<T> factory;
+    private final T[] items;
+    private final int[] hashes;
+    private final int[] representatives;
+    private final int partitionBits;
+
+    Dedup(final DogTag.Factory<T> factory, final T[] items, final ForkJoinPool pool) {
+      this.factory = factory;
+      this.items = items;
+      final int count = items.length;
+      hashes = new int[count];
+      representatives = new int[count];
+
+      // Enough partitions to keep every thread busy, but not so many that they're tiny.
+      final int wanted = Math.min(pool.getParallelism() * 4, Math.max(1, count / MINIMUM_PARTITION_SIZE));
+      partitionBits = Integer.SIZE - Integer.numberOfLeadingZeros(wanted - 1);
+
+      pool.invoke(new HashTask(0, count));
+      final int[][] partitions = partition();
+      pool.invoke(new RecursiveAction() {
+        @Override
+        protected void compute() {
+          final List<RecursiveAction> tasks = new ArrayList<>(partitions.length);
+          for (final int[] partition : partitions) {
+            tasks.add(new PartitionTask(partition));
+          }
+          invokeAll(tasks);
+        }
+      });
+    }
+
+    private int partitionOf(final int hash) {
+      return OpenAddressing.segment(hash, partitionBits);
+    }
+
+    /**
+     * Sort the indices into partitions, with a counting sort, which keeps them in ascending order within each partition.
+     */
+    private int[][] partition() {
+      final int partitionCount = 1 << partitionBits;
+      final int[] sizes = new int[partitionCount];
+      for (final int hash : hashes) {
+        sizes[partitionOf(hash)]++;
+      }
+      final int[][] partitions = new int[partitionCount][];
+      for (int p = 0; p < partitionCount; ++p) {
+        partitions[p] = new int[sizes[p]];
+      }
+      Arrays.fill(sizes, 0);
+      for (int i = 0; i < hashes.length; ++i) {
+        final int p = partitionOf(hashes[i]);
+        partitions[p][sizes[p]++] = i;
+      }
+      return partitions;
+    }
+
+    List<T> distinct() {
+      final List<T> result = new ArrayList<>();
+      for (int i = 0; i < items.length; ++i) {
+        if (representatives[i] == i) {
+          result.add(items[i]);
+        }
+      }
+      return result;
+    }
+
+    List<List<T>> duplicateGroups() {
+      // Link each element to the next element equal to it, starting from its representative.
+      final int count = items.length;
+      final int[] next = new int[count];
+      final int[] tail = new int[count];
+      Arrays.fill(next, -1);
+      for (int i = 0; i < count; ++i) {
+        final int representative = representatives[i];
+        if (representative == i) {
+          tail[i] = i;
+        } else {
+          next[tail[representative]] = i;
+          tail[representative] = i;
+        }
+      }
+      final List<List<T>> groups = new ArrayList<>();
+      for (int i = 0; i < count; ++i) {
+        if ((representatives[i] == i) && (next[i] >= 0)) {
+          final List<T> group = new ArrayList<>();
+          for (int member = i; member >= 0; member = next[member]) {
+            group.add(items[member]);
+          }
+          groups.add(group);
+        }
+      }
+      return groups;
+    }
+
+    private final class HashTask extends RecursiveAction {
+      private static final long serialVersionUID = 0L;
+      private final int from;
+      private final int to;
+
+      HashTask(final int from, final int to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      @Override
+      protected void compute() {
+        if ((to - from) <= HASH_CHUNK) {
+          for (int i = from; i < to; ++i) {
+            hashes[i] = factory.doHashCodeInternal(Objects.requireNonNull(items[i]));
+          }
+        } else {
+          final int middle = (from + to) >>> 1;
+          invokeAll(new HashTask(from, middle), new HashTask(middle, to));
+        }
+      }
+    }
+
+    /**
+     * Deduplicates one partition with an open-addressing table of (index + 1), where zero marks an empty slot. Since the partition's
+     * indices are in ascending order, the first of each set of equal elements is the one that goes into the table.
+     */
+    private final class PartitionTask extends RecursiveAction {
+      private static final long serialVersionUID = 0L;
+      private final int[] indices;
+
+      PartitionTask(final int[] indices) {
+        this.indices = indices;
+      }
+
+      @Override
+      protected void compute() {
+        final int capacity = DogTagHashMap.capacityFor(indices.length);
+        final int[] table = new int[capacity];
+        final int mask = capacity - 1;
+        final int shift = OpenAddressing.shift(capacity);
+        for (final int index : indices) {
+          final int hash = hashes[index];
+          final T item = items[index];
+
+          // The partition bits are the same for every element here, so the slot uses the bits below them.
+          int slot = OpenAddressing.idealSlot(hash, partitionBits, shift);
+          int entry;
+          representatives[index] = index;
+          while ((entry = table[slot]) != 0) {
+            final int other = entry - 1;
+            if ((hashes[other] == hash) && factory.doEqualsTest(items[other], item)) {
+              representatives[index] = other;
+              break;
+            }
+            slot = (slot + 1) & mask;
+          }
+          if (entry == 0) {
+            table[slot] = index + 1;
+          }
+        }
+      }
+    }
+  }
+}
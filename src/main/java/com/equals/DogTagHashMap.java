@@ -0,0 +1,543 @@
+package com.equals;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map that uses a DogTag.Factory, rather than the keys' own {@code equals()} and {@code hashCode()} methods, to compare and
+ * hash its keys. This lets you key a map by value for a class whose {@code equals()} method you can't change, and it skips the
+ * {@code equals()} to DogTag to Factory indirection for classes that use DogTags.
+ * <p>
+ * The map uses open addressing with linear probing. Keys, values, and hash codes are stored in three parallel arrays, so no object
+ * gets allocated for each entry. Since each key's hash code is stored, the factory's {@code equals} test only gets called for
+ * keys with the same hash, and the hash codes never need to be recalculated when the table grows. Removals shift later entries
+ * back, so the table never fills up with deleted markers.
+ * <p>
+ * Null keys are not allowed. Null values are allowed. This class is not thread-safe.
+ * <pre>
+ *  {@literal DogTagHashMap<Customer, Account>} accounts = new DogTagHashMap<>(Customer.factory);
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:15 PM
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ * @author Miguel Mu\u00f1oz
+ */
+public class DogTagHashMap<K, V> extends AbstractMap<K, V> {
+  private static final int MINIMUM_CAPACITY = 8;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private final DogTag.Factory<K> factory;
+  private final Class<K> keyClass;
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashes;
+  private int size;
+  private int shift;        // 32 - log2(capacity)
+  private int threshold;    // The table is resized when size exceeds this. The table is never more than half full.
+  private int modCount;
+
+  // Keeps the values and hash codes in step with the keys when OpenAddressing.removeSlot() shifts them.
+  private final OpenAddressing.SlotMover slotMover = new OpenAddressing.SlotMover() {
+    @Override
+    public void move(final int from, final int to) {
+      values[to] = values[from];
+      hashes[to] = hashes[from];
+    }
+
+    @Override
+    public void clear(final int slot) {
+      values[slot] = null;
+    }
+  };
+
+  /**
+   * Create an empty map that uses the specified factory to compare and hash its keys.
+   * @param factory The DogTag.Factory for the keys
+   */
+  public DogTagHashMap(final DogTag.Factory<K> factory) {
+    this(factory, MINIMUM_CAPACITY / 2);
+  }
+
+  /**
+   * Create an empty map that uses the specified factory to compare and hash its keys, sized to hold the expected number of keys
+   * without resizing.
+   * @param factory The DogTag.Factory for the keys
+   * @param expectedSize The number of keys expected
+   */
+  public DogTagHashMap(final DogTag.Factory<K> factory, final int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException(String.format("E16: Negative size: %d", expectedSize));
+    }
+    this.factory = factory;
+    keyClass = factory.getTargetClass();
+    allocate(capacityFor(expectedSize));
+  }
+
+  static int capacityFor(final int expectedSize) {
+    if (expectedSize >= (MAXIMUM_CAPACITY / 2)) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit((expectedSize * 2) - 1) << 1);
+  }
+
+  private void allocate(final int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    shift = OpenAddressing.shift(capacity);
+    threshold = capacity / 2;
+  }
+
+  /**
+   * Returns the factory used to compare and hash the keys.
+   * @return The factory
+   */
+  public DogTag.Factory<K> getFactory() {
+    return factory;
+  }
+
+  /**
+   * Find the slot where the hash code would be found if there were no collisions.
+   * @param hash The hash code
+   * @param shift 32 - log2(capacity)
+   * @return The ideal slot
+   */
+  static int idealSlot(final int hash, final int shift) {
+    return OpenAddressing.idealSlot(hash, 0, shift);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int findSlot(final Object key) {
+    if (!keyClass.isInstance(key)) {
+      return -1;
+    }
+    final K k = (K) key;
+    return findSlot(k, factory.doHashCodeInternal(k));
+  }
+
+  @SuppressWarnings({"unchecked", "ObjectEquality"})
+  private int findSlot(final K key, final int hash) {
+    final Object[] keyTable = keys;
+    final int[] hashTable = hashes;
+    final int mask = keyTable.length - 1;
+    int slot = idealSlot(hash, shift);
+    Object candidate;
+    while ((candidate = keyTable[slot]) != null) {
+      if ((hashTable[slot] == hash) && ((candidate == key) || factory.doEqualsTest((K) candidate, key))) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Find the slot of the key matching the probe.
+   * @param probe The probe, which must come from this map's factory
+   * @return The slot, or -1 if there is no match
+   */
+  @SuppressWarnings("unchecked")
+  private int findProbeSlot(final Probe<K> probe) {
+    checkProbe(factory, probe);
+    final int hash = probe.hash();
+    final Object[] keyTable = keys;
+    final int[] hashTable = hashes;
+    final int mask = keyTable.length - 1;
+    int slot = idealSlot(hash, shift);
+    Object candidate;
+    while ((candidate = keyTable[slot]) != null) {
+      if ((hashTable[slot] == hash) && probe.matches((K) candidate)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  static <K> void checkProbe(final DogTag.Factory<K> factory, final Probe<K> probe) {
+    if (probe.getFactory() != factory) {
+      throw new IllegalArgumentException("E23: The probe was made by a different factory");
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return findSlot(key) >= 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(final Object key) {
+    final int slot = findSlot(key);
+    return (slot < 0) ? null : (V) values[slot];
+  }
+
+  /**
+   * Returns true if the map contains a key equal to an instance with the values in the probe. This allocates nothing.
+   * @param probe The probe, which must come from this map's factory
+   * @return true if the key is present
+   */
+  public boolean containsProbe(final Probe<K> probe) {
+    return findProbeSlot(probe) >= 0;
+  }
+
+  /**
+   * Returns the value mapped to a key equal to an instance with the values in the probe. This allocates nothing.
+   * @param probe The probe, which must come from this map's factory
+   * @return The value, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public V getByProbe(final Probe<K> probe) {
+    final int slot = findProbeSlot(probe);
+    return (slot < 0) ? null : (V) values[slot];
+  }
+
+  @Override
+  public V put(final K key, final V value) {
+    return put(key, value, false);
+  }
+
+  @Override
+  public V putIfAbsent(final K key, final V value) {
+    return put(key, value, true);
+  }
+
+  @SuppressWarnings({"unchecked", "ObjectEquality"})
+  private V put(final K key, final V value, final boolean onlyIfAbsent) {
+    Objects.requireNonNull(key);
+    final int hash = factory.doHashCodeInternal(key);
+    final int mask = keys.length - 1;
+    int slot = idealSlot(hash, shift);
+    Object candidate;
+    while ((candidate = keys[slot]) != null) {
+      if ((hashes[slot] == hash) && ((candidate == key) || factory.doEqualsTest((K) candidate, key))) {
+        final V previous = (V) values[slot];
+        if (!onlyIfAbsent || (previous == null)) {
+          values[slot] = value;
+        }
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    hashes[slot] = hash;
+    modCount++;
+    if (++size > threshold) {
+      resize();
+    }
+    return null;
+  }
+
+  private void resize() {
+    final int oldCapacity = keys.length;
+    if (oldCapacity == MAXIMUM_CAPACITY) {
+      if (size == MAXIMUM_CAPACITY - 1) {
+        throw new IllegalStateException("E17: Map is full");
+      }
+      threshold = MAXIMUM_CAPACITY - 1;
+      return;
+    }
+    final Object[] oldKeys = keys;
+    final Object[] oldValues = values;
+    final int[] oldHashes = hashes;
+    allocate(oldCapacity * 2);
+    for (int i = 0; i < oldCapacity; ++i) {
+      if (oldKeys[i] != null) {
+        final int hash = oldHashes[i];
+        final int slot = OpenAddressing.emptySlot(keys, idealSlot(hash, shift));
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        hashes[slot] = hash;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V remove(final Object key) {
+    final int slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+    final V previous = (V) values[slot];
+    removeSlot(slot);
+    return previous;
+  }
+
+  /**
+   * Remove the entry at the specified slot, and shift back any later entries in the same cluster that would otherwise become
+   * unreachable.
+   * @param slot The slot to empty
+   * @return The slot of an entry that wrapped around from the start of the table to the end, or -1 if none did. The iterator needs
+   * this to avoid missing an entry.
+   */
+  private int removeSlot(final int slot) {
+    final int wrapped = OpenAddressing.removeSlot(keys, slot, (s) -> idealSlot(hashes[s], shift), slotMover);
+    size--;
+    modCount++;
+    return wrapped;
+  }
+
+  @Override
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+      modCount++;
+    }
+  }
+
+  @Override
+  public boolean containsValue(final Object value) {
+    final Object[] keyTable = keys;
+    for (int i = 0; i < keyTable.length; ++i) {
+      if ((keyTable[i] != null) && Objects.equals(value, values[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return new AbstractSet<K>() {
+      @Override
+      public Iterator<K> iterator() {
+        return new SlotIterator<K>() {
+          @SuppressWarnings("unchecked")
+          @Override
+          K get(final int slot) {
+            return (K) keys[slot];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(final Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(final Object o) {
+        final int slot = findSlot(o);
+        if (slot < 0) {
+          return false;
+        }
+        removeSlot(slot);
+        return true;
+      }
+
+      @Override
+      public void clear() {
+        DogTagHashMap.this.clear();
+      }
+    };
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new SlotIterator<V>() {
+          @SuppressWarnings("unchecked")
+          @Override
+          V get(final int slot) {
+            return (V) values[slot];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        DogTagHashMap.this.clear();
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<Entry<K, V>>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        return new SlotIterator<Entry<K, V>>() {
+          @SuppressWarnings("unchecked")
+          @Override
+          Entry<K, V> get(final int slot) {
+            return new MapEntry((K) keys[slot]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        DogTagHashMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * An entry handed out by the entry set iterator. It holds only the key, and looks up the value in the map, so it stays valid
+   * when entries get shifted by a removal.
+   */
+  private final class MapEntry implements Map.Entry<K, V> {
+    private final K key;
+
+    private MapEntry(final K key) {
+      this.key = key;
+    }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V setValue(final V value) {
+      final int slot = findSlot(key);
+      if (slot < 0) {
+        throw new IllegalStateException("E18: Entry was removed");
+      }
+      final V previous = (V) values[slot];
+      values[slot] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Map.Entry)) {
+        return false;
+      }
+      final Map.Entry<?, ?> that = (Map.Entry<?, ?>) obj;
+      return Objects.equals(key, that.getKey()) && Objects.equals(getValue(), that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+  /**
+   * Iterates through the slots from the end of the table to the start. Going backwards means a removal can only shift entries
+   * that have already been visited, except for one that wraps around from the start of the table to the end. Those few get
+   * remembered and visited at the end.
+   * @param <E> The type of element returned
+   */
+  private abstract class SlotIterator<E> implements Iterator<E> {
+    private int nextSlot = keys.length;
+    private int lastSlot = -1;
+    private List<Object> wrappedKeys = null;
+    private int wrappedIndex = 0;
+    private int expectedModCount = modCount;
+
+    SlotIterator() {
+      advance();
+    }
+
+    abstract E get(int slot);
+
+    private void advance() {
+      do {
+        --nextSlot;
+      } while ((nextSlot >= 0) && (keys[nextSlot] == null));
+    }
+
+    @Override
+    public boolean hasNext() {
+      return (nextSlot >= 0) || ((wrappedKeys != null) && (wrappedIndex < wrappedKeys.size()));
+    }
+
+    @Override
+    public E next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (nextSlot >= 0) {
+        lastSlot = nextSlot;
+        advance();
+      } else if ((wrappedKeys != null) && (wrappedIndex < wrappedKeys.size())) {
+        lastSlot = findSlot(wrappedKeys.get(wrappedIndex++));
+      } else {
+        throw new NoSuchElementException();
+      }
+      return get(lastSlot);
+    }
+
+    @Override
+    public void remove() {
+      if (lastSlot < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      final int wrapped = removeSlot(lastSlot);
+      if ((wrapped >= 0) && (nextSlot >= 0)) {
+        if (wrappedKeys == null) {
+          wrappedKeys = new ArrayList<>();
+        }
+        wrappedKeys.add(keys[wrapped]);
+      }
+
+      // If the cluster wrapped around, the shift may have emptied the next slot. Anything it held moved to a lower slot.
+      if ((nextSlot >= 0) && (keys[nextSlot] == null)) {
+        advance();
+      }
+      lastSlot = -1;
+      expectedModCount = modCount;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.equals;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * A hash set that uses a DogTag.Factory, rather than the elements' own {@code equals()} and {@code hashCode()} methods, to compare
+ * and hash its elements. It's backed by a {@link DogTagHashMap}. Null elements are not allowed. This class is not thread-safe.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:50 PM
+ *
+ * @param <E> The type of elements
+ * @author Miguel Mu\u00f1oz
+ */
+public class DogTagHashSet<E> extends AbstractSet<E> {
+  private static final Object PRESENT = new Object();
+  private final DogTagHashMap<E, Object> map;
+
+  /**
+   * Create an empty set that uses the specified factory to compare and hash its elements.
+   * @param factory The DogTag.Factory for the elements
+   */
+  public DogTagHashSet(final DogTag.Factory<E> factory) {
+    map = new DogTagHashMap<>(factory);
+  }
+
+  /**
+   * Create an empty set that uses the specified factory to compare and hash its elements, sized to hold the expected number of
+   * elements without resizing.
+   * @param factory The DogTag.Factory for the elements
+   * @param expectedSize The number of elements expected
+   */
+  public DogTagHashSet(final DogTag.Factory<E> factory, final int expectedSize) {
+    map = new DogTagHashMap<>(factory, expectedSize);
+  }
+
+  /**
+   * Returns the factory used to compare and hash the elements.
+   * @return The factory
+   */
+  public DogTag.Factory<E> getFactory() {
+    return map.getFactory();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return map.keySet().iterator();
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return map.containsKey(o);
+  }
+
+  /**
+   * Returns true if the set contains an element equal to an instance with the values in the probe. This allocates nothing.
+   * @param probe The probe, which must come from this set's factory
+   * @return true if the element is present
+   */
+  public boolean containsProbe(final Probe<E> probe) {
+    return map.containsProbe(probe);
+  }
+
+  @Override
+  public boolean add(final E e) {
+    return map.put(e, PRESENT) == null;
+  }
+
+  @Override
+  public boolean remove(final Object o) {
+    return map.remove(o) == PRESENT;
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+  }
+}
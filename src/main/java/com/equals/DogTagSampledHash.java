@@ -0,0 +1,27 @@
+package com.equals;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotate a large array or List field to hash only a sample of its elements. The hash code uses the length, a fixed number of
+ * elements taken at evenly spaced positions, and the last element, so it takes the same time no matter how large the field gets.
+ * Equality still compares every element. Since equal values have the same length, they sample the same positions, so the hash
+ * code remains consistent with equals. The cost is more collisions between values that differ only in unsampled elements, so
+ * use this for fields that are rarely the only difference between two keys, like large snapshots of time-series data.
+ * <p>This may only be used on fields whose type is an array or a List, and only with the reflective builders. For the lambda
+ * builder, use {@link DogTag.LambdaFactory.LambdaBuilder#addSampled(ToObjectFunction, int)}.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface DogTagSampledHash {
+  int DEFAULT_SAMPLES = 64;
+  int samples() default DEFAULT_SAMPLES;
+}
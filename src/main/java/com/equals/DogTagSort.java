@@ -0,0 +1,168 @@
+package com.equals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sorts large arrays and lists of instances into the order given by {@link DogTag.Factory#comparator()}, without chasing pointers
+ * into every instance on every comparison.
+ * <p>
+ * Each instance is read once, to build a one- or two-long key from its leading primitive, enum, and String values. The keys are
+ * radix-sorted, carrying the instance indices along, and only runs of instances with equal keys are sorted with the full
+ * comparator. If the key holds every value the factory compares, those runs are already in order, and the comparator is never
+ * called. Small arrays, and factories whose first value can't be held in a key, are sorted with the comparator.
+ * <p>
+ * Like {@code Arrays.sort()}, the sort is stable, and throws a NullPointerException if the array contains nulls.
+ * <pre>
+ *   DogTagSort.sort(Trade.factory, trades);
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public enum DogTagSort {
+  ;
+
+  // Below this size, the comparator is faster than building the keys and making several passes over them.
+  private static final int RADIX_THRESHOLD = 512;
+  private static final int DIGIT_BITS = 8;
+  private static final int RADIX = 1 << DIGIT_BITS;
+  private static final int DIGIT_MASK = RADIX - 1;
+  private static final int DIGITS_PER_WORD = Long.SIZE / DIGIT_BITS;
+
+  /**
+   * Sort an array into the order given by the factory's comparator.
+   * @param factory The factory
+   * @param array The array to sort
+   * @param <T> The type of the instances
+   */
+  public static <T> void sort(final DogTag.Factory<T> factory, final T[] array) {
+    final Comparator<T> comparator = factory.comparator();
+    final SortPrefix<T> prefix = new SortPrefix<>(factory.getPlan());
+    if ((array.length < RADIX_THRESHOLD) || (prefix.getBitCount() == 0)) {
+      Arrays.sort(array, comparator);
+    } else {
+      radixSort(array, prefix, comparator);
+    }
+  }
+
+  /**
+   * Sort a list into the order given by the factory's comparator. Like {@code List.sort()}, this sorts a copy of the list's
+   * contents in an array, then writes them back.
+   * @param factory The factory
+   * @param list The list to sort
+   * @param <T> The type of the instances
+   */
+  public static <T> void sort(final DogTag.Factory<T> factory, final List<T> list) {
+    @SuppressWarnings("unchecked") final T[] array = (T[]) list.toArray();
+    sort(factory, array);
+    final ListIterator<T> iterator = list.listIterator();
+    for (final T t : array) {
+      iterator.next();
+      iterator.set(t);
+    }
+  }
+
+  private static <T> void radixSort(final T[] array, final SortPrefix<T> prefix, final Comparator<T> comparator) {
+    final int size = array.length;
+    final boolean twoWords = prefix.getBitCount() > Long.SIZE;
+    long[] high = new long[size];
+    long[] low = twoWords ? new long[size] : null;
+    int[] index = new int[size];
+    for (int i = 0; i < size; ++i) {
+      prefix.keyOf(array[i], high, low, i);
+      index[i] = i;
+    }
+
+    // Count every digit of every key in one pass, so passes that wouldn't move anything can be skipped. Digits are numbered from
+    // the least significant, and the unused low bits of a key are all zero, so those passes always get skipped.
+    final int digits = (twoWords ? 2 : 1) * DIGITS_PER_WORD;
+    final int[][] counts = new int[digits][RADIX];
+    for (int i = 0; i < size; ++i) {
+      for (int d = 0; d < digits; ++d) {
+        counts[d][digitOf(high, low, i, d)]++;
+      }
+    }
+
+    long[] highBuffer = new long[size];
+    long[] lowBuffer = twoWords ? new long[size] : null;
+    int[] indexBuffer = new int[size];
+    final int[] offsets = new int[RADIX];
+    for (int d = 0; d < digits; ++d) {
+      if (isSkippable(counts[d], size)) {
+        continue;
+      }
+      int offset = 0;
+      for (int digit = 0; digit < RADIX; ++digit) {
+        offsets[digit] = offset;
+        offset += counts[d][digit];
+      }
+      for (int i = 0; i < size; ++i) {
+        final int target = offsets[digitOf(high, low, i, d)]++;
+        highBuffer[target] = high[i];
+        if (twoWords) {
+          lowBuffer[target] = low[i];
+        }
+        indexBuffer[target] = index[i];
+      }
+      final long[] swapHigh = high;
+      high = highBuffer;
+      highBuffer = swapHigh;
+      final long[] swapLow = low;
+      low = lowBuffer;
+      lowBuffer = swapLow;
+      final int[] swapIndex = index;
+      index = indexBuffer;
+      indexBuffer = swapIndex;
+    }
+
+    final Object[] sorted = new Object[size];
+    for (int i = 0; i < size; ++i) {
+      sorted[i] = array[index[i]];
+    }
+    System.arraycopy(sorted, 0, array, 0, size);
+    if (!prefix.isExact()) {
+      sortTies(array, high, low, comparator);
+    }
+  }
+
+  private static int digitOf(final long[] high, final long[] low, final int i, final int digit) {
+    if (digit < DIGITS_PER_WORD) {
+      // With a one-word key, the first eight digits come from the high word.
+      final long word = (low == null) ? high[i] : low[i];
+      return (int) (word >>> (digit * DIGIT_BITS)) & DIGIT_MASK;
+    }
+    return (int) (high[i] >>> ((digit - DIGITS_PER_WORD) * DIGIT_BITS)) & DIGIT_MASK;
+  }
+
+  private static boolean isSkippable(final int[] count, final int size) {
+    for (final int c : count) {
+      if (c != 0) {
+        return c == size;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sort each run of instances with equal keys using the comparator.
+   */
+  private static <T> void sortTies(final T[] array, final long[] high, final long[] low, final Comparator<T> comparator) {
+    final int size = array.length;
+    int start = 0;
+    while (start < size) {
+      int end = start + 1;
+      while ((end < size) && (high[end] == high[start]) && ((low == null) || (low[end] == low[start]))) {
+        end++;
+      }
+      if ((end - start) > 1) {
+        Arrays.sort(array, start, end, comparator);
+      }
+      start = end;
+    }
+  }
+}
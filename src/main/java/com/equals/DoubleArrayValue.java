@@ -0,0 +1,66 @@
+package com.equals;
+
+import java.util.Arrays;
+
+/**
+ * An immutable array of doubles, with a cached hash code. See {@link ArrayValue}.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:15 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public final class DoubleArrayValue extends ArrayValue {
+  private final double[] values;
+
+  private DoubleArrayValue(final double[] values) {
+    super(ArrayHash.hashCode(values));
+    this.values = values;
+  }
+
+  /**
+   * Create an instance from a copy of the specified values.
+   * @param values The values, which are copied. May not be null.
+   * @return The new instance
+   */
+  public static DoubleArrayValue of(final double... values) {
+    return new DoubleArrayValue(values.clone());
+  }
+
+  @Override
+  public int length() {
+    return values.length;
+  }
+
+  /**
+   * Returns one element.
+   * @param index The index of the element
+   * @return the element at the index
+   */
+  public double get(final int index) {
+    return values[index];
+  }
+
+  /**
+   * Returns a copy of the values.
+   * @return a new array with the values
+   */
+  public double[] toArray() {
+    return values.clone();
+  }
+
+  @Override
+  boolean elementsEqual(final ArrayValue other) {
+    return Arrays.equals(values, ((DoubleArrayValue) other).values);
+  }
+
+  @Override
+  int compareElements(final ArrayValue other) {
+    return ArrayCompare.compare(values, ((DoubleArrayValue) other).values);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(values);
+  }
+}
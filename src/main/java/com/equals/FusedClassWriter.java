@@ -0,0 +1,538 @@
+package com.equals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the class file of a {@link FusedHandler} subclass. The class has a final field for each getter, or for each pair of
+ * handlers, and for the HashBuilder unless the default formula is inlined. Its constructor takes the values of these fields, in
+ * order, as an Object array. For values a and b, read with getters g0, g1, and so on, the two methods amount to this:
+ * <pre>
+ *   boolean equal(Object a, Object b) {
+ *     if (g0.applyAsInt(a) != g0.applyAsInt(b)) return false;
+ *     if (!FusedHandler.stringsEqual(g1.applyAsString(a), g1.applyAsString(b))) return false;
+ *     if (!e2.doEqual(a, b)) return false;
+ *     return true;
+ *   }
+ *   int hash(Object a) {
+ *     int h = startingHash;
+ *     h = (31 * h) + g0.applyAsInt(a);
+ *     h = (31 * h) + FusedHandler.stringHash(g1.applyAsString(a));
+ *     h = (31 * h) + h2.doHashCode(a);
+ *     return h;
+ *   }
+ * </pre>
+ * Values are compared and hashed exactly as the lambda builder's handlers do it.
+ * <p>
+ * The class file has version 49, which is Java 5, because later versions need a StackMapTable attribute describing the types at
+ * every branch target. Every JVM still loads version 49 class files, and verifies them by type inference.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:55 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+final class FusedClassWriter {
+  private static final int MAGIC = 0xCAFEBABE;
+  private static final int CLASS_VERSION = 49;
+
+  // Constant pool tags
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_FIELD_REF = 9;
+  private static final int CONSTANT_METHOD_REF = 10;
+  private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_PRIVATE = 0x0002;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  // Opcodes
+  private static final int ICONST_0 = 0x03;
+  private static final int ICONST_1 = 0x04;
+  private static final int BIPUSH = 0x10;
+  private static final int SIPUSH = 0x11;
+  private static final int LDC_W = 0x13;
+  private static final int ILOAD_2 = 0x1c;
+  private static final int ALOAD_0 = 0x2a;
+  private static final int ALOAD_1 = 0x2b;
+  private static final int ALOAD_2 = 0x2c;
+  private static final int AALOAD = 0x32;
+  private static final int ISTORE_2 = 0x3d;
+  private static final int IADD = 0x60;
+  private static final int IMUL = 0x68;
+  private static final int LCMP = 0x94;
+  private static final int IFEQ = 0x99;
+  private static final int IFNE = 0x9a;
+  private static final int IF_ICMPNE = 0xa0;
+  private static final int IRETURN = 0xac;
+  private static final int RETURN = 0xb1;
+  private static final int GETFIELD = 0xb4;
+  private static final int PUTFIELD = 0xb5;
+  private static final int INVOKESPECIAL = 0xb7;
+  private static final int INVOKESTATIC = 0xb8;
+  private static final int INVOKEINTERFACE = 0xb9;
+  private static final int CHECKCAST = 0xc0;
+
+  private static final String SUPER_TYPE = "com/equals/FusedHandler";
+  private static final String EQUAL_HANDLER_TYPE = "com/equals/DogTag$EqualHandler";
+  private static final String HASH_HANDLER_TYPE = "com/equals/DogTag$HashHandler";
+  private static final String HASH_BUILDER_TYPE = "com/equals/DogTag$HashBuilder";
+  private static final String BUILDER_FIELD = "builder";
+
+  // Generous bounds. The verifier only needs them to be no smaller than the real ones.
+  private static final int MAX_STACK = 8;
+  private static final int MAX_LOCALS = 3;
+
+  private final String className;
+  private final int startingHash;
+  private final boolean defaultHashBuilder;
+  private final List<FusedHandler.Form> forms = new ArrayList<>();
+
+  private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+  private final DataOutputStream pool = new DataOutputStream(poolBytes);
+  private final Map<String, Integer> poolIndices = new HashMap<>();
+  private int poolCount = 1;
+
+  /**
+   * @param className The internal name of the class, in the com.equals package
+   * @param startingHash The factory's starting hash value
+   * @param defaultHashBuilder true to inline the formula of {@code Objects.hash()}, false to call the HashBuilder
+   */
+  FusedClassWriter(final String className, final int startingHash, final boolean defaultHashBuilder) {
+    this.className = className;
+    this.startingHash = startingHash;
+    this.defaultHashBuilder = defaultHashBuilder;
+  }
+
+  void addStep(final FusedHandler.Form form) {
+    forms.add(form);
+  }
+
+  byte[] toByteArray() {
+    try {
+      final byte[] fields = writeFields();
+      final List<byte[]> methods = Arrays.asList(
+          writeMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", writeConstructor(), 2),
+          writeMethod(ACC_FINAL, "equal", "(Ljava/lang/Object;Ljava/lang/Object;)Z", writeEqual(), MAX_LOCALS),
+          writeMethod(ACC_FINAL, "hash", "(Ljava/lang/Object;)I", writeHash(), MAX_LOCALS)
+      );
+      final int thisIndex = classConstant(className);
+      final int superIndex = classConstant(SUPER_TYPE);
+      pool.flush();
+
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      final DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(MAGIC);
+      out.writeShort(0);
+      out.writeShort(CLASS_VERSION);
+      out.writeShort(poolCount);
+      poolBytes.writeTo(out);
+      out.writeShort(ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisIndex);
+      out.writeShort(superIndex);
+      out.writeShort(0); // interfaces
+      out.write(fields);
+      out.writeShort(methods.size());
+      for (final byte[] method : methods) {
+        out.write(method);
+      }
+      out.writeShort(0); // attributes
+      out.flush();
+      return bytes.toByteArray();
+    } catch (final IOException e) { // Shouldn't happen: Nothing here writes to anything but memory.
+      throw new AssertionError("E37: I/O exception writing to memory", e);
+    }
+  }
+
+  private static String getterField(final int step) {
+    return "g" + step;
+  }
+
+  private static String equalField(final int step) {
+    return "e" + step;
+  }
+
+  private static String hashField(final int step) {
+    return "h" + step;
+  }
+
+  private static String descriptorOf(final String type) {
+    return 'L' + type + ';';
+  }
+
+  private byte[] writeFields() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    int count = 0;
+    for (int i = 0; i < forms.size(); ++i) {
+      final FusedHandler.Form form = forms.get(i);
+      if (form == FusedHandler.Form.HANDLER) {
+        writeField(out, equalField(i), EQUAL_HANDLER_TYPE);
+        writeField(out, hashField(i), HASH_HANDLER_TYPE);
+        count += 2;
+      } else {
+        writeField(out, getterField(i), form.getGetterType());
+        count++;
+      }
+    }
+    if (!defaultHashBuilder) {
+      writeField(out, BUILDER_FIELD, HASH_BUILDER_TYPE);
+      count++;
+    }
+    out.flush();
+    final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+    final DataOutputStream fieldsOut = new DataOutputStream(fields);
+    fieldsOut.writeShort(count);
+    bytes.writeTo(fieldsOut);
+    fieldsOut.flush();
+    return fields.toByteArray();
+  }
+
+  private void writeField(final DataOutputStream out, final String name, final String type) throws IOException {
+    out.writeShort(ACC_PRIVATE | ACC_FINAL);
+    out.writeShort(utf8(name));
+    out.writeShort(utf8(descriptorOf(type)));
+    out.writeShort(0); // attributes
+  }
+
+  private byte[] writeMethod(final int access, final String name, final String descriptor, final Code code, final int maxLocals)
+      throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeShort(access);
+    out.writeShort(utf8(name));
+    out.writeShort(utf8(descriptor));
+    out.writeShort(1); // attributes
+    out.writeShort(utf8("Code"));
+    out.writeInt(12 + code.length);
+    out.writeShort(MAX_STACK);
+    out.writeShort(maxLocals);
+    out.writeInt(code.length);
+    out.write(code.bytes, 0, code.length);
+    out.writeShort(0); // exception table
+    out.writeShort(0); // attributes
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private Code writeConstructor() throws IOException {
+    final Code code = new Code();
+    code.op(ALOAD_0);
+    code.op(INVOKESPECIAL).u2(memberConstant(CONSTANT_METHOD_REF, SUPER_TYPE, "<init>", "()V"));
+    int argument = 0;
+    for (int i = 0; i < forms.size(); ++i) {
+      final FusedHandler.Form form = forms.get(i);
+      if (form == FusedHandler.Form.HANDLER) {
+        storeArgument(code, argument++, equalField(i), EQUAL_HANDLER_TYPE);
+        storeArgument(code, argument++, hashField(i), HASH_HANDLER_TYPE);
+      } else {
+        storeArgument(code, argument++, getterField(i), form.getGetterType());
+      }
+    }
+    if (!defaultHashBuilder) {
+      storeArgument(code, argument, BUILDER_FIELD, HASH_BUILDER_TYPE);
+    }
+    code.op(RETURN);
+    return code;
+  }
+
+  private void storeArgument(final Code code, final int argument, final String field, final String type) throws IOException {
+    code.op(ALOAD_0);
+    code.op(ALOAD_1);
+    pushInt(code, argument);
+    code.op(AALOAD);
+    code.op(CHECKCAST).u2(classConstant(type));
+    code.op(PUTFIELD).u2(fieldConstant(field, type));
+  }
+
+  private Code writeEqual() throws IOException {
+    final Code code = new Code();
+    final List<Integer> branches = new ArrayList<>();
+    for (int i = 0; i < forms.size(); ++i) {
+      final FusedHandler.Form form = forms.get(i);
+      switch (form) {
+        case BOOLEAN:
+        case BYTE:
+        case CHAR:
+        case SHORT:
+        case INT:
+          getValue(code, i, form, ALOAD_1);
+          getValue(code, i, form, ALOAD_2);
+          branches.add(code.branch(IF_ICMPNE));
+          break;
+        case LONG:
+          getValue(code, i, form, ALOAD_1);
+          getValue(code, i, form, ALOAD_2);
+          code.op(LCMP);
+          branches.add(code.branch(IFNE));
+          break;
+        case FLOAT:
+          getValue(code, i, form, ALOAD_1);
+          invokeStatic(code, "java/lang/Float", "floatToIntBits", "(F)I");
+          getValue(code, i, form, ALOAD_2);
+          invokeStatic(code, "java/lang/Float", "floatToIntBits", "(F)I");
+          branches.add(code.branch(IF_ICMPNE));
+          break;
+        case DOUBLE:
+          getValue(code, i, form, ALOAD_1);
+          invokeStatic(code, "java/lang/Double", "doubleToLongBits", "(D)J");
+          getValue(code, i, form, ALOAD_2);
+          invokeStatic(code, "java/lang/Double", "doubleToLongBits", "(D)J");
+          code.op(LCMP);
+          branches.add(code.branch(IFNE));
+          break;
+        case STRING:
+          getValue(code, i, form, ALOAD_1);
+          getValue(code, i, form, ALOAD_2);
+          invokeStatic(code, SUPER_TYPE, "stringsEqual", "(Ljava/lang/String;Ljava/lang/String;)Z");
+          branches.add(code.branch(IFEQ));
+          break;
+        case HANDLER:
+          code.op(ALOAD_0);
+          code.op(GETFIELD).u2(fieldConstant(equalField(i), EQUAL_HANDLER_TYPE));
+          code.op(ALOAD_1);
+          code.op(ALOAD_2);
+          invokeInterface(code, EQUAL_HANDLER_TYPE, "doEqual", "(Ljava/lang/Object;Ljava/lang/Object;)Z", 3);
+          branches.add(code.branch(IFEQ));
+          break;
+        default: // Arrays
+          final String arrayDescriptor = form.getValueDescriptor();
+          getValue(code, i, form, ALOAD_1);
+          getValue(code, i, form, ALOAD_2);
+          invokeStatic(code, "java/util/Arrays", "equals", '(' + arrayDescriptor + arrayDescriptor + ")Z");
+          branches.add(code.branch(IFEQ));
+          break;
+      }
+    }
+    code.op(ICONST_1);
+    code.op(IRETURN);
+    final int fail = code.length;
+    for (final int branch : branches) {
+      code.patch(branch, fail - branch);
+    }
+    code.op(ICONST_0);
+    code.op(IRETURN);
+    return code;
+  }
+
+  private Code writeHash() throws IOException {
+    final Code code = new Code();
+    pushInt(code, startingHash);
+    code.op(ISTORE_2);
+    for (int i = 0; i < forms.size(); ++i) {
+      if (defaultHashBuilder) {
+        code.op(ILOAD_2);
+        code.op(BIPUSH).u1(31);
+        code.op(IMUL);
+        hashValue(code, i, forms.get(i));
+        code.op(IADD);
+      } else {
+        code.op(ALOAD_0);
+        code.op(GETFIELD).u2(fieldConstant(BUILDER_FIELD, HASH_BUILDER_TYPE));
+        code.op(ILOAD_2);
+        hashValue(code, i, forms.get(i));
+        invokeInterface(code, HASH_BUILDER_TYPE, "newHash", "(II)I", 3);
+      }
+      code.op(ISTORE_2);
+    }
+    code.op(ILOAD_2);
+    code.op(IRETURN);
+    return code;
+  }
+
+  /**
+   * Push the hash code of the value of one step, which the lambda builder's hash handler for the same getter would return.
+   */
+  private void hashValue(final Code code, final int step, final FusedHandler.Form form) throws IOException {
+    switch (form) {
+      case BOOLEAN:
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, "java/lang/Boolean", "hashCode", "(Z)I");
+        break;
+      case BYTE:
+      case CHAR:
+      case SHORT:
+      case INT:
+        // The hashCode() methods of Byte, Character, and Short return their values.
+        getValue(code, step, form, ALOAD_1);
+        break;
+      case LONG:
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, "java/lang/Long", "hashCode", "(J)I");
+        break;
+      case FLOAT:
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, "java/lang/Float", "hashCode", "(F)I");
+        break;
+      case DOUBLE:
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, "java/lang/Double", "hashCode", "(D)I");
+        break;
+      case STRING:
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, SUPER_TYPE, "stringHash", "(Ljava/lang/String;)I");
+        break;
+      case HANDLER:
+        code.op(ALOAD_0);
+        code.op(GETFIELD).u2(fieldConstant(hashField(step), HASH_HANDLER_TYPE));
+        code.op(ALOAD_1);
+        invokeInterface(code, HASH_HANDLER_TYPE, "doHashCode", "(Ljava/lang/Object;)I", 2);
+        break;
+      default: // Arrays
+        getValue(code, step, form, ALOAD_1);
+        invokeStatic(code, "com/equals/ArrayHash", "hashCode", '(' + form.getValueDescriptor() + ")I");
+        break;
+    }
+  }
+
+  /**
+   * Push the value of one step, read by calling its getter on the instance in the specified local variable.
+   */
+  private void getValue(final Code code, final int step, final FusedHandler.Form form, final int loadInstance) throws IOException {
+    code.op(ALOAD_0);
+    code.op(GETFIELD).u2(fieldConstant(getterField(step), form.getGetterType()));
+    code.op(loadInstance);
+    invokeInterface(code, form.getGetterType(), form.getGetterMethod(), "(Ljava/lang/Object;)" + form.getValueDescriptor(), 2);
+  }
+
+  private void invokeStatic(final Code code, final String owner, final String name, final String descriptor) throws IOException {
+    code.op(INVOKESTATIC).u2(memberConstant(CONSTANT_METHOD_REF, owner, name, descriptor));
+  }
+
+  private void invokeInterface(final Code code, final String owner, final String name, final String descriptor, final int argSlots)
+      throws IOException {
+    code.op(INVOKEINTERFACE).u2(memberConstant(CONSTANT_INTERFACE_METHOD_REF, owner, name, descriptor)).u1(argSlots).u1(0);
+  }
+
+  private void pushInt(final Code code, final int value) throws IOException {
+    if ((value >= -1) && (value <= 5)) {
+      code.op(ICONST_0 + value);
+    } else if ((value >= Byte.MIN_VALUE) && (value <= Byte.MAX_VALUE)) {
+      code.op(BIPUSH).u1(value);
+    } else if ((value >= Short.MIN_VALUE) && (value <= Short.MAX_VALUE)) {
+      code.op(SIPUSH).u2(value);
+    } else {
+      code.op(LDC_W).u2(intConstant(value));
+    }
+  }
+
+  // Constant pool entries. Each is written once, and its index is reused.
+
+  private int utf8(final String value) throws IOException {
+    final Integer index = poolIndices.get("U" + value);
+    if (index != null) {
+      return index;
+    }
+    pool.writeByte(CONSTANT_UTF8);
+    pool.writeUTF(value);
+    return newEntry("U" + value);
+  }
+
+  private int intConstant(final int value) throws IOException {
+    final Integer index = poolIndices.get("I" + value);
+    if (index != null) {
+      return index;
+    }
+    pool.writeByte(CONSTANT_INTEGER);
+    pool.writeInt(value);
+    return newEntry("I" + value);
+  }
+
+  private int classConstant(final String type) throws IOException {
+    final Integer index = poolIndices.get("C" + type);
+    if (index != null) {
+      return index;
+    }
+    final int nameIndex = utf8(type);
+    pool.writeByte(CONSTANT_CLASS);
+    pool.writeShort(nameIndex);
+    return newEntry("C" + type);
+  }
+
+  private int nameAndType(final String name, final String descriptor) throws IOException {
+    final String key = "N" + name + ':' + descriptor;
+    final Integer index = poolIndices.get(key);
+    if (index != null) {
+      return index;
+    }
+    final int nameIndex = utf8(name);
+    final int descriptorIndex = utf8(descriptor);
+    pool.writeByte(CONSTANT_NAME_AND_TYPE);
+    pool.writeShort(nameIndex);
+    pool.writeShort(descriptorIndex);
+    return newEntry(key);
+  }
+
+  private int fieldConstant(final String name, final String type) throws IOException {
+    return memberConstant(CONSTANT_FIELD_REF, className, name, descriptorOf(type));
+  }
+
+  private int memberConstant(final int tag, final String owner, final String name, final String descriptor) throws IOException {
+    final String key = "M" + tag + owner + '.' + name + ':' + descriptor;
+    final Integer index = poolIndices.get(key);
+    if (index != null) {
+      return index;
+    }
+    final int ownerIndex = classConstant(owner);
+    final int nameAndTypeIndex = nameAndType(name, descriptor);
+    pool.writeByte(tag);
+    pool.writeShort(ownerIndex);
+    pool.writeShort(nameAndTypeIndex);
+    return newEntry(key);
+  }
+
+  private int newEntry(final String key) {
+    final int index = poolCount++;
+    poolIndices.put(key, index);
+    return index;
+  }
+
+  /**
+   * The bytecode of one method.
+   */
+  private static final class Code {
+    private byte[] bytes = new byte[256];
+    private int length = 0;
+
+    Code op(final int opcode) {
+      return u1(opcode);
+    }
+
+    Code u1(final int value) {
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[length++] = (byte) value;
+      return this;
+    }
+
+    Code u2(final int value) {
+      return u1(value >> 8).u1(value);
+    }
+
+    /**
+     * Write a branch instruction whose offset gets patched later.
+     * @return The position of the instruction, from which its offset is measured
+     */
+    int branch(final int opcode) {
+      final int position = length;
+      op(opcode).u2(0);
+      return position;
+    }
+
+    void patch(final int position, final int offset) {
+      bytes[position + 1] = (byte) (offset >> 8);
+      bytes[position + 2] = (byte) offset;
+    }
+  }
+}
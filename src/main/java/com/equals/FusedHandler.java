@@ -0,0 +1,263 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares and hashes instances for a lambda factory, in a class generated for that factory. The factory's handlers are lambdas
+ * that all get called from the same two call sites, inside the factory's loops. Once a program has more than two kinds of handler,
+ * those call sites are megamorphic, so the JIT can't inline any of them, or the getters they call. A generated class has one
+ * unrolled method body for equality and one for the hash code, which call each getter from a call site of its own. Each of those
+ * call sites only ever sees one getter, so the JIT can inline it, and compare or hash its value without any calls at all.
+ * <p>
+ * Primitives, Strings, and primitive arrays are read by calling their getters directly from the generated code. Every other value
+ * keeps its handlers, which are also called from call sites of their own.
+ * <p>
+ * A generated class can't be unloaded while this package's class loader is loaded, so factories with the same {@link Signature}
+ * share one class, and only their getters, handlers, and HashBuilder, which are passed to its constructor, differ. A program that
+ * builds many factories of the same shape, such as one for each request, only defines one class.
+ * <p>
+ * The class is defined in this package by {@link ClassDefiner}. That takes an API introduced in Java 9, so on Java 8, no class is
+ * generated, and the factory uses one of the hand-written {@link SmallPlans} handlers, which also extend this class, or for more
+ * than eight values, its loops. Reflective factories never generate classes. They use the {@link SmallPlans} handlers, or a
+ * {@link PlanInterpreter}.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:40 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+abstract class FusedHandler<T> {
+  // HotSpot won't compile a method of more than 8000 bytes of bytecode. No step takes more than 30 bytes.
+  static final int MAX_STEPS = 200;
+
+  private static final AtomicInteger classCount = new AtomicInteger();
+  private static final ConcurrentMap<Signature, Class<?>> fusedClasses = new ConcurrentHashMap<>();
+
+  /**
+   * Compare two instances.
+   * @param thisOne One instance, never null
+   * @param thatOne The other instance, never null
+   * @return true if every value is equal
+   */
+  abstract boolean equal(T thisOne, T thatOne);
+
+  /**
+   * Returns the hash code of an instance.
+   * @param thisOne The instance, never null
+   * @return the hash code
+   */
+  abstract int hash(T thisOne);
+
+  /**
+   * Returns true if two Strings are equal. Generated classes call this to avoid {@code Objects.equals()}, whose call to equals()
+   * sees every type of value in the program. This one only sees Strings, which are final, so it needs no type check.
+   */
+  static boolean stringsEqual(final String x, final String y) {
+    //noinspection StringEquality
+    return (x == y) || ((x != null) && x.equals(y));
+  }
+
+  static int stringHash(final String s) {
+    return (s == null) ? 0 : s.hashCode();
+  }
+
+  /**
+   * Generate the class for a lambda factory's values, or reuse the one generated for an earlier factory with the same signature,
+   * and create an instance of it.
+   * @param steps One step for each value, in the order they were added
+   * @param equalHandlers The equality handlers, used by steps of the HANDLER form
+   * @param hashHandlers The hash handlers, used by steps of the HANDLER form
+   * @param startingHash The factory's starting hash value
+   * @param hashBuilder The factory's HashBuilder
+   * @param defaultHashBuilder true if the HashBuilder uses the formula of {@code Objects.hash()}, which gets inlined.
+   * @param definer Defines the generated class in this package, or null if classes can't be defined, so none gets written
+   * @param <T> The type of the instances
+   * @return The instance, or null if the class couldn't be defined, or has too many values.
+   */
+  static <T> FusedHandler<T> create(
+      final List<Step> steps,
+      final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+      final List<? extends DogTag.HashHandler<T>> hashHandlers,
+      final int startingHash,
+      final DogTag.HashBuilder hashBuilder,
+      final boolean defaultHashBuilder,
+      final Definer definer
+  ) {
+    if ((definer == null) || (steps.size() > MAX_STEPS)) {
+      return null;
+    }
+    final Form[] forms = new Form[steps.size()];
+    final List<Object> arguments = new ArrayList<>();
+    for (int i = 0; i < steps.size(); ++i) {
+      final Step step = steps.get(i);
+      if (step.form == Form.HANDLER) {
+        arguments.add(equalHandlers.get(i));
+        arguments.add(hashHandlers.get(i));
+      } else {
+        arguments.add(step.getter);
+      }
+      forms[i] = step.form;
+    }
+    if (!defaultHashBuilder) {
+      arguments.add(hashBuilder);
+    }
+    try {
+      final Class<?> fusedClass = fusedClass(new Signature(forms, startingHash, defaultHashBuilder), definer);
+      if (fusedClass == null) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      final FusedHandler<T> handler
+          = (FusedHandler<T>) fusedClass.getConstructor(Object[].class).newInstance((Object) arguments.toArray());
+      return handler;
+    } catch (final ReflectiveOperationException e) {
+      throw new AssertionError("E36: The generated handler could not be created", e);
+    }
+  }
+
+  /**
+   * Returns the generated class for a signature, defining it if no factory has needed it yet.
+   * @return The class, or null if classes can't be defined
+   */
+  private static Class<?> fusedClass(final Signature signature, final Definer definer) throws IllegalAccessException {
+    final Class<?> cached = fusedClasses.get(signature);
+    if (cached != null) {
+      return cached;
+    }
+    final String className = String.format("com/equals/FusedHandler$%d", classCount.incrementAndGet());
+    final FusedClassWriter writer = new FusedClassWriter(className, signature.startingHash, signature.defaultHashBuilder);
+    for (final Form form : signature.forms) {
+      writer.addStep(form);
+    }
+    final Class<?> fusedClass = definer.define(writer.toByteArray());
+    if (fusedClass == null) {
+      return null;
+    }
+    // If another thread defined a class for the same signature first, use that one, so every factory shares it.
+    final Class<?> previous = fusedClasses.putIfAbsent(signature, fusedClass);
+    return (previous == null) ? fusedClass : previous;
+  }
+
+  /**
+   * Defines a class in this package from the bytes of its class file.
+   */
+  @FunctionalInterface
+  interface Definer {
+    /**
+     * Define the class.
+     * @param classFile The bytes of the class file
+     * @return The class, or null if classes can't be defined
+     * @throws IllegalAccessException if the class may not be defined
+     */
+    Class<?> define(byte[] classFile) throws IllegalAccessException;
+  }
+
+  /**
+   * How a step reads, compares, and hashes its value. Except for HANDLER, each form names the getter interface that the builder
+   * was given, the method it calls, and the descriptor of the value that method returns.
+   */
+  enum Form {
+    BOOLEAN("com/equals/ToBooleanFunction", "applyAsBoolean", "Z"),
+    BYTE("com/equals/ToByteFunction", "applyAsByte", "B"),
+    CHAR("com/equals/ToCharFunction", "applyAsChar", "C"),
+    SHORT("com/equals/ToShortFunction", "applyAsShort", "S"),
+    INT("java/util/function/ToIntFunction", "applyAsInt", "I"),
+    LONG("java/util/function/ToLongFunction", "applyAsLong", "J"),
+    FLOAT("com/equals/ToFloatFunction", "applyAsFloat", "F"),
+    DOUBLE("java/util/function/ToDoubleFunction", "applyAsDouble", "D"),
+    STRING("com/equals/ToStringFunction", "applyAsString", "Ljava/lang/String;"),
+    BOOLEAN_ARRAY("com/equals/ToBooleanArrayFunction", "applyAsBooleanArray", "[Z"),
+    BYTE_ARRAY("com/equals/ToByteArrayFunction", "applyAsByteArray", "[B"),
+    CHAR_ARRAY("com/equals/ToCharArrayFunction", "applyAsCharArray", "[C"),
+    SHORT_ARRAY("com/equals/ToShortArrayFunction", "applyAsShortArray", "[S"),
+    INT_ARRAY("com/equals/ToIntArrayFunction", "applyAsIntArray", "[I"),
+    LONG_ARRAY("com/equals/ToLongArrayFunction", "applyAsLongArray", "[J"),
+    FLOAT_ARRAY("com/equals/ToFloatArrayFunction", "applyAsFloatArray", "[F"),
+    DOUBLE_ARRAY("com/equals/ToDoubleArrayFunction", "applyAsDoubleArray", "[D"),
+
+    // The value's own handlers are called.
+    HANDLER(null, null, null);
+
+    private final String getterType;
+    private final String getterMethod;
+    private final String valueDescriptor;
+
+    Form(final String getterType, final String getterMethod, final String valueDescriptor) {
+      this.getterType = getterType;
+      this.getterMethod = getterMethod;
+      this.valueDescriptor = valueDescriptor;
+    }
+
+    String getGetterType() {
+      return getterType;
+    }
+
+    String getGetterMethod() {
+      return getterMethod;
+    }
+
+    String getValueDescriptor() {
+      return valueDescriptor;
+    }
+  }
+
+  /**
+   * Everything that goes into the code of a generated class: the form of each step, the starting hash, which is a constant in the
+   * code, and whether the formula of {@code Objects.hash()} is inlined.
+   */
+  private static final class Signature {
+    private final Form[] forms;
+    private final int startingHash;
+    private final boolean defaultHashBuilder;
+
+    Signature(final Form[] forms, final int startingHash, final boolean defaultHashBuilder) {
+      this.forms = forms;
+      this.startingHash = startingHash;
+      this.defaultHashBuilder = defaultHashBuilder;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Signature)) {
+        return false;
+      }
+      final Signature that = (Signature) obj;
+      return (startingHash == that.startingHash) && (defaultHashBuilder == that.defaultHashBuilder)
+          && Arrays.equals(forms, that.forms);
+    }
+
+    @Override
+    public int hashCode() {
+      return (((Arrays.hashCode(forms) * 31) + startingHash) * 31) + Boolean.hashCode(defaultHashBuilder);
+    }
+  }
+
+  /**
+   * One value of a lambda factory: its form, and, unless the form is HANDLER, the getter the builder was given.
+   */
+  static final class Step {
+    private static final Step HANDLED = new Step(Form.HANDLER, null);
+
+    private final Form form;
+    private final Object getter;
+
+    private Step(final Form form, final Object getter) {
+      this.form = form;
+      this.getter = getter;
+    }
+
+    static Step of(final Form form, final Object getter) {
+      return new Step(form, getter);
+    }
+
+    static Step handled() {
+      return HANDLED;
+    }
+  }
+}
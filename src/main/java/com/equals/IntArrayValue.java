@@ -0,0 +1,66 @@
+package com.equals;
+
+import java.util.Arrays;
+
+/**
+ * An immutable array of ints, with a cached hash code. See {@link ArrayValue}.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:15 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+public final class IntArrayValue extends ArrayValue {
+  private final int[] values;
+
+  private IntArrayValue(final int[] values) {
+    super(ArrayHash.hashCode(values));
+    this.values = values;
+  }
+
+  /**
+   * Create an instance from a copy of the specified values.
+   * @param values The values, which are copied. May not be null.
+   * @return The new instance
+   */
+  public static IntArrayValue of(final int... values) {
+    return new IntArrayValue(values.clone());
+  }
+
+  @Override
+  public int length() {
+    return values.length;
+  }
+
+  /**
+   * Returns one element.
+   * @param index The index of the element
+   * @return the element at the index
+   */
+  public int get(final int index) {
+    return values[index];
+  }
+
+  /**
+   * Returns a copy of the values.
+   * @return a new array with the values
+   */
+  public int[] toArray() {
+    return values.clone();
+  }
+
+  @Override
+  boolean elementsEqual(final ArrayValue other) {
+    return Arrays.equals(values, ((IntArrayValue) other).values);
+  }
+
+  @Override
+  int compareElements(final ArrayValue other) {
+    return ArrayCompare.compare(values, ((IntArrayValue) other).values);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(values);
+  }
+}
@@ -0,0 +1,284 @@
+package com.equals;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Returns a canonical instance for each set of equal instances, using a DogTag.Factory to compare and hash them. This is also
+ * called hash-consing. Once a set of objects has been interned, equal objects are identical, so they may be compared by reference,
+ * and the duplicates may be garbage-collected.
+ * <p>
+ * The canonical instances are held by weak references, so an instance that's no longer used anywhere else may still be collected.
+ * The interner is thread-safe. Like ConcurrentDogTagHashMap, it's divided into segments, each an open-addressing table guarded by
+ * its own StampedLock, and lookups of instances that are already interned usually take no lock. References to collected instances
+ * are purged by the next write to their segment.
+ * <pre>
+ *   private static final {@literal Interner<Quote>} quotes = new {@literal Interner<>}(Quote.factory);
+ *   ...
+ *   Quote quote = quotes.intern(readQuote(feed));
+ * </pre>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:15 PM
+ *
+ * @param <T> The type of the interned instances
+ * @author Miguel Mu\u00f1oz
+ */
+public final class Interner<T> {
+  private static final int MAXIMUM_SEGMENTS = 1 << 16;
+  private static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 30;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+  private final DogTag.Factory<T> factory;
+  private final Segment<T>[] segments;
+  private final int segmentBits;
+
+  /**
+   * Create an empty interner that uses the specified factory to compare and hash its instances.
+   * @param factory The DogTag.Factory for the instances
+   */
+  public Interner(final DogTag.Factory<T> factory) {
+    this(factory, Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  /**
+   * Create an empty interner that uses the specified factory to compare and hash its instances.
+   * @param factory The DogTag.Factory for the instances
+   * @param concurrencyLevel The expected number of concurrently interning threads. This is rounded up to a power of two to give
+   *                         the number of segments.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public Interner(final DogTag.Factory<T> factory, final int concurrencyLevel) {
+    if (concurrencyLevel <= 0) {
+      throw new IllegalArgumentException(String.format("E19: Concurrency level must be positive: %d", concurrencyLevel));
+    }
+    this.factory = factory;
+    final int segmentCount = Math.max(2, Integer.highestOneBit((Math.min(MAXIMUM_SEGMENTS, concurrencyLevel) * 2) - 1));
+    segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; ++i) {
+      segments[i] = new Segment<>(factory, segmentBits);
+    }
+  }
+
+  /**
+   * Returns the factory used to compare and hash the instances.
+   * @return The factory
+   */
+  public DogTag.Factory<T> getFactory() {
+    return factory;
+  }
+
+  private Segment<T> segmentFor(final int hash) {
+    return segments[OpenAddressing.segment(hash, segmentBits)];
+  }
+
+  /**
+   * Returns the canonical instance equal to the specified instance. If there is none, the instance becomes the canonical one.
+   * @param instance The instance. May not be null.
+   * @return The canonical instance, which is either equal or identical to the specified instance
+   */
+  public T intern(final T instance) {
+    final int hash = factory.doHashCodeInternal(Objects.requireNonNull(instance));
+    final Segment<T> segment = segmentFor(hash);
+    final T existing = segment.get(instance, hash);
+    return (existing == null) ? segment.intern(instance, hash) : existing;
+  }
+
+  /**
+   * Returns the canonical instance equal to an instance with the values in the probe, if there is one. This allocates nothing.
+   * @param probe The probe, which must come from this interner's factory. Probes aren't thread-safe, so each thread needs its own.
+   * @return The canonical instance, or null if there is none
+   */
+  public T getByProbe(final Probe<T> probe) {
+    DogTagHashMap.checkProbe(factory, probe);
+    final int hash = probe.hash();
+    return segmentFor(hash).get(probe, hash);
+  }
+
+  /**
+   * Returns the number of canonical instances. This may include instances that have been collected, but not yet purged.
+   * @return The number of canonical instances
+   */
+  public int size() {
+    long total = 0L;
+    for (final Segment<T> segment : segments) {
+      total += segment.size;
+    }
+    return (int) Math.min(total, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Purge the references to all canonical instances that have been garbage-collected.
+   */
+  public void purge() {
+    for (final Segment<T> segment : segments) {
+      segment.purge();
+    }
+  }
+
+  /**
+   * A weak reference to a canonical instance, which remembers its hash code after the instance is collected.
+   * @param <T> The type of the instance
+   */
+  private static final class WeakEntry<T> extends WeakReference<T> {
+    private final int hash;
+
+    WeakEntry(final T referent, final int hash, final ReferenceQueue<? super T> queue) {
+      super(referent, queue);
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * One segment of the interner. All writes hold the write lock. Reads use an optimistic read that gets validated afterwards, as
+   * in ConcurrentDogTagHashMap. Entries whose instances have been collected stay in the table, where they never match, until the
+   * next write purges them.
+   * @param <T> The type of the instances
+   */
+  private static final class Segment<T> {
+    private final DogTag.Factory<T> factory;
+    private final int segmentBits;
+    private final StampedLock lock = new StampedLock();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+    private volatile WeakEntry<T>[] table;
+    private volatile int size;
+
+    Segment(final DogTag.Factory<T> factory, final int segmentBits) {
+      this.factory = factory;
+      this.segmentBits = segmentBits;
+      table = newTable(INITIAL_SEGMENT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> WeakEntry<T>[] newTable(final int capacity) {
+      return new WeakEntry[capacity];
+    }
+
+    /**
+     * The high bits of the spread hash choose the segment, so the slot uses the bits below them.
+     */
+    private int idealSlot(final int hash, final int capacity) {
+      return OpenAddressing.idealSlot(hash, segmentBits, OpenAddressing.shift(capacity));
+    }
+
+    /**
+     * Find the canonical instance, given either an instance or a probe.
+     */
+    @SuppressWarnings("unchecked")
+    private T find(final Object instanceOrProbe, final int hash) {
+      final WeakEntry<T>[] t = table;
+      final int mask = t.length - 1;
+      final boolean isProbe = instanceOrProbe instanceof Probe;
+      int slot = idealSlot(hash, t.length);
+      WeakEntry<T> entry;
+      while ((entry = t[slot]) != null) {
+        if (entry.hash == hash) {
+          final T candidate = entry.get();
+          if ((candidate != null) && (isProbe
+              ? ((Probe<T>) instanceOrProbe).matches(candidate)
+              : ((candidate == instanceOrProbe) || factory.doEqualsTest(candidate, (T) instanceOrProbe)))) {
+            return candidate;
+          }
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    T get(final Object instanceOrProbe, final int hash) {
+      final long optimisticStamp = lock.tryOptimisticRead();
+      if (optimisticStamp != 0L) {
+        try {
+          final T canonical = find(instanceOrProbe, hash);
+          if (lock.validate(optimisticStamp)) {
+            return canonical;
+          }
+        } catch (RuntimeException e) {
+          if (lock.validate(optimisticStamp)) {
+            throw e;
+          }
+        }
+      }
+      final long stamp = lock.readLock();
+      try {
+        return find(instanceOrProbe, hash);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    T intern(final T instance, final int hash) {
+      final long stamp = lock.writeLock();
+      try {
+        expungeStaleEntries();
+        final T existing = find(instance, hash);
+        if (existing != null) {
+          return existing;
+        }
+        insert(new WeakEntry<>(instance, hash, queue));
+        return instance;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    void purge() {
+      final long stamp = lock.writeLock();
+      try {
+        expungeStaleEntries();
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Remove the entries of collected instances. The caller must hold the write lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+      Reference<? extends T> stale;
+      while ((stale = queue.poll()) != null) {
+        final WeakEntry<T> entry = (WeakEntry<T>) stale;
+        final WeakEntry<T>[] t = table;
+        final int slot = OpenAddressing.slotOf(t, entry, idealSlot(entry.hash, t.length));
+        if (slot >= 0) {
+          OpenAddressing.removeSlot(t, slot, (s) -> idealSlot(t[s].hash, t.length));
+          size--;
+        }
+      }
+    }
+
+    /**
+     * Insert an entry for an instance known to be absent. The caller must hold the write lock.
+     */
+    private void insert(final WeakEntry<T> entry) {
+      WeakEntry<T>[] t = table;
+      if ((size + 1) > (t.length / 2)) {
+        t = resize(t);
+      }
+      t[OpenAddressing.emptySlot(t, idealSlot(entry.hash, t.length))] = entry;
+      size++; // Only one writer at a time, so this is safe.
+    }
+
+    private WeakEntry<T>[] resize(final WeakEntry<T>[] old) {
+      if (old.length == MAXIMUM_SEGMENT_CAPACITY) {
+        if ((size + 1) == MAXIMUM_SEGMENT_CAPACITY) {
+          throw new IllegalStateException("E17: Interner is full");
+        }
+        return old;
+      }
+      final WeakEntry<T>[] t = newTable(old.length * 2);
+      for (final WeakEntry<T> entry : old) {
+        if (entry != null) {
+          t[OpenAddressing.emptySlot(t, idealSlot(entry.hash, t.length))] = entry;
+        }
+      }
+      table = t;
+      return t;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.equals;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A flat, fixed-size array of longs, held either in a {@code long[]} on the heap or in a memory-mapped file. The Bloom filters
+ * keep their bits and counters in one of these.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:20 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+interface LongStore {
+  long get(int index);
+
+  void set(int index, long value);
+
+  int size();
+
+  /**
+   * Write any changes through to the backing file. This does nothing for a heap store.
+   */
+  void flush();
+
+  static LongStore onHeap(final int size) {
+    return new HeapStore(size);
+  }
+
+  /**
+   * Map a file as a store of the specified size, after a header. If the file already exists, its current contents are used, so a
+   * filter may be saved and reopened, but only if its header matches. If it doesn't, it's created, and filled with zeros after the
+   * header.
+   * @param file The file
+   * @param header The header, which describes what the store holds
+   * @param size The number of longs, not counting the header
+   * @return The store
+   * @throws IOException If the file can't be opened or mapped
+   */
+  static LongStore mapped(final Path file, final long[] header, final int size) throws IOException {
+    final long bytes = ((long) header.length + size) * Long.BYTES;
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format("E27: %d bytes is too large to map", bytes));
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      final boolean isNew = channel.size() == 0L;
+      if (isNew || (channel.size() == bytes)) {
+        final MappedStore store = new MappedStore(channel.map(FileChannel.MapMode.READ_WRITE, 0L, bytes), header.length, size);
+        if (isNew) {
+          store.writeHeader(header);
+        }
+        if (store.hasHeader(header)) {
+          return store; // The mapping outlives the channel
+        }
+      }
+    }
+    throw new IllegalArgumentException(String.format(
+        "E39: %s was saved by a filter with different parameters or values, so it can't be reopened by this one", file));
+  }
+
+  final class HeapStore implements LongStore {
+    private final long[] words;
+
+    HeapStore(final int size) {
+      words = new long[size];
+    }
+
+    @Override
+    public long get(final int index) {
+      return words[index];
+    }
+
+    @Override
+    public void set(final int index, final long value) {
+      words[index] = value;
+    }
+
+    @Override
+    public int size() {
+      return words.length;
+    }
+
+    @Override
+    public void flush() { }
+  }
+
+  final class MappedStore implements LongStore {
+    private final MappedByteBuffer buffer;
+    private final LongBuffer words;
+    private final int offset; // The length of the header
+    private final int size;
+
+    MappedStore(final MappedByteBuffer buffer, final int offset, final int size) {
+      this.buffer = buffer;
+      words = buffer.asLongBuffer();
+      this.offset = offset;
+      this.size = size;
+    }
+
+    void writeHeader(final long[] header) {
+      for (int i = 0; i < header.length; ++i) {
+        words.put(i, header[i]);
+      }
+    }
+
+    boolean hasHeader(final long[] header) {
+      for (int i = 0; i < header.length; ++i) {
+        if (words.get(i) != header[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public long get(final int index) {
+      return words.get(offset + index);
+    }
+
+    @Override
+    public void set(final int index, final long value) {
+      words.put(offset + index, value);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void flush() {
+      buffer.force();
+    }
+  }
+}
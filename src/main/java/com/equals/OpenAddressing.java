@@ -0,0 +1,159 @@
+package com.equals;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The open-addressing scheme shared by {@link DogTagHashMap}, {@link ConcurrentDogTagHashMap}, {@link Interner}, and
+ * {@link DogTagCache}. Each table has a power-of-two capacity, and an entry's ideal slot comes from the high bits of its hash code,
+ * spread by Fibonacci hashing. Tables split into segments take the segment from the highest bits, so the slot uses the bits below
+ * them. Collisions probe linearly, and removals use backward-shift deletion, so there are no tombstones.
+ * <p>
+ * Each table is an array of keys, or of entries, with null marking an empty slot. Some tables keep their values and hash codes
+ * in parallel arrays, which a {@link SlotMover} keeps in step with the table.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:30 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum OpenAddressing {
+  ;
+
+  static final int GOLDEN_RATIO = 0x9E3779B9; // For Fibonacci hashing
+
+  /**
+   * Returns the shift that takes a spread hash code down to a slot.
+   * @param capacity The capacity of the table, which must be a power of two
+   * @return 32 - log2(capacity)
+   */
+  static int shift(final int capacity) {
+    return Integer.numberOfLeadingZeros(capacity) + 1;
+  }
+
+  /**
+   * Returns the segment of a hash code, from the highest bits of its spread value.
+   * @param hash The hash code
+   * @param segmentBits log2 of the number of segments, which may be zero
+   * @return The segment
+   */
+  static int segment(final int hash, final int segmentBits) {
+    return (segmentBits == 0) ? 0 : ((hash * GOLDEN_RATIO) >>> (Integer.SIZE - segmentBits));
+  }
+
+  /**
+   * Find the slot where the hash code would be found if there were no collisions.
+   * @param hash The hash code
+   * @param segmentBits The number of bits that chose the segment, which the slot skips. Zero if the table isn't segmented.
+   * @param shift The shift for the table's capacity, from {@link #shift(int)}
+   * @return The ideal slot
+   */
+  static int idealSlot(final int hash, final int segmentBits, final int shift) {
+    return ((hash * GOLDEN_RATIO) << segmentBits) >>> shift;
+  }
+
+  /**
+   * Returns the first empty slot at or after the specified slot.
+   * @param table The table, which must have an empty slot
+   * @param slot The slot to start from, usually the ideal slot of a new entry
+   * @return The empty slot
+   */
+  static int emptySlot(final Object[] table, final int slot) {
+    final int mask = table.length - 1;
+    int s = slot;
+    while (table[s] != null) {
+      s = (s + 1) & mask;
+    }
+    return s;
+  }
+
+  /**
+   * Returns the slot that holds the entry.
+   * @param table The table
+   * @param entry The entry, compared by identity
+   * @param slot The ideal slot of the entry
+   * @return The slot of the entry, or -1 if it isn't in the table
+   */
+  @SuppressWarnings("ObjectEquality")
+  static int slotOf(final Object[] table, final Object entry, final int slot) {
+    final int mask = table.length - 1;
+    int s = slot;
+    Object candidate;
+    while ((candidate = table[s]) != null) {
+      if (candidate == entry) {
+        return s;
+      }
+      s = (s + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Empty a slot, and shift back any later entries in the same cluster that would otherwise become unreachable.
+   * @param table The table
+   * @param slot The slot to empty
+   * @param idealSlotOf Returns the ideal slot of the entry in a slot
+   * @param mover Moves the parallel arrays along with the table
+   * @return The slot of an entry that wrapped around from the start of the table to the end, or -1 if none did. An iterator that
+   * runs from the end of the table to the start needs this to avoid missing an entry.
+   */
+  static int removeSlot(final Object[] table, final int slot, final IntUnaryOperator idealSlotOf, final SlotMover mover) {
+    final int mask = table.length - 1;
+    int gap = slot;
+    int wrapped = -1;
+    int next = slot;
+    while (true) {
+      next = (next + 1) & mask;
+      if (table[next] == null) {
+        break;
+      }
+      final int ideal = idealSlotOf.applyAsInt(next);
+
+      // The entry at next may move to the gap if its ideal slot doesn't lie cyclically in (gap, next].
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        table[gap] = table[next];
+        mover.move(next, gap);
+        if (next < gap) {
+          wrapped = gap;
+        }
+        gap = next;
+      }
+    }
+    table[gap] = null;
+    mover.clear(gap);
+    return wrapped;
+  }
+
+  /**
+   * Empty a slot of a table with no parallel arrays. See {@link #removeSlot(Object[], int, IntUnaryOperator, SlotMover)}.
+   */
+  static int removeSlot(final Object[] table, final int slot, final IntUnaryOperator idealSlotOf) {
+    return removeSlot(table, slot, idealSlotOf, SlotMover.NONE);
+  }
+
+  /**
+   * Keeps a table's parallel arrays in step with it while {@link #removeSlot(Object[], int, IntUnaryOperator, SlotMover)} shifts
+   * its entries.
+   */
+  interface SlotMover {
+    SlotMover NONE = new SlotMover() {
+      @Override
+      public void move(final int from, final int to) { }
+
+      @Override
+      public void clear(final int slot) { }
+    };
+
+    /**
+     * Move the entry's values from one slot to another.
+     * @param from The slot the entry is leaving
+     * @param to The slot the entry moves to
+     */
+    void move(int from, int to);
+
+    /**
+     * Clear the values of the slot left empty at the end of the cluster, so they may be garbage collected.
+     * @param slot The empty slot
+     */
+    void clear(int slot);
+  }
+}
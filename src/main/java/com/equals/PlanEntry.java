@@ -0,0 +1,339 @@
+package com.equals;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * One entry in a factory's plan. A factory's field processors and handlers compare two instances and hash one instance. A plan
+ * entry describes the same field, or lambda-specified value, as a value: It can read the value out of an instance, and it can
+ * compare and hash values directly. This lets the hash code and equality of an instance be computed from values that aren't in
+ * any instance, such as those supplied to a {@link Probe}.
+ * <p>
+ * Each entry must compare and hash values exactly as the corresponding field processor or handler does, so the results are
+ * consistent with the factory.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 5:00 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class PlanEntry<T> {
+  private static final BiPredicate<Object, Object> objectsEqual = Objects::equals;
+  private static final ToIntFunction<Object> objectsHash = Objects::hashCode;
+
+  private final ValueKind kind;
+  private final Class<?> valueType;
+  private final String name;
+  private final BitsGetter<T> bitsGetter;
+  private final ObjectGetter<T> objectGetter;
+  private final BiPredicate<Object, Object> objectEquals;
+  private final ToIntFunction<Object> objectHash;
+  private final int order;
+
+  private PlanEntry(
+      final ValueKind kind,
+      final Class<?> valueType,
+      final String name,
+      final BitsGetter<T> bitsGetter,
+      final ObjectGetter<T> objectGetter,
+      final BiPredicate<Object, Object> objectEquals,
+      final ToIntFunction<Object> objectHash,
+      final int order
+  ) {
+    this.kind = kind;
+    this.valueType = valueType;
+    this.name = name;
+    this.bitsGetter = bitsGetter;
+    this.objectGetter = objectGetter;
+    this.objectEquals = objectEquals;
+    this.objectHash = objectHash;
+    this.order = order;
+  }
+
+  ValueKind getKind() {
+    return kind;
+  }
+
+  Class<?> getValueType() {
+    return valueType;
+  }
+
+  /**
+   * Returns the name of the field, or null if the value was specified by a lambda expression.
+   * @return The field name, or null
+   */
+  String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the order given to the field by its {@link DogTagInclude} annotation, or the default order if it has none. Comparators
+   * use this to decide which value to compare first.
+   * @return The order
+   */
+  int getOrder() {
+    return order;
+  }
+
+  /**
+   * Read a primitive value from an instance. Only valid for primitive kinds.
+   * @param t The instance
+   * @return The bits of the value, as described in {@link ValueKind}
+   * @throws IllegalAccessException Never thrown, since fields are made accessible
+   */
+  long getBits(final T t) throws IllegalAccessException {
+    return bitsGetter.get(t);
+  }
+
+  /**
+   * Read an Object value from an instance. Only valid for the OBJECT kind.
+   * @param t The instance
+   * @return The value
+   * @throws IllegalAccessException Never thrown, since fields are made accessible
+   */
+  Object getObject(final T t) throws IllegalAccessException {
+    return objectGetter.get(t);
+  }
+
+  boolean objectsEqual(final Object a, final Object b) {
+    return objectEquals.test(a, b);
+  }
+
+  int hashObject(final Object value) {
+    return objectHash.applyAsInt(value);
+  }
+
+  /**
+   * Returns true if the factory's HashBuilder hashes the values of this entry, with {@link DogTag.HashBuilder#hashLong(long)} or
+   * {@link DogTag.HashBuilder#hashString(String)}. This is true for long and double values, and for String, Long, and Double
+   * objects that are hashed by their own hashCode() methods.
+   * @return true if the HashBuilder hashes the values
+   */
+  boolean isHashedByBuilder() {
+    if (kind.isPrimitive()) {
+      return (kind == ValueKind.LONG) || (kind == ValueKind.DOUBLE);
+    }
+    return (objectHash == objectsHash) && ((valueType == String.class) || (valueType == Long.class) || (valueType == Double.class));
+  }
+
+  /**
+   * Returns the hash code of a primitive value, as the factory's field processor or handler computes it.
+   * @param bits The bits of the value, as described in {@link ValueKind}
+   * @param hashBuilder The factory's HashBuilder
+   * @return The hash code
+   */
+  int hashBits(final long bits, final DogTag.HashBuilder hashBuilder) {
+    return isHashedByBuilder() ? hashBuilder.hashLong(bits) : kind.hashBits(bits);
+  }
+
+  /**
+   * Returns the hash code of an Object value, as the factory's field processor or handler computes it.
+   * @param value The value. May be null.
+   * @param hashBuilder The factory's HashBuilder
+   * @return The hash code
+   */
+  int hashObject(final Object value, final DogTag.HashBuilder hashBuilder) {
+    if ((value == null) || !isHashedByBuilder()) {
+      return objectHash.applyAsInt(value);
+    }
+    if (valueType == String.class) {
+      return hashBuilder.hashString((String) value);
+    }
+    return hashBuilder.hashLong((valueType == Long.class) ? (Long) value : Double.doubleToLongBits((Double) value));
+  }
+
+  /**
+   * Reads the value from an instance, and returns its hash code.
+   * @param t The instance
+   * @param hashBuilder The factory's HashBuilder
+   * @return The same hash code as the field processor or handler for this value
+   * @throws IllegalAccessException Never thrown, since fields are made accessible
+   */
+  int hashOf(final T t, final DogTag.HashBuilder hashBuilder) throws IllegalAccessException {
+    return kind.isPrimitive() ? hashBits(bitsGetter.get(t), hashBuilder) : hashObject(objectGetter.get(t), hashBuilder);
+  }
+
+  /**
+   * Create the plan entry for a field, to match the field processor built for it by the reflective builder.
+   * @param field The field, which must already be accessible
+   * @param stableHash true if the factory uses a stable hash
+   * @param <T> The type of the instances
+   * @return The plan entry
+   */
+  static <T> PlanEntry<T> forField(final Field field, final boolean stableHash) {
+    final DogTagInclude include = field.getAnnotation(DogTagInclude.class);
+    final PlanEntry<T> entry = forFieldValue(field, stableHash);
+    return (include == null) ? entry : new PlanEntry<>(entry.kind, entry.valueType, entry.name, entry.bitsGetter, entry.objectGetter,
+        entry.objectEquals, entry.objectHash, include.order());
+  }
+
+  private static <T> PlanEntry<T> forFieldValue(final Field field, final boolean stableHash) {
+    final Class<?> fieldType = field.getType();
+    final String name = field.getName();
+    final ObjectGetter<T> getter = field::get;
+    final DogTagSampledHash sampledHash = field.getAnnotation(DogTagSampledHash.class);
+    if (sampledHash != null) {
+      final int samples = sampledHash.samples();
+      return forObject(fieldType, name, getter, Objects::deepEquals, (v) -> SampledHash.hashCode(v, samples));
+    }
+    if (stableHash && StableHash.needsStableHash(fieldType)) {
+      if (fieldType.isArray()) {
+        return forObject(fieldType, name, getter, (a, b) -> Arrays.deepEquals((Object[]) a, (Object[]) b),
+            (v) -> StableHash.hashArray((Object[]) v));
+      }
+      return forObject(fieldType, name, getter, (a, b) -> a == b, (v) -> StableHash.hashEnum((Enum<?>) v));
+    }
+    if (fieldType.isArray()) {
+      return forObject(fieldType, name, getter, arrayEquals(fieldType.getComponentType()), arrayHash(fieldType.getComponentType()));
+    }
+    if (fieldType.isPrimitive()) {
+      return forPrimitive(ValueKind.of(fieldType), name, primitiveGetter(field, fieldType));
+    }
+    if (ArrayValue.class.isAssignableFrom(fieldType)) {
+      return forObject(fieldType, name, getter, (x, y) -> ArrayValue.valuesEqual((ArrayValue) x, (ArrayValue) y),
+          (v) -> ArrayValue.valueHash((ArrayValue) v));
+    }
+    return forObject(fieldType, name, getter, objectsEqual, objectsHash);
+  }
+
+  private static <T> BitsGetter<T> primitiveGetter(final Field field, final Class<?> fieldType) {
+    // I can't use a switch statement, because fieldType isn't a number, String, or enum!
+    if (fieldType == Integer.TYPE) {
+      return field::getInt;
+    } else if (fieldType == Long.TYPE) {
+      return field::getLong;
+    } else if (fieldType == Short.TYPE) {
+      return field::getShort;
+    } else if (fieldType == Character.TYPE) {
+      return field::getChar;
+    } else if (fieldType == Byte.TYPE) {
+      return field::getByte;
+    } else if (fieldType == Double.TYPE) {
+      return (t) -> Double.doubleToLongBits(field.getDouble(t));
+    } else if (fieldType == Float.TYPE) {
+      return (t) -> Float.floatToIntBits(field.getFloat(t));
+    }
+    assert fieldType == Boolean.TYPE : fieldType;
+    return (t) -> field.getBoolean(t) ? 1L : 0L;
+  }
+
+  static <T> PlanEntry<T> forPrimitive(final ValueKind kind, final String name, final BitsGetter<T> getter) {
+    assert kind.isPrimitive();
+    return new PlanEntry<>(kind, kind.getType(), name, getter, null, null, null, DogTagInclude.DEFAULT_ORDER_VALUE);
+  }
+
+  static <T> PlanEntry<T> forObject(
+      final Class<?> valueType,
+      final String name,
+      final ObjectGetter<T> getter,
+      final BiPredicate<Object, Object> equals,
+      final ToIntFunction<Object> hash
+  ) {
+    return new PlanEntry<>(ValueKind.OBJECT, valueType, name, null, getter, equals, hash, DogTagInclude.DEFAULT_ORDER_VALUE);
+  }
+
+  /**
+   * Create the plan entry for a value of a declared type, to match the handlers of {@code LambdaBuilder.addObject(getter, type)}.
+   */
+  static <T> PlanEntry<T> forValue(final Class<?> valueType, final ObjectGetter<T> getter) {
+    if (valueType.isArray()) {
+      return forObject(valueType, null, getter, arrayEquals(valueType.getComponentType()), arrayHash(valueType.getComponentType()));
+    }
+    if (ArrayValue.class.isAssignableFrom(valueType)) {
+      return forObject(valueType, null, getter, (x, y) -> ArrayValue.valuesEqual((ArrayValue) x, (ArrayValue) y),
+          (v) -> ArrayValue.valueHash((ArrayValue) v));
+    }
+    return forObject(valueType, null, getter, objectsEqual, objectsHash);
+  }
+
+  /**
+   * Create the plan entry for a value added with {@code LambdaBuilder.addObject()}. Like its handlers, this treats arrays
+   * specially, in case the user called addObject() instead of addArray().
+   */
+  static <T> PlanEntry<T> forLambdaObject(final ObjectGetter<T> getter) {
+    return forObject(Object.class, null, getter, PlanEntry::lambdaObjectEquals, PlanEntry::lambdaObjectHash);
+  }
+
+  private static boolean lambdaObjectEquals(final Object thisThing, final Object thatThing) {
+    if ((thisThing != null) && thisThing.getClass().isArray()) {
+      return (thatThing != null) && thatThing.getClass().isArray() && Arrays.deepEquals((Object[]) thisThing, (Object[]) thatThing);
+    }
+    return Objects.equals(thisThing, thatThing);
+  }
+
+  private static int lambdaObjectHash(final Object thisObject) {
+    if ((thisObject != null) && thisObject.getClass().isArray()) {
+      return Arrays.deepHashCode((Object[]) thisObject);
+    }
+    return Objects.hashCode(thisObject);
+  }
+
+  /**
+   * Returns the equality test used for arrays with the specified component type, to match the field processors.
+   * @param componentType The component type of the array
+   * @return A BiPredicate that compares two arrays
+   */
+  static BiPredicate<Object, Object> arrayEquals(final Class<?> componentType) {
+    // I can't use a switch statement, because componentType isn't a number, String, or enum!
+    if (componentType == Integer.TYPE) {
+      return (a, b) -> Arrays.equals((int[]) a, (int[]) b);
+    } else if (componentType == Long.TYPE) {
+      return (a, b) -> Arrays.equals((long[]) a, (long[]) b);
+    } else if (componentType == Short.TYPE) {
+      return (a, b) -> Arrays.equals((short[]) a, (short[]) b);
+    } else if (componentType == Character.TYPE) {
+      return (a, b) -> Arrays.equals((char[]) a, (char[]) b);
+    } else if (componentType == Byte.TYPE) {
+      return (a, b) -> Arrays.equals((byte[]) a, (byte[]) b);
+    } else if (componentType == Double.TYPE) {
+      return (a, b) -> Arrays.equals((double[]) a, (double[]) b);
+    } else if (componentType == Float.TYPE) {
+      return (a, b) -> Arrays.equals((float[]) a, (float[]) b);
+    } else if (componentType == Boolean.TYPE) {
+      return (a, b) -> Arrays.equals((boolean[]) a, (boolean[]) b);
+    }
+    return TypedArrays.equalsFor(componentType);
+  }
+
+  /**
+   * Returns the hash function used for arrays with the specified component type, to match the field processors.
+   * @param componentType The component type of the array
+   * @return A function that hashes an array
+   */
+  static ToIntFunction<Object> arrayHash(final Class<?> componentType) {
+    if (componentType == Integer.TYPE) {
+      return (a) -> ArrayHash.hashCode((int[]) a);
+    } else if (componentType == Long.TYPE) {
+      return (a) -> ArrayHash.hashCode((long[]) a);
+    } else if (componentType == Short.TYPE) {
+      return (a) -> ArrayHash.hashCode((short[]) a);
+    } else if (componentType == Character.TYPE) {
+      return (a) -> ArrayHash.hashCode((char[]) a);
+    } else if (componentType == Byte.TYPE) {
+      return (a) -> ArrayHash.hashCode((byte[]) a);
+    } else if (componentType == Double.TYPE) {
+      return (a) -> ArrayHash.hashCode((double[]) a);
+    } else if (componentType == Float.TYPE) {
+      return (a) -> ArrayHash.hashCode((float[]) a);
+    } else if (componentType == Boolean.TYPE) {
+      return (a) -> ArrayHash.hashCode((boolean[]) a);
+    }
+    return TypedArrays.hashFor(componentType);
+  }
+
+  // Like ToIntThrowingFunction in DogTag, these declare an exception that never gets thrown, so the caller can catch it outside
+  // of its loop.
+  @FunctionalInterface
+  interface BitsGetter<T> {
+    long get(T t) throws IllegalAccessException;
+  }
+
+  @FunctionalInterface
+  interface ObjectGetter<T> {
+    Object get(T t) throws IllegalAccessException;
+  }
+}
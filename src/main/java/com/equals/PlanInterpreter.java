@@ -0,0 +1,262 @@
+package com.equals;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares and hashes instances for a reflective factory by interpreting its plan, compiled into flat arrays. Each field gets an
+ * opcode, which says how to read, compare, and hash it, and the arrays hold the Field and, where needed, the field processor at
+ * the same index. Both methods are a single indexed loop over a switch statement. This doesn't allocate an iterator, or follow a
+ * linked list, and primitives, primitive arrays, and Strings are read straight from their Fields, without a call through a field
+ * processor. Every other field still calls its processor. Long, double, and String values are hashed by the factory's
+ * HashBuilder, like their field processors hash them.
+ * <p>
+ * Reflective factories use this for plans too large for {@link SmallPlans}. Neither needs code generation.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:40 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class PlanInterpreter<T> extends FusedHandler<T> {
+  // Opcodes. Each one must compare and hash its values exactly as the field processor built for the same field.
+  private static final byte PROCESSOR = 0;
+  private static final byte INT = 1;
+  private static final byte LONG = 2;
+  private static final byte SHORT = 3;
+  private static final byte CHAR = 4;
+  private static final byte BYTE = 5;
+  private static final byte DOUBLE = 6;
+  private static final byte FLOAT = 7;
+  private static final byte BOOLEAN = 8;
+  private static final byte STRING = 9;
+  private static final byte INT_ARRAY = 10;
+  private static final byte LONG_ARRAY = 11;
+  private static final byte SHORT_ARRAY = 12;
+  private static final byte CHAR_ARRAY = 13;
+  private static final byte BYTE_ARRAY = 14;
+  private static final byte DOUBLE_ARRAY = 15;
+  private static final byte FLOAT_ARRAY = 16;
+  private static final byte BOOLEAN_ARRAY = 17;
+
+  private final byte[] opcodes;
+  private final Field[] fields;
+  private final DogTag.ToBooleanBiFunction<T>[] equalMethods; // null except for PROCESSOR
+  private final DogTag.ToIntThrowingFunction<T>[] hashMethods; // null except for PROCESSOR
+  private final int startingHash;
+  private final DogTag.HashBuilder hashBuilder;
+
+  @SuppressWarnings("unchecked")
+  private PlanInterpreter(final int size, final int startingHash, final DogTag.HashBuilder hashBuilder) {
+    opcodes = new byte[size];
+    fields = new Field[size];
+    equalMethods = new DogTag.ToBooleanBiFunction[size];
+    hashMethods = new DogTag.ToIntThrowingFunction[size];
+    this.startingHash = startingHash;
+    this.hashBuilder = hashBuilder;
+  }
+
+  /**
+   * Compile the plan of a reflective factory.
+   * @param fields The fields, which must already be accessible
+   * @param processors The field processors built for the fields, in the same order
+   * @param startingHash The factory's starting hash value
+   * @param hashBuilder The factory's HashBuilder
+   * @param <T> The type of the instances
+   * @return The interpreter
+   */
+  static <T> PlanInterpreter<T> compile(
+      final List<Field> fields,
+      final List<DogTag.FieldProcessor<T>> processors,
+      final int startingHash,
+      final DogTag.HashBuilder hashBuilder
+  ) {
+    assert fields.size() == processors.size();
+    final PlanInterpreter<T> interpreter = new PlanInterpreter<>(fields.size(), startingHash, hashBuilder);
+    for (int i = 0; i < fields.size(); ++i) {
+      final Field field = fields.get(i);
+      final byte opcode = opcodeFor(field);
+      interpreter.opcodes[i] = opcode;
+      interpreter.fields[i] = field;
+      if (opcode == PROCESSOR) {
+        interpreter.equalMethods[i] = processors.get(i).getEqualMethod();
+        interpreter.hashMethods[i] = processors.get(i).getHashMethod();
+      }
+    }
+    return interpreter;
+  }
+
+  /**
+   * Returns the opcode for a field, which follows the choice of field processor made by the reflective builder. Fields with a
+   * sampled hash, and types the builder treats specially, such as enums, keep their processors.
+   */
+  private static byte opcodeFor(final Field field) {
+    final Class<?> fieldType = field.getType();
+    if (field.getAnnotation(DogTagSampledHash.class) != null) {
+      return PROCESSOR;
+    }
+    if (fieldType.isArray()) {
+      return arrayOpcodeFor(fieldType.getComponentType());
+    }
+    // I can't use a switch statement, because fieldType isn't a number, String, or enum!
+    if (fieldType == Integer.TYPE) {
+      return INT;
+    } else if (fieldType == Long.TYPE) {
+      return LONG;
+    } else if (fieldType == Short.TYPE) {
+      return SHORT;
+    } else if (fieldType == Character.TYPE) {
+      return CHAR;
+    } else if (fieldType == Byte.TYPE) {
+      return BYTE;
+    } else if (fieldType == Double.TYPE) {
+      return DOUBLE;
+    } else if (fieldType == Float.TYPE) {
+      return FLOAT;
+    } else if (fieldType == Boolean.TYPE) {
+      return BOOLEAN;
+    } else if (fieldType == String.class) {
+      return STRING;
+    }
+    return PROCESSOR;
+  }
+
+  private static byte arrayOpcodeFor(final Class<?> componentType) {
+    if (componentType == Integer.TYPE) {
+      return INT_ARRAY;
+    } else if (componentType == Long.TYPE) {
+      return LONG_ARRAY;
+    } else if (componentType == Short.TYPE) {
+      return SHORT_ARRAY;
+    } else if (componentType == Character.TYPE) {
+      return CHAR_ARRAY;
+    } else if (componentType == Byte.TYPE) {
+      return BYTE_ARRAY;
+    } else if (componentType == Double.TYPE) {
+      return DOUBLE_ARRAY;
+    } else if (componentType == Float.TYPE) {
+      return FLOAT_ARRAY;
+    } else if (componentType == Boolean.TYPE) {
+      return BOOLEAN_ARRAY;
+    }
+    return PROCESSOR; // Object arrays, which may need enum or deep comparisons.
+  }
+
+  @Override
+  boolean equal(final T thisOne, final T thatOne) {
+    // Catching the exception outside the loop keeps the loop fast.
+    try {
+      for (int i = 0; i < opcodes.length; ++i) {
+        if (!valuesEqual(i, thisOne, thatOne)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E1: Illegal Access should not happen", e);
+    }
+  }
+
+  @Override
+  int hash(final T thisOne) {
+    int hash = startingHash;
+    try {
+      for (int i = 0; i < opcodes.length; ++i) {
+        hash = hashBuilder.newHash(hash, hashValue(i, thisOne));
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+    }
+    return hash;
+  }
+
+  private boolean valuesEqual(final int i, final T thisOne, final T thatOne) throws IllegalAccessException {
+    final Field field = fields[i];
+    switch (opcodes[i]) {
+      case INT:
+        return field.getInt(thisOne) == field.getInt(thatOne);
+      case LONG:
+        return field.getLong(thisOne) == field.getLong(thatOne);
+      case SHORT:
+        return field.getShort(thisOne) == field.getShort(thatOne);
+      case CHAR:
+        return field.getChar(thisOne) == field.getChar(thatOne);
+      case BYTE:
+        return field.getByte(thisOne) == field.getByte(thatOne);
+      case DOUBLE:
+        return Double.doubleToLongBits(field.getDouble(thisOne)) == Double.doubleToLongBits(field.getDouble(thatOne));
+      case FLOAT:
+        return Float.floatToIntBits(field.getFloat(thisOne)) == Float.floatToIntBits(field.getFloat(thatOne));
+      case BOOLEAN:
+        return field.getBoolean(thisOne) == field.getBoolean(thatOne);
+      case STRING:
+        return stringsEqual((String) field.get(thisOne), (String) field.get(thatOne));
+      case INT_ARRAY:
+        return Arrays.equals((int[]) field.get(thisOne), (int[]) field.get(thatOne));
+      case LONG_ARRAY:
+        return Arrays.equals((long[]) field.get(thisOne), (long[]) field.get(thatOne));
+      case SHORT_ARRAY:
+        return Arrays.equals((short[]) field.get(thisOne), (short[]) field.get(thatOne));
+      case CHAR_ARRAY:
+        return Arrays.equals((char[]) field.get(thisOne), (char[]) field.get(thatOne));
+      case BYTE_ARRAY:
+        return Arrays.equals((byte[]) field.get(thisOne), (byte[]) field.get(thatOne));
+      case DOUBLE_ARRAY:
+        return Arrays.equals((double[]) field.get(thisOne), (double[]) field.get(thatOne));
+      case FLOAT_ARRAY:
+        return Arrays.equals((float[]) field.get(thisOne), (float[]) field.get(thatOne));
+      case BOOLEAN_ARRAY:
+        return Arrays.equals((boolean[]) field.get(thisOne), (boolean[]) field.get(thatOne));
+      default:
+        return equalMethods[i].eval(thisOne, thatOne);
+    }
+  }
+
+  private int hashValue(final int i, final T thisOne) throws IllegalAccessException {
+    final Field field = fields[i];
+    switch (opcodes[i]) {
+      case INT:
+        return field.getInt(thisOne);
+      case LONG:
+        return hashBuilder.hashLong(field.getLong(thisOne));
+      case SHORT:
+        return field.getShort(thisOne);
+      case CHAR:
+        return Character.hashCode(field.getChar(thisOne));
+      case BYTE:
+        return field.getByte(thisOne);
+      case DOUBLE:
+        return hashBuilder.hashLong(Double.doubleToLongBits(field.getDouble(thisOne)));
+      case FLOAT:
+        return Float.hashCode(field.getFloat(thisOne));
+      case BOOLEAN:
+        return Boolean.hashCode(field.getBoolean(thisOne));
+      case STRING:
+        return stringHash((String) field.get(thisOne), hashBuilder);
+      case INT_ARRAY:
+        return ArrayHash.hashCode((int[]) field.get(thisOne));
+      case LONG_ARRAY:
+        return ArrayHash.hashCode((long[]) field.get(thisOne));
+      case SHORT_ARRAY:
+        return ArrayHash.hashCode((short[]) field.get(thisOne));
+      case CHAR_ARRAY:
+        return ArrayHash.hashCode((char[]) field.get(thisOne));
+      case BYTE_ARRAY:
+        return ArrayHash.hashCode((byte[]) field.get(thisOne));
+      case DOUBLE_ARRAY:
+        return ArrayHash.hashCode((double[]) field.get(thisOne));
+      case FLOAT_ARRAY:
+        return ArrayHash.hashCode((float[]) field.get(thisOne));
+      case BOOLEAN_ARRAY:
+        return ArrayHash.hashCode((boolean[]) field.get(thisOne));
+      default:
+        return hashMethods[i].get(thisOne);
+    }
+  }
+
+  private static int stringHash(final String s, final DogTag.HashBuilder hashBuilder) {
+    return (s == null) ? 0 : hashBuilder.hashString(s);
+  }
+}
@@ -0,0 +1,190 @@
+package com.equals;
+
+import java.util.List;
+
+/**
+ * A reusable set of field values, used to look up an equal instance in a DogTagHashMap, ConcurrentDogTagHashMap, or DogTagHashSet
+ * without constructing one. The probe computes the same hash code the factory would compute for an instance with these values,
+ * and compares candidates field-by-field against the values, using the same rules as the factory. Once a probe is created, setting
+ * values and looking them up allocates nothing.
+ * <p>
+ * Values are set by index, in the order the factory uses them. For reflective factories, {@link #indexOf(String)} finds the index
+ * of a field by name. For lambda factories, the index is the order in which the values were added to the builder. Each value must
+ * be set with the method for its type: Use {@code setInt()} for an int field, and {@code setObject()} for an Integer field.
+ * <pre>
+ *   {@literal Probe<Order>} probe = Order.factory.newProbe();
+ *   final int customerIndex = probe.indexOf("customerId");
+ *   final int skuIndex = probe.indexOf("sku");
+ *   final int regionIndex = probe.indexOf("region");
+ *   ...
+ *   probe.setLong(customerIndex, customerId)
+ *       .setObject(skuIndex, sku)
+ *       .setObject(regionIndex, region);
+ *   boolean exists = orderSet.containsProbe(probe);
+ * </pre>
+ * A probe is not thread-safe. Each thread should use its own.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 5:25 PM
+ *
+ * @param <T> The type of the instances the probe looks for
+ * @author Miguel Mu\u00f1oz
+ */
+public final class Probe<T> {
+  private final DogTag.Factory<T> factory;
+  private final PlanEntry<T>[] plan;
+  private final long[] bits;
+  private final Object[] objects;
+
+  @SuppressWarnings("unchecked")
+  Probe(final DogTag.Factory<T> factory, final List<PlanEntry<T>> plan) {
+    this.factory = factory;
+    this.plan = plan.toArray(new PlanEntry[0]);
+    bits = new long[this.plan.length];
+    objects = new Object[this.plan.length];
+  }
+
+  DogTag.Factory<T> getFactory() {
+    return factory;
+  }
+
+  /**
+   * Returns the number of values in the probe.
+   * @return the number of values
+   */
+  public int size() {
+    return plan.length;
+  }
+
+  /**
+   * Find the index of a field by name. This only works with reflective factories.
+   * @param fieldName The name of the field
+   * @return The index of the field
+   * @throws IllegalArgumentException if the field isn't used by the factory
+   */
+  public int indexOf(final String fieldName) {
+    for (int i = 0; i < plan.length; ++i) {
+      if (fieldName.equals(plan[i].getName())) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(String.format("E20: Field %s not used by factory for %s", fieldName,
+        factory.getTargetClass()));
+  }
+
+  private void checkKind(final int index, final ValueKind kind) {
+    if (plan[index].getKind() != kind) {
+      throw new IllegalArgumentException(String.format("E21: Value %d is of %s, not %s", index, plan[index].getValueType(),
+          kind.getType()));
+    }
+  }
+
+  public Probe<T> setInt(final int index, final int value) {
+    checkKind(index, ValueKind.INT);
+    bits[index] = value;
+    return this;
+  }
+
+  public Probe<T> setLong(final int index, final long value) {
+    checkKind(index, ValueKind.LONG);
+    bits[index] = value;
+    return this;
+  }
+
+  public Probe<T> setShort(final int index, final short value) {
+    checkKind(index, ValueKind.SHORT);
+    bits[index] = value;
+    return this;
+  }
+
+  public Probe<T> setChar(final int index, final char value) {
+    checkKind(index, ValueKind.CHAR);
+    bits[index] = value;
+    return this;
+  }
+
+  public Probe<T> setByte(final int index, final byte value) {
+    checkKind(index, ValueKind.BYTE);
+    bits[index] = value;
+    return this;
+  }
+
+  public Probe<T> setBoolean(final int index, final boolean value) {
+    checkKind(index, ValueKind.BOOLEAN);
+    bits[index] = value ? 1L : 0L;
+    return this;
+  }
+
+  public Probe<T> setFloat(final int index, final float value) {
+    checkKind(index, ValueKind.FLOAT);
+    bits[index] = Float.floatToIntBits(value);
+    return this;
+  }
+
+  public Probe<T> setDouble(final int index, final double value) {
+    checkKind(index, ValueKind.DOUBLE);
+    bits[index] = Double.doubleToLongBits(value);
+    return this;
+  }
+
+  /**
+   * Set an Object value, including an array or a boxed primitive.
+   * @param index The index of the value
+   * @param value The value, which may be null
+   * @return this, for method chaining
+   */
+  public Probe<T> setObject(final int index, final Object value) {
+    checkKind(index, ValueKind.OBJECT);
+    objects[index] = value;
+    return this;
+  }
+
+  BatchMatcher<T> newMatcher() {
+    return BatchMatcher.forValues(plan, bits, objects);
+  }
+
+  /**
+   * Returns the hash code the factory would return for an instance with the values in this probe.
+   * @return The hash code
+   */
+  public int hash() {
+    final DogTag.HashBuilder hashBuilder = factory.getHashBuilder();
+    int hash = factory.getStartingHash();
+    for (int i = 0; i < plan.length; ++i) {
+      final PlanEntry<T> entry = plan[i];
+      final int valueHash = entry.getKind().isPrimitive() ?
+          entry.hashBits(bits[i], hashBuilder) :
+          entry.hashObject(objects[i], hashBuilder);
+      hash = hashBuilder.newHash(hash, valueHash);
+    }
+    return hash;
+  }
+
+  /**
+   * Returns true if the candidate would be equal to an instance with the values in this probe.
+   * @param candidate The candidate. May be null.
+   * @return true if each of the candidate's values equals the corresponding value in this probe
+   */
+  public boolean matches(final T candidate) {
+    if (candidate == null) {
+      return false;
+    }
+
+    // As in the factories, putting the try/catch outside the loop is faster.
+    try {
+      for (int i = 0; i < plan.length; ++i) {
+        final PlanEntry<T> entry = plan[i];
+        if (entry.getKind().isPrimitive()) {
+          if (entry.getBits(candidate) != bits[i]) {
+            return false;
+          }
+        } else if (!entry.objectsEqual(entry.getObject(candidate), objects[i])) {
+          return false;
+        }
+      }
+      return true;
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package com.equals;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Hash functions for fields annotated with {@link DogTagSampledHash}. These hash the length of an array or List, and a sample of
+ * its elements, taken at a fixed stride that depends only on the length, plus the last element. Equal arrays have the same length,
+ * so they sample the same positions, and get the same hash, which keeps this consistent with the full equality test. Hashing
+ * takes time proportional to the number of samples, rather than to the length.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:50 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum SampledHash {
+  ;
+
+  /**
+   * Returns the sampled hash of an array or List. Any other value gets its ordinary hash code.
+   * @param value The array or List, which may be null
+   * @param samples The number of elements to sample, not counting the last one
+   * @return The hash code
+   */
+  static int hashCode(final Object value, final int samples) {
+    if (value == null) {
+      return 0;
+    }
+    // I can't use a switch statement, because the class isn't a number, String, or enum!
+    if (value instanceof int[]) {
+      return hashCode((int[]) value, samples);
+    } else if (value instanceof long[]) {
+      return hashCode((long[]) value, samples);
+    } else if (value instanceof short[]) {
+      return hashCode((short[]) value, samples);
+    } else if (value instanceof char[]) {
+      return hashCode((char[]) value, samples);
+    } else if (value instanceof byte[]) {
+      return hashCode((byte[]) value, samples);
+    } else if (value instanceof float[]) {
+      return hashCode((float[]) value, samples);
+    } else if (value instanceof double[]) {
+      return hashCode((double[]) value, samples);
+    } else if (value instanceof boolean[]) {
+      return hashCode((boolean[]) value, samples);
+    } else if (value instanceof Object[]) {
+      return hashCode((Object[]) value, samples);
+    } else if (value instanceof List) {
+      return hashCode((List<?>) value, samples);
+    }
+    return value.hashCode();
+  }
+
+  /**
+   * Returns the distance between sampled elements, which takes at most {@code samples} elements from the array.
+   */
+  private static int stride(final int length, final int samples) {
+    return (length <= samples) ? 1 : (((length - 1) / samples) + 1);
+  }
+
+  private static int hashCode(final int[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + array[i];
+      }
+      h = (31 * h) + array[length - 1];
+    }
+    return h;
+  }
+
+  private static int hashCode(final long[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + Long.hashCode(array[i]);
+      }
+      h = (31 * h) + Long.hashCode(array[length - 1]);
+    }
+    return h;
+  }
+
+  private static int hashCode(final short[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + array[i];
+      }
+      h = (31 * h) + array[length - 1];
+    }
+    return h;
+  }
+
+  private static int hashCode(final char[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + array[i];
+      }
+      h = (31 * h) + array[length - 1];
+    }
+    return h;
+  }
+
+  private static int hashCode(final byte[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + array[i];
+      }
+      h = (31 * h) + array[length - 1];
+    }
+    return h;
+  }
+
+  private static int hashCode(final float[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + Float.hashCode(array[i]);
+      }
+      h = (31 * h) + Float.hashCode(array[length - 1]);
+    }
+    return h;
+  }
+
+  private static int hashCode(final double[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + Double.hashCode(array[i]);
+      }
+      h = (31 * h) + Double.hashCode(array[length - 1]);
+    }
+    return h;
+  }
+
+  private static int hashCode(final boolean[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + Boolean.hashCode(array[i]);
+      }
+      h = (31 * h) + Boolean.hashCode(array[length - 1]);
+    }
+    return h;
+  }
+
+  // Object arrays are compared with Arrays.deepEquals(), so this hashes nested arrays in full. Enums are hashed by name, which is
+  // consistent with equality whether or not the factory uses a stable hash.
+  private static int hashCode(final Object[] array, final int samples) {
+    final int length = array.length;
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      for (int i = 0; i < length; i += stride) {
+        h = (31 * h) + StableHash.hashElement(array[i]);
+      }
+      h = (31 * h) + StableHash.hashElement(array[length - 1]);
+    }
+    return h;
+  }
+
+  private static int hashCode(final List<?> list, final int samples) {
+    final int length = list.size();
+    int h = 31 + length;
+    if (length > 0) {
+      final int stride = stride(length, samples);
+      if (list instanceof RandomAccess) {
+        for (int i = 0; i < length; i += stride) {
+          h = (31 * h) + Objects.hashCode(list.get(i));
+        }
+      } else {
+        // Walking a linked list is still much faster than hashing every element.
+        final Iterator<?> iterator = list.iterator();
+        for (int i = 0; i < length; ++i) {
+          final Object element = iterator.next();
+          if ((i % stride) == 0) {
+            h = (31 * h) + Objects.hashCode(element);
+          }
+        }
+      }
+      h = (31 * h) + Objects.hashCode(list.get(length - 1));
+    }
+    return h;
+  }
+}
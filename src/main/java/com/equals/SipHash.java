@@ -0,0 +1,104 @@
+package com.equals;
+
+/**
+ * SipHash-2-4, a keyed hash designed for hash tables that hold untrusted keys. Without the 128-bit key, an attacker can't find
+ * inputs that collide, which is what {@link DogTag.SeededHashBuilder} needs for long and String values. Simpler seeded hashes,
+ * like MurmurHash3, have collisions that work for every seed.
+ * <p>
+ * Strings are hashed as their UTF-16 chars, in little-endian order, so the results match the published test vectors for the same
+ * bytes.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:15 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum SipHash {
+  ;
+
+  /**
+   * Returns the SipHash-2-4 of the 8 bytes of a long value, in little-endian order.
+   * @param k0 The low half of the key
+   * @param k1 The high half of the key
+   * @param value The value
+   * @return The 64-bit hash
+   */
+  static long hash(final long k0, final long k1, final long value) {
+    final State state = new State(k0, k1);
+    state.compress(value);
+    state.compress(8L << 56);
+    return state.finish();
+  }
+
+  /**
+   * Returns the SipHash-2-4 of the chars of a String, two bytes per char, in little-endian order.
+   * @param k0 The low half of the key
+   * @param k1 The high half of the key
+   * @param value The String, which must not be null
+   * @return The 64-bit hash
+   */
+  static long hash(final long k0, final long k1, final String value) {
+    final State state = new State(k0, k1);
+    final int length = value.length();
+    final int end = length & ~3;
+    for (int i = 0; i < end; i += 4) {
+      state.compress(value.charAt(i)
+          | ((long) value.charAt(i + 1) << 16)
+          | ((long) value.charAt(i + 2) << 32)
+          | ((long) value.charAt(i + 3) << 48));
+    }
+    long last = (long) (length * 2) << 56; // The length in bytes, modulo 256
+    for (int i = end; i < length; ++i) {
+      last |= (long) value.charAt(i) << ((i - end) * 16);
+    }
+    state.compress(last);
+    return state.finish();
+  }
+
+  private static final class State {
+    private long v0;
+    private long v1;
+    private long v2;
+    private long v3;
+
+    State(final long k0, final long k1) {
+      v0 = k0 ^ 0x736f6d6570736575L;
+      v1 = k1 ^ 0x646f72616e646f6dL;
+      v2 = k0 ^ 0x6c7967656e657261L;
+      v3 = k1 ^ 0x7465646279746573L;
+    }
+
+    void compress(final long m) {
+      v3 ^= m;
+      round();
+      round();
+      v0 ^= m;
+    }
+
+    long finish() {
+      v2 ^= 0xff;
+      round();
+      round();
+      round();
+      round();
+      return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    private void round() {
+      v0 += v1;
+      v1 = Long.rotateLeft(v1, 13);
+      v1 ^= v0;
+      v0 = Long.rotateLeft(v0, 32);
+      v2 += v3;
+      v3 = Long.rotateLeft(v3, 16);
+      v3 ^= v2;
+      v0 += v3;
+      v3 = Long.rotateLeft(v3, 21);
+      v3 ^= v0;
+      v2 += v1;
+      v1 = Long.rotateLeft(v1, 17);
+      v1 ^= v2;
+      v2 = Long.rotateLeft(v2, 32);
+    }
+  }
+}
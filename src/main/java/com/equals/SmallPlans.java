@@ -0,0 +1,944 @@
+package com.equals;
+
+import java.util.List;
+
+/**
+ * Hand-written handlers for factories of one to eight values. Each one holds its value's functions in final fields, and compares
+ * and hashes them with straight-line code, instead of looping over a list. This gives the JIT a call site for each value, shared
+ * only by factories with the same number of values, rather than one call site shared by every factory in the program. Unlike a
+ * {@link FusedHandler} generated for a lambda factory, these need no code generation, so they work on Java 8, and in runtimes that
+ * don't allow defining classes. Reflective factories always use them for small plans. Lambda factories use them when no class
+ * could be generated.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:30 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum SmallPlans {
+  ;
+
+  static final int MAX_VALUES = 8;
+
+  /**
+   * Returns a handler for the handlers of a lambda factory.
+   * @param equalHandlers The equality handlers, in order
+   * @param hashHandlers The hash handlers, in the same order
+   * @param startingHash The factory's starting hash value
+   * @param hashBuilder The factory's HashBuilder
+   * @param <T> The type of the instances
+   * @return the handler, or null if there are no values, or more than {@link #MAX_VALUES}
+   */
+  static <T> FusedHandler<T> forHandlers(
+      final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+      final List<? extends DogTag.HashHandler<T>> hashHandlers,
+      final int startingHash,
+      final DogTag.HashBuilder hashBuilder
+  ) {
+    switch (equalHandlers.size()) {
+      case 1:
+        return new Handlers1<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 2:
+        return new Handlers2<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 3:
+        return new Handlers3<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 4:
+        return new Handlers4<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 5:
+        return new Handlers5<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 6:
+        return new Handlers6<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 7:
+        return new Handlers7<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      case 8:
+        return new Handlers8<>(startingHash, hashBuilder, equalHandlers, hashHandlers);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns a handler for the field processors of a reflective factory.
+   * @param processors The field processors, in order
+   * @param startingHash The factory's starting hash value
+   * @param hashBuilder The factory's HashBuilder
+   * @param <T> The type of the instances
+   * @return the handler, or null if there are no fields, or more than {@link #MAX_VALUES}
+   */
+  static <T> FusedHandler<T> forProcessors(
+      final List<DogTag.FieldProcessor<T>> processors,
+      final int startingHash,
+      final DogTag.HashBuilder hashBuilder
+  ) {
+    switch (processors.size()) {
+      case 1:
+        return new Processors1<>(startingHash, hashBuilder, processors);
+      case 2:
+        return new Processors2<>(startingHash, hashBuilder, processors);
+      case 3:
+        return new Processors3<>(startingHash, hashBuilder, processors);
+      case 4:
+        return new Processors4<>(startingHash, hashBuilder, processors);
+      case 5:
+        return new Processors5<>(startingHash, hashBuilder, processors);
+      case 6:
+        return new Processors6<>(startingHash, hashBuilder, processors);
+      case 7:
+        return new Processors7<>(startingHash, hashBuilder, processors);
+      case 8:
+        return new Processors8<>(startingHash, hashBuilder, processors);
+      default:
+        return null;
+    }
+  }
+
+  private abstract static class SmallPlan<T> extends FusedHandler<T> {
+    final int startingHash;
+    final DogTag.HashBuilder hashBuilder;
+
+    SmallPlan(final int startingHash, final DogTag.HashBuilder hashBuilder) {
+      this.startingHash = startingHash;
+      this.hashBuilder = hashBuilder;
+    }
+  }
+
+  private static final class Handlers1<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.HashHandler<T> h0;
+
+    Handlers1(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      h0 = hashHandlers.get(0);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers2<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+
+    Handlers2(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers3<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+
+    Handlers3(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers4<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.EqualHandler<T> e3;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+    private final DogTag.HashHandler<T> h3;
+
+    Handlers4(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      e3 = equalHandlers.get(3);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+      h3 = hashHandlers.get(3);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne)
+          && e3.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h3.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers5<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.EqualHandler<T> e3;
+    private final DogTag.EqualHandler<T> e4;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+    private final DogTag.HashHandler<T> h3;
+    private final DogTag.HashHandler<T> h4;
+
+    Handlers5(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      e3 = equalHandlers.get(3);
+      e4 = equalHandlers.get(4);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+      h3 = hashHandlers.get(3);
+      h4 = hashHandlers.get(4);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne)
+          && e3.doEqual(thisOne, thatOne)
+          && e4.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h3.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h4.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers6<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.EqualHandler<T> e3;
+    private final DogTag.EqualHandler<T> e4;
+    private final DogTag.EqualHandler<T> e5;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+    private final DogTag.HashHandler<T> h3;
+    private final DogTag.HashHandler<T> h4;
+    private final DogTag.HashHandler<T> h5;
+
+    Handlers6(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      e3 = equalHandlers.get(3);
+      e4 = equalHandlers.get(4);
+      e5 = equalHandlers.get(5);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+      h3 = hashHandlers.get(3);
+      h4 = hashHandlers.get(4);
+      h5 = hashHandlers.get(5);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne)
+          && e3.doEqual(thisOne, thatOne)
+          && e4.doEqual(thisOne, thatOne)
+          && e5.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h3.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h4.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h5.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers7<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.EqualHandler<T> e3;
+    private final DogTag.EqualHandler<T> e4;
+    private final DogTag.EqualHandler<T> e5;
+    private final DogTag.EqualHandler<T> e6;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+    private final DogTag.HashHandler<T> h3;
+    private final DogTag.HashHandler<T> h4;
+    private final DogTag.HashHandler<T> h5;
+    private final DogTag.HashHandler<T> h6;
+
+    Handlers7(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      e3 = equalHandlers.get(3);
+      e4 = equalHandlers.get(4);
+      e5 = equalHandlers.get(5);
+      e6 = equalHandlers.get(6);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+      h3 = hashHandlers.get(3);
+      h4 = hashHandlers.get(4);
+      h5 = hashHandlers.get(5);
+      h6 = hashHandlers.get(6);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne)
+          && e3.doEqual(thisOne, thatOne)
+          && e4.doEqual(thisOne, thatOne)
+          && e5.doEqual(thisOne, thatOne)
+          && e6.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h3.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h4.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h5.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h6.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Handlers8<T> extends SmallPlan<T> {
+    private final DogTag.EqualHandler<T> e0;
+    private final DogTag.EqualHandler<T> e1;
+    private final DogTag.EqualHandler<T> e2;
+    private final DogTag.EqualHandler<T> e3;
+    private final DogTag.EqualHandler<T> e4;
+    private final DogTag.EqualHandler<T> e5;
+    private final DogTag.EqualHandler<T> e6;
+    private final DogTag.EqualHandler<T> e7;
+    private final DogTag.HashHandler<T> h0;
+    private final DogTag.HashHandler<T> h1;
+    private final DogTag.HashHandler<T> h2;
+    private final DogTag.HashHandler<T> h3;
+    private final DogTag.HashHandler<T> h4;
+    private final DogTag.HashHandler<T> h5;
+    private final DogTag.HashHandler<T> h6;
+    private final DogTag.HashHandler<T> h7;
+
+    Handlers8(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<? extends DogTag.EqualHandler<T>> equalHandlers,
+        final List<? extends DogTag.HashHandler<T>> hashHandlers
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = equalHandlers.get(0);
+      e1 = equalHandlers.get(1);
+      e2 = equalHandlers.get(2);
+      e3 = equalHandlers.get(3);
+      e4 = equalHandlers.get(4);
+      e5 = equalHandlers.get(5);
+      e6 = equalHandlers.get(6);
+      e7 = equalHandlers.get(7);
+      h0 = hashHandlers.get(0);
+      h1 = hashHandlers.get(1);
+      h2 = hashHandlers.get(2);
+      h3 = hashHandlers.get(3);
+      h4 = hashHandlers.get(4);
+      h5 = hashHandlers.get(5);
+      h6 = hashHandlers.get(6);
+      h7 = hashHandlers.get(7);
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      return e0.doEqual(thisOne, thatOne)
+          && e1.doEqual(thisOne, thatOne)
+          && e2.doEqual(thisOne, thatOne)
+          && e3.doEqual(thisOne, thatOne)
+          && e4.doEqual(thisOne, thatOne)
+          && e5.doEqual(thisOne, thatOne)
+          && e6.doEqual(thisOne, thatOne)
+          && e7.doEqual(thisOne, thatOne);
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      hash = hashBuilder.newHash(hash, h0.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h1.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h2.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h3.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h4.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h5.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h6.doHashCode(thisOne));
+      hash = hashBuilder.newHash(hash, h7.doHashCode(thisOne));
+      return hash;
+    }
+  }
+
+  private static final class Processors1<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+
+    Processors1(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors2<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+
+    Processors2(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors3<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+
+    Processors3(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors4<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToBooleanBiFunction<T> e3;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+    private final DogTag.ToIntThrowingFunction<T> h3;
+
+    Processors4(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      e3 = processors.get(3).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+      h3 = processors.get(3).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne)
+            && e3.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+        hash = hashBuilder.newHash(hash, h3.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors5<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToBooleanBiFunction<T> e3;
+    private final DogTag.ToBooleanBiFunction<T> e4;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+    private final DogTag.ToIntThrowingFunction<T> h3;
+    private final DogTag.ToIntThrowingFunction<T> h4;
+
+    Processors5(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      e3 = processors.get(3).getEqualMethod();
+      e4 = processors.get(4).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+      h3 = processors.get(3).getHashMethod();
+      h4 = processors.get(4).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne)
+            && e3.eval(thisOne, thatOne)
+            && e4.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+        hash = hashBuilder.newHash(hash, h3.get(thisOne));
+        hash = hashBuilder.newHash(hash, h4.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors6<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToBooleanBiFunction<T> e3;
+    private final DogTag.ToBooleanBiFunction<T> e4;
+    private final DogTag.ToBooleanBiFunction<T> e5;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+    private final DogTag.ToIntThrowingFunction<T> h3;
+    private final DogTag.ToIntThrowingFunction<T> h4;
+    private final DogTag.ToIntThrowingFunction<T> h5;
+
+    Processors6(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      e3 = processors.get(3).getEqualMethod();
+      e4 = processors.get(4).getEqualMethod();
+      e5 = processors.get(5).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+      h3 = processors.get(3).getHashMethod();
+      h4 = processors.get(4).getHashMethod();
+      h5 = processors.get(5).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne)
+            && e3.eval(thisOne, thatOne)
+            && e4.eval(thisOne, thatOne)
+            && e5.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+        hash = hashBuilder.newHash(hash, h3.get(thisOne));
+        hash = hashBuilder.newHash(hash, h4.get(thisOne));
+        hash = hashBuilder.newHash(hash, h5.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors7<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToBooleanBiFunction<T> e3;
+    private final DogTag.ToBooleanBiFunction<T> e4;
+    private final DogTag.ToBooleanBiFunction<T> e5;
+    private final DogTag.ToBooleanBiFunction<T> e6;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+    private final DogTag.ToIntThrowingFunction<T> h3;
+    private final DogTag.ToIntThrowingFunction<T> h4;
+    private final DogTag.ToIntThrowingFunction<T> h5;
+    private final DogTag.ToIntThrowingFunction<T> h6;
+
+    Processors7(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      e3 = processors.get(3).getEqualMethod();
+      e4 = processors.get(4).getEqualMethod();
+      e5 = processors.get(5).getEqualMethod();
+      e6 = processors.get(6).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+      h3 = processors.get(3).getHashMethod();
+      h4 = processors.get(4).getHashMethod();
+      h5 = processors.get(5).getHashMethod();
+      h6 = processors.get(6).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne)
+            && e3.eval(thisOne, thatOne)
+            && e4.eval(thisOne, thatOne)
+            && e5.eval(thisOne, thatOne)
+            && e6.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+        hash = hashBuilder.newHash(hash, h3.get(thisOne));
+        hash = hashBuilder.newHash(hash, h4.get(thisOne));
+        hash = hashBuilder.newHash(hash, h5.get(thisOne));
+        hash = hashBuilder.newHash(hash, h6.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+
+  private static final class Processors8<T> extends SmallPlan<T> {
+    private final DogTag.ToBooleanBiFunction<T> e0;
+    private final DogTag.ToBooleanBiFunction<T> e1;
+    private final DogTag.ToBooleanBiFunction<T> e2;
+    private final DogTag.ToBooleanBiFunction<T> e3;
+    private final DogTag.ToBooleanBiFunction<T> e4;
+    private final DogTag.ToBooleanBiFunction<T> e5;
+    private final DogTag.ToBooleanBiFunction<T> e6;
+    private final DogTag.ToBooleanBiFunction<T> e7;
+    private final DogTag.ToIntThrowingFunction<T> h0;
+    private final DogTag.ToIntThrowingFunction<T> h1;
+    private final DogTag.ToIntThrowingFunction<T> h2;
+    private final DogTag.ToIntThrowingFunction<T> h3;
+    private final DogTag.ToIntThrowingFunction<T> h4;
+    private final DogTag.ToIntThrowingFunction<T> h5;
+    private final DogTag.ToIntThrowingFunction<T> h6;
+    private final DogTag.ToIntThrowingFunction<T> h7;
+
+    Processors8(
+        final int startingHash,
+        final DogTag.HashBuilder hashBuilder,
+        final List<DogTag.FieldProcessor<T>> processors
+    ) {
+      super(startingHash, hashBuilder);
+      e0 = processors.get(0).getEqualMethod();
+      e1 = processors.get(1).getEqualMethod();
+      e2 = processors.get(2).getEqualMethod();
+      e3 = processors.get(3).getEqualMethod();
+      e4 = processors.get(4).getEqualMethod();
+      e5 = processors.get(5).getEqualMethod();
+      e6 = processors.get(6).getEqualMethod();
+      e7 = processors.get(7).getEqualMethod();
+      h0 = processors.get(0).getHashMethod();
+      h1 = processors.get(1).getHashMethod();
+      h2 = processors.get(2).getHashMethod();
+      h3 = processors.get(3).getHashMethod();
+      h4 = processors.get(4).getHashMethod();
+      h5 = processors.get(5).getHashMethod();
+      h6 = processors.get(6).getHashMethod();
+      h7 = processors.get(7).getHashMethod();
+    }
+
+    @Override
+    boolean equal(final T thisOne, final T thatOne) {
+      try {
+        return e0.eval(thisOne, thatOne)
+            && e1.eval(thisOne, thatOne)
+            && e2.eval(thisOne, thatOne)
+            && e3.eval(thisOne, thatOne)
+            && e4.eval(thisOne, thatOne)
+            && e5.eval(thisOne, thatOne)
+            && e6.eval(thisOne, thatOne)
+            && e7.eval(thisOne, thatOne);
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E1: Illegal Access should not happen", e);
+      }
+    }
+
+    @Override
+    int hash(final T thisOne) {
+      int hash = startingHash;
+      try {
+        hash = hashBuilder.newHash(hash, h0.get(thisOne));
+        hash = hashBuilder.newHash(hash, h1.get(thisOne));
+        hash = hashBuilder.newHash(hash, h2.get(thisOne));
+        hash = hashBuilder.newHash(hash, h3.get(thisOne));
+        hash = hashBuilder.newHash(hash, h4.get(thisOne));
+        hash = hashBuilder.newHash(hash, h5.get(thisOne));
+        hash = hashBuilder.newHash(hash, h6.get(thisOne));
+        hash = hashBuilder.newHash(hash, h7.get(thisOne));
+      } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+        throw new AssertionError("E3: Illegal Access shouldn't happen", e);
+      }
+      return hash;
+    }
+  }
+}
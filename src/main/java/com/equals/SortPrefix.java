@@ -0,0 +1,209 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derives a fixed-width, order-preserving key from the leading values of a factory's plan, in the order used by
+ * {@link DogTagComparator}. Compared as unsigned numbers, the keys of two instances are ordered the same way as the instances,
+ * except that instances the comparator puts in order may have equal keys. So instances may be sorted by their keys, and only the
+ * runs of equal keys need the full comparison.
+ * <p>
+ * A key is one or two longs wide. It holds as many leading values as will fit, if they're primitives, enums, or Strings. Primitives
+ * and enums are held completely. A String contributes its first few characters, so nothing after it is held. The key stops at the
+ * first value of any other type.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:40 PM
+ *
+ * @param <T> The type of the instances
+ * @author Miguel Mu\u00f1oz
+ */
+final class SortPrefix<T> {
+  static final int MAXIMUM_BITS = 2 * Long.SIZE;
+  private static final int STRING_BITS = Long.SIZE;
+  private static final int CHAR_BITS = Character.SIZE;
+
+  private final Encoder<T>[] encoders;
+  private final int[] widths; // The number of leading bits used from each encoder's value
+  private final int bitCount;
+  private final boolean exact;
+
+  @SuppressWarnings("unchecked")
+  SortPrefix(final List<PlanEntry<T>> plan) {
+    final List<Encoder<T>> encoderList = new ArrayList<>();
+    final List<Integer> widthList = new ArrayList<>();
+    int bits = 0;
+    boolean complete = true;
+    for (final PlanEntry<T> entry : DogTagComparator.orderedPlan(plan)) {
+      final int width = widthOf(entry);
+      if ((width == 0) || (bits == MAXIMUM_BITS)) {
+        complete = false;
+        break;
+      }
+      final int used = Math.min(width, MAXIMUM_BITS - bits);
+      encoderList.add(encoderFor(entry));
+      widthList.add(used);
+      bits += used;
+      if ((used < width) || (entry.getValueType() == String.class)) {
+        complete = false;
+        break;
+      }
+    }
+    encoders = encoderList.toArray(new Encoder[0]);
+    widths = new int[widthList.size()];
+    for (int i = 0; i < widths.length; ++i) {
+      widths[i] = widthList.get(i);
+    }
+    bitCount = bits;
+    exact = complete;
+  }
+
+  /**
+   * Returns the number of bits in each key, from 0 to 128. The unused low bits of a key are zero.
+   * @return The number of bits
+   */
+  int getBitCount() {
+    return bitCount;
+  }
+
+  /**
+   * Returns true if the key holds every value of the plan, so instances with equal keys are equal.
+   * @return true if the keys are exact
+   */
+  boolean isExact() {
+    return exact;
+  }
+
+  /**
+   * Writes the key of an instance. The first 64 bits go in {@code high[index]}, and the rest, if any, in {@code low[index]}.
+   * @param t The instance
+   * @param high The array of high words
+   * @param low The array of low words, which may be null if the key has no more than 64 bits
+   * @param index The index to write
+   */
+  void keyOf(final T t, final long[] high, final long[] low, final int index) {
+    long highWord = 0L;
+    long lowWord = 0L;
+    int position = MAXIMUM_BITS;
+    try {
+      for (int i = 0; i < encoders.length; ++i) {
+        final int width = widths[i];
+        final long value = encoders[i].encode(t) >>> (Long.SIZE - width);
+        position -= width;
+        if (position >= Long.SIZE) {
+          highWord |= value << (position - Long.SIZE);
+        } else {
+          lowWord |= value << position;
+          if ((position + width) > Long.SIZE) {
+            highWord |= value >>> (Long.SIZE - position);
+          }
+        }
+      }
+    } catch (final IllegalAccessException e) { // Shouldn't happen: Field.accessible has been set to true.
+      throw new AssertionError("E22: Illegal Access should not happen", e);
+    }
+    high[index] = highWord;
+    if (low != null) {
+      low[index] = lowWord;
+    }
+  }
+
+  /**
+   * Returns the number of bits needed to hold a value completely, or zero if it can't be held. A String needs infinitely many,
+   * so it takes all 64 bits of its encoding.
+   */
+  private static int widthOf(final PlanEntry<?> entry) {
+    switch (entry.getKind()) {
+      case BOOLEAN:
+        return 1;
+      case BYTE:
+        return Byte.SIZE;
+      case CHAR:
+        return Character.SIZE;
+      case SHORT:
+        return Short.SIZE;
+      case INT:
+        return Integer.SIZE;
+      case FLOAT:
+        return Float.SIZE;
+      case LONG:
+        return Long.SIZE;
+      case DOUBLE:
+        return Double.SIZE;
+      default:
+        final Class<?> type = entry.getValueType();
+        if (type == String.class) {
+          return STRING_BITS;
+        }
+        if (type.isEnum()) {
+          return Long.SIZE - Long.numberOfLeadingZeros(type.getEnumConstants().length); // ordinal + 1, with zero for null
+        }
+        return 0;
+    }
+  }
+
+  /**
+   * Returns an encoder whose values, compared as unsigned longs, are ordered the same way as the values of the entry. Each encoded
+   * value is left-aligned, so its most significant bit is bit 63.
+   */
+  private static <T> Encoder<T> encoderFor(final PlanEntry<T> entry) {
+    switch (entry.getKind()) {
+      case BOOLEAN:
+        return (t) -> entry.getBits(t) << (Long.SIZE - 1);
+      case CHAR:
+        return (t) -> entry.getBits(t) << (Long.SIZE - Character.SIZE); // char is unsigned
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        // The others are sign-extended, so flipping the sign bit makes them sort as unsigned values.
+        final int shift = Long.SIZE - widthOf(entry);
+        return (t) -> (entry.getBits(t) << shift) ^ Long.MIN_VALUE;
+      case FLOAT:
+        return (t) -> {
+          final int bits = (int) entry.getBits(t);
+          return ((long) ((bits < 0) ? ~bits : (bits ^ Integer.MIN_VALUE))) << Integer.SIZE;
+        };
+      case DOUBLE:
+        return (t) -> {
+          final long bits = entry.getBits(t);
+          return (bits < 0L) ? ~bits : (bits ^ Long.MIN_VALUE);
+        };
+      default:
+        if (entry.getValueType() == String.class) {
+          return (t) -> encodeString((String) entry.getObject(t));
+        }
+        final int enumShift = Long.SIZE - widthOf(entry);
+        return (t) -> {
+          final Enum<?> value = (Enum<?>) entry.getObject(t);
+          return (value == null) ? 0L : ((value.ordinal() + 1L) << enumShift);
+        };
+    }
+  }
+
+  /**
+   * Encode a String as a one-bit null flag followed by its first characters, padded with zeros. Padding can make a String equal
+   * to a longer one that starts with the same characters followed by zeros, but never greater, so the order is preserved.
+   */
+  private static long encodeString(final String value) {
+    if (value == null) {
+      return 0L;
+    }
+    long encoded = Long.MIN_VALUE;
+    int position = Long.SIZE - 1;
+    final int length = value.length();
+    for (int i = 0; (i < length) && (position > 0); ++i) {
+      position -= CHAR_BITS;
+      final long c = value.charAt(i);
+      encoded |= (position >= 0) ? (c << position) : (c >>> -position);
+    }
+    return encoded;
+  }
+
+  // Like PlanEntry.BitsGetter, this declares an exception that never gets thrown, so the caller can catch it outside of its loop.
+  @FunctionalInterface
+  private interface Encoder<T> {
+    long encode(T t) throws IllegalAccessException;
+  }
+}
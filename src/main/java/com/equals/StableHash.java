@@ -0,0 +1,118 @@
+package com.equals;
+
+import java.util.Arrays;
+
+/**
+ * Hash functions used by the stable hash option of the reflective builder. A stable hash gives the same value for equal objects
+ * in every JVM, so it may be used for partitioning and persistence. Only types whose hash codes are fully specified by the JDK, or
+ * which can be hashed from their content, are considered stable:
+ * <ul>
+ *   <li>Primitives and their wrapper classes, which use the formulas documented in their {@code hashCode()} methods</li>
+ *   <li>Strings, which use the formula documented in {@code String.hashCode()}</li>
+ *   <li>Enums, which are hashed by the hash code of their name, rather than their identity hash code</li>
+ *   <li>Arrays, to any depth, of any of the above</li>
+ *   <li>{@link ArrayValue}s, which use the formula of {@code Arrays.hashCode()}</li>
+ * </ul>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:12 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum StableHash {
+  ;
+
+  /**
+   * Determine if the hash code of a field of the specified type is the same in every JVM.
+   * @param type The declared type of the field
+   * @return true if the type has a stable hash, false otherwise
+   */
+  static boolean isStable(final Class<?> type) {
+    if (type.isArray()) {
+      return isStable(type.getComponentType());
+    }
+    return type.isPrimitive()
+        || type.isEnum()
+        || (type == String.class)
+        || (type == Integer.class)
+        || (type == Long.class)
+        || (type == Short.class)
+        || (type == Character.class)
+        || (type == Byte.class)
+        || (type == Double.class)
+        || (type == Float.class)
+        || (type == Boolean.class)
+        || ArrayValue.class.isAssignableFrom(type);
+  }
+
+  /**
+   * Determine if a stable type needs the hash functions in this class, rather than the ones in {@code java.util.Objects} and
+   * {@code java.util.Arrays}. This is only true of enums and arrays of enums.
+   * @param type The declared type of the field, which has already passed the {@code isStable()} test
+   * @return true if the identity hash code would otherwise be used somewhere in the hash calculation
+   */
+  static boolean needsStableHash(final Class<?> type) {
+    Class<?> baseType = type;
+    while (baseType.isArray()) {
+      baseType = baseType.getComponentType();
+    }
+    return baseType.isEnum();
+  }
+
+  /**
+   * Returns the stable hash of an enum, which is the hash code of its name.
+   * @param value The enum constant. May be null
+   * @return the stable hash code of the enum, or zero if it is null
+   */
+  static int hashEnum(final Enum<?> value) {
+    return (value == null) ? 0 : value.name().hashCode();
+  }
+
+  /**
+   * Returns a stable hash for an array of Objects, using the same formula as {@code Arrays.deepHashCode()}, except that enums are
+   * hashed by their names.
+   * @param array The array, which may be null
+   * @return The stable hash code
+   */
+  static int hashArray(final Object[] array) {
+    if (array == null) {
+      return 0;
+    }
+    int hash = 1;
+    for (final Object element : array) {
+      hash = (31 * hash) + hashElement(element);
+    }
+    return hash;
+  }
+
+  static int hashElement(final Object element) {
+    if (element == null) {
+      return 0;
+    }
+    if (element instanceof Enum) {
+      return hashEnum((Enum<?>) element);
+    }
+    if (element instanceof Object[]) {
+      return hashArray((Object[]) element);
+    }
+    // Primitive arrays have no enums in them, so ArrayHash handles these correctly.
+    if (element instanceof int[]) {
+      return ArrayHash.hashCode((int[]) element);
+    } else if (element instanceof long[]) {
+      return ArrayHash.hashCode((long[]) element);
+    } else if (element instanceof short[]) {
+      return ArrayHash.hashCode((short[]) element);
+    } else if (element instanceof char[]) {
+      return ArrayHash.hashCode((char[]) element);
+    } else if (element instanceof byte[]) {
+      return ArrayHash.hashCode((byte[]) element);
+    } else if (element instanceof double[]) {
+      return ArrayHash.hashCode((double[]) element);
+    } else if (element instanceof float[]) {
+      return ArrayHash.hashCode((float[]) element);
+    } else if (element instanceof boolean[]) {
+      return ArrayHash.hashCode((boolean[]) element);
+    }
+    return element.hashCode();
+  }
+}
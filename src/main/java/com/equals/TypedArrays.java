@@ -0,0 +1,363 @@
+package com.equals;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Equality tests and hash functions for arrays of Objects, specialized from the declared component type. These give the same
+ * results as {@code Arrays.deepEquals()} and {@code Arrays.deepHashCode()}, which check the type of each element at runtime
+ * to decide whether to recurse into it. The declared type usually makes that check unnecessary:
+ * <ul>
+ *   <li>A two-dimensional primitive array, like {@code int[][]}, can only hold arrays of that primitive type, so it gets a
+ *   loop over its rows.</li>
+ *   <li>Deeper arrays, like {@code double[][][]}, get one loop per dimension around that.</li>
+ *   <li>Only a component type of Object, Cloneable, or Serializable can hold arrays. Any other component type, like String or an
+ *   enum, gets a flat loop calling {@code equals()} and {@code hashCode()} on each element, with no deep dispatch.</li>
+ * </ul>
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 2:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum TypedArrays {
+  ;
+
+  /**
+   * Returns the equality test for arrays of the specified component type.
+   * @param componentType The declared component type of the array, which must not be primitive
+   * @return A BiPredicate that compares two arrays, either of which may be null
+   */
+  static BiPredicate<Object, Object> equalsFor(final Class<?> componentType) {
+    assert !componentType.isPrimitive() : componentType;
+    if (componentType.isArray()) {
+      final Class<?> innerType = componentType.getComponentType();
+      if (innerType.isPrimitive()) {
+        return primitiveRowsEquals(innerType);
+      }
+      final BiPredicate<Object, Object> innerEquals = equalsFor(innerType);
+      return (a, b) -> nestedEquals((Object[]) a, (Object[]) b, innerEquals);
+    }
+    if (mayHoldArrays(componentType)) {
+      return (a, b) -> Arrays.deepEquals((Object[]) a, (Object[]) b);
+    }
+    return (a, b) -> Arrays.equals((Object[]) a, (Object[]) b);
+  }
+
+  /**
+   * Returns the hash function for arrays of the specified component type.
+   * @param componentType The declared component type of the array, which must not be primitive
+   * @return A function that hashes an array, which may be null
+   */
+  static ToIntFunction<Object> hashFor(final Class<?> componentType) {
+    assert !componentType.isPrimitive() : componentType;
+    if (componentType.isArray()) {
+      final Class<?> innerType = componentType.getComponentType();
+      if (innerType.isPrimitive()) {
+        return primitiveRowsHash(innerType);
+      }
+      final ToIntFunction<Object> innerHash = hashFor(innerType);
+      return (a) -> nestedHash((Object[]) a, innerHash);
+    }
+    if (mayHoldArrays(componentType)) {
+      return (a) -> Arrays.deepHashCode((Object[]) a);
+    }
+    return (a) -> Arrays.hashCode((Object[]) a);
+  }
+
+  /**
+   * Arrays may only be assigned to variables of type Object, Cloneable, and Serializable, so only arrays with one of these
+   * component types need the deep versions.
+   */
+  private static boolean mayHoldArrays(final Class<?> componentType) {
+    return (componentType == Object.class) || (componentType == Cloneable.class) || (componentType == Serializable.class);
+  }
+
+  private static boolean nestedEquals(final Object[] x, final Object[] y, final BiPredicate<Object, Object> innerEquals) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!innerEquals.test(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int nestedHash(final Object[] array, final ToIntFunction<Object> innerHash) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final Object element : array) {
+      h = (31 * h) + innerHash.applyAsInt(element);
+    }
+    return h;
+  }
+
+  private static BiPredicate<Object, Object> primitiveRowsEquals(final Class<?> primitiveType) {
+    // I can't use a switch statement, because primitiveType isn't a number, String, or enum!
+    if (primitiveType == Integer.TYPE) {
+      return (a, b) -> rowsEqual((int[][]) a, (int[][]) b);
+    } else if (primitiveType == Long.TYPE) {
+      return (a, b) -> rowsEqual((long[][]) a, (long[][]) b);
+    } else if (primitiveType == Short.TYPE) {
+      return (a, b) -> rowsEqual((short[][]) a, (short[][]) b);
+    } else if (primitiveType == Character.TYPE) {
+      return (a, b) -> rowsEqual((char[][]) a, (char[][]) b);
+    } else if (primitiveType == Byte.TYPE) {
+      return (a, b) -> rowsEqual((byte[][]) a, (byte[][]) b);
+    } else if (primitiveType == Double.TYPE) {
+      return (a, b) -> rowsEqual((double[][]) a, (double[][]) b);
+    } else if (primitiveType == Float.TYPE) {
+      return (a, b) -> rowsEqual((float[][]) a, (float[][]) b);
+    } else if (primitiveType == Boolean.TYPE) {
+      return (a, b) -> rowsEqual((boolean[][]) a, (boolean[][]) b);
+    }
+    throw new AssertionError(primitiveType);
+  }
+
+  private static ToIntFunction<Object> primitiveRowsHash(final Class<?> primitiveType) {
+    if (primitiveType == Integer.TYPE) {
+      return (a) -> rowsHash((int[][]) a);
+    } else if (primitiveType == Long.TYPE) {
+      return (a) -> rowsHash((long[][]) a);
+    } else if (primitiveType == Short.TYPE) {
+      return (a) -> rowsHash((short[][]) a);
+    } else if (primitiveType == Character.TYPE) {
+      return (a) -> rowsHash((char[][]) a);
+    } else if (primitiveType == Byte.TYPE) {
+      return (a) -> rowsHash((byte[][]) a);
+    } else if (primitiveType == Double.TYPE) {
+      return (a) -> rowsHash((double[][]) a);
+    } else if (primitiveType == Float.TYPE) {
+      return (a) -> rowsHash((float[][]) a);
+    } else if (primitiveType == Boolean.TYPE) {
+      return (a) -> rowsHash((boolean[][]) a);
+    }
+    throw new AssertionError(primitiveType);
+  }
+
+  private static boolean rowsEqual(final int[][] x, final int[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final int[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final int[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final long[][] x, final long[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final long[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final long[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final short[][] x, final short[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final short[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final short[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final char[][] x, final char[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final char[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final char[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final byte[][] x, final byte[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final byte[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final byte[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final double[][] x, final double[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final double[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final double[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final float[][] x, final float[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final float[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final float[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+
+  private static boolean rowsEqual(final boolean[][] x, final boolean[][] y) {
+    //noinspection ArrayEquality
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null) || (x.length != y.length)) {
+      return false;
+    }
+    for (int i = 0; i < x.length; ++i) {
+      if (!Arrays.equals(x[i], y[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int rowsHash(final boolean[][] array) {
+    if (array == null) {
+      return 0;
+    }
+    int h = 1;
+    for (final boolean[] row : array) {
+      h = (31 * h) + ArrayHash.hashCode(row);
+    }
+    return h;
+  }
+}
@@ -0,0 +1,79 @@
+package com.equals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Equality tests and hash functions for List, Set, and Map values, which return the same results as their own
+ * {@code equals()} and {@code hashCode()} methods, as specified by the List, Set, and Map interfaces, but do less work:
+ * <ul>
+ *   <li>Every test compares sizes first, which takes constant time in every JDK collection, so collections of different sizes
+ *   never get traversed.</li>
+ *   <li>Lists that implement RandomAccess, like ArrayList and the lists returned by {@code List.of()} and
+ *   {@code Arrays.asList()}, are compared and hashed with index loops, which allocate no iterators.</li>
+ * </ul>
+ * Sets and Maps of the same size are then compared with their own {@code equals()} methods, and hashed with their own
+ * {@code hashCode()} methods, which are already independent of iteration order.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 4:15 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum TypedCollections {
+  ;
+
+  static boolean listsEqual(final List<?> x, final List<?> y) {
+    if (x == y) {
+      return true;
+    }
+    if ((x == null) || (y == null)) {
+      return false;
+    }
+    final int size = x.size();
+    if (size != y.size()) {
+      return false;
+    }
+    if ((x instanceof RandomAccess) && (y instanceof RandomAccess)) {
+      for (int i = 0; i < size; ++i) {
+        if (!Objects.equals(x.get(i), y.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return x.equals(y);
+  }
+
+  static int listHash(final List<?> list) {
+    if (list == null) {
+      return 0;
+    }
+    if (list instanceof RandomAccess) {
+      int h = 1;
+      final int size = list.size();
+      for (int i = 0; i < size; ++i) {
+        h = (31 * h) + Objects.hashCode(list.get(i));
+      }
+      return h;
+    }
+    return list.hashCode();
+  }
+
+  static boolean setsEqual(final Set<?> x, final Set<?> y) {
+    if (x == y) {
+      return true;
+    }
+    return (x != null) && (y != null) && (x.size() == y.size()) && x.equals(y);
+  }
+
+  static boolean mapsEqual(final Map<?, ?> x, final Map<?, ?> y) {
+    if (x == y) {
+      return true;
+    }
+    return (x != null) && (y != null) && (x.size() == y.size()) && x.equals(y);
+  }
+}
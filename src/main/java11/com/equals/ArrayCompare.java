@@ -0,0 +1,51 @@
+package com.equals;
+
+import java.util.Arrays;
+
+/**
+ * Lexicographic comparisons of primitive arrays, consistent with {@code Arrays.equals()}: Two arrays compare as zero exactly
+ * when they're equal. Elements are compared like their wrapper classes' {@code compare()} methods, so floats and doubles are
+ * ordered like {@code Float.compare()} and {@code Double.compare()}. A proper prefix of an array comes before the array.
+ * <p>This is the Java 11 version, from the multi-release jar. {@code Arrays.compare()} finds the first difference with the JVM's
+ * vectorized mismatch search, then orders the arrays by that element, which matches the element-by-element Java 8 version.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:15 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum ArrayCompare {
+  ;
+
+  static int compare(final int[] x, final int[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final long[] x, final long[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final short[] x, final short[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final char[] x, final char[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final byte[] x, final byte[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final double[] x, final double[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final float[] x, final float[] y) {
+    return Arrays.compare(x, y);
+  }
+
+  static int compare(final boolean[] x, final boolean[] y) {
+    return Arrays.compare(x, y);
+  }
+}
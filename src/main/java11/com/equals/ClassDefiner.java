@@ -0,0 +1,36 @@
+package com.equals;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Defines classes generated at run time in this package, so they may use its package-private classes.
+ * <p>This is the Java 11 version, from the multi-release jar. A full-privilege lookup in this class may define classes in this
+ * package, with the same class loader and protection domain. Each class stays loaded as long as that class loader does, so
+ * {@link FusedHandler} defines only one class for each signature, and shares it among factories.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:25 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+enum ClassDefiner {
+  ;
+
+  /**
+   * Returns true if this version can define classes.
+   * @return true
+   */
+  static boolean canDefine() {
+    return true;
+  }
+
+  /**
+   * Define a class in this package.
+   * @param classFile The bytes of the class file
+   * @return the class
+   * @throws IllegalAccessException if the class isn't in this package
+   */
+  static Class<?> define(final byte[] classFile) throws IllegalAccessException {
+    return MethodHandles.lookup().defineClass(classFile);
+  }
+}
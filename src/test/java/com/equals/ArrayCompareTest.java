@@ -0,0 +1,155 @@
+package com.equals;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * These run against the Java 8 version of ArrayCompare in the test phase, and against the Java 11 version when the tests run
+ * again against the multi-release jar in the package phase.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 1:25 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class ArrayCompareTest {
+  private final Random random = new Random(47);
+
+  @Test
+  public void testConsistentWithElementOrder() {
+    for (int trial = 0; trial < 2000; ++trial) {
+      final int xLength = random.nextInt(40);
+      final int yLength = random.nextBoolean() ? xLength : random.nextInt(40);
+      final int[] xInts = new int[xLength];
+      final int[] yInts = new int[yLength];
+      final long[] xLongs = new long[xLength];
+      final long[] yLongs = new long[yLength];
+      final char[] xChars = new char[xLength];
+      final char[] yChars = new char[yLength];
+      final byte[] xBytes = new byte[xLength];
+      final byte[] yBytes = new byte[yLength];
+      final double[] xDoubles = new double[xLength];
+      final double[] yDoubles = new double[yLength];
+      final float[] xFloats = new float[xLength];
+      final float[] yFloats = new float[yLength];
+      final boolean[] xBooleans = new boolean[xLength];
+      final boolean[] yBooleans = new boolean[yLength];
+      final int[] values = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+      final double[] doubles = {Double.NaN, Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.0};
+      for (int i = 0; i < Math.max(xLength, yLength); ++i) {
+        // Mostly equal elements, so the first difference lands at various positions.
+        final boolean differ = random.nextInt(30) == 0;
+        final int value = values[random.nextInt(values.length)];
+        final int other = differ ? values[random.nextInt(values.length)] : value;
+        final double doubleValue = doubles[random.nextInt(doubles.length)];
+        final double otherDouble = differ ? doubles[random.nextInt(doubles.length)] : doubleValue;
+        if (i < xLength) {
+          xInts[i] = value;
+          xLongs[i] = value * 3L;
+          xChars[i] = (char) value;
+          xBytes[i] = (byte) value;
+          xDoubles[i] = doubleValue;
+          xFloats[i] = (float) doubleValue;
+          xBooleans[i] = value > 0;
+        }
+        if (i < yLength) {
+          yInts[i] = other;
+          yLongs[i] = other * 3L;
+          yChars[i] = (char) other;
+          yBytes[i] = (byte) other;
+          yDoubles[i] = otherDouble;
+          yFloats[i] = (float) otherDouble;
+          yBooleans[i] = other > 0;
+        }
+      }
+      assertEquals(expected(xInts, yInts), Integer.signum(ArrayCompare.compare(xInts, yInts)));
+      assertEquals(expected(xLongs, yLongs), Integer.signum(ArrayCompare.compare(xLongs, yLongs)));
+      assertEquals(expected(xChars, yChars), Integer.signum(ArrayCompare.compare(xChars, yChars)));
+      assertEquals(expected(xBytes, yBytes), Integer.signum(ArrayCompare.compare(xBytes, yBytes)));
+      assertEquals(expected(xDoubles, yDoubles), Integer.signum(ArrayCompare.compare(xDoubles, yDoubles)));
+      assertEquals(expected(xFloats, yFloats), Integer.signum(ArrayCompare.compare(xFloats, yFloats)));
+      assertEquals(expected(xBooleans, yBooleans), Integer.signum(ArrayCompare.compare(xBooleans, yBooleans)));
+      assertEquals(Arrays.equals(xDoubles, yDoubles), ArrayCompare.compare(xDoubles, yDoubles) == 0);
+    }
+  }
+
+  @Test
+  public void testOverlay() {
+    // Running from the multi-release jar on Java 11 or later, the JVM must load the Java 11 version.
+    final URL url = ArrayCompare.class.getResource("ArrayCompare.class");
+    if ("jar".equals(url.getProtocol()) && !System.getProperty("java.specification.version").startsWith("1.")) {
+      assertTrue(url.toString(), url.toString().contains("META-INF/versions/11/"));
+    }
+  }
+
+  private static int expected(final int[] x, final int[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      if (x[i] != y[i]) {
+        return Integer.signum(Integer.compare(x[i], y[i]));
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final long[] x, final long[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      if (x[i] != y[i]) {
+        return Integer.signum(Long.compare(x[i], y[i]));
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final char[] x, final char[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      if (x[i] != y[i]) {
+        return Integer.signum(Character.compare(x[i], y[i]));
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final byte[] x, final byte[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      if (x[i] != y[i]) {
+        return Integer.signum(Byte.compare(x[i], y[i]));
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final double[] x, final double[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      final int result = Double.compare(x[i], y[i]);
+      if (result != 0) {
+        return Integer.signum(result);
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final float[] x, final float[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      final int result = Float.compare(x[i], y[i]);
+      if (result != 0) {
+        return Integer.signum(result);
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+
+  private static int expected(final boolean[] x, final boolean[] y) {
+    for (int i = 0; i < Math.min(x.length, y.length); ++i) {
+      if (x[i] != y[i]) {
+        return Integer.signum(Boolean.compare(x[i], y[i]));
+      }
+    }
+    return Integer.signum(Integer.compare(x.length, y.length));
+  }
+}
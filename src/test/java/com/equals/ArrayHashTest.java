@@ -0,0 +1,66 @@
+package com.equals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 12:35 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class ArrayHashTest {
+  private final Random random = new Random(41);
+
+  @Test
+  public void testMatchesArraysHashCode() {
+    for (int length = 0; length < 40; ++length) {
+      testLength(length);
+    }
+    testLength(1000);
+    testLength(1003);
+  }
+
+  private void testLength(final int length) {
+    final int[] ints = new int[length];
+    final long[] longs = new long[length];
+    final short[] shorts = new short[length];
+    final char[] chars = new char[length];
+    final byte[] bytes = new byte[length];
+    final float[] floats = new float[length];
+    final double[] doubles = new double[length];
+    final boolean[] booleans = new boolean[length];
+    final float[] specialFloats = {Float.NaN, -0.0f, Float.POSITIVE_INFINITY, Float.intBitsToFloat(0x7fc00001)};
+    final double[] specialDoubles = {Double.NaN, -0.0, Double.NEGATIVE_INFINITY, Double.longBitsToDouble(0x7ff8000000000001L)};
+    for (int i = 0; i < length; ++i) {
+      ints[i] = random.nextInt();
+      longs[i] = random.nextLong();
+      shorts[i] = (short) random.nextInt();
+      chars[i] = (char) random.nextInt();
+      bytes[i] = (byte) random.nextInt();
+      floats[i] = (i % 5 == 0) ? specialFloats[random.nextInt(specialFloats.length)] : random.nextFloat();
+      doubles[i] = (i % 5 == 0) ? specialDoubles[random.nextInt(specialDoubles.length)] : random.nextDouble();
+      booleans[i] = random.nextBoolean();
+    }
+    assertEquals(Arrays.hashCode(ints), ArrayHash.hashCode(ints));
+    assertEquals(Arrays.hashCode(longs), ArrayHash.hashCode(longs));
+    assertEquals(Arrays.hashCode(shorts), ArrayHash.hashCode(shorts));
+    assertEquals(Arrays.hashCode(chars), ArrayHash.hashCode(chars));
+    assertEquals(Arrays.hashCode(bytes), ArrayHash.hashCode(bytes));
+    assertEquals(Arrays.hashCode(floats), ArrayHash.hashCode(floats));
+    assertEquals(Arrays.hashCode(doubles), ArrayHash.hashCode(doubles));
+    assertEquals(Arrays.hashCode(booleans), ArrayHash.hashCode(booleans));
+  }
+
+  @Test
+  public void testNull() {
+    assertEquals(0, ArrayHash.hashCode((int[]) null));
+    assertEquals(0, ArrayHash.hashCode((double[]) null));
+    assertEquals(0, ArrayHash.hashCode((boolean[]) null));
+  }
+}
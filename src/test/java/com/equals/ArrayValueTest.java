@@ -0,0 +1,136 @@
+package com.equals;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:30 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class ArrayValueTest {
+  private static final DogTag.Factory<Sample> lambdaFactory = DogTag.startEmpty(Sample.class)
+      .addObject(Sample::getCodes, IntArrayValue.class)
+      .addObject(Sample::getReadings, DoubleArrayValue.class)
+      .addSimple(Sample::getSerial)
+      .build();
+  private static final DogTag.Factory<Sample> stableFactory = DogTag.startWithAll(Sample.class).withStableHash(true).build();
+
+  @Test
+  public void testMatchesArrays() {
+    final Random random = new Random(41);
+    for (final int length : new int[] {0, 1, 7, 8, 9, 100}) {
+      final int[] ints = new int[length];
+      final long[] longs = new long[length];
+      final double[] doubles = new double[length];
+      final byte[] bytes = new byte[length];
+      for (int i = 0; i < length; ++i) {
+        ints[i] = random.nextInt();
+        longs[i] = random.nextLong();
+        doubles[i] = random.nextDouble();
+        bytes[i] = (byte) random.nextInt();
+      }
+      assertEquals(Arrays.hashCode(ints), IntArrayValue.of(ints).hashCode());
+      assertEquals(Arrays.hashCode(longs), LongArrayValue.of(longs).hashCode());
+      assertEquals(Arrays.hashCode(doubles), DoubleArrayValue.of(doubles).hashCode());
+      assertEquals(Arrays.hashCode(bytes), ByteArrayValue.of(bytes).hashCode());
+      assertEquals(IntArrayValue.of(ints), IntArrayValue.of(ints.clone()));
+      assertEquals(LongArrayValue.of(longs), LongArrayValue.of(longs.clone()));
+      assertEquals(DoubleArrayValue.of(doubles), DoubleArrayValue.of(doubles.clone()));
+      assertEquals(ByteArrayValue.of(bytes), ByteArrayValue.of(bytes.clone()));
+      assertEquals(length, IntArrayValue.of(ints).length());
+      assertEquals(Arrays.toString(ints), IntArrayValue.of(ints).toString());
+      if (length > 0) {
+        final int[] changed = ints.clone();
+        changed[length - 1]++;
+        assertNotEquals(IntArrayValue.of(ints), IntArrayValue.of(changed));
+      }
+    }
+
+    // Same hash codes and lengths, but different classes
+    assertNotEquals(IntArrayValue.of(), LongArrayValue.of());
+    assertNotEquals(IntArrayValue.of(3), ByteArrayValue.of((byte) 3));
+    assertFalse(IntArrayValue.of(3).equals(new int[] {3}));
+
+    // Same rules as Arrays.equals(double[], double[])
+    assertEquals(DoubleArrayValue.of(Double.NaN), DoubleArrayValue.of(Double.NaN));
+    assertNotEquals(DoubleArrayValue.of(0.0), DoubleArrayValue.of(-0.0));
+  }
+
+  @Test
+  public void testImmutable() {
+    final int[] values = {1, 2, 3};
+    final IntArrayValue value = IntArrayValue.of(values);
+    final int hash = value.hashCode();
+    values[0] = 99;
+    value.toArray()[1] = 99;
+    assertArrayEquals(new int[] {1, 2, 3}, value.toArray());
+    assertEquals(1, value.get(0));
+    assertEquals(hash, value.hashCode());
+  }
+
+  @Test
+  public void testFactories() {
+    // The fields are declared in alphabetical order, so the stable hash, which sorts them by name, uses the same order.
+    for (final DogTag.Factory<Sample> factory : Arrays.asList(Sample.factory, lambdaFactory, stableFactory)) {
+      final Sample sample = new Sample(IntArrayValue.of(1, 2, 3), DoubleArrayValue.of(0.5, Double.NaN), 7);
+      final Sample copy = new Sample(IntArrayValue.of(1, 2, 3), DoubleArrayValue.of(0.5, Double.NaN), 7);
+      assertTrue(factory.doEqualsTest(sample, copy));
+      assertEquals(factory.doHashCodeInternal(sample), factory.doHashCodeInternal(copy));
+      assertEquals(Objects.hash(Arrays.hashCode(new int[] {1, 2, 3}), Arrays.hashCode(new double[] {0.5, Double.NaN}), 7),
+          factory.doHashCodeInternal(sample));
+
+      final Sample nulls = new Sample(null, null, 7);
+      assertTrue(factory.doEqualsTest(nulls, new Sample(null, null, 7)));
+      assertEquals(Objects.hash(null, null, 7), factory.doHashCodeInternal(nulls));
+
+      final Sample[] changes = {
+          new Sample(IntArrayValue.of(1, 2, 4), sample.readings, 7),
+          new Sample(IntArrayValue.of(1, 2), sample.readings, 7),
+          new Sample(sample.codes, DoubleArrayValue.of(0.5, -0.0), 7),
+          new Sample(sample.codes, sample.readings, 8),
+          nulls,
+      };
+      for (final Sample changed : changes) {
+        assertFalse(factory.doEqualsTest(sample, changed));
+        assertFalse(factory.doEqualsTest(changed, sample));
+      }
+    }
+  }
+
+  private static final class Sample {
+    private final IntArrayValue codes;
+    private final DoubleArrayValue readings;
+    private final int serial;
+    private static final DogTag.Factory<Sample> factory = DogTag.startWithAll(Sample.class).build();
+
+    Sample(final IntArrayValue codes, final DoubleArrayValue readings, final int serial) {
+      this.codes = codes;
+      this.readings = readings;
+      this.serial = serial;
+    }
+
+    IntArrayValue getCodes() {
+      return codes;
+    }
+
+    DoubleArrayValue getReadings() {
+      return readings;
+    }
+
+    int getSerial() {
+      return serial;
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 3:55 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class ConcurrentDogTagHashMapTest {
+  private static final DogTag.Factory<Point> pointFactory = DogTag.startWithAll(Point.class).build();
+  private static final int THREADS = 8;
+
+  @Test
+  public void testBasics() {
+    final ConcurrentDogTagHashMap<Point, String> map = new ConcurrentDogTagHashMap<>(pointFactory);
+    assertTrue(map.isEmpty());
+    assertNull(map.put(new Point(1, 2), "a"));
+    assertEquals("a", map.put(new Point(1, 2), "b"));
+    assertEquals("b", map.putIfAbsent(new Point(1, 2), "c"));
+    assertEquals("b", map.get(new Point(1, 2)));
+    assertNull(map.get("wrong type"));
+    assertFalse(map.replace(new Point(1, 2), "x", "y"));
+    assertTrue(map.replace(new Point(1, 2), "b", "d"));
+    assertEquals("d", map.replace(new Point(1, 2), "e"));
+    assertNull(map.replace(new Point(9, 9), "e"));
+    assertFalse(map.remove(new Point(1, 2), "d"));
+    assertTrue(map.remove(new Point(1, 2), "e"));
+    assertTrue(map.isEmpty());
+    assertEquals("f", map.computeIfAbsent(new Point(3, 4), p -> "f"));
+    assertEquals("f", map.computeIfAbsent(new Point(3, 4), p -> "g"));
+    assertNull(map.computeIfAbsent(new Point(5, 6), p -> null));
+    assertEquals(1, map.size());
+    assertEquals("f", map.remove(new Point(3, 4)));
+    assertNull(map.remove(new Point(3, 4)));
+  }
+
+  @Test
+  public void testReplaceAll() {
+    final ConcurrentDogTagHashMap<Point, Integer> map = new ConcurrentDogTagHashMap<>(pointFactory);
+    for (int i = 0; i < 100; ++i) {
+      map.put(new Point(i, -i), i);
+    }
+    map.replaceAll((p, v) -> p.x + v);
+    assertEquals(100, map.size());
+    for (int i = 0; i < 100; ++i) {
+      assertEquals(Integer.valueOf(2 * i), map.get(new Point(i, -i)));
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullValue() {
+    new ConcurrentDogTagHashMap<Point, String>(pointFactory).put(new Point(1, 1), null);
+  }
+
+  @Test
+  public void testSingleThreadedAgainstHashMap() {
+    final Random random = new Random(4321L);
+    final ConcurrentDogTagHashMap<Point, Integer> map = new ConcurrentDogTagHashMap<>(pointFactory, 0, 2);
+    final Map<Long, Integer> reference = new HashMap<>();
+    for (int i = 0; i < 100_000; ++i) {
+      final Point point = new Point(random.nextInt(50), random.nextInt(50));
+      if (random.nextInt(3) == 0) {
+        assertEquals(reference.remove(point.id()), map.remove(point));
+      } else {
+        assertEquals(reference.put(point.id(), i), map.put(point, i));
+      }
+    }
+    assertEquals(reference.size(), map.size());
+    int count = 0;
+    final Iterator<Map.Entry<Point, Integer>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Point, Integer> entry = iterator.next();
+      assertEquals(reference.get(entry.getKey().id()), entry.getValue());
+      count++;
+      if ((count % 2) == 0) {
+        iterator.remove();
+        reference.remove(entry.getKey().id());
+      }
+    }
+    assertEquals(reference.size(), map.size());
+  }
+
+  /**
+   * Many threads race to compute the same keys. Each key's function must run exactly once, and every thread must see the same
+   * value.
+   */
+  @Test
+  public void testConcurrentComputeIfAbsent() throws Exception {
+    final ConcurrentDogTagHashMap<Point, Integer> map = new ConcurrentDogTagHashMap<>(pointFactory);
+    final AtomicInteger calls = new AtomicInteger();
+    final int keyCount = 20_000;
+    final List<Future<int[]>> results = runThreads(thread -> {
+      final int[] seen = new int[keyCount];
+      for (int i = 0; i < keyCount; ++i) {
+        final int k = (i * 7 + thread * 1_000) % keyCount;
+        seen[k] = map.computeIfAbsent(new Point(k, k), p -> calls.incrementAndGet());
+      }
+      return seen;
+    });
+    assertEquals(keyCount, calls.get());
+    assertEquals(keyCount, map.size());
+    final int[] first = results.get(0).get();
+    for (final Future<int[]> future : results) {
+      final int[] seen = future.get();
+      for (int i = 0; i < keyCount; ++i) {
+        assertEquals(first[i], seen[i]);
+      }
+    }
+  }
+
+  /**
+   * Each thread puts and removes its own keys while reading everyone's. Readers must never see a value for the wrong key.
+   */
+  @Test
+  public void testConcurrentPutRemoveGet() throws Exception {
+    final ConcurrentDogTagHashMap<Point, Integer> map = new ConcurrentDogTagHashMap<>(pointFactory, 0, 4);
+    final int perThread = 5_000;
+    final List<Future<int[]>> results = runThreads(thread -> {
+      final Random random = new Random(thread);
+      for (int round = 0; round < 4; ++round) {
+        for (int i = 0; i < perThread; ++i) {
+          map.put(new Point(thread, i), i);
+          final int other = random.nextInt(THREADS);
+          final int j = random.nextInt(perThread);
+          final Integer value = map.get(new Point(other, j));
+          if ((value != null) && (value != j)) {
+            throw new AssertionError(String.format("Wrong value %d for %d", value, j));
+          }
+        }
+        for (int i = 0; i < perThread; i += 2) {
+          assertEquals(Integer.valueOf(i), map.remove(new Point(thread, i)));
+        }
+        for (int i = 0; i < perThread; i += 2) {
+          assertNull(map.get(new Point(thread, i)));
+          assertEquals(Integer.valueOf(i + 1), map.get(new Point(thread, i + 1)));
+        }
+      }
+      return new int[0];
+    });
+    for (final Future<int[]> future : results) {
+      future.get();
+    }
+    assertEquals(THREADS * perThread / 2, map.size());
+  }
+
+  private interface ThreadBody {
+    int[] run(int thread) throws Exception;
+  }
+
+  /**
+   * Run the body in each thread, and wait for them all to finish.
+   */
+  private static List<Future<int[]>> runThreads(final ThreadBody body) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<int[]>> results = new ArrayList<>();
+    try {
+      for (int t = 0; t < THREADS; ++t) {
+        final int thread = t;
+        results.add(executor.submit(() -> {
+          start.await();
+          return body.run(thread);
+        }));
+      }
+      start.countDown();
+      for (final Future<int[]> future : results) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return results;
+  }
+
+  private static final class Point {
+    private final int x;
+    private final int y;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Point(final int x, final int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    long id() {
+      return (((long) x) << 32) | (y & 0xFFFFFFFFL);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.equals;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:55 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagBatchMatchTest {
+  private static final DogTag.Factory<Record> lambdaFactory = DogTag.startEmpty(Record.class)
+      .addObject(Record::getName)
+      .addSimple(Record::getId)
+      .addArray(Record::getCodes)
+      .addSimple(Record::getScore)
+      .build();
+  private final Random random = new Random(31);
+
+  @Test
+  public void testMatchesEquals() {
+    for (final DogTag.Factory<Record> factory : new DogTag.Factory[] {Record.factory, lambdaFactory}) {
+      for (final int size : new int[] {0, 1, 63, 64, 65, 1023, 1024, 1025, 5000}) {
+        final Record[] candidates = new Record[size];
+        for (int i = 0; i < size; ++i) {
+          candidates[i] = (random.nextInt(20) == 0) ? null : randomRecord();
+        }
+        for (int trial = 0; trial < 20; ++trial) {
+          final Record instance = randomRecord();
+          int expectedIndex = -1;
+          final BitSet expected = new BitSet();
+          for (int i = 0; i < size; ++i) {
+            if (factory.doEqualsTest(instance, candidates[i])) {
+              expected.set(i);
+              if (expectedIndex < 0) {
+                expectedIndex = i;
+              }
+            }
+          }
+          assertEquals(expectedIndex, factory.findEqual(instance, candidates));
+          assertEquals(expected, factory.matchMask(instance, candidates));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testProbe() {
+    final Record[] candidates = new Record[3000];
+    for (int i = 0; i < candidates.length; ++i) {
+      candidates[i] = new Record(i % 1000, "name" + (i % 7), new int[] {i % 3}, 0.5);
+    }
+    final Probe<Record> probe = Record.factory.newProbe()
+        .setInt(Record.factory.newProbe().indexOf("id"), 999)
+        .setObject(Record.factory.newProbe().indexOf("name"), "name" + (2999 % 7))
+        .setObject(Record.factory.newProbe().indexOf("codes"), new int[] {2999 % 3})
+        .setDouble(Record.factory.newProbe().indexOf("score"), 0.5);
+    assertEquals(2999, Record.factory.findEqual(probe, candidates));
+    final BitSet mask = Record.factory.matchMask(probe, candidates);
+    assertEquals(1, mask.cardinality());
+    assertTrue(mask.get(2999));
+
+    try {
+      Record.factory.findEqual(lambdaFactory.newProbe(), candidates);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E23:"));
+    }
+  }
+
+  private Record randomRecord() {
+    final double[] scores = {0.0, -0.0, Double.NaN};
+    final String[] names = {null, "a", "b"};
+    return new Record(random.nextInt(3), names[random.nextInt(names.length)],
+        random.nextBoolean() ? null : new int[] {random.nextInt(2)}, scores[random.nextInt(scores.length)]);
+  }
+
+  private static final class Record {
+    private final int id;
+    private final String name;
+    private final int[] codes;
+    private final double score;
+    private static final DogTag.Factory<Record> factory = DogTag.startWithAll(Record.class).build();
+
+    Record(final int id, final String name, final int[] codes, final double score) {
+      this.id = id;
+      this.name = name;
+      this.codes = codes;
+      this.score = score;
+    }
+
+    int getId() {
+      return id;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    int[] getCodes() {
+      return codes;
+    }
+
+    double getScore() {
+      return score;
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package com.equals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagBloomFilterTest {
+  private static final DogTag.Factory<Account> reflectiveFactory = DogTag.startWithAll(Account.class).build();
+  private static final DogTag.Factory<Account> lambdaFactory = DogTag.startEmpty(Account.class)
+      .addSimple(Account::getId)
+      .addObject(Account::getOwner)
+      .addSimple(Account::getBalance)
+      .build();
+  private static final int COUNT = 20_000;
+  private static final int HEADER_BYTES = 6 * Long.BYTES;
+  private static final DogTag.Factory<Holding> holdingFactory = DogTag.startWithAll(Holding.class).build();
+
+  @Test
+  public void testNoFalseNegativesAndFalsePositiveRate() {
+    for (final DogTag.Factory<Account> factory : new DogTag.Factory[] {reflectiveFactory, lambdaFactory}) {
+      for (final DogTagBloomFilter.Strategy strategy : DogTagBloomFilter.Strategy.values()) {
+        final DogTagBloomFilter<Account> filter = new DogTagBloomFilter<>(factory, COUNT, 0.01, strategy);
+        assertEquals(7, filter.getHashCount());
+        for (int i = 0; i < COUNT; ++i) {
+          filter.put(new Account(i, "owner" + (i % 100), i * 0.5));
+        }
+        for (int i = 0; i < COUNT; ++i) {
+          assertTrue(filter.mightContain(new Account(i, "owner" + (i % 100), i * 0.5))); // equal, but not identical
+        }
+        final int falsePositives = countFalsePositives(filter::mightContain);
+        assertTrue(String.valueOf(falsePositives), falsePositives < (COUNT * 0.02));
+        assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.005);
+      }
+    }
+  }
+
+  private interface Check {
+    boolean mightContain(Account account);
+  }
+
+  private static int countFalsePositives(final Check check) {
+    int falsePositives = 0;
+    for (int i = COUNT; i < (2 * COUNT); ++i) {
+      if (check.mightContain(new Account(i, "owner" + (i % 100), i * 0.5))) {
+        falsePositives++;
+      }
+    }
+    return falsePositives;
+  }
+
+  @Test
+  public void testCountingFilter() {
+    final DogTagCountingBloomFilter<Account> filter = new DogTagCountingBloomFilter<>(reflectiveFactory, COUNT, 0.01);
+    for (int i = 0; i < COUNT; ++i) {
+      filter.put(new Account(i, "owner", i));
+    }
+    assertTrue(countFalsePositives(filter::mightContain) < (COUNT * 0.02));
+    for (int i = 0; i < COUNT; i += 2) {
+      assertTrue(filter.remove(new Account(i, "owner", i)));
+    }
+    int stillPresent = 0;
+    for (int i = 0; i < COUNT; ++i) {
+      final boolean present = filter.mightContain(new Account(i, "owner", i));
+      if ((i % 2) == 1) {
+        assertTrue(present);
+      } else if (present) {
+        stillPresent++;
+      }
+    }
+    assertTrue(String.valueOf(stillPresent), stillPresent < (COUNT * 0.01));
+
+    // A saturated counter never goes back down.
+    final DogTagCountingBloomFilter<Account> small = new DogTagCountingBloomFilter<>(reflectiveFactory, 10, 0.1);
+    final Account account = new Account(1, "x", 1.0);
+    for (int i = 0; i < 20; ++i) {
+      small.put(account);
+    }
+    for (int i = 0; i < 20; ++i) {
+      small.remove(account);
+    }
+    assertTrue(small.mightContain(account));
+    assertFalse(small.remove(new Account(2, "y", 2.0)) && !small.mightContain(account));
+  }
+
+  @Test
+  public void testMappedFilter() throws IOException {
+    final Path file = Files.createTempFile("bloom", ".bits");
+    final Path countingFile = Files.createTempFile("countingBloom", ".bits");
+    try {
+      Files.delete(file);
+      final DogTagBloomFilter<Account> filter = DogTagBloomFilter.mapped(reflectiveFactory, COUNT, 0.01,
+          DogTagBloomFilter.Strategy.DOUBLE_HASHING, file);
+      final DogTagCountingBloomFilter<Account> counting = DogTagCountingBloomFilter.mapped(reflectiveFactory, COUNT, 0.01,
+          DogTagBloomFilter.Strategy.INDEPENDENT, countingFile);
+      for (int i = 0; i < COUNT; ++i) {
+        filter.put(new Account(i, "owner", i));
+        counting.put(new Account(i, "owner", i));
+      }
+      filter.flush();
+      counting.flush();
+      assertEquals(((filter.getBitCount() + 63) / 64 * 8) + HEADER_BYTES, Files.size(file));
+
+      final DogTagBloomFilter<Account> reopened = DogTagBloomFilter.mapped(reflectiveFactory, COUNT, 0.01,
+          DogTagBloomFilter.Strategy.DOUBLE_HASHING, file);
+      final DogTagCountingBloomFilter<Account> reopenedCounting = DogTagCountingBloomFilter.mapped(reflectiveFactory, COUNT, 0.01,
+          DogTagBloomFilter.Strategy.INDEPENDENT, countingFile);
+      assertEquals(filter.getSetBitCount(), reopened.getSetBitCount());
+      for (int i = 0; i < COUNT; ++i) {
+        assertTrue(reopened.mightContain(new Account(i, "owner", i)));
+        assertTrue(reopenedCounting.mightContain(new Account(i, "owner", i)));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(countingFile);
+    }
+  }
+
+  @Test
+  public void testMappedInAnotherJvm() throws IOException, InterruptedException {
+    final Path file = Files.createTempFile("holdings", ".bits");
+    try {
+      Files.delete(file);
+      final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+      final Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          DogTagBloomFilterTest.class.getName(), file.toString()).inheritIO().start();
+      assertTrue(process.waitFor(60L, TimeUnit.SECONDS));
+      assertEquals(0, process.exitValue());
+
+      // Enums have different identity hash codes in this JVM, so they must be hashed by name.
+      final DogTagBloomFilter<Holding> reopened = DogTagBloomFilter.mapped(holdingFactory, COUNT, 0.01,
+          DogTagBloomFilter.Strategy.INDEPENDENT, file);
+      for (int i = 0; i < COUNT; ++i) {
+        assertTrue(reopened.mightContain(holding(i)));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Saves a filter of holdings in the specified file, for {@link #testMappedInAnotherJvm()}.
+   * @param args The path of the file
+   * @throws IOException If the file can't be mapped
+   */
+  public static void main(final String[] args) throws IOException {
+    final DogTagBloomFilter<Holding> filter = DogTagBloomFilter.mapped(holdingFactory, COUNT, 0.01,
+        DogTagBloomFilter.Strategy.INDEPENDENT, Paths.get(args[0]));
+    for (int i = 0; i < COUNT; ++i) {
+      filter.put(holding(i));
+    }
+    filter.flush();
+  }
+
+  private static Holding holding(final int i) {
+    final TimeUnit[] units = TimeUnit.values();
+    return new Holding(i, units[i % units.length], new TimeUnit[] {units[(i / 7) % units.length], null});
+  }
+
+  @Test
+  public void testMappedErrors() throws IOException {
+    final Path file = Files.createTempFile("bloom", ".bits");
+    try {
+      Files.delete(file);
+      DogTagBloomFilter.mapped(reflectiveFactory, COUNT, 0.01, DogTagBloomFilter.Strategy.DOUBLE_HASHING, file).flush();
+      expectMismatch(() -> DogTagBloomFilter.mapped(reflectiveFactory, COUNT, 0.02, DogTagBloomFilter.Strategy.DOUBLE_HASHING,
+          file));
+      expectMismatch(() -> DogTagBloomFilter.mapped(reflectiveFactory, COUNT, 0.01, DogTagBloomFilter.Strategy.INDEPENDENT, file));
+      expectMismatch(() -> DogTagCountingBloomFilter.mapped(reflectiveFactory, COUNT / 4, 0.01,
+          DogTagBloomFilter.Strategy.DOUBLE_HASHING, file));
+      final DogTag.Factory<Account> noBalance = DogTag.startWithAll(Account.class).excludeFields("balance").build();
+      final DogTag.Factory<Account> noOwner = DogTag.startWithAll(Account.class).excludeFields("owner").build();
+      Files.delete(file);
+      DogTagBloomFilter.mapped(noBalance, COUNT, 0.01, DogTagBloomFilter.Strategy.DOUBLE_HASHING, file).flush();
+      expectMismatch(() -> DogTagBloomFilter.mapped(noOwner, COUNT, 0.01, DogTagBloomFilter.Strategy.DOUBLE_HASHING, file));
+
+      // lambdaFactory uses addObject() without a type, which could return anything.
+      Files.delete(file);
+      try {
+        DogTagBloomFilter.mapped(lambdaFactory, COUNT, 0.01, DogTagBloomFilter.Strategy.DOUBLE_HASHING, file);
+        fail();
+      } catch (final IllegalArgumentException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains("E38:"));
+      }
+      final DogTag.Factory<Account> typedFactory = DogTag.startEmpty(Account.class)
+          .addSimple(Account::getId)
+          .addObject(Account::getOwner, String.class)
+          .build();
+      DogTagCountingBloomFilter.mapped(typedFactory, COUNT, 0.01, DogTagBloomFilter.Strategy.DOUBLE_HASHING, file).flush();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private interface Opener {
+    void open() throws IOException;
+  }
+
+  private static void expectMismatch(final Opener opener) throws IOException {
+    try {
+      opener.open();
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("E39:"));
+    }
+  }
+
+  @Test
+  public void testErrors() {
+    try {
+      new DogTagBloomFilter<>(reflectiveFactory, 0L, 0.01);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E26:"));
+    }
+    try {
+      new DogTagCountingBloomFilter<>(reflectiveFactory, 100L, 1.0);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E26:"));
+    }
+    try {
+      new DogTagBloomFilter<>(reflectiveFactory, Long.MAX_VALUE / 4, 0.0001);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E27:"));
+    }
+  }
+
+  private static final class Holding {
+    private final int id;
+    private final TimeUnit unit;
+    private final TimeUnit[] history;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Holding(final int id, final TimeUnit unit, final TimeUnit[] history) {
+      this.id = id;
+      this.unit = unit;
+      this.history = history;
+    }
+  }
+
+  private static final class Account {
+    private final int id;
+    private final String owner;
+    private final double balance;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Account(final int id, final String owner, final double balance) {
+      this.id = id;
+      this.owner = owner;
+      this.balance = balance;
+    }
+
+    int getId() {
+      return id;
+    }
+
+    String getOwner() {
+      return owner;
+    }
+
+    double getBalance() {
+      return balance;
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package com.equals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:55 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagCacheTest {
+  private static final DogTag.Factory<Trade> tradeFactory = DogTag.startWithAll(Trade.class).build();
+  private static final int THREADS = 8;
+
+  @Test
+  public void testLoadingAndStats() {
+    final DogTagCache<Trade, String> cache = new DogTagCache<>(tradeFactory, 100);
+    final AtomicInteger loads = new AtomicInteger();
+    assertEquals("A:1", cache.get(new Trade("A", 1), t -> t.symbol + ':' + t.quantity + load(loads)));
+    assertEquals("A:1", cache.get(new Trade("A", 1), t -> "wrong"));
+    assertEquals("A:1", cache.getIfPresent(new Trade("A", 1)));
+    assertNull(cache.getIfPresent(new Trade("A", 2)));
+    assertEquals(1, loads.get());
+    assertNull(cache.get(new Trade("B", 1), t -> null));
+    assertNull(cache.getIfPresent(new Trade("B", 1)));
+
+    cache.put(new Trade("A", 1), "replaced");
+    assertEquals("replaced", cache.getIfPresent(new Trade("A", 1)));
+    cache.invalidate(new Trade("A", 1));
+    assertNull(cache.getIfPresent(new Trade("A", 1)));
+    assertEquals(0, cache.size());
+
+    final DogTagCache.Stats stats = cache.getStats();
+    assertEquals(3, stats.getHitCount());
+    assertEquals(5, stats.getMissCount());
+    assertEquals(0, stats.getEvictionCount());
+    assertEquals(3.0 / 8.0, stats.getHitRate(), 0.0);
+  }
+
+  private static String load(final AtomicInteger loads) {
+    loads.incrementAndGet();
+    return "";
+  }
+
+  @Test
+  public void testLruEviction() {
+    final DogTagCache<Trade, Integer> cache = new DogTagCache<>(tradeFactory, 3, 0L, TimeUnit.SECONDS, 1, System::nanoTime);
+    cache.put(new Trade("A", 1), 1);
+    cache.put(new Trade("B", 1), 2);
+    cache.put(new Trade("C", 1), 3);
+    assertEquals(Integer.valueOf(1), cache.getIfPresent(new Trade("A", 1))); // B is now the least recently used
+    cache.put(new Trade("D", 1), 4);
+    assertEquals(3, cache.size());
+    assertNull(cache.getIfPresent(new Trade("B", 1)));
+    assertEquals(Integer.valueOf(1), cache.getIfPresent(new Trade("A", 1)));
+    assertEquals(Integer.valueOf(3), cache.getIfPresent(new Trade("C", 1)));
+    assertEquals(Integer.valueOf(4), cache.getIfPresent(new Trade("D", 1)));
+    assertEquals(1, cache.getStats().getEvictionCount());
+
+    // Many keys, spread over many segments, never exceed the maximum size.
+    final DogTagCache<Trade, Integer> big = new DogTagCache<>(tradeFactory, 1_000);
+    for (int i = 0; i < 100_000; ++i) {
+      big.put(new Trade("S" + i, i), i);
+    }
+    assertTrue(big.size() <= 1_000);
+    assertEquals(100_000 - big.size(), big.getStats().getEvictionCount());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testExpiration() {
+    final AtomicLong now = new AtomicLong();
+    final DogTagCache<Trade, Integer> cache = new DogTagCache<>(tradeFactory, 100, 10L, TimeUnit.NANOSECONDS, 4, now::get);
+    cache.put(new Trade("A", 1), 1);
+    now.set(5L);
+    assertEquals(Integer.valueOf(1), cache.getIfPresent(new Trade("A", 1)));
+    now.set(10L);
+    assertNull(cache.getIfPresent(new Trade("A", 1)));
+    assertEquals(0, cache.size());
+    assertEquals(Integer.valueOf(2), cache.get(new Trade("A", 1), t -> 2));
+    now.set(15L);
+    assertEquals(Integer.valueOf(2), cache.get(new Trade("A", 1), t -> 3));
+    assertEquals(1, cache.getStats().getEvictionCount());
+  }
+
+  @Test
+  public void testConcurrentLoadRunsOnce() throws Exception {
+    final DogTagCache<Trade, Object> cache = new DogTagCache<>(tradeFactory, 100);
+    final AtomicInteger loads = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final List<Future<Object>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; ++t) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return cache.get(new Trade("A", 1), k -> {
+            loads.incrementAndGet();
+            try {
+              Thread.sleep(50L);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return new Object();
+          });
+        }));
+      }
+      start.countDown();
+      final Object first = futures.get(0).get();
+      for (final Future<Object> future : futures) {
+        assertSame(first, future.get());
+      }
+      assertEquals(1, loads.get());
+      assertEquals(1, cache.getStats().getMissCount());
+      assertEquals(THREADS - 1, cache.getStats().getHitCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testLoadsOutnumberMaximumSize() throws Exception {
+    final int loads = 6;
+    final DogTagCache<Trade, String> cache = new DogTagCache<>(tradeFactory, 2, 0L, TimeUnit.SECONDS, 1, System::nanoTime);
+    final CountDownLatch started = new CountDownLatch(loads);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger secondLoads = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(2 * loads);
+    try {
+      final List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < loads; ++i) {
+        final Trade trade = new Trade("T", i);
+        futures.add(executor.submit(() -> cache.get(trade, k -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return "first" + k.quantity;
+        })));
+      }
+      started.await();
+
+      // Every load is still in flight, so none may be evicted, and each of these must wait for the first load of its key.
+      for (int i = 0; i < loads; ++i) {
+        final Trade trade = new Trade("T", i);
+        futures.add(executor.submit(() -> cache.get(trade, k -> "second" + secondLoads.incrementAndGet())));
+      }
+      while ((cache.getStats().getHitCount() + cache.getStats().getMissCount()) < (2 * loads)) {
+        Thread.sleep(1L);
+      }
+      assertEquals(loads, cache.size());
+      release.countDown();
+      for (int i = 0; i < futures.size(); ++i) {
+        assertEquals("first" + (i % loads), futures.get(i).get());
+      }
+      assertEquals(0, secondLoads.get());
+      assertEquals(loads, cache.getStats().getHitCount());
+      assertEquals(2, cache.size());
+      assertEquals(loads - 2, cache.getStats().getEvictionCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testLoadFailure() throws Exception {
+    final DogTagCache<Trade, String> cache = new DogTagCache<>(tradeFactory, 100);
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<String> failing = executor.submit(() -> cache.get(new Trade("A", 1), k -> {
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IllegalStateException("boom");
+      }));
+      loading.await();
+      final Future<String> waiting = executor.submit(() -> cache.get(new Trade("A", 1), k -> "other"));
+
+      // The hit is counted once the waiter has joined the load in progress, so it must get the same failure.
+      while (cache.getStats().getHitCount() == 0L) {
+        Thread.sleep(1L);
+      }
+      release.countDown();
+      for (final Future<String> future : Arrays.asList(failing, waiting)) {
+        try {
+          future.get();
+          fail();
+        } catch (final ExecutionException e) {
+          assertTrue(e.getCause() instanceof IllegalStateException);
+          assertEquals("boom", e.getCause().getMessage());
+        }
+      }
+      assertEquals(1, cache.getStats().getHitCount());
+      assertEquals(1, cache.getStats().getLoadFailureCount());
+      assertEquals(0, cache.size());
+      assertEquals("next", cache.get(new Trade("A", 1), k -> "next"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCheckedLoadFailure() throws Exception {
+    final DogTagCache<Trade, String> cache = new DogTagCache<>(tradeFactory, 100);
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<String> failing = executor.submit(() -> cache.get(new Trade("A", 1), k -> {
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return DogTagCacheTest.<RuntimeException>sneakyThrow(new IOException("disk"));
+      }));
+      loading.await();
+      final Future<String> waiting = executor.submit(() -> cache.get(new Trade("A", 1), k -> "other"));
+      while (cache.getStats().getHitCount() == 0L) {
+        Thread.sleep(1L);
+      }
+      release.countDown();
+      try {
+        failing.get(10L, TimeUnit.SECONDS);
+        fail();
+      } catch (final ExecutionException e) {
+        assertTrue(e.getCause() instanceof IOException);
+      }
+      try {
+        waiting.get(10L, TimeUnit.SECONDS);
+        fail();
+      } catch (final ExecutionException e) {
+        assertTrue(e.getCause() instanceof CompletionException);
+        assertTrue(e.getCause().getCause() instanceof IOException);
+      }
+      assertEquals(1, cache.getStats().getLoadFailureCount());
+      assertEquals(0, cache.size());
+
+      // The key isn't stuck loading.
+      assertEquals("next", executor.submit(() -> cache.get(new Trade("A", 1), k -> "next")).get(10L, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> String sneakyThrow(final Throwable throwable) throws E {
+    throw (E) throwable;
+  }
+
+  @Test
+  public void testErrors() {
+    try {
+      new DogTagCache<>(tradeFactory, 0);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E24:"));
+    }
+    try {
+      new DogTagCache<>(tradeFactory, 10, -1L, TimeUnit.SECONDS);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E25:"));
+    }
+  }
+
+  private static final class Trade {
+    private final String symbol;
+    private final int quantity;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Trade(final String symbol, final int quantity) {
+      this.symbol = symbol;
+      this.quantity = quantity;
+    }
+  }
+}
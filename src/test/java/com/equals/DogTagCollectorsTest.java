@@ -0,0 +1,129 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:30 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagCollectorsTest {
+  private static final int COUNT = 100_000;
+
+  private static List<Item> makeItems() {
+    final Random random = new Random(17L);
+    final List<Item> items = new ArrayList<>(COUNT);
+    for (int i = 0; i < COUNT; ++i) {
+      items.add(new Item(random.nextInt(2_000), "s" + random.nextInt(3), i));
+    }
+    return items;
+  }
+
+  @Test
+  public void testGroupingIntoLists() {
+    final List<Item> items = makeItems();
+    final Map<Item, List<Item>> expected = items.stream().collect(Collectors.groupingBy(i -> i));
+    for (final boolean parallel : new boolean[] {false, true}) {
+      final ConcurrentDogTagHashMap<Item, List<Item>> groups = (parallel ? items.parallelStream() : items.stream())
+          .collect(DogTagCollectors.groupingByConcurrent(Item.factory));
+      assertEquals(expected.size(), groups.size());
+      assertSame(Item.factory, groups.getFactory());
+      for (final Map.Entry<Item, List<Item>> entry : expected.entrySet()) {
+        final List<Item> group = groups.get(entry.getKey());
+        assertEquals(entry.getValue().size(), group.size());
+        assertTrue(group.containsAll(entry.getValue()));
+      }
+    }
+  }
+
+  @Test
+  public void testDownstream() {
+    final List<Item> items = makeItems();
+    final Map<Item, Long> expectedCounts = items.stream().collect(Collectors.groupingBy(i -> i, Collectors.counting()));
+    final ConcurrentDogTagHashMap<Item, Long> counts = items.parallelStream()
+        .collect(DogTagCollectors.groupingByConcurrent(Item.factory, Collectors.counting()));
+    assertEquals(expectedCounts, counts);
+
+    // A concurrent downstream collector
+    final Collector<Item, ?, ConcurrentMap<String, Long>> byName = Collectors.groupingByConcurrent(i -> i.name,
+        Collectors.counting());
+    final ConcurrentDogTagHashMap<Item, ConcurrentMap<String, Long>> nested = items.parallelStream()
+        .collect(DogTagCollectors.groupingByConcurrent(Item.factory, byName));
+    assertEquals(expectedCounts.size(), nested.size());
+    for (final Map.Entry<Item, Long> entry : expectedCounts.entrySet()) {
+      assertEquals(entry.getValue(), nested.get(entry.getKey()).get(entry.getKey().name));
+    }
+  }
+
+  @Test
+  public void testClassifier() {
+    final List<Item> items = makeItems();
+    final DogTag.Factory<Item> numberOnly = DogTag.startEmpty(Item.class)
+        .addSimple(Item::getNumber)
+        .build();
+    final Map<Integer, Integer> expected = items.stream()
+        .collect(Collectors.groupingBy(Item::getNumber, Collectors.summingInt(Item::getSequence)));
+    final ConcurrentDogTagHashMap<Item, Integer> sums = IntStream.range(0, COUNT).parallel()
+        .mapToObj(items::get)
+        .collect(DogTagCollectors.groupingByConcurrent(i -> new Item(i.number, "", 0), numberOnly,
+            Collectors.summingInt(Item::getSequence), 2_000));
+    assertEquals(expected.size(), sums.size());
+    for (final Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), sums.get(new Item(entry.getKey(), "other", -1)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    DogTagCollectors.groupingByConcurrent((Item i) -> i, Item.factory, Collectors.counting(), -1);
+  }
+
+  private static final class Item {
+    private final int number;
+    private final String name;
+    @DogTagExclude
+    private final int sequence;
+    private static final DogTag.Factory<Item> factory = DogTag.startWithAll(Item.class).build();
+    private final DogTag<Item> dogTag = factory.tag(this);
+
+    Item(final int number, final String name, final int sequence) {
+      this.number = number;
+      this.name = name;
+      this.sequence = sequence;
+    }
+
+    int getNumber() {
+      return number;
+    }
+
+    int getSequence() {
+      return sequence;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:45 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagColumnsTest {
+  private static final Random random = new Random(23);
+  private static final DogTag.Factory<Row> lambdaFactory = DogTag.startEmpty(Row.class)
+      .withHashBuilder(1, new DogTag.SeededHashBuilder(0x5eedL))
+      .addSimple((Row r) -> r.flag)
+      .addSimple((Row r) -> r.count)
+      .addSimple((Row r) -> r.amount)
+      .addObject(r -> r.name)
+      .build();
+
+  @Test
+  public void testHashCodesAndEquality() {
+    final List<Row> rows = randomRows(3000);
+    for (final DogTag.Factory<Row> factory : Arrays.asList(Row.factory, lambdaFactory)) {
+      final DogTagColumns<Row> columns = new DogTagColumns<>(factory, 10); // grows as needed
+      columns.fill(rows);
+      assertEquals(rows.size(), columns.size());
+      final int[] hashes = columns.hashCodes(null);
+      for (int i = 0; i < rows.size(); ++i) {
+        assertEquals(factory.doHashCodeInternal(rows.get(i)), hashes[i]);
+      }
+      for (int i = 0; i < 300; ++i) {
+        for (int j = 0; j < 300; ++j) {
+          assertEquals(factory.doEqualsTest(rows.get(i), rows.get(j)), columns.rowsEqual(i, j));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEqualRows() {
+    final List<Row> before = randomRows(1000);
+    final List<Row> after = new ArrayList<>();
+    for (final Row row : before) {
+      after.add(random.nextInt(4) == 0 ? randomRow() : row.copy());
+    }
+    final DogTagColumns<Row> beforeColumns = new DogTagColumns<>(Row.factory);
+    final DogTagColumns<Row> afterColumns = new DogTagColumns<>(Row.factory);
+    beforeColumns.fill(before);
+    afterColumns.fill(after.toArray(new Row[0]));
+    final boolean[] equal = beforeColumns.equalRows(afterColumns, null);
+    for (int i = 0; i < before.size(); ++i) {
+      assertEquals(before.get(i).equals(after.get(i)), equal[i]);
+    }
+
+    afterColumns.fill(after.subList(0, 10));
+    try {
+      beforeColumns.equalRows(afterColumns, equal);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E30:"));
+    }
+  }
+
+  @Test
+  public void testColumns() {
+    final DogTagColumns<Row> columns = new DogTagColumns<>(Row.factory);
+    final Row row = new Row(true, 'q', 7, 9L, -1.5f, Double.NaN, "x", new int[] {1});
+    columns.fill(Arrays.asList(row, row.copy()));
+    assertEquals(8, columns.getColumnCount());
+    assertEquals(1, columns.getIntColumn(columns.indexOf("flag"))[0]);
+    assertEquals('q', columns.getIntColumn(columns.indexOf("letter"))[1]);
+    assertEquals(7, columns.getIntColumn(columns.indexOf("count"))[0]);
+    assertEquals(9L, columns.getLongColumn(columns.indexOf("total"))[0]);
+    assertEquals(-1.5f, columns.getFloatColumn(columns.indexOf("ratio"))[0], 0.0f);
+    assertTrue(Double.isNaN(columns.getDoubleColumn(columns.indexOf("amount"))[1]));
+    assertSame(row.name, columns.getObjectColumn(columns.indexOf("name"))[0]);
+    assertEquals(int[].class, columns.getColumnType(columns.indexOf("codes")));
+    assertTrue(columns.rowsEqual(0, 1)); // NaN equals NaN, as it does for the factory
+
+    // Reusing the columns clears stale references.
+    final Row other = randomRow();
+    columns.fill(new Row[] {other});
+    assertEquals(1, columns.size());
+    assertNull(columns.getObjectColumn(columns.indexOf("name"))[1]);
+    final int[] hashes = new int[1];
+    assertSame(hashes, columns.hashCodes(hashes));
+    assertArrayEquals(new int[] {other.hashCode()}, hashes);
+    try {
+      columns.rowsEqual(0, 1);
+      fail();
+    } catch (final IndexOutOfBoundsException ignored) { }
+  }
+
+  @Test
+  public void testErrors() {
+    final DogTagColumns<Row> columns = new DogTagColumns<>(Row.factory);
+    try {
+      columns.getLongColumn(columns.indexOf("count"));
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E21:"));
+    }
+    try {
+      columns.indexOf("missing");
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E20:"));
+    }
+    try {
+      new DogTagColumns<>(Row.factory, -1);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E16:"));
+    }
+  }
+
+  private static List<Row> randomRows(final int count) {
+    final List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      rows.add(randomRow());
+    }
+    return rows;
+  }
+
+  private static Row randomRow() {
+    final double[] doubles = {0.0, -0.0, Double.NaN, 1.0};
+    final float[] floats = {0.0f, -0.0f, Float.NaN, 2.0f};
+    final String[] names = {null, "a", "b"};
+    return new Row(random.nextBoolean(), (char) ('a' + random.nextInt(2)), random.nextInt(2), random.nextInt(2),
+        floats[random.nextInt(floats.length)], doubles[random.nextInt(doubles.length)], names[random.nextInt(names.length)],
+        random.nextBoolean() ? null : new int[] {random.nextInt(2)});
+  }
+
+  private static final class Row {
+    private final boolean flag;
+    private final char letter;
+    private final int count;
+    private final long total;
+    private final float ratio;
+    private final double amount;
+    private final String name;
+    private final int[] codes;
+    private static final DogTag.Factory<Row> factory = DogTag.startWithAll(Row.class).build();
+    private final DogTag<Row> dogTag = factory.tag(this);
+
+    Row(
+        final boolean flag,
+        final char letter,
+        final int count,
+        final long total,
+        final float ratio,
+        final double amount,
+        final String name,
+        final int[] codes
+    ) {
+      this.flag = flag;
+      this.letter = letter;
+      this.count = count;
+      this.total = total;
+      this.ratio = ratio;
+      this.amount = amount;
+      this.name = name;
+      this.codes = codes;
+    }
+
+    Row copy() {
+      return new Row(flag, letter, count, total, ratio, amount, (name == null) ? null : new String(name.toCharArray()),
+          (codes == null) ? null : codes.clone());
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
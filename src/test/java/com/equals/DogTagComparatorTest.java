@@ -0,0 +1,230 @@
+package com.equals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagComparatorTest {
+
+  @Test
+  public void testConsistentWithEquals() {
+    final Random random = new Random(17);
+    final List<Record> records = new ArrayList<>();
+    final double[] doubles = {0.0, -0.0, Double.NaN, 1.5, Double.NEGATIVE_INFINITY};
+    final String[] names = {null, "", "a", "b"};
+    for (int i = 0; i < 400; ++i) {
+      final int[] ints = new int[random.nextInt(3)];
+      for (int j = 0; j < ints.length; ++j) {
+        ints[j] = random.nextInt(3) - 1;
+      }
+      records.add(new Record(random.nextInt(2), (char) ('x' + random.nextInt(2)), doubles[random.nextInt(doubles.length)],
+          names[random.nextInt(names.length)], random.nextBoolean() ? null : ints));
+    }
+    verifyConsistent(Record.factory, records);
+    verifyConsistent(Record.lambdaFactory, records);
+  }
+
+  private static <T> void verifyConsistent(final DogTag.Factory<T> factory, final List<T> instances) {
+    final Comparator<T> comparator = factory.comparator();
+    for (final T a : instances) {
+      for (final T b : instances) {
+        final int ab = comparator.compare(a, b);
+        assertEquals(factory.doEqualsTest(a, b), ab == 0);
+        assertEquals(Integer.signum(ab), -Integer.signum(comparator.compare(b, a)));
+      }
+    }
+    final List<T> sorted = new ArrayList<>(instances);
+    sorted.sort(comparator);
+    for (int i = 1; i < sorted.size(); ++i) {
+      assertTrue(comparator.compare(sorted.get(i - 1), sorted.get(i)) <= 0);
+    }
+  }
+
+  @Test
+  public void testOrderAnnotation() {
+    final Comparator<Ordered> comparator = Ordered.factory.comparator();
+
+    // first is compared before second, which is compared before the unannotated field, regardless of declaration order
+    assertTrue(comparator.compare(new Ordered(9, 1, 9), new Ordered(0, 2, 0)) < 0);
+    assertTrue(comparator.compare(new Ordered(9, 1, 0), new Ordered(0, 1, 1)) < 0);
+    assertTrue(comparator.compare(new Ordered(0, 1, 1), new Ordered(9, 1, 1)) < 0);
+    assertEquals(0, comparator.compare(new Ordered(4, 5, 6), new Ordered(4, 5, 6)));
+  }
+
+  @Test
+  public void testPrimitiveOrdering() {
+    final Comparator<Record> comparator = Record.lambdaFactory.comparator();
+    assertTrue(comparator.compare(record(-0.0), record(0.0)) < 0);
+    assertTrue(comparator.compare(record(Double.POSITIVE_INFINITY), record(Double.NaN)) < 0);
+    assertEquals(0, comparator.compare(record(Double.NaN), record(0.0 / 0.0)));
+    assertTrue(comparator.compare(new Record(1, Character.MAX_VALUE, 0.0, "", null), new Record(1, 'a', 0.0, "", null)) > 0);
+    assertTrue(comparator.compare(new Record(-1, 'a', 0.0, "", null), new Record(1, 'a', 0.0, "", null)) < 0);
+  }
+
+  private static Record record(final double value) {
+    return new Record(0, 'a', value, "", null);
+  }
+
+  @Test
+  public void testArrays() {
+    final Comparator<Arrays2> comparator = Arrays2.factory.comparator();
+    final Arrays2 empty = new Arrays2(new Object[0], new float[0]);
+    final Arrays2 nested = new Arrays2(new Object[] {new int[] {1, 2}, "b"}, new float[] {1.0f});
+    final Arrays2 longer = new Arrays2(new Object[] {new int[] {1, 2, 0}, "a"}, new float[] {1.0f});
+    final Arrays2 same = new Arrays2(new Object[] {new int[] {1, 2}, "b"}, new float[] {1.0f});
+    final Arrays2 negativeZero = new Arrays2(new Object[] {new int[] {1, 2}, "b"}, new float[] {-0.0f});
+    assertTrue(comparator.compare(empty, nested) < 0);
+    assertTrue(comparator.compare(nested, longer) < 0);
+    assertEquals(0, comparator.compare(nested, same));
+    assertTrue(comparator.compare(negativeZero, nested) < 0);
+    assertNotEquals(0, comparator.compare(negativeZero, new Arrays2(new Object[] {new int[] {1, 2}, "b"}, new float[] {0.0f})));
+  }
+
+  @Test
+  public void testTiesBrokenByHash() {
+    final Comparator<Amount> comparator = Amount.factory.comparator();
+    final Amount one = new Amount(new BigDecimal("1.0"));
+    final Amount oneHundredths = new Amount(new BigDecimal("1.00"));
+    assertNotEquals(0, comparator.compare(one, oneHundredths));
+    assertEquals(Integer.signum(comparator.compare(one, oneHundredths)), -Integer.signum(comparator.compare(oneHundredths, one)));
+    assertEquals(0, comparator.compare(one, new Amount(new BigDecimal("1.0"))));
+  }
+
+  @Test
+  public void testArrayValues() {
+    final Random random = new Random(23);
+    final double[] doubles = {0.0, -0.0, Double.NaN, 1.5};
+    final List<Values> values = new ArrayList<>();
+    for (int i = 0; i < 600; ++i) {
+      final int[] ints = new int[random.nextInt(3)];
+      for (int j = 0; j < ints.length; ++j) {
+        ints[j] = random.nextInt(3) - 1;
+      }
+      values.add(new Values(random.nextBoolean() ? null : IntArrayValue.of(ints),
+          DoubleArrayValue.of(doubles[random.nextInt(doubles.length)])));
+    }
+    verifyConsistent(Values.factory, values.subList(0, 200));
+    verifyConsistent(Values.lambdaFactory, values.subList(0, 200));
+
+    final Comparator<Values> comparator = Values.factory.comparator();
+    final DoubleArrayValue zero = DoubleArrayValue.of(0.0);
+    assertTrue(comparator.compare(new Values(IntArrayValue.of(1, 2), zero), new Values(IntArrayValue.of(1, 2, 0), zero)) < 0);
+    assertTrue(comparator.compare(new Values(IntArrayValue.of(-1, 5), zero), new Values(IntArrayValue.of(1), zero)) < 0);
+    assertTrue(comparator.compare(new Values(null, zero), new Values(IntArrayValue.of(), zero)) < 0);
+    final IntArrayValue empty = IntArrayValue.of();
+    assertTrue(comparator.compare(new Values(empty, DoubleArrayValue.of(-0.0)), new Values(empty, zero)) < 0);
+    assertEquals(0, comparator.compare(new Values(IntArrayValue.of(3, 4), zero), new Values(IntArrayValue.of(3, 4), zero)));
+
+    DogTagSort.sort(Values.factory, values);
+    for (int i = 1; i < values.size(); ++i) {
+      assertTrue(comparator.compare(values.get(i - 1), values.get(i)) <= 0);
+    }
+  }
+
+  @Test
+  public void testNotComparable() {
+    final Comparator<Amount> comparator = DogTag.startEmpty(Amount.class).addObject(a -> new Object()).build().comparator();
+    try {
+      comparator.compare(new Amount(BigDecimal.ONE), new Amount(BigDecimal.ONE));
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E28:"));
+    }
+  }
+
+  private static final class Record {
+    private final int id;
+    private final char code;
+    private final double value;
+    private final String name;
+    private final int[] ints;
+    private static final DogTag.Factory<Record> factory = DogTag.startWithAll(Record.class).build();
+    private static final DogTag.Factory<Record> lambdaFactory = DogTag.startEmpty(Record.class)
+        .addSimple((Record r) -> r.id)
+        .addSimple((Record r) -> r.code)
+        .addSimple((Record r) -> r.value)
+        .addObject(r -> r.name)
+        .addArray((Record r) -> r.ints)
+        .build();
+
+    Record(final int id, final char code, final double value, final String name, final int[] ints) {
+      this.id = id;
+      this.code = code;
+      this.value = value;
+      this.name = name;
+      this.ints = ints;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d %c %s %s %s", id, code, value, name, Arrays.toString(ints));
+    }
+  }
+
+  private static final class Ordered {
+    private final int last;
+    @DogTagInclude(order = 20)
+    private final int second;
+    @DogTagInclude(order = 10)
+    private final int first;
+    private static final DogTag.Factory<Ordered> factory = DogTag.startWithAll(Ordered.class).build();
+
+    Ordered(final int last, final int first, final int second) {
+      this.last = last;
+      this.first = first;
+      this.second = second;
+    }
+  }
+
+  private static final class Arrays2 {
+    private final Object[] objects;
+    private final float[] floats;
+    private static final DogTag.Factory<Arrays2> factory = DogTag.startWithAll(Arrays2.class).build();
+
+    Arrays2(final Object[] objects, final float[] floats) {
+      this.objects = objects;
+      this.floats = floats;
+    }
+  }
+
+  private static final class Values {
+    private final IntArrayValue ints;
+    private final DoubleArrayValue doubles;
+    private static final DogTag.Factory<Values> factory = DogTag.startWithAll(Values.class).build();
+    private static final DogTag.Factory<Values> lambdaFactory = DogTag.startEmpty(Values.class)
+        .addObject(v -> v.ints)
+        .addObject(v -> v.doubles)
+        .build();
+
+    Values(final IntArrayValue ints, final DoubleArrayValue doubles) {
+      this.ints = ints;
+      this.doubles = doubles;
+    }
+  }
+
+  private static final class Amount {
+    private final BigDecimal amount;
+    private static final DogTag.Factory<Amount> factory = DogTag.startWithAll(Amount.class).build();
+
+    Amount(final BigDecimal amount) {
+      this.amount = amount;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 7:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagDedupTest {
+
+  @Test
+  public void testSmall() {
+    final Item[] items = {
+        new Item(1, "a"), new Item(2, "b"), new Item(1, "a"), new Item(3, "c"), new Item(2, "b"), new Item(1, "a")
+    };
+    final List<Item> distinct = DogTagDedup.distinct(Item.factory, items);
+    assertEquals(3, distinct.size());
+    assertSame(items[0], distinct.get(0));
+    assertSame(items[1], distinct.get(1));
+    assertSame(items[3], distinct.get(2));
+
+    final List<List<Item>> groups = DogTagDedup.duplicateGroups(Item.factory, items);
+    assertEquals(2, groups.size());
+    assertEquals(Arrays.asList(items[0], items[2], items[5]), groups.get(0));
+    assertSame(items[2], groups.get(0).get(1));
+    assertEquals(Arrays.asList(items[1], items[4]), groups.get(1));
+
+    assertEquals(Collections.emptyList(), DogTagDedup.distinct(Item.factory, new Item[0]));
+    assertEquals(Collections.emptyList(), DogTagDedup.duplicateGroups(Item.factory, new Item[0]));
+  }
+
+  @Test
+  public void testLarge() {
+    // Enough items to use many partitions
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final Random random = new Random(31L);
+      final Item[] items = new Item[200_000];
+      for (int i = 0; i < items.length; ++i) {
+        items[i] = new Item(random.nextInt(50_000), "s" + random.nextInt(3));
+      }
+      verify(items, DogTagDedup.distinct(Item.factory, items, pool), DogTagDedup.duplicateGroups(Item.factory, items, pool));
+      verify(items, DogTagDedup.distinct(Item.factory, items), DogTagDedup.duplicateGroups(Item.factory, items));
+
+      final List<Item> list = Arrays.asList(items);
+      verify(items, DogTagDedup.distinct(Item.factory, list), DogTagDedup.duplicateGroups(Item.factory, list));
+      verify(items, DogTagDedup.distinct(Item.factory, list.spliterator()),
+          DogTagDedup.duplicateGroups(Item.factory, list.stream().filter(i -> true).spliterator()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void verify(final Item[] items, final List<Item> distinct, final List<List<Item>> groups) {
+    // The items implement equals() and hashCode() with the same factory, so the JDK classes give the expected results.
+    final List<Item> expectedDistinct = Arrays.stream(items).distinct().collect(Collectors.toList());
+    assertEquals(expectedDistinct.size(), distinct.size());
+    for (int i = 0; i < distinct.size(); ++i) {
+      assertSame(expectedDistinct.get(i), distinct.get(i));
+    }
+
+    final Map<Item, List<Item>> grouped = new LinkedHashMap<>();
+    for (final Item item : items) {
+      grouped.computeIfAbsent(item, k -> new ArrayList<>()).add(item);
+    }
+    final List<List<Item>> expectedGroups = grouped.values().stream()
+        .filter(g -> g.size() > 1)
+        .collect(Collectors.toList());
+    assertEquals(expectedGroups.size(), groups.size());
+    for (int i = 0; i < groups.size(); ++i) {
+      final List<Item> expected = expectedGroups.get(i);
+      final List<Item> group = groups.get(i);
+      assertEquals(expected.size(), group.size());
+      for (int j = 0; j < group.size(); ++j) {
+        assertSame(expected.get(j), group.get(j));
+      }
+    }
+  }
+
+  @Test
+  public void testNull() {
+    try {
+      DogTagDedup.distinct(Item.factory, new Item[] {new Item(1, "a"), null});
+      fail();
+    } catch (final NullPointerException ignored) { }
+  }
+
+  @Test
+  public void testCollidingHashes() {
+    // Every item has the same hash code, so everything lands in one partition and one probe sequence.
+    final DogTag.Factory<Item> factory = DogTag.startEmpty(Item.class)
+        .addSimple(Item::getNumber)
+        .withHashBuilder(0, (int previousHash, Object value) -> 0)
+        .build();
+    final Item[] items = new Item[3_000];
+    for (int i = 0; i < items.length; ++i) {
+      items[i] = new Item(i % 1_000, "");
+    }
+    final List<Item> distinct = DogTagDedup.distinct(factory, items);
+    assertEquals(1_000, distinct.size());
+    for (int i = 0; i < distinct.size(); ++i) {
+      assertSame(items[i], distinct.get(i));
+    }
+    final List<List<Item>> groups = DogTagDedup.duplicateGroups(factory, items);
+    assertEquals(1_000, groups.size());
+    assertTrue(groups.stream().allMatch(g -> g.size() == 3));
+  }
+
+  private static final class Item {
+    private final int number;
+    private final String name;
+    private static final DogTag.Factory<Item> factory = DogTag.startWithAll(Item.class).build();
+    private final DogTag<Item> dogTag = factory.tag(this);
+
+    Item(final int number, final String name) {
+      this.number = number;
+      this.name = name;
+    }
+
+    int getNumber() {
+      return number;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
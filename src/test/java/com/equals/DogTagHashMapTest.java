@@ -0,0 +1,171 @@
+package com.equals;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 2:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagHashMapTest {
+  private static final DogTag.Factory<Point> pointFactory = DogTag.startWithAll(Point.class).build();
+
+  @Test
+  public void testBasics() {
+    final DogTagHashMap<Point, String> map = new DogTagHashMap<>(pointFactory);
+    assertTrue(map.isEmpty());
+    assertNull(map.put(new Point(1, 2), "a"));
+    assertNull(map.put(new Point(2, 1), "b"));
+    assertEquals("a", map.put(new Point(1, 2), "c")); // Point doesn't override equals(), so only the factory can match these.
+    assertEquals(2, map.size());
+    assertEquals("c", map.get(new Point(1, 2)));
+    assertEquals("b", map.get(new Point(2, 1)));
+    assertNull(map.get(new Point(3, 3)));
+    assertNull(map.get("wrong type"));
+    assertFalse(map.containsKey(null));
+    assertTrue(map.containsValue("b"));
+    assertEquals("b", map.putIfAbsent(new Point(2, 1), "d"));
+    assertEquals("c", map.remove(new Point(1, 2)));
+    assertNull(map.remove(new Point(1, 2)));
+    assertEquals(1, map.size());
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(new Point(2, 1)));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullKey() {
+    new DogTagHashMap<Point, String>(pointFactory).put(null, "x");
+  }
+
+  /**
+   * Run a long sequence of random puts and removes, including removes through the iterator, and check against a HashMap keyed by
+   * each point's coordinates. The small coordinate range produces lots of collisions and long clusters.
+   */
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random(1234L);
+    final DogTagHashMap<Point, Integer> map = new DogTagHashMap<>(pointFactory);
+    final Map<Long, Integer> reference = new HashMap<>();
+    for (int i = 0; i < 200_000; ++i) {
+      final Point point = new Point(random.nextInt(40), random.nextInt(40));
+      if (random.nextInt(3) == 0) {
+        assertEquals(reference.remove(point.id()), map.remove(point));
+      } else {
+        assertEquals(reference.put(point.id(), i), map.put(point, i));
+      }
+      assertEquals(reference.size(), map.size());
+      if ((i % 5_000) == 0) {
+        removeThroughIterator(map, reference, random);
+      }
+    }
+    for (final Map.Entry<Long, Integer> entry : reference.entrySet()) {
+      final long id = entry.getKey();
+      assertEquals(entry.getValue(), map.get(new Point((int) (id >> 32), (int) id)));
+    }
+  }
+
+  private static void removeThroughIterator(final DogTagHashMap<Point, Integer> map, final Map<Long, Integer> reference,
+                                            final Random random) {
+    final Set<Long> seen = new HashSet<>();
+    final Iterator<Map.Entry<Point, Integer>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Point, Integer> entry = iterator.next();
+      final long id = entry.getKey().id();
+      assertTrue("Visited twice", seen.add(id));
+      assertEquals(reference.get(id), entry.getValue());
+      if (random.nextBoolean()) {
+        iterator.remove();
+        reference.remove(id);
+      }
+    }
+    assertEquals(reference.size(), map.size());
+    for (final Long id : reference.keySet()) {
+      assertTrue("Never visited", seen.contains(id));
+    }
+  }
+
+  @Test
+  public void testGrowth() {
+    final DogTagHashMap<Point, Integer> map = new DogTagHashMap<>(pointFactory, 2);
+    for (int i = 0; i < 10_000; ++i) {
+      map.put(new Point(i, -i), i);
+    }
+    assertEquals(10_000, map.size());
+    for (int i = 0; i < 10_000; ++i) {
+      assertEquals(Integer.valueOf(i), map.get(new Point(i, -i)));
+    }
+    int sum = 0;
+    for (final int value : map.values()) {
+      sum += value;
+    }
+    assertEquals((9_999 * 10_000) / 2, sum);
+  }
+
+  @Test
+  public void testEntries() {
+    final DogTagHashMap<Point, String> map = new DogTagHashMap<>(pointFactory);
+    map.put(new Point(5, 6), "x");
+    final Map.Entry<Point, String> entry = map.entrySet().iterator().next();
+    assertEquals("x", entry.setValue("y"));
+    assertEquals("y", map.get(new Point(5, 6)));
+    assertEquals("y", entry.getValue());
+  }
+
+  @Test
+  public void testSet() {
+    final DogTagHashSet<Point> set = new DogTagHashSet<>(pointFactory);
+    assertTrue(set.add(new Point(1, 1)));
+    assertFalse(set.add(new Point(1, 1)));
+    assertTrue(set.add(new Point(1, 2)));
+    assertTrue(set.contains(new Point(1, 2)));
+    assertEquals(2, set.size());
+    assertTrue(set.remove(new Point(1, 1)));
+    assertFalse(set.remove(new Point(1, 1)));
+    assertEquals(1, set.size());
+    assertEquals(1, set.iterator().next().x);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    new DogTagHashMap<Point, String>(pointFactory, -1);
+  }
+
+  @Test
+  public void testCapacity() {
+    assertEquals(8, DogTagHashMap.capacityFor(0));
+    assertEquals(8, DogTagHashMap.capacityFor(4));
+    assertEquals(16, DogTagHashMap.capacityFor(5));
+    assertEquals(16, DogTagHashMap.capacityFor(8));
+    assertEquals(32, DogTagHashMap.capacityFor(9));
+  }
+
+  private static final class Point {
+    private final int x;
+    private final int y;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Point(final int x, final int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    long id() {
+      return (((long) x) << 32) | (y & 0xFFFFFFFFL);
+    }
+  }
+}
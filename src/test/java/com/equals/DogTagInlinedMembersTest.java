@@ -0,0 +1,281 @@
+package com.equals;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 7:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "AssignmentToStaticFieldFromInstanceMethod"})
+public class DogTagInlinedMembersTest {
+  private static final DogTag.Factory<Route> depthOneFactory = DogTag.startWithAll(Route.class).withInlinedMembers(1).build();
+  private static final DogTag.Factory<Route> depthTwoFactory = DogTag.startWithAll(Route.class).withInlinedMembers(2).build();
+  private static final DogTag.Factory<Holder> inlinedHolderFactory = DogTag.startWithAll(Holder.class).withInlinedMembers(1).build();
+  private final Random random = new Random(53);
+
+  @Test
+  public void testMatchesMemberMethods() {
+    final Route[] routes = new Route[200];
+    for (int i = 0; i < routes.length; ++i) {
+      routes[i] = randomRoute();
+    }
+    for (final Route route : routes) {
+      final Route copy = route.copy();
+      final Route sharing = new Route(route.first, route.second, route.name);
+      final int hash = Route.factory.doHashCodeInternal(route);
+      for (final DogTag.Factory<Route> factory : new DogTag.Factory[] {depthOneFactory, depthTwoFactory}) {
+        assertEquals(hash, factory.doHashCodeInternal(route));
+        assertTrue(factory.doEqualsTest(route, copy));
+        assertTrue(factory.doEqualsTest(route, sharing));
+        for (final Route other : routes) {
+          assertEquals(Route.factory.doEqualsTest(route, other), factory.doEqualsTest(route, other));
+        }
+      }
+    }
+
+    for (int i = 0; i < 200; ++i) {
+      final Holder holder = randomHolder();
+      final Holder other = random.nextBoolean() ? holder.copy() : randomHolder();
+      assertEquals(Holder.factory.doHashCodeInternal(holder), inlinedHolderFactory.doHashCodeInternal(holder));
+      assertEquals(Holder.factory.doEqualsTest(holder, other), inlinedHolderFactory.doEqualsTest(holder, other));
+    }
+  }
+
+  @Test
+  public void testInlining() {
+    final Route route = new Route(new Segment(new Point(1, 2), new Point(3, 4)), null, "a");
+    final Route copy = route.copy();
+
+    resetCounts();
+    assertTrue(depthTwoFactory.doEqualsTest(route, copy));
+    depthTwoFactory.doHashCodeInternal(route);
+    assertEquals(0, Segment.calls);
+    assertEquals(0, Point.calls);
+
+    assertTrue(depthOneFactory.doEqualsTest(route, copy));
+    depthOneFactory.doHashCodeInternal(route);
+    assertEquals(0, Segment.calls);
+    assertEquals(4, Point.calls);
+
+    resetCounts();
+    assertTrue(Route.factory.doEqualsTest(route, copy));
+    Route.factory.doHashCodeInternal(route);
+    assertEquals(2, Segment.calls);
+
+    // Lambda factories are called directly. Cached hash codes come from hashCode(). Classes that aren't final aren't inlined.
+    final Holder holder = new Holder(new Tagged(5), new Cached(6), new Open(7));
+    resetCounts();
+    assertTrue(inlinedHolderFactory.doEqualsTest(holder, holder.copy()));
+    inlinedHolderFactory.doHashCodeInternal(holder);
+    assertEquals(0, Tagged.calls);
+    assertEquals(1, Cached.calls);
+    assertEquals(2, Open.calls);
+  }
+
+  @Test
+  public void testNegativeDepth() {
+    try {
+      DogTag.startWithAll(Route.class).withInlinedMembers(-1);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E34:"));
+    }
+  }
+
+  private static void resetCounts() {
+    Point.calls = 0;
+    Segment.calls = 0;
+    Tagged.calls = 0;
+    Cached.calls = 0;
+    Open.calls = 0;
+  }
+
+  private Point randomPoint() {
+    return (random.nextInt(8) == 0) ? null : new Point(random.nextInt(2), random.nextInt(2));
+  }
+
+  private Route randomRoute() {
+    final Segment first = (random.nextInt(8) == 0) ? null : new Segment(randomPoint(), randomPoint());
+    final Segment second = (random.nextInt(8) == 0) ? null : new Segment(randomPoint(), randomPoint());
+    return new Route(first, second, random.nextBoolean() ? "a" : null);
+  }
+
+  private Holder randomHolder() {
+    return new Holder(random.nextBoolean() ? null : new Tagged(random.nextInt(2)), new Cached(random.nextInt(2)),
+        new Open(random.nextInt(2)));
+  }
+
+  private static final class Point {
+    private static int calls;
+    private final int x;
+    private final int y;
+    private static final DogTag.Factory<Point> factory = DogTag.startWithAll(Point.class).build();
+    private final DogTag<Point> dogTag = factory.tag(this);
+
+    Point(final int x, final int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      calls++;
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      calls++;
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Segment {
+    private static int calls;
+    private final Point start;
+    private final Point end;
+    private static final DogTag.Factory<Segment> factory = DogTag.startWithAll(Segment.class).build();
+    private final DogTag<Segment> dogTag = factory.tag(this);
+
+    Segment(final Point start, final Point end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    Segment copy() {
+      return new Segment((start == null) ? null : new Point(start.x, start.y), (end == null) ? null : new Point(end.x, end.y));
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      calls++;
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      calls++;
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Route {
+    private final Segment first;
+    private final Segment second;
+    private final String name;
+    private static final DogTag.Factory<Route> factory = DogTag.startWithAll(Route.class).build();
+
+    Route(final Segment first, final Segment second, final String name) {
+      this.first = first;
+      this.second = second;
+      this.name = name;
+    }
+
+    Route copy() {
+      return new Route((first == null) ? null : first.copy(), (second == null) ? null : second.copy(), name);
+    }
+  }
+
+  private static final class Tagged {
+    private static int calls;
+    private final int code;
+    private static final DogTag.Factory<Tagged> factory = DogTag.startEmpty(Tagged.class).addSimple(Tagged::getCode).build();
+    private final DogTag<Tagged> dogTag = factory.tag(this);
+
+    Tagged(final int code) {
+      this.code = code;
+    }
+
+    int getCode() {
+      return code;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      calls++;
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      calls++;
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Cached {
+    private static int calls;
+    private final int code;
+    private static final DogTag.Factory<Cached> factory = DogTag.startWithAll(Cached.class).withCachedHash(true).build();
+    private final DogTag<Cached> dogTag = factory.tag(this);
+
+    Cached(final int code) {
+      this.code = code;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      calls++;
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      calls++;
+      return dogTag.hashCode();
+    }
+  }
+
+  private static class Open {
+    private static int calls;
+    private final int code;
+    private static final DogTag.Factory<Open> factory = DogTag.startWithAll(Open.class).build();
+    private final DogTag<Open> dogTag = factory.tag(this);
+
+    Open(final int code) {
+      this.code = code;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      calls++;
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      calls++;
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Holder {
+    private final Tagged tagged;
+    private final Cached cached;
+    private final Open open;
+    private static final DogTag.Factory<Holder> factory = DogTag.startWithAll(Holder.class).build();
+
+    Holder(final Tagged tagged, final Cached cached, final Open open) {
+      this.tagged = tagged;
+      this.cached = cached;
+      this.open = open;
+    }
+
+    Holder copy() {
+      return new Holder((tagged == null) ? null : new Tagged(tagged.code), new Cached(cached.code), new Open(open.code));
+    }
+  }
+}
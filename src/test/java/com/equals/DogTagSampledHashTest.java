@@ -0,0 +1,191 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 2:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "unused", "FieldMayBeFinal"})
+public class DogTagSampledHashTest {
+  private static final int SIZE = 100_000;
+
+  @Test
+  public void testSampledHashConsistentWithEquals() {
+    final DogTag.Factory<Snapshot> lambdaFactory = DogTag.startEmpty(Snapshot.class)
+        .addSimple(Snapshot::getId)
+        .addSampled(Snapshot::getPrices, 16)
+        .addSampled(Snapshot::getVolumes, 16)
+        .addSampled(Snapshot::getTags, 16)
+        .build();
+    for (final DogTag.Factory<Snapshot> factory : Arrays.asList(Snapshot.factory, lambdaFactory)) {
+      final Snapshot snapshot = Snapshot.create(SIZE);
+      final Snapshot copy = snapshot.copy(new LinkedList<>(snapshot.volumes));
+      assertTrue(factory.doEqualsTest(snapshot, copy));
+      assertEquals(factory.doHashCodeInternal(snapshot), factory.doHashCodeInternal(copy));
+
+      // The plan hashes the same way as the factory.
+      final DogTagColumns<Snapshot> columns = new DogTagColumns<>(factory);
+      columns.fill(Arrays.asList(snapshot, copy));
+      final int[] hashes = columns.hashCodes(null);
+      assertEquals(factory.doHashCodeInternal(snapshot), hashes[0]);
+      assertEquals(factory.doHashCodeInternal(copy), hashes[1]);
+
+      // A change between sampled positions is still caught by equals, but not by the hash.
+      final Snapshot unsampled = snapshot.copy(snapshot.volumes);
+      unsampled.prices[1] += 1.0;
+      assertFalse(factory.doEqualsTest(snapshot, unsampled));
+      assertEquals(factory.doHashCodeInternal(snapshot), factory.doHashCodeInternal(unsampled));
+
+      // The length and the last element are always hashed.
+      final Snapshot appended = snapshot.copy(snapshot.volumes);
+      appended.prices[SIZE - 1] += 1.0;
+      assertNotEquals(factory.doHashCodeInternal(snapshot), factory.doHashCodeInternal(appended));
+      final List<Long> longer = new ArrayList<>(snapshot.volumes);
+      longer.add(0L);
+      assertNotEquals(factory.doHashCodeInternal(snapshot), factory.doHashCodeInternal(snapshot.copy(longer)));
+    }
+  }
+
+  @Test
+  public void testSmallAndNullValues() {
+    final Snapshot small = Snapshot.create(3);
+    assertEquals(Snapshot.factory.doHashCodeInternal(small), Snapshot.factory.doHashCodeInternal(small.copy(small.volumes)));
+    final Snapshot empty = new Snapshot(1, new double[0], null, new Object[0]);
+    final Snapshot otherEmpty = new Snapshot(1, new double[0], null, new Object[0]);
+    assertTrue(Snapshot.factory.doEqualsTest(empty, otherEmpty));
+    assertEquals(Snapshot.factory.doHashCodeInternal(empty), Snapshot.factory.doHashCodeInternal(otherEmpty));
+  }
+
+  @Test
+  public void testStableHash() {
+    final DogTag.Factory<Fleet> factory = DogTag.startWithAll(Fleet.class)
+        .withStableHash(true)
+        .build();
+    final Side[] sides = new Side[SIZE];
+    for (int i = 0; i < SIZE; ++i) {
+      sides[i] = Side.values()[i % 2];
+    }
+    final Fleet fleet = new Fleet(sides);
+    final Fleet copy = new Fleet(sides.clone());
+    assertTrue(factory.doEqualsTest(fleet, copy));
+    assertEquals(factory.doHashCodeInternal(fleet), factory.doHashCodeInternal(copy));
+    // Enums are hashed by name, so the value is the same in every JVM.
+    assertEquals(2083399003, factory.doHashCodeInternal(new Fleet(new Side[] {Side.BUY, null, Side.SELL})));
+  }
+
+  @Test
+  public void testErrors() {
+    try {
+      DogTag.startWithAll(NotAList.class).build();
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E31:"));
+    }
+    try {
+      DogTag.startWithAll(NoSamples.class).build();
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E32:"));
+    }
+    try {
+      DogTag.startEmpty(Snapshot.class).addSampled(Snapshot::getPrices, 0);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E32:"));
+    }
+  }
+
+  private enum Side {BUY, SELL}
+
+  private static final class Snapshot {
+    private final int id;
+    @DogTagSampledHash(samples = 16)
+    private final double[] prices;
+    @DogTagSampledHash(samples = 16)
+    private final List<Long> volumes;
+    @DogTagSampledHash(samples = 16)
+    private final Object[] tags;
+    private static final DogTag.Factory<Snapshot> factory = DogTag.startWithAll(Snapshot.class).build();
+
+    Snapshot(final int id, final double[] prices, final List<Long> volumes, final Object[] tags) {
+      this.id = id;
+      this.prices = prices;
+      this.volumes = volumes;
+      this.tags = tags;
+    }
+
+    static Snapshot create(final int size) {
+      final double[] prices = new double[size];
+      final List<Long> volumes = new ArrayList<>();
+      final Object[] tags = new Object[size];
+      for (int i = 0; i < size; ++i) {
+        prices[i] = i * 0.25;
+        volumes.add(i * 7L);
+        tags[i] = ((i % 3) == 0) ? Side.values()[i % 2] : new int[] {i};
+      }
+      return new Snapshot(42, prices, volumes, tags);
+    }
+
+    Snapshot copy(final List<Long> newVolumes) {
+      final Object[] tagsCopy = tags.clone();
+      for (int i = 0; i < tagsCopy.length; ++i) {
+        if (tagsCopy[i] instanceof int[]) {
+          tagsCopy[i] = ((int[]) tagsCopy[i]).clone();
+        }
+      }
+      return new Snapshot(id, prices.clone(), newVolumes, tagsCopy);
+    }
+
+    int getId() {
+      return id;
+    }
+
+    double[] getPrices() {
+      return prices;
+    }
+
+    List<Long> getVolumes() {
+      return volumes;
+    }
+
+    Object[] getTags() {
+      return tags;
+    }
+  }
+
+  private static final class Fleet {
+    @DogTagSampledHash(samples = 8)
+    private final Side[] sides;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Fleet(final Side[] sides) {
+      this.sides = sides;
+    }
+  }
+
+  private static final class NotAList {
+    @DogTagSampledHash
+    private String name;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+  }
+
+  private static final class NoSamples {
+    @DogTagSampledHash(samples = 0)
+    private int[] values;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+  }
+}
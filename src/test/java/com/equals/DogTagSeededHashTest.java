@@ -0,0 +1,233 @@
+package com.equals;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.junit.Test;
+
+import static com.equals.TestUtility.verifyMatches;
+import static com.equals.TestUtility.verifyNoMatch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:05 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagSeededHashTest {
+  private static final int KEY_COUNT = 4096;
+
+  /**
+   * With the default hash builder, every key in the crafted set lands in the same HashMap bucket. With a seeded hash builder, they
+   * spread out across the table about as well as random keys would.
+   */
+  @Test
+  public void testAdversarialCollisions() {
+    final DogTag.Factory<Pair> defaultFactory = DogTag.startWithAll(Pair.class).build();
+    final DogTag.Factory<Pair> seededFactory = DogTag.startWithAll(Pair.class)
+        .withHashBuilder(1, new DogTag.SeededHashBuilder(0x5eed_cafe_f00dL))
+        .build();
+    final DogTag.Factory<Pair> lambdaSeededFactory = DogTag.startEmpty(Pair.class)
+        .addSimple(Pair::getAlpha)
+        .addSimple(Pair::getBravo)
+        .withHashBuilder(1, DogTag.SeededHashBuilder.perJvm())
+        .build();
+
+    final Pair[] crafted = new Pair[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; ++i) {
+      crafted[i] = new Pair(i, -31 * i); // (31 * alpha) + bravo is always zero
+    }
+
+    assertEquals(1, countBuckets(defaultFactory, crafted));
+
+    // A table with twice as many buckets as keys should have roughly 80% of the keys in distinct buckets.
+    assertTrue(countBuckets(seededFactory, crafted) > (KEY_COUNT * 3) / 4);
+    assertTrue(countBuckets(lambdaSeededFactory, crafted) > (KEY_COUNT * 3) / 4);
+  }
+
+  /**
+   * Long.hashCode() folds the high half of a long into the low half, so every value of the form (i << 32) | i hashes to zero. The
+   * seeded hash builder hashes all 64 bits, so these keys spread out.
+   */
+  @Test
+  public void testAdversarialLongs() {
+    final DogTag.SeededHashBuilder hashBuilder = new DogTag.SeededHashBuilder(0x5eed_cafe_f00dL);
+    final DogTag.Factory<Tag> defaultFactory = DogTag.startWithAll(Tag.class).build();
+    final DogTag.Factory<Tag> seededFactory = DogTag.startWithAll(Tag.class)
+        .withHashBuilder(1, hashBuilder)
+        .build();
+    final DogTag.Factory<Tag> lambdaSeededFactory = DogTag.startEmpty(Tag.class)
+        .addSimple(Tag::getId)
+        .addString(Tag::getName)
+        .withHashBuilder(1, hashBuilder)
+        .build();
+
+    final Tag[] crafted = new Tag[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; ++i) {
+      crafted[i] = new Tag(((long) i << 32) | i, "name");
+    }
+
+    assertEquals(1, countBuckets(defaultFactory, crafted));
+    assertTrue(countBuckets(seededFactory, crafted) > (KEY_COUNT * 3) / 4);
+    assertTrue(countBuckets(lambdaSeededFactory, crafted) > (KEY_COUNT * 3) / 4);
+    assertSameHashes(seededFactory, lambdaSeededFactory, crafted);
+  }
+
+  /**
+   * "Aa" and "BB" have the same String.hashCode(), so every String made of the same number of these blocks does, too. The seeded
+   * hash builder hashes the chars of each String with its seed, so these keys spread out.
+   */
+  @Test
+  public void testAdversarialStrings() {
+    final DogTag.SeededHashBuilder hashBuilder = new DogTag.SeededHashBuilder(0x5eed_cafe_f00dL);
+    final DogTag.Factory<Tag> defaultFactory = DogTag.startWithAll(Tag.class).build();
+    final DogTag.Factory<Tag> seededFactory = DogTag.startWithAll(Tag.class)
+        .withHashBuilder(1, hashBuilder)
+        .build();
+    final DogTag.Factory<Tag> lambdaSeededFactory = DogTag.startEmpty(Tag.class)
+        .addSimple(Tag::getId)
+        .addObject(Tag::getName, String.class)
+        .withHashBuilder(1, hashBuilder)
+        .build();
+
+    final Tag[] crafted = new Tag[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; ++i) {
+      final StringBuilder name = new StringBuilder();
+      for (int bit = 1; bit < KEY_COUNT; bit <<= 1) {
+        name.append(((i & bit) == 0) ? "Aa" : "BB");
+      }
+      crafted[i] = new Tag(7L, name.toString());
+    }
+
+    assertEquals(1, countBuckets(defaultFactory, crafted));
+    assertTrue(countBuckets(seededFactory, crafted) > (KEY_COUNT * 3) / 4);
+    assertTrue(countBuckets(lambdaSeededFactory, crafted) > (KEY_COUNT * 3) / 4);
+    assertSameHashes(seededFactory, lambdaSeededFactory, crafted);
+    verifyMatches(seededFactory, crafted[5], new Tag(7L, crafted[5].getName()));
+    verifyNoMatch(seededFactory, crafted[5], crafted[6]);
+  }
+
+  /**
+   * SipHash-2-4 test vectors from the reference implementation, with the key 00 01 02 ... 0f, and the messages 00 01 02 ... of
+   * lengths 0, 2, 6, and 8. Strings are hashed as little-endian chars, so the 2-byte message is the char 0x0100.
+   */
+  @Test
+  public void testSipHash() {
+    final long k0 = 0x0706050403020100L;
+    final long k1 = 0x0f0e0d0c0b0a0908L;
+    assertEquals(0x726fdb47dd0e0e31L, SipHash.hash(k0, k1, ""));
+    assertEquals(0x0d6c8009d9a94f5aL, SipHash.hash(k0, k1, "\u0100"));
+    assertEquals(0xcbc9466e58fee3ceL, SipHash.hash(k0, k1, "\u0100\u0302\u0504"));
+    assertEquals(0x93f5f5799a932462L, SipHash.hash(k0, k1, 0x0706050403020100L));
+  }
+
+  @Test
+  public void testSeededEquality() {
+    final DogTag.Factory<Pair> seededFactory = DogTag.startWithAll(Pair.class)
+        .withHashBuilder(1, new DogTag.SeededHashBuilder())
+        .build();
+    verifyMatches(seededFactory, new Pair(3, 4), new Pair(3, 4));
+    verifyNoMatch(seededFactory, new Pair(3, 4), new Pair(4, 3));
+  }
+
+  @Test
+  public void testSeeds() {
+    final Pair pair = new Pair(12, 34);
+    final DogTag.Factory<Pair> seed1 = DogTag.startEmpty(Pair.class)
+        .addSimple(Pair::getAlpha)
+        .addSimple(Pair::getBravo)
+        .withHashBuilder(1, new DogTag.SeededHashBuilder(1L))
+        .build();
+    final DogTag.Factory<Pair> seed1Again = DogTag.startWithAll(Pair.class)
+        .withHashBuilder(1, new DogTag.SeededHashBuilder(1L))
+        .build();
+    final DogTag.Factory<Pair> seed2 = DogTag.startWithAll(Pair.class)
+        .withHashBuilder(1, new DogTag.SeededHashBuilder(2L))
+        .build();
+    assertEquals(seed1.doHashCodeInternal(pair), seed1Again.doHashCodeInternal(pair));
+    assertNotEquals(seed1.doHashCodeInternal(pair), seed2.doHashCodeInternal(pair));
+    assertSame(DogTag.SeededHashBuilder.perJvm(), DogTag.SeededHashBuilder.perJvm());
+  }
+
+  /**
+   * The lambda factory now goes through the HashBuilder, so this verifies its default hash is unchanged.
+   */
+  @Test
+  public void testLambdaDefaultHash() {
+    final DogTag.Factory<Pair> lambdaFactory = DogTag.startEmpty(Pair.class)
+        .addSimple(Pair::getAlpha)
+        .addSimple(Pair::getBravo)
+        .build();
+    final DogTag.Factory<Pair> customFactory = DogTag.startEmpty(Pair.class)
+        .addSimple(Pair::getAlpha)
+        .addSimple(Pair::getBravo)
+        .withHashBuilder(1, (int i, Object v) -> (i * 4567) + v.hashCode())
+        .build();
+    final Pair pair = new Pair(5, 6);
+    assertEquals(Objects.hash(5, 6), lambdaFactory.doHashCodeInternal(pair));
+    assertEquals((((4567) + 5) * 4567) + 6, customFactory.doHashCodeInternal(pair));
+  }
+
+  private static void assertSameHashes(final DogTag.Factory<Tag> expected, final DogTag.Factory<Tag> actual, final Tag[] keys) {
+    for (final Tag tag : keys) {
+      assertEquals(expected.doHashCodeInternal(tag), actual.doHashCodeInternal(tag));
+    }
+  }
+
+  /**
+   * Count the buckets used in a HashMap table with twice as many buckets as keys, using the same bit-spreading as HashMap.
+   */
+  private static <T> int countBuckets(final DogTag.Factory<T> factory, final T[] keys) {
+    final int mask = (keys.length * 2) - 1;
+    final Set<Integer> buckets = new HashSet<>();
+    for (final T key : keys) {
+      final int h = factory.doHashCodeInternal(key);
+      buckets.add((h ^ (h >>> 16)) & mask);
+    }
+    return buckets.size();
+  }
+
+  private static final class Pair {
+    private final int alpha;
+    private final int bravo;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Pair(final int alpha, final int bravo) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+    }
+
+    int getAlpha() {
+      return alpha;
+    }
+
+    int getBravo() {
+      return bravo;
+    }
+  }
+
+  private static final class Tag {
+    private final long id;
+    private final String name;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Tag(final long id, final String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    long getId() {
+      return id;
+    }
+
+    String getName() {
+      return name;
+    }
+  }
+}
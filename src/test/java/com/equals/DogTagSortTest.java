@@ -0,0 +1,210 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:25 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagSortTest {
+  private static final Random random = new Random(5);
+  private static final String[] names = {null, "", "a", "ab", "abcd", "abcde", "abcdf", "abcd\u0000", "\uffff", "zz"};
+  private static final double[] doubles = {-0.0, 0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -1.5, 2.5};
+  private static final float[] floats = {-0.0f, 0.0f, Float.NaN, -3.0f, 3.0f, Float.MIN_VALUE};
+
+  @Test
+  public void testPrefixPreservesOrder() {
+    for (final DogTag.Factory<Mixed> factory : Mixed.factories()) {
+      final SortPrefix<Mixed> prefix = new SortPrefix<>(factory.getPlan());
+      final Comparator<Mixed> comparator = factory.comparator();
+      final Mixed[] instances = randomMixed(500);
+      final long[] high = new long[instances.length];
+      final long[] low = new long[instances.length];
+      for (int i = 0; i < instances.length; ++i) {
+        prefix.keyOf(instances[i], high, low, i);
+      }
+      for (int i = 0; i < instances.length; ++i) {
+        for (int j = 0; j < instances.length; ++j) {
+          final int keyOrder = (high[i] == high[j]) ? Long.compareUnsigned(low[i], low[j]) : Long.compareUnsigned(high[i], high[j]);
+          final int order = comparator.compare(instances[i], instances[j]);
+          if (keyOrder != 0) {
+            assertEquals(Integer.signum(keyOrder), Integer.signum(order));
+          } else if (prefix.isExact()) {
+            assertEquals(0, order);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPrefixWidths() {
+    // boolean, byte, char, short, int, float, then the enum (2 bits) fits in 128 bits. The long needs more room.
+    final SortPrefix<Mixed> mixedPrefix = new SortPrefix<>(Mixed.factory.getPlan());
+    assertEquals(128, mixedPrefix.getBitCount());
+    assertFalse(mixedPrefix.isExact());
+
+    final SortPrefix<Small> smallPrefix = new SortPrefix<>(Small.factory.getPlan());
+    assertEquals(1 + 32 + 2, smallPrefix.getBitCount());
+    assertTrue(smallPrefix.isExact());
+
+    // A String takes all 64 bits, and ends the prefix.
+    assertEquals(64, new SortPrefix<>(Named.factory.getPlan()).getBitCount());
+
+    // A lambda-specified object could be anything, so it can't be held in a key.
+    assertEquals(0, new SortPrefix<>(Mixed.objectFirstFactory.getPlan()).getBitCount());
+  }
+
+  @Test
+  public void testSortMatchesComparator() {
+    for (final DogTag.Factory<Mixed> factory : Mixed.factories()) {
+      for (final int size : new int[] {0, 1, 100, 5000}) {
+        verifySort(factory, randomMixed(size));
+      }
+    }
+    final Small[] smalls = new Small[3000];
+    final Size[] sizes = {null, Size.SMALL, Size.LARGE};
+    for (int i = 0; i < smalls.length; ++i) {
+      smalls[i] = new Small(random.nextBoolean(), random.nextInt(20) - 10, sizes[random.nextInt(sizes.length)]);
+    }
+    verifySort(Small.factory, smalls);
+    final Named[] named = new Named[3000];
+    for (int i = 0; i < named.length; ++i) {
+      named[i] = new Named(names[random.nextInt(names.length)], doubles[random.nextInt(doubles.length)]);
+    }
+    verifySort(Named.factory, named);
+  }
+
+  private static <T> void verifySort(final DogTag.Factory<T> factory, final T[] instances) {
+    final T[] expected = instances.clone();
+    Arrays.sort(expected, factory.comparator()); // stable
+    final T[] actual = instances.clone();
+    DogTagSort.sort(factory, actual);
+    for (int i = 0; i < expected.length; ++i) {
+      assertSame(expected[i], actual[i]);
+    }
+  }
+
+  @Test
+  public void testSortList() {
+    final Mixed[] instances = randomMixed(2000);
+    final List<Mixed> list = new ArrayList<>(Arrays.asList(instances));
+    DogTagSort.sort(Mixed.factory, list);
+    Arrays.sort(instances, Mixed.factory.comparator());
+    assertArrayEquals(instances, list.toArray());
+  }
+
+  private static Mixed[] randomMixed(final int size) {
+    final Mixed[] instances = new Mixed[size];
+    final Size[] sizes = Size.values();
+    for (int i = 0; i < size; ++i) {
+      instances[i] = new Mixed(
+          random.nextBoolean(),
+          (byte) (random.nextInt(5) - 2),
+          (char) ('a' + random.nextInt(3)),
+          (short) (random.nextInt(5) - 2),
+          random.nextInt(3) - 1,
+          floats[random.nextInt(floats.length)],
+          random.nextBoolean() ? null : sizes[random.nextInt(sizes.length)],
+          random.nextInt(3) - 1L,
+          doubles[random.nextInt(doubles.length)],
+          names[random.nextInt(names.length)]
+      );
+    }
+    return instances;
+  }
+
+  private enum Size { SMALL, MEDIUM, LARGE }
+
+  private static final class Mixed {
+    private final boolean alpha;
+    private final byte bravo;
+    private final char charlie;
+    private final short delta;
+    private final int echo;
+    private final float foxtrot;
+    private final Size golf;
+    private final long hotel;
+    private final double india;
+    private final String juliet;
+    private static final DogTag.Factory<Mixed> factory = DogTag.startWithAll(Mixed.class).build();
+    private static final DogTag.Factory<Mixed> objectFirstFactory = DogTag.startEmpty(Mixed.class)
+        .addObject(m -> m.juliet)
+        .addSimple((Mixed m) -> m.echo)
+        .build();
+    private static final DogTag.Factory<Mixed> doublesFactory = DogTag.startEmpty(Mixed.class)
+        .addSimple((Mixed m) -> m.india)
+        .addSimple((Mixed m) -> m.hotel)
+        .addSimple((Mixed m) -> m.foxtrot)
+        .addSimple((Mixed m) -> m.charlie)
+        .build();
+
+    Mixed(
+        final boolean alpha,
+        final byte bravo,
+        final char charlie,
+        final short delta,
+        final int echo,
+        final float foxtrot,
+        final Size golf,
+        final long hotel,
+        final double india,
+        final String juliet
+    ) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+      this.echo = echo;
+      this.foxtrot = foxtrot;
+      this.golf = golf;
+      this.hotel = hotel;
+      this.india = india;
+      this.juliet = juliet;
+    }
+
+    static List<DogTag.Factory<Mixed>> factories() {
+      return Arrays.asList(factory, objectFirstFactory, doublesFactory);
+    }
+  }
+
+  private static final class Small {
+    private final boolean flag;
+    private final int value;
+    private final Size size;
+    private static final DogTag.Factory<Small> factory = DogTag.startWithAll(Small.class).build();
+
+    Small(final boolean flag, final int value, final Size size) {
+      this.flag = flag;
+      this.value = value;
+      this.size = size;
+    }
+  }
+
+  private static final class Named {
+    private final double value;
+    @DogTagInclude(order = 1)
+    private final String name;
+    private static final DogTag.Factory<Named> factory = DogTag.startWithAll(Named.class).build();
+
+    Named(final String name, final double value) {
+      this.name = name;
+      this.value = value;
+    }
+  }
+}
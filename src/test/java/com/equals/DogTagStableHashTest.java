@@ -0,0 +1,150 @@
+package com.equals;
+
+import java.awt.geom.Point2D;
+import org.junit.Test;
+
+import static com.equals.TestUtility.verifyMatches;
+import static com.equals.TestUtility.verifyNoMatch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:40 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "unused", "FieldMayBeFinal"})
+public class DogTagStableHashTest {
+
+  /**
+   * The expected hash values were calculated once, and must never change. If they do, stable hashes persisted by users, or used to
+   * route data across a cluster, will no longer match.
+   */
+  @Test
+  public void testKnownHashValues() {
+    final DogTag.Factory<Forward> factory = DogTag.startWithAll(Forward.class)
+        .withStableHash(true)
+        .build();
+    final Forward forward = new Forward(17, "kilo", Color.GREEN, 4.5, new int[] {3, 4}, new Color[] {Color.RED, null});
+    final int hash = factory.doHashCodeInternal(forward);
+    assertEquals(-327831428, hash);
+    assertEquals(hash, factory.doHashCodeInternal(new Forward(17, "kilo", Color.GREEN, 4.5, new int[] {3, 4},
+        new Color[] {Color.RED, null})));
+
+    final Forward empty = new Forward(0, null, null, 0.0, null, null);
+    assertEquals(887503681, factory.doHashCodeInternal(empty));
+  }
+
+  @Test
+  public void testDeclarationOrderIgnored() {
+    final DogTag.Factory<Forward> forwardFactory = DogTag.startWithAll(Forward.class)
+        .withStableHash(true)
+        .build();
+    final DogTag.Factory<Backward> backwardFactory = DogTag.startWithAll(Backward.class)
+        .withStableHash(true)
+        .build();
+    final Forward forward = new Forward(-3, "lima", Color.BLUE, -0.25, new int[] {8}, new Color[] {Color.GREEN});
+    final Backward backward = new Backward(-3, "lima", Color.BLUE, -0.25, new int[] {8}, new Color[] {Color.GREEN});
+    assertEquals(forwardFactory.doHashCodeInternal(forward), backwardFactory.doHashCodeInternal(backward));
+  }
+
+  @Test
+  public void testEnumsHashedByName() {
+    final DogTag.Factory<Forward> factory = DogTag.startWithAll(Forward.class)
+        .withStableHash(true)
+        .excludeFields("alpha", "bravo", "delta", "echo", "foxtrot")
+        .build();
+    final Forward forward = new Forward(1, "x", Color.RED, 1.0, null, null);
+    assertEquals((31 * 1) + "RED".hashCode(), factory.doHashCodeInternal(forward));
+  }
+
+  @Test
+  public void testEquality() {
+    final DogTag.Factory<Forward> factory = DogTag.startWithAll(Forward.class)
+        .withStableHash(true)
+        .build();
+    final Forward f1 = new Forward(1, "x", Color.RED, 1.0, new int[] {1}, new Color[] {Color.BLUE});
+    final Forward f2 = new Forward(1, "x", Color.RED, 1.0, new int[] {1}, new Color[] {Color.BLUE});
+    final Forward f3 = new Forward(1, "x", Color.GREEN, 1.0, new int[] {1}, new Color[] {Color.BLUE});
+    final Forward f4 = new Forward(1, "x", Color.RED, 1.0, new int[] {1}, new Color[] {Color.RED});
+    verifyMatches(factory, f1, f2);
+    verifyNoMatch(factory, f1, f3);
+    verifyNoMatch(factory, f1, f4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnstableFieldRejected() {
+    try {
+      DogTag.startWithAll(Unstable.class)
+          .withStableHash(true)
+          .build();
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E15:"));
+      assertTrue(e.getMessage().contains("point"));
+      throw e;
+    }
+  }
+
+  @Test
+  public void testUnstableFieldExcluded() {
+    final DogTag.Factory<Unstable> factory = DogTag.startWithAll(Unstable.class)
+        .withStableHash(true)
+        .excludeFields("point")
+        .build();
+    assertEquals((31 * 1) + 5, factory.doHashCodeInternal(new Unstable()));
+
+    // Without the stable hash option, anything is allowed.
+    DogTag.startWithAll(Unstable.class).build();
+  }
+
+  private enum Color { RED, GREEN, BLUE }
+
+  private static final class Forward {
+    private final int alpha;
+    private final String bravo;
+    private final Color charlie;
+    private final double delta;
+    private final int[] echo;
+    private final Color[] foxtrot;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Forward(final int alpha, final String bravo, final Color charlie, final double delta, final int[] echo, final Color[] foxtrot) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+      this.echo = echo;
+      this.foxtrot = foxtrot;
+    }
+  }
+
+  // Same fields as Forward, declared in a different order
+  private static final class Backward {
+    private final Color[] foxtrot;
+    private final int[] echo;
+    private final double delta;
+    private final Color charlie;
+    private final String bravo;
+    private final int alpha;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Backward(final int alpha, final String bravo, final Color charlie, final double delta, final int[] echo, final Color[] foxtrot) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+      this.echo = echo;
+      this.foxtrot = foxtrot;
+    }
+  }
+
+  private static final class Unstable {
+    private int golf = 5;
+    private Point2D point = new Point2D.Double(1.0, 2.0);
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+  }
+}
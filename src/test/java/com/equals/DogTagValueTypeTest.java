@@ -0,0 +1,161 @@
+package com.equals;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 3:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class DogTagValueTypeTest {
+  private static final DogTag.Factory<Trade> lambdaFactory = DogTag.startEmpty(Trade.class)
+      .addString(Trade::getSymbol)
+      .addObject(Trade::getQuantity, Long.class)
+      .addObject(Trade::getId, UUID.class)
+      .addObject(Trade::getDate, LocalDate.class)
+      .addObject(Trade::getTime, Instant.class)
+      .addObject(Trade::getSide, Side.class)
+      .addObject(Trade::getLegs, int[][].class)
+      .addObject(Trade::getNote, Object.class)
+      .build();
+
+  @Test
+  public void testValueTypes() {
+    for (final DogTag.Factory<Trade> factory : Arrays.asList(Trade.factory, lambdaFactory)) {
+      final Trade trade = Trade.sample();
+      final Trade copy = Trade.sample();
+      assertTrue(factory.doEqualsTest(trade, copy));
+      assertEquals(Objects.hash(trade.symbol, trade.quantity, trade.id, trade.date, trade.time, trade.side,
+          Arrays.deepHashCode(trade.legs), trade.note), factory.doHashCodeInternal(trade));
+      assertEquals(factory.doHashCodeInternal(trade), factory.doHashCodeInternal(copy));
+
+      final Trade[] changes = {
+          new Trade(null, 5000L, trade.id, trade.date, trade.time, Side.SELL, trade.legs, "n"),
+          new Trade("ABC", 5001L, trade.id, trade.date, trade.time, Side.SELL, trade.legs, "n"),
+          new Trade("ABC", 5000L, new UUID(3L, 4L), trade.date, trade.time, Side.SELL, trade.legs, "n"),
+          new Trade("ABC", 5000L, trade.id, trade.date.plusDays(1L), trade.time, Side.SELL, trade.legs, "n"),
+          new Trade("ABC", 5000L, trade.id, trade.date, null, Side.SELL, trade.legs, "n"),
+          new Trade("ABC", 5000L, trade.id, trade.date, trade.time, Side.BUY, trade.legs, "n"),
+          new Trade("ABC", 5000L, trade.id, trade.date, trade.time, Side.SELL, new int[][] {{1}}, "n"),
+          new Trade("ABC", 5000L, trade.id, trade.date, trade.time, Side.SELL, trade.legs, new int[] {1}),
+      };
+      for (final Trade changed : changes) {
+        assertFalse(factory.doEqualsTest(trade, changed));
+        assertFalse(factory.doEqualsTest(changed, trade));
+      }
+    }
+  }
+
+  @Test
+  public void testIsValueType() {
+    assertTrue(DogTag.isValueType(String.class));
+    assertTrue(DogTag.isValueType(Side.class));
+    assertTrue(DogTag.isValueType(UUID.class));
+    assertFalse(DogTag.isValueType(Object.class));
+    assertFalse(DogTag.isValueType(Number.class));
+  }
+
+  @Test
+  public void testPrimitiveType() {
+    try {
+      DogTag.startEmpty(Trade.class).addObject(Trade::getQuantity, long.class);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E33:"));
+    }
+  }
+
+  private enum Side {
+    BUY,
+    SELL { // A constant with a body has its own subclass.
+      @Override
+      public String toString() {
+        return "sell";
+      }
+    }
+  }
+
+  private static final class Trade {
+    private final String symbol;
+    private final Long quantity;
+    private final UUID id;
+    private final LocalDate date;
+    private final Instant time;
+    private final Side side;
+    private final int[][] legs;
+    private final Object note;
+    private static final DogTag.Factory<Trade> factory = DogTag.startWithAll(Trade.class).build();
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    Trade(
+        final String symbol,
+        final Long quantity,
+        final UUID id,
+        final LocalDate date,
+        final Instant time,
+        final Side side,
+        final int[][] legs,
+        final Object note
+    ) {
+      this.symbol = symbol;
+      this.quantity = quantity;
+      this.id = id;
+      this.date = date;
+      this.time = time;
+      this.side = side;
+      this.legs = legs;
+      this.note = note;
+    }
+
+    static Trade sample() {
+      // Each call creates a new String and a new Long, so values are compared by content, not identity.
+      return new Trade(new String("ABC".toCharArray()), Long.valueOf(5000L), new UUID(1L, 2L), LocalDate.of(2026, 10, 19),
+          Instant.ofEpochSecond(1_800_000_000L), Side.SELL, new int[][] {{1, 2}, null}, "n");
+    }
+
+    String getSymbol() {
+      return symbol;
+    }
+
+    Long getQuantity() {
+      return quantity;
+    }
+
+    UUID getId() {
+      return id;
+    }
+
+    LocalDate getDate() {
+      return date;
+    }
+
+    Instant getTime() {
+      return time;
+    }
+
+    Side getSide() {
+      return side;
+    }
+
+    int[][] getLegs() {
+      return legs;
+    }
+
+    Object getNote() {
+      return note;
+    }
+  }
+}
@@ -0,0 +1,353 @@
+package com.equals;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The factories only generate classes on Java 11 or later, from the multi-release jar. To test the generated classes in the test
+ * phase too, these tests define them with {@code MethodHandles.Lookup.defineClass()}, called by reflection, so they compile for
+ * Java 8. On Java 8, they only test the fallback.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class FusedHandlerTest {
+  private static final ToBooleanFunction<Reading> FLAG = Reading::isFlag;
+  private static final ToByteFunction<Reading> LEVEL = Reading::getLevel;
+  private static final ToCharFunction<Reading> GRADE = Reading::getGrade;
+  private static final ToShortFunction<Reading> SITE = Reading::getSite;
+  private static final ToIntFunction<Reading> ID = Reading::getId;
+  private static final ToLongFunction<Reading> TIME = Reading::getTime;
+  private static final ToFloatFunction<Reading> WEIGHT = Reading::getWeight;
+  private static final ToDoubleFunction<Reading> VALUE = Reading::getValue;
+  private static final ToStringFunction<Reading> NAME = Reading::getName;
+  private static final ToIntArrayFunction<Reading> CODES = Reading::getCodes;
+  private static final ToDoubleArrayFunction<Reading> SAMPLES = Reading::getSamples;
+  private static final ToBooleanArrayFunction<Reading> MASK = Reading::getMask;
+  private static final ToObjectFunction<Reading> NOTE = Reading::getNote;
+
+  private static final DogTag.Factory<Reading> oracle = DogTag.startWithAll(Reading.class).build();
+  private final Random random = new Random(61);
+
+  @Test
+  public void testGeneratedClass() {
+    for (final DogTag.HashBuilder hashBuilder : Arrays.asList(null, new DogTag.SeededHashBuilder(5L))) {
+      final DogTag.Factory<Reading> factory = build(hashBuilder);
+      final FusedHandler<Reading> fused = fuse(factory, hashBuilder);
+      if (fused == null) {
+        return; // Java 8
+      }
+      final int startingHash = (hashBuilder == null) ? 1 : 17;
+      for (int trial = 0; trial < 2000; ++trial) {
+        final Reading reading = randomReading();
+        final Reading other = random.nextBoolean() ? reading.copy() : randomReading();
+        assertEquals(oracle.doEqualsTest(reading, other), fused.equal(reading, other));
+        assertTrue(fused.equal(reading, reading.copy()));
+        assertEquals(expectedHash(reading, startingHash, hashBuilder), fused.hash(reading));
+        assertEquals(factory.doHashCodeInternal(reading), fused.hash(reading));
+      }
+    }
+  }
+
+  @Test
+  public void testFactories() {
+    for (final DogTag.HashBuilder hashBuilder : Arrays.asList(null, new DogTag.SeededHashBuilder(5L))) {
+      final DogTag.Factory<Reading> factory = build(hashBuilder);
+      final int startingHash = (hashBuilder == null) ? 1 : 17;
+      for (int trial = 0; trial < 2000; ++trial) {
+        final Reading reading = randomReading();
+        final Reading other = random.nextBoolean() ? reading.copy() : randomReading();
+        assertEquals(oracle.doEqualsTest(reading, other), factory.doEqualsTest(reading, other));
+        assertEquals(expectedHash(reading, startingHash, hashBuilder), factory.doHashCodeInternal(reading));
+      }
+      assertFalse(factory.doEqualsTest(randomReading(), null));
+      assertFalse(factory.doEqualsTest(randomReading(), "reading"));
+    }
+  }
+
+  /**
+   * Factories with the same forms, starting hash, and kind of HashBuilder share one generated class, each with its own getters.
+   */
+  @Test
+  public void testSharedClass() {
+    final FusedHandler<Reading> fused = fuse(build(null), null);
+    if (fused == null) {
+      return; // Java 8
+    }
+    assertSame(fused.getClass(), fuse(build(null), null).getClass());
+    final DogTag.HashBuilder hashBuilder = new DogTag.SeededHashBuilder(5L);
+    assertNotSame(fused.getClass(), fuse(build(hashBuilder), hashBuilder).getClass());
+
+    final ToIntFunction<Reading> nextId = (reading) -> reading.getId() + 1;
+    final FusedHandler<Reading> idHandler = FusedHandler.create(
+        Collections.singletonList(FusedHandler.Step.of(FusedHandler.Form.INT, ID)),
+        new ArrayList<DogTag.EqualHandler<Reading>>(), new ArrayList<DogTag.HashHandler<Reading>>(), 3, null, true,
+        FusedHandlerTest::define);
+    final FusedHandler<Reading> nextIdHandler = FusedHandler.create(
+        Collections.singletonList(FusedHandler.Step.of(FusedHandler.Form.INT, nextId)),
+        new ArrayList<DogTag.EqualHandler<Reading>>(), new ArrayList<DogTag.HashHandler<Reading>>(), 3, null, true,
+        FusedHandlerTest::define);
+    final FusedHandler<Reading> otherStartHandler = FusedHandler.create(
+        Collections.singletonList(FusedHandler.Step.of(FusedHandler.Form.INT, ID)),
+        new ArrayList<DogTag.EqualHandler<Reading>>(), new ArrayList<DogTag.HashHandler<Reading>>(), 4, null, true,
+        FusedHandlerTest::define);
+    assertSame(idHandler.getClass(), nextIdHandler.getClass());
+    assertNotSame(idHandler.getClass(), otherStartHandler.getClass());
+    final Reading reading = randomReading();
+    assertEquals((3 * 31) + reading.getId(), idHandler.hash(reading));
+    assertEquals((3 * 31) + reading.getId() + 1, nextIdHandler.hash(reading));
+    assertEquals((4 * 31) + reading.getId(), otherStartHandler.hash(reading));
+  }
+
+  @Test
+  public void testOverlay() {
+    // Running from the multi-release jar on Java 11 or later, lambda factories must generate their classes.
+    final URL url = ClassDefiner.class.getResource("ClassDefiner.class");
+    final boolean fused = ((DogTag.LambdaFactory<Reading>) build(null)).isFused();
+    if ("jar".equals(url.getProtocol()) && !System.getProperty("java.specification.version").startsWith("1.")) {
+      assertTrue(fused);
+    } else if (!"jar".equals(url.getProtocol())) {
+      assertFalse(fused);
+    }
+  }
+
+  @Test
+  public void testTooManySteps() {
+    final List<FusedHandler.Step> steps = new ArrayList<>();
+    for (int i = 0; i <= FusedHandler.MAX_STEPS; ++i) {
+      steps.add(FusedHandler.Step.of(FusedHandler.Form.INT, ID));
+    }
+    assertNull(FusedHandler.create(steps, new ArrayList<DogTag.EqualHandler<Reading>>(),
+        new ArrayList<DogTag.HashHandler<Reading>>(), 1, null, true, FusedHandlerTest::define));
+    steps.remove(0);
+    if (defineMethod() != null) {
+      assertNotNull(FusedHandler.create(steps, new ArrayList<DogTag.EqualHandler<Reading>>(),
+          new ArrayList<DogTag.HashHandler<Reading>>(), 1, null, true, FusedHandlerTest::define));
+    }
+  }
+
+  @Test
+  public void testNoDefiner() {
+    final List<FusedHandler.Step> steps = new ArrayList<>();
+    steps.add(FusedHandler.Step.of(FusedHandler.Form.INT, ID));
+    assertNull(FusedHandler.create(steps, new ArrayList<DogTag.EqualHandler<Reading>>(),
+        new ArrayList<DogTag.HashHandler<Reading>>(), 1, null, true, null));
+  }
+
+  private static DogTag.Factory<Reading> build(final DogTag.HashBuilder hashBuilder) {
+    final DogTag.LambdaFactory.LambdaBuilder<Reading> builder = DogTag.startEmpty(Reading.class);
+    if (hashBuilder != null) {
+      builder.withHashBuilder(17, hashBuilder);
+    }
+    return builder
+        .addSimple(FLAG)
+        .addSimple(LEVEL)
+        .addSimple(GRADE)
+        .addSimple(SITE)
+        .addSimple(ID)
+        .addSimple(TIME)
+        .addSimple(WEIGHT)
+        .addSimple(VALUE)
+        .addString(NAME)
+        .addArray(CODES)
+        .addArray(SAMPLES)
+        .addArray(MASK)
+        .addObject(NOTE)
+        .build();
+  }
+
+  private static FusedHandler<Reading> fuse(final DogTag.Factory<Reading> factory, final DogTag.HashBuilder hashBuilder) {
+    final DogTag.LambdaFactory<Reading> lambdaFactory = (DogTag.LambdaFactory<Reading>) factory;
+    // A seeded HashBuilder hashes long, double, and String values itself, so their handlers do the hashing.
+    final boolean handled = hashBuilder != null;
+    final List<FusedHandler.Step> steps = Arrays.asList(
+        FusedHandler.Step.of(FusedHandler.Form.BOOLEAN, FLAG),
+        FusedHandler.Step.of(FusedHandler.Form.BYTE, LEVEL),
+        FusedHandler.Step.of(FusedHandler.Form.CHAR, GRADE),
+        FusedHandler.Step.of(FusedHandler.Form.SHORT, SITE),
+        FusedHandler.Step.of(FusedHandler.Form.INT, ID),
+        handled ? FusedHandler.Step.handled() : FusedHandler.Step.of(FusedHandler.Form.LONG, TIME),
+        FusedHandler.Step.of(FusedHandler.Form.FLOAT, WEIGHT),
+        handled ? FusedHandler.Step.handled() : FusedHandler.Step.of(FusedHandler.Form.DOUBLE, VALUE),
+        handled ? FusedHandler.Step.handled() : FusedHandler.Step.of(FusedHandler.Form.STRING, NAME),
+        FusedHandler.Step.of(FusedHandler.Form.INT_ARRAY, CODES),
+        FusedHandler.Step.of(FusedHandler.Form.DOUBLE_ARRAY, SAMPLES),
+        FusedHandler.Step.of(FusedHandler.Form.BOOLEAN_ARRAY, MASK),
+        FusedHandler.Step.handled()
+    );
+    return FusedHandler.create(steps, new ArrayList<>(lambdaFactory.getEqualHandlerList()),
+        new ArrayList<>(lambdaFactory.getHashHandlerList()), (hashBuilder == null) ? 1 : 17, lambdaFactory.getHashBuilder(),
+        hashBuilder == null, FusedHandlerTest::define);
+  }
+
+  private static Method defineMethod() {
+    try {
+      return MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+    } catch (final NoSuchMethodException e) {
+      return null; // Java 8
+    }
+  }
+
+  private static Class<?> define(final byte[] classFile) throws IllegalAccessException {
+    final Method defineClass = defineMethod();
+    if (defineClass == null) {
+      return null;
+    }
+    try {
+      return (Class<?>) defineClass.invoke(MethodHandles.lookup(), (Object) classFile);
+    } catch (final InvocationTargetException e) {
+      throw new AssertionError(e.getCause());
+    }
+  }
+
+  private static int expectedHash(final Reading reading, final int startingHash, final DogTag.HashBuilder hashBuilder) {
+    final int[] hashes = {
+        Boolean.hashCode(reading.flag),
+        Byte.hashCode(reading.level),
+        Character.hashCode(reading.grade),
+        Short.hashCode(reading.site),
+        reading.id,
+        (hashBuilder == null) ? Long.hashCode(reading.time) : hashBuilder.hashLong(reading.time),
+        Float.hashCode(reading.weight),
+        (hashBuilder == null) ? Double.hashCode(reading.value) : hashBuilder.hashLong(Double.doubleToLongBits(reading.value)),
+        (reading.name == null) ? 0 : ((hashBuilder == null) ? reading.name.hashCode() : hashBuilder.hashString(reading.name)),
+        Arrays.hashCode(reading.codes),
+        Arrays.hashCode(reading.samples),
+        Arrays.hashCode(reading.mask),
+        (reading.note == null) ? 0 : reading.note.hashCode(),
+    };
+    int hash = startingHash;
+    for (final int h : hashes) {
+      hash = (hashBuilder == null) ? ((31 * hash) + h) : hashBuilder.newHash(hash, h);
+    }
+    return hash;
+  }
+
+  private Reading randomReading() {
+    final double[] doubles = {0.0, -0.0, Double.NaN};
+    final Reading reading = new Reading();
+    reading.flag = random.nextBoolean();
+    reading.level = (byte) (random.nextInt(3) - 1);
+    reading.grade = (char) ('a' + random.nextInt(2));
+    reading.site = (short) (random.nextInt(3) - 1);
+    reading.id = random.nextInt(2) - 1;
+    reading.time = random.nextInt(2) - 1L;
+    reading.weight = (float) doubles[random.nextInt(doubles.length)];
+    reading.value = doubles[random.nextInt(doubles.length)];
+    reading.name = random.nextBoolean() ? null : ("n" + random.nextInt(2));
+    reading.codes = random.nextBoolean() ? null : new int[] {random.nextInt(2)};
+    reading.samples = random.nextBoolean() ? null : new double[] {doubles[random.nextInt(doubles.length)]};
+    reading.mask = random.nextBoolean() ? null : new boolean[] {random.nextBoolean()};
+    reading.note = random.nextBoolean() ? null : Integer.valueOf(random.nextInt(2));
+    return reading;
+  }
+
+  private static final class Reading {
+    private boolean flag;
+    private byte level;
+    private char grade;
+    private short site;
+    private int id;
+    private long time;
+    private float weight;
+    private double value;
+    private String name;
+    private int[] codes;
+    private double[] samples;
+    private boolean[] mask;
+    private Object note;
+    private static final DogTag.Factory<Reading> factory = null; // prevent superfluous test failure
+
+    Reading copy() {
+      final Reading copy = new Reading();
+      copy.flag = flag;
+      copy.level = level;
+      copy.grade = grade;
+      copy.site = site;
+      copy.id = id;
+      copy.time = time;
+      copy.weight = weight;
+      copy.value = value;
+      copy.name = (name == null) ? null : new String(name);
+      copy.codes = (codes == null) ? null : codes.clone();
+      copy.samples = (samples == null) ? null : samples.clone();
+      copy.mask = (mask == null) ? null : mask.clone();
+      copy.note = note;
+      return copy;
+    }
+
+    boolean isFlag() {
+      return flag;
+    }
+
+    byte getLevel() {
+      return level;
+    }
+
+    char getGrade() {
+      return grade;
+    }
+
+    short getSite() {
+      return site;
+    }
+
+    int getId() {
+      return id;
+    }
+
+    long getTime() {
+      return time;
+    }
+
+    float getWeight() {
+      return weight;
+    }
+
+    double getValue() {
+      return value;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    int[] getCodes() {
+      return codes;
+    }
+
+    double[] getSamples() {
+      return samples;
+    }
+
+    boolean[] getMask() {
+      return mask;
+    }
+
+    Object getNote() {
+      return note;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 9:40 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class InternerTest {
+  private static final DogTag.Factory<Quote> quoteFactory = DogTag.startWithAll(Quote.class).build();
+  private static final int THREADS = 8;
+
+  @Test
+  public void testIntern() {
+    final Interner<Quote> interner = new Interner<>(quoteFactory);
+    final List<Quote> canonical = new ArrayList<>();
+    for (int i = 0; i < 1_000; ++i) {
+      final Quote quote = new Quote("sym" + i, i * 10L);
+      assertSame(quote, interner.intern(quote));
+      canonical.add(quote);
+    }
+    assertEquals(1_000, interner.size());
+    for (int i = 0; i < 1_000; ++i) {
+      final Quote copy = new Quote("sym" + i, i * 10L);
+      assertNotSame(canonical.get(i), copy);
+      assertSame(canonical.get(i), interner.intern(copy));
+    }
+    assertEquals(1_000, interner.size());
+
+    final Probe<Quote> probe = quoteFactory.newProbe();
+    probe.setObject(probe.indexOf("symbol"), "sym7").setLong(probe.indexOf("price"), 70L);
+    assertSame(canonical.get(7), interner.getByProbe(probe));
+    probe.setLong(probe.indexOf("price"), 71L);
+    assertNull(interner.getByProbe(probe));
+  }
+
+  @Test
+  public void testConcurrentIntern() throws Exception {
+    final Interner<Quote> interner = new Interner<>(quoteFactory, THREADS);
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch start = new CountDownLatch(1);
+    try {
+      final List<Future<Quote[]>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; ++t) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          final Quote[] results = new Quote[5_000];
+          for (int i = 0; i < results.length; ++i) {
+            results[i] = interner.intern(new Quote("sym" + i, i));
+          }
+          return results;
+        }));
+      }
+      start.countDown();
+      final Quote[] first = futures.get(0).get();
+      for (final Future<Quote[]> future : futures) {
+        final Quote[] results = future.get();
+        for (int i = 0; i < results.length; ++i) {
+          assertSame(first[i], results[i]);
+        }
+      }
+      assertEquals(5_000, interner.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCollectedInstancesArePurged() throws InterruptedException {
+    final Interner<Quote> interner = new Interner<>(quoteFactory);
+    final Quote kept = interner.intern(new Quote("kept", 1L));
+    for (int i = 0; i < 10_000; ++i) {
+      interner.intern(new Quote("sym" + i, i));
+    }
+    for (int attempt = 0; (attempt < 50) && (interner.size() > 1); ++attempt) {
+      System.gc();
+      Thread.sleep(20L);
+      interner.purge();
+    }
+    assertEquals(1, interner.size());
+    assertSame(kept, interner.intern(new Quote("kept", 1L)));
+    final Quote fresh = new Quote("sym5", 5L);
+    assertSame(fresh, interner.intern(fresh));
+  }
+
+  @Test
+  public void testErrors() {
+    try {
+      new Interner<>(quoteFactory, 0);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E19:"));
+    }
+    try {
+      new Interner<>(quoteFactory).intern(null);
+      fail();
+    } catch (final NullPointerException ignored) { }
+  }
+
+  private static final class Quote {
+    private final String symbol;
+    private final long price;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    Quote(final String symbol, final long price) {
+      this.symbol = symbol;
+      this.price = price;
+    }
+  }
+}
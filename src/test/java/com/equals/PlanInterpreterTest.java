@@ -0,0 +1,159 @@
+package com.equals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests every opcode of the interpreter, against the factory's plan entries, which read, compare, and hash the same values on
+ * their own.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:55 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class PlanInterpreterTest {
+  private final Random random = new Random(79);
+
+  @Test
+  public void testInterpreter() throws IllegalAccessException {
+    for (final DogTag.HashBuilder hashBuilder : Arrays.asList(null, new DogTag.SeededHashBuilder(5L))) {
+      final DogTag.DogTagReflectiveBuilder<Wide> builder = DogTag.startWithAll(Wide.class);
+      if (hashBuilder != null) {
+        builder.withHashBuilder(17, hashBuilder);
+      }
+      final DogTag.ReflectiveFactory<Wide> factory = (DogTag.ReflectiveFactory<Wide>) builder.build();
+      assertFalse(factory.isFused());
+      for (int trial = 0; trial < 2000; ++trial) {
+        final Wide wide = randomWide();
+        final Wide other = random.nextBoolean() ? wide.copy() : randomWide();
+        assertEquals(expectedEqual(factory, wide, other), factory.doEqualsTest(wide, other));
+        assertTrue(factory.doEqualsTest(wide, wide.copy()));
+        assertEquals(expectedHash(factory, wide), factory.doHashCodeInternal(wide));
+      }
+      assertFalse(factory.doEqualsTest(randomWide(), null));
+      assertFalse(factory.doEqualsTest(randomWide(), "wide"));
+    }
+  }
+
+  @Test
+  public void testNoFields() {
+    final DogTag.ReflectiveFactory<Empty> factory = (DogTag.ReflectiveFactory<Empty>) DogTag.startWithAll(Empty.class).build();
+    assertFalse(factory.isFused());
+    assertTrue(factory.doEqualsTest(new Empty(), new Empty()));
+    assertEquals(1, factory.doHashCodeInternal(new Empty()));
+  }
+
+  private static boolean expectedEqual(final DogTag.Factory<Wide> factory, final Wide wide, final Wide other)
+      throws IllegalAccessException {
+    for (final PlanEntry<Wide> entry : factory.getPlan()) {
+      final boolean equal = entry.getKind().isPrimitive()
+          ? (entry.getBits(wide) == entry.getBits(other))
+          : entry.objectsEqual(entry.getObject(wide), entry.getObject(other));
+      if (!equal) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int expectedHash(final DogTag.Factory<Wide> factory, final Wide wide) throws IllegalAccessException {
+    final List<PlanEntry<Wide>> plan = factory.getPlan();
+    int hash = factory.getStartingHash();
+    for (final PlanEntry<Wide> entry : plan) {
+      hash = factory.getHashBuilder().newHash(hash, entry.hashOf(wide, factory.getHashBuilder()));
+    }
+    return hash;
+  }
+
+  private Wide randomWide() {
+    final double[] doubles = {0.0, -0.0, Double.NaN};
+    final Wide wide = new Wide();
+    wide.anInt = random.nextInt(2);
+    wide.aLong = random.nextInt(2);
+    wide.aShort = (short) random.nextInt(2);
+    wide.aChar = (char) ('a' + random.nextInt(2));
+    wide.aByte = (byte) random.nextInt(2);
+    wide.aDouble = doubles[random.nextInt(doubles.length)];
+    wide.aFloat = (float) doubles[random.nextInt(doubles.length)];
+    wide.aBoolean = random.nextBoolean();
+    wide.string = random.nextBoolean() ? null : ("s" + random.nextInt(2));
+    wide.ints = random.nextBoolean() ? null : new int[] {random.nextInt(2)};
+    wide.longs = random.nextBoolean() ? null : new long[] {random.nextInt(2)};
+    wide.shorts = random.nextBoolean() ? null : new short[] {(short) random.nextInt(2)};
+    wide.chars = random.nextBoolean() ? null : new char[] {(char) ('a' + random.nextInt(2))};
+    wide.bytes = random.nextBoolean() ? null : new byte[] {(byte) random.nextInt(2)};
+    wide.doubles = random.nextBoolean() ? null : new double[] {doubles[random.nextInt(doubles.length)]};
+    wide.floats = random.nextBoolean() ? null : new float[] {(float) doubles[random.nextInt(doubles.length)]};
+    wide.booleans = random.nextBoolean() ? null : new boolean[] {random.nextBoolean()};
+    wide.unit = random.nextBoolean() ? null : TimeUnit.values()[random.nextInt(2)];
+    wide.strings = random.nextBoolean() ? null : new String[] {"t" + random.nextInt(2)};
+    wide.sampled = random.nextBoolean() ? null : new int[] {random.nextInt(2), random.nextInt(2)};
+    wide.object = random.nextBoolean() ? null : Integer.valueOf(random.nextInt(2));
+    return wide;
+  }
+
+  private static final class Wide {
+    private int anInt;
+    private long aLong;
+    private short aShort;
+    private char aChar;
+    private byte aByte;
+    private double aDouble;
+    private float aFloat;
+    private boolean aBoolean;
+    private String string;
+    private int[] ints;
+    private long[] longs;
+    private short[] shorts;
+    private char[] chars;
+    private byte[] bytes;
+    private double[] doubles;
+    private float[] floats;
+    private boolean[] booleans;
+    private TimeUnit unit;
+    private String[] strings;
+    @DogTagSampledHash(samples = 1)
+    private int[] sampled;
+    private Object object;
+    private static final DogTag.Factory<Wide> factory = null; // prevent superfluous test failure
+
+    Wide copy() {
+      final Wide copy = new Wide();
+      copy.anInt = anInt;
+      copy.aLong = aLong;
+      copy.aShort = aShort;
+      copy.aChar = aChar;
+      copy.aByte = aByte;
+      copy.aDouble = aDouble;
+      copy.aFloat = aFloat;
+      copy.aBoolean = aBoolean;
+      copy.string = (string == null) ? null : new String(string);
+      copy.ints = (ints == null) ? null : ints.clone();
+      copy.longs = (longs == null) ? null : longs.clone();
+      copy.shorts = (shorts == null) ? null : shorts.clone();
+      copy.chars = (chars == null) ? null : chars.clone();
+      copy.bytes = (bytes == null) ? null : bytes.clone();
+      copy.doubles = (doubles == null) ? null : doubles.clone();
+      copy.floats = (floats == null) ? null : floats.clone();
+      copy.booleans = (booleans == null) ? null : booleans.clone();
+      copy.unit = unit;
+      copy.strings = (strings == null) ? null : strings.clone();
+      copy.sampled = (sampled == null) ? null : sampled.clone();
+      copy.object = object;
+      return copy;
+    }
+  }
+
+  private static final class Empty {
+    private static final DogTag.Factory<Empty> factory = null; // prevent superfluous test failure
+  }
+}
@@ -0,0 +1,263 @@
+package com.equals;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 5:55 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class ProbeTest {
+  private static final DogTag.Factory<Record> reflectiveFactory = DogTag.startWithAll(Record.class).build();
+  private static final DogTag.Factory<Record> stableFactory = DogTag.startWithAll(Record.class)
+      .withStableHash(true)
+      .withHashBuilder(7, new DogTag.SeededHashBuilder(99L))
+      .build();
+  private static final DogTag.Factory<Record> lambdaFactory = DogTag.startEmpty(Record.class)
+      .addSimple(Record::getAlpha)
+      .addSimple(Record::getBravo)
+      .addSimple(Record::getCharlie)
+      .addSimple(Record::getDelta)
+      .addSimple(Record::getEcho)
+      .addSimple(Record::getFoxtrot)
+      .addSimple(Record::getGolf)
+      .addSimple(Record::isHotel)
+      .addObject(Record::getIndia)
+      .addObject(Record::getJuliet)
+      .addArray(Record::getKilo)
+      .addArray(Record::getLima)
+      .build();
+
+  @Test
+  public void testReflectiveHashAndMatch() {
+    verifyProbes(reflectiveFactory, ProbeTest::loadByName);
+  }
+
+  @Test
+  public void testStableHashAndMatch() {
+    verifyProbes(stableFactory, ProbeTest::loadByName);
+  }
+
+  @Test
+  public void testLambdaHashAndMatch() {
+    verifyProbes(lambdaFactory, ProbeTest::loadByIndex);
+  }
+
+  private static void verifyProbes(final DogTag.Factory<Record> factory, final Loader loader) {
+    final Random random = new Random(11L);
+    final Probe<Record> probe = factory.newProbe();
+    assertEquals(12, probe.size());
+    Record previous = Record.random(random);
+    for (int i = 0; i < 500; ++i) {
+      final Record record = Record.random(random);
+      loader.load(probe, record);
+      assertEquals(factory.doHashCodeInternal(record), probe.hash());
+      assertTrue(probe.matches(record));
+      assertTrue(probe.matches(record.copy()));
+      assertEquals(factory.doEqualsTest(record, previous), probe.matches(previous));
+      assertFalse(probe.matches(null));
+      previous = record;
+    }
+
+    // Special floating point values follow the same rules as the field processors
+    final Record nan = new Record(1, 2L, (short) 3, 'd', (byte) 5, Float.NaN, -0.0, false, null, null, null, null);
+    loader.load(probe, nan);
+    assertEquals(factory.doHashCodeInternal(nan), probe.hash());
+    assertTrue(probe.matches(nan.copy()));
+  }
+
+  @Test
+  public void testMapLookups() {
+    final DogTagHashMap<Record, Integer> map = new DogTagHashMap<>(reflectiveFactory);
+    final DogTagHashSet<Record> set = new DogTagHashSet<>(reflectiveFactory);
+    final ConcurrentDogTagHashMap<Record, Integer> concurrentMap = new ConcurrentDogTagHashMap<>(reflectiveFactory);
+    final Random random = new Random(12L);
+    final Record[] records = new Record[1_000];
+    for (int i = 0; i < records.length; ++i) {
+      records[i] = Record.random(random);
+      map.put(records[i], i);
+      set.add(records[i]);
+      concurrentMap.put(records[i], i);
+    }
+    final Probe<Record> probe = reflectiveFactory.newProbe();
+    for (int i = 0; i < records.length; ++i) {
+      loadByName(probe, records[i]);
+      final Integer expected = map.get(records[i]); // Not always i, since some records are equal
+      assertEquals(expected, map.getByProbe(probe));
+      assertTrue(map.containsProbe(probe));
+      assertTrue(set.containsProbe(probe));
+      assertEquals(expected, concurrentMap.getByProbe(probe));
+    }
+    loadByName(probe, Record.random(random));
+    probe.setInt(probe.indexOf("alpha"), -1); // random records are never negative
+    assertNull(map.getByProbe(probe));
+    assertFalse(set.containsProbe(probe));
+    assertFalse(concurrentMap.containsProbe(probe));
+  }
+
+  @Test
+  public void testErrors() {
+    final Probe<Record> probe = reflectiveFactory.newProbe();
+    try {
+      probe.indexOf("missing");
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E20:"));
+    }
+    try {
+      probe.setLong(probe.indexOf("alpha"), 5L);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E21:"));
+    }
+    try {
+      new DogTagHashMap<Record, String>(lambdaFactory).getByProbe(probe);
+      fail();
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("E23:"));
+    }
+  }
+
+  private interface Loader {
+    void load(Probe<Record> probe, Record record);
+  }
+
+  private static void loadByName(final Probe<Record> probe, final Record record) {
+    probe.setInt(probe.indexOf("alpha"), record.alpha)
+        .setLong(probe.indexOf("bravo"), record.bravo)
+        .setShort(probe.indexOf("charlie"), record.charlie)
+        .setChar(probe.indexOf("delta"), record.delta)
+        .setByte(probe.indexOf("echo"), record.echo)
+        .setFloat(probe.indexOf("foxtrot"), record.foxtrot)
+        .setDouble(probe.indexOf("golf"), record.golf)
+        .setBoolean(probe.indexOf("hotel"), record.hotel)
+        .setObject(probe.indexOf("india"), record.india)
+        .setObject(probe.indexOf("juliet"), record.juliet)
+        .setObject(probe.indexOf("kilo"), record.kilo)
+        .setObject(probe.indexOf("lima"), record.lima);
+  }
+
+  private static void loadByIndex(final Probe<Record> probe, final Record record) {
+    probe.setInt(0, record.alpha)
+        .setLong(1, record.bravo)
+        .setShort(2, record.charlie)
+        .setChar(3, record.delta)
+        .setByte(4, record.echo)
+        .setFloat(5, record.foxtrot)
+        .setDouble(6, record.golf)
+        .setBoolean(7, record.hotel)
+        .setObject(8, record.india)
+        .setObject(9, record.juliet)
+        .setObject(10, record.kilo)
+        .setObject(11, record.lima);
+  }
+
+  private enum Region { NORTH, SOUTH, EAST, WEST }
+
+  private static final class Record {
+    private final int alpha;
+    private final long bravo;
+    private final short charlie;
+    private final char delta;
+    private final byte echo;
+    private final float foxtrot;
+    private final double golf;
+    private final boolean hotel;
+    private final String india;
+    private final Region juliet;
+    private final int[] kilo;
+    private final String[] lima;
+    private static final DogTag.Factory<?> factory = null; // prevent superfluous test failure
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    Record(final int alpha, final long bravo, final short charlie, final char delta, final byte echo, final float foxtrot,
+           final double golf, final boolean hotel, final String india, final Region juliet, final int[] kilo, final String[] lima) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+      this.echo = echo;
+      this.foxtrot = foxtrot;
+      this.golf = golf;
+      this.hotel = hotel;
+      this.india = india;
+      this.juliet = juliet;
+      this.kilo = kilo;
+      this.lima = lima;
+    }
+
+    /**
+     * Returns a record with random values. The ranges are small, so some records will be equal.
+     */
+    static Record random(final Random random) {
+      final Region[] regions = Region.values();
+      return new Record(random.nextInt(4), random.nextInt(3) - 1L, (short) random.nextInt(2), (char) ('a' + random.nextInt(2)),
+          (byte) random.nextInt(2), random.nextInt(2) / 2.0f, random.nextInt(2) * 1.5, random.nextBoolean(),
+          random.nextBoolean() ? null : ("s" + random.nextInt(2)), regions[random.nextInt(regions.length)],
+          random.nextBoolean() ? null : new int[] {random.nextInt(2), 7}, new String[] {"x", random.nextBoolean() ? "y" : null});
+    }
+
+    Record copy() {
+      return new Record(alpha, bravo, charlie, delta, echo, foxtrot, golf, hotel, india, juliet,
+          (kilo == null) ? null : kilo.clone(), (lima == null) ? null : lima.clone());
+    }
+
+    int getAlpha() {
+      return alpha;
+    }
+
+    long getBravo() {
+      return bravo;
+    }
+
+    short getCharlie() {
+      return charlie;
+    }
+
+    char getDelta() {
+      return delta;
+    }
+
+    byte getEcho() {
+      return echo;
+    }
+
+    float getFoxtrot() {
+      return foxtrot;
+    }
+
+    double getGolf() {
+      return golf;
+    }
+
+    boolean isHotel() {
+      return hotel;
+    }
+
+    String getIndia() {
+      return india;
+    }
+
+    Region getJuliet() {
+      return juliet;
+    }
+
+    int[] getKilo() {
+      return kilo;
+    }
+
+    String[] getLima() {
+      return lima;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the small plan handlers for every size, from both kinds of factory, against the values they should compare and hash.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:50 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class SmallPlansTest {
+  private static final String[] FIELD_NAMES = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india"};
+  private final Random random = new Random(71);
+
+  @Test
+  public void testReflectiveFactories() {
+    for (final DogTag.HashBuilder hashBuilder : Arrays.asList(null, new DogTag.SeededHashBuilder(5L))) {
+      for (int size = 1; size <= FIELD_NAMES.length; ++size) {
+        final DogTag.DogTagReflectiveBuilder<Nine> builder = DogTag.startWithAll(Nine.class)
+            .excludeFields(Arrays.copyOfRange(FIELD_NAMES, size, FIELD_NAMES.length));
+        if (hashBuilder != null) {
+          builder.withHashBuilder(17, hashBuilder);
+        }
+        final DogTag.ReflectiveFactory<Nine> factory = (DogTag.ReflectiveFactory<Nine>) builder.build();
+        assertEquals(size <= SmallPlans.MAX_VALUES, factory.isFused());
+        verify(factory, size, hashBuilder);
+      }
+    }
+  }
+
+  @Test
+  public void testLambdaFactories() {
+    for (final DogTag.HashBuilder hashBuilder : Arrays.asList(null, new DogTag.SeededHashBuilder(5L))) {
+      for (int size = 1; size <= FIELD_NAMES.length; ++size) {
+        final DogTag.LambdaFactory<Nine> factory = (DogTag.LambdaFactory<Nine>) lambdaFactory(size, hashBuilder);
+        if (size <= SmallPlans.MAX_VALUES) {
+          assertTrue(factory.isFused());
+        }
+        verify(factory, size, hashBuilder);
+      }
+    }
+  }
+
+  @Test
+  public void testHandlers() {
+    final Nine nine = randomNine();
+    for (int size = 0; size <= FIELD_NAMES.length; ++size) {
+      final DogTag.LambdaFactory<Nine> factory = (DogTag.LambdaFactory<Nine>) lambdaFactory(size, null);
+      final FusedHandler<Nine> handler = SmallPlans.forHandlers(
+          new ArrayList<>(factory.getEqualHandlerList()),
+          new ArrayList<>(factory.getHashHandlerList()),
+          1,
+          factory.getHashBuilder()
+      );
+      if ((size == 0) || (size > SmallPlans.MAX_VALUES)) {
+        assertNull(handler);
+      } else {
+        assertTrue(handler.equal(nine, nine.copy()));
+        assertEquals(expectedHash(nine, size, null), handler.hash(nine));
+      }
+    }
+  }
+
+  private void verify(final DogTag.Factory<Nine> factory, final int size, final DogTag.HashBuilder hashBuilder) {
+    for (int trial = 0; trial < 1000; ++trial) {
+      final Nine nine = randomNine();
+      final Nine other = random.nextBoolean() ? nine.copy() : randomNine();
+      assertEquals(expectedEqual(nine, other, size), factory.doEqualsTest(nine, other));
+      assertTrue(factory.doEqualsTest(nine, nine.copy()));
+      assertEquals(expectedHash(nine, size, hashBuilder), factory.doHashCodeInternal(nine));
+    }
+    assertFalse(factory.doEqualsTest(randomNine(), null));
+    assertFalse(factory.doEqualsTest(randomNine(), "nine"));
+  }
+
+  private static DogTag.Factory<Nine> lambdaFactory(final int size, final DogTag.HashBuilder hashBuilder) {
+    final DogTag.LambdaFactory.LambdaBuilder<Nine> builder = DogTag.startEmpty(Nine.class);
+    if (hashBuilder != null) {
+      builder.withHashBuilder(17, hashBuilder);
+    }
+    final Runnable[] adders = {
+        () -> builder.addSimple(Nine::getAlpha),
+        () -> builder.addSimple(Nine::getBravo),
+        () -> builder.addString(Nine::getCharlie),
+        () -> builder.addSimple(Nine::getDelta),
+        () -> builder.addSimple(Nine::isEcho),
+        () -> builder.addSimple(Nine::getFoxtrot),
+        () -> builder.addArray(Nine::getGolf),
+        () -> builder.addObject(Nine::getHotel),
+        () -> builder.addSimple(Nine::getIndia),
+    };
+    for (int i = 0; i < size; ++i) {
+      adders[i].run();
+    }
+    return builder.build();
+  }
+
+  private static boolean expectedEqual(final Nine nine, final Nine other, final int size) {
+    final boolean[] equal = {
+        nine.alpha == other.alpha,
+        nine.bravo == other.bravo,
+        Objects.equals(nine.charlie, other.charlie),
+        Double.doubleToLongBits(nine.delta) == Double.doubleToLongBits(other.delta),
+        nine.echo == other.echo,
+        nine.foxtrot == other.foxtrot,
+        Arrays.equals(nine.golf, other.golf),
+        Objects.equals(nine.hotel, other.hotel),
+        nine.india == other.india,
+    };
+    for (int i = 0; i < size; ++i) {
+      if (!equal[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int expectedHash(final Nine nine, final int size, final DogTag.HashBuilder hashBuilder) {
+    final int[] hashes = {
+        nine.alpha,
+        (hashBuilder == null) ? Long.hashCode(nine.bravo) : hashBuilder.hashLong(nine.bravo),
+        ((hashBuilder == null) || (nine.charlie == null)) ? Objects.hashCode(nine.charlie) : hashBuilder.hashString(nine.charlie),
+        (hashBuilder == null) ? Double.hashCode(nine.delta) : hashBuilder.hashLong(Double.doubleToLongBits(nine.delta)),
+        Boolean.hashCode(nine.echo),
+        nine.foxtrot,
+        Arrays.hashCode(nine.golf),
+        Objects.hashCode(nine.hotel),
+        nine.india,
+    };
+    int hash = (hashBuilder == null) ? 1 : 17;
+    for (int i = 0; i < size; ++i) {
+      hash = (hashBuilder == null) ? ((31 * hash) + hashes[i]) : hashBuilder.newHash(hash, hashes[i]);
+    }
+    return hash;
+  }
+
+  private Nine randomNine() {
+    final double[] doubles = {0.0, -0.0, Double.NaN};
+    final Nine nine = new Nine();
+    nine.alpha = random.nextInt(2);
+    nine.bravo = random.nextInt(2);
+    nine.charlie = random.nextBoolean() ? null : ("c" + random.nextInt(2));
+    nine.delta = doubles[random.nextInt(doubles.length)];
+    nine.echo = random.nextBoolean();
+    nine.foxtrot = (char) ('a' + random.nextInt(2));
+    nine.golf = random.nextBoolean() ? null : new int[] {random.nextInt(2)};
+    nine.hotel = random.nextBoolean() ? null : Integer.valueOf(random.nextInt(2));
+    nine.india = (short) random.nextInt(2);
+    return nine;
+  }
+
+  private static final class Nine {
+    private int alpha;
+    private long bravo;
+    private String charlie;
+    private double delta;
+    private boolean echo;
+    private char foxtrot;
+    private int[] golf;
+    private Object hotel;
+    private short india;
+    private static final DogTag.Factory<Nine> factory = null; // prevent superfluous test failure
+
+    Nine copy() {
+      final Nine copy = new Nine();
+      copy.alpha = alpha;
+      copy.bravo = bravo;
+      copy.charlie = (charlie == null) ? null : new String(charlie);
+      copy.delta = delta;
+      copy.echo = echo;
+      copy.foxtrot = foxtrot;
+      copy.golf = (golf == null) ? null : golf.clone();
+      copy.hotel = hotel;
+      copy.india = india;
+      return copy;
+    }
+
+    int getAlpha() {
+      return alpha;
+    }
+
+    long getBravo() {
+      return bravo;
+    }
+
+    String getCharlie() {
+      return charlie;
+    }
+
+    double getDelta() {
+      return delta;
+    }
+
+    boolean isEcho() {
+      return echo;
+    }
+
+    char getFoxtrot() {
+      return foxtrot;
+    }
+
+    int[] getGolf() {
+      return golf;
+    }
+
+    Object getHotel() {
+      return hotel;
+    }
+
+    short getIndia() {
+      return india;
+    }
+  }
+}
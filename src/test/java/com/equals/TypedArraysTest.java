@@ -0,0 +1,129 @@
+package com.equals;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 3:00 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class TypedArraysTest {
+  private final Random random = new Random(53);
+
+  @Test
+  public void testMatchesDeepVersions() {
+    for (int trial = 0; trial < 500; ++trial) {
+      verify(int[].class, randomInts2(), randomInts2());
+      verify(double[][].class, new double[][][] {randomDoubles2(), null, randomDoubles2()},
+          new double[][][] {randomDoubles2(), null, randomDoubles2()});
+      verify(boolean[].class, new boolean[][] {{true}, {random.nextBoolean()}}, new boolean[][] {{true}, {random.nextBoolean()}});
+      verify(String.class, randomStrings(), randomStrings());
+      verify(CharSequence.class, randomStrings(), randomStrings());
+      verify(Direction.class, randomDirections(), randomDirections());
+      verify(String[].class, new String[][] {randomStrings(), null}, new String[][] {randomStrings(), null});
+      verify(Object.class, new Object[] {randomInts2(), "x", randomStrings()}, new Object[] {randomInts2(), "x", randomStrings()});
+      verify(Object[].class, new Object[][] {{randomInts2()}, null}, new Object[][] {{randomInts2()}, null});
+      verify(Serializable.class, new Serializable[] {randomStrings(), 3}, new Serializable[] {randomStrings(), 3});
+    }
+  }
+
+  @Test
+  public void testNullsAndLengths() {
+    verify(int[].class, null, null);
+    verify(int[].class, null, new int[0][]);
+    verify(int[].class, new int[][] {null}, new int[][] {{}});
+    verify(int[].class, new int[][] {{1}}, new int[][] {{1}, {2}});
+    verify(String.class, new String[] {null}, new String[] {null});
+    verify(Direction.class, new Direction[] {Direction.UP}, null);
+  }
+
+  @Test
+  public void testFactory() {
+    final Grid grid = new Grid(new int[][] {{1, 2}, {3}}, new Direction[] {Direction.DOWN, null},
+        new double[][][] {{{0.5, Double.NaN}}, {null}});
+    final Grid copy = new Grid(new int[][] {{1, 2}, {3}}, new Direction[] {Direction.DOWN, null},
+        new double[][][] {{{0.5, Double.NaN}}, {null}});
+    assertTrue(Grid.factory.doEqualsTest(grid, copy));
+    assertEquals(((31 * ((31 * ((31 * 1) + Arrays.deepHashCode(grid.cells))) + Arrays.deepHashCode(grid.directions)))
+            + Arrays.deepHashCode(grid.volume)), Grid.factory.doHashCodeInternal(grid));
+    assertEquals(Grid.factory.doHashCodeInternal(grid), Grid.factory.doHashCodeInternal(copy));
+  }
+
+  private static void verify(final Class<?> componentType, final Object[] x, final Object[] y) {
+    final BiPredicate<Object, Object> equals = TypedArrays.equalsFor(componentType);
+    final ToIntFunction<Object> hash = TypedArrays.hashFor(componentType);
+    assertEquals(Arrays.deepEquals(x, y), equals.test(x, y));
+    assertEquals(Arrays.deepEquals(y, x), equals.test(y, x));
+    assertTrue(equals.test(x, x));
+    assertEquals(Arrays.deepHashCode(x), hash.applyAsInt(x));
+    assertEquals(Arrays.deepHashCode(y), hash.applyAsInt(y));
+  }
+
+  private int[][] randomInts2() {
+    final int[][] array = new int[random.nextInt(3)][];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = (random.nextInt(5) == 0) ? null : new int[] {random.nextInt(2), random.nextInt(2)};
+    }
+    return array;
+  }
+
+  private double[][] randomDoubles2() {
+    final double[] values = {0.0, -0.0, Double.NaN};
+    final double[][] array = new double[random.nextInt(2) + 1][];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = new double[] {values[random.nextInt(values.length)]};
+    }
+    return array;
+  }
+
+  private String[] randomStrings() {
+    final String[] names = {null, "a", "b"};
+    final String[] array = new String[random.nextInt(3)];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = names[random.nextInt(names.length)];
+    }
+    return array;
+  }
+
+  private Direction[] randomDirections() {
+    final Direction[] array = new Direction[random.nextInt(3)];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = random.nextBoolean() ? null : Direction.values()[random.nextInt(2)];
+    }
+    return array;
+  }
+
+  private enum Direction {
+    UP,
+    DOWN { // A constant with a body has its own subclass, which still can't be an array.
+      @Override
+      public String toString() {
+        return "down";
+      }
+    }
+  }
+
+  private static final class Grid {
+    private final int[][] cells;
+    private final Direction[] directions;
+    private final double[][][] volume;
+    private static final DogTag.Factory<Grid> factory = DogTag.startWithAll(Grid.class).build();
+
+    Grid(final int[][] cells, final Direction[] directions, final double[][][] volume) {
+      this.cells = cells;
+      this.directions = directions;
+      this.volume = volume;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.equals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 4:30 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral"})
+public class TypedCollectionsTest {
+  private final Random random = new Random(67);
+
+  @Test
+  public void testMatchesCollectionMethods() {
+    for (int trial = 0; trial < 2000; ++trial) {
+      final List<String> x = randomList();
+      final List<String> y = randomList();
+      assertEquals(x.equals(y), TypedCollections.listsEqual(x, y));
+      assertEquals(x.hashCode(), TypedCollections.listHash(x));
+      final Set<String> xSet = asSet(x);
+      final Set<String> ySet = asSet(y);
+      assertEquals(xSet.equals(ySet), TypedCollections.setsEqual(xSet, ySet));
+      final Map<String, Integer> xMap = asMap(x);
+      final Map<String, Integer> yMap = asMap(y);
+      assertEquals(xMap.equals(yMap), TypedCollections.mapsEqual(xMap, yMap));
+    }
+    assertTrue(TypedCollections.listsEqual(null, null));
+    assertFalse(TypedCollections.listsEqual(null, Collections.emptyList()));
+    assertFalse(TypedCollections.setsEqual(Collections.emptySet(), null));
+    assertFalse(TypedCollections.mapsEqual(null, Collections.emptyMap()));
+    assertEquals(0, TypedCollections.listHash(null));
+  }
+
+  @Test
+  public void testFactories() {
+    final DogTag.Factory<Holder> lambdaFactory = DogTag.startEmpty(Holder.class)
+        .addObject(Holder::getNames, List.class)
+        .addObject(Holder::getTags, Set.class)
+        .addObject(Holder::getCounts, Map.class)
+        .build();
+    for (final DogTag.Factory<Holder> factory : Arrays.asList(Holder.factory, lambdaFactory)) {
+      for (int trial = 0; trial < 500; ++trial) {
+        final List<String> names = randomList();
+        final Holder holder = new Holder(names, asSet(names), asMap(names));
+        final List<String> otherNames = random.nextBoolean() ? new LinkedList<>(names) : randomList();
+        final Holder other = new Holder(otherNames, asSet(otherNames), random.nextBoolean() ? null : asMap(otherNames));
+        final boolean expected = names.equals(otherNames) && Objects.equals(holder.counts, other.counts);
+        assertEquals(expected, factory.doEqualsTest(holder, other));
+        assertEquals(expected, factory.doEqualsTest(other, holder));
+        assertEquals(Objects.hash(holder.names, holder.tags, holder.counts), factory.doHashCodeInternal(holder));
+        assertEquals(Objects.hash(other.names, other.tags, other.counts), factory.doHashCodeInternal(other));
+      }
+    }
+  }
+
+  private List<String> randomList() {
+    final String[] values = {null, "a", "b", "c"};
+    final int size = random.nextInt(4);
+    final List<String> list = new ArrayList<>();
+    for (int i = 0; i < size; ++i) {
+      list.add(values[random.nextInt(values.length)]);
+    }
+    switch (random.nextInt(4)) {
+      case 0:
+        return new LinkedList<>(list);
+      case 1:
+        return Collections.unmodifiableList(list);
+      case 2:
+        return Arrays.asList(list.toArray(new String[0]));
+      default:
+        return list;
+    }
+  }
+
+  private Set<String> asSet(final Collection<String> values) {
+    if (values.contains(null)) {
+      return random.nextBoolean() ? new HashSet<>(values) : new LinkedHashSet<>(values);
+    }
+    return random.nextBoolean() ? new HashSet<>(values) : new TreeSet<>(values);
+  }
+
+  private Map<String, Integer> asMap(final List<String> values) {
+    final Map<String, Integer> map = (values.contains(null) || random.nextBoolean()) ? new HashMap<>() : new TreeMap<>();
+    for (final String value : values) {
+      map.merge(value, 1, Integer::sum);
+    }
+    return map;
+  }
+
+  private static final class Holder {
+    private final List<String> names;
+    private final Set<String> tags;
+    private final Map<String, Integer> counts;
+    private static final DogTag.Factory<Holder> factory = DogTag.startWithAll(Holder.class).build();
+
+    Holder(final List<String> names, final Set<String> tags, final Map<String, Integer> counts) {
+      this.names = names;
+      this.tags = tags;
+      this.counts = counts;
+    }
+
+    List<String> getNames() {
+      return names;
+    }
+
+    Set<String> getTags() {
+      return tags;
+    }
+
+    Map<String, Integer> getCounts() {
+      return counts;
+    }
+  }
+}
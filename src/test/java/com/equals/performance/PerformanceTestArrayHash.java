@@ -0,0 +1,83 @@
+package com.equals.performance;
+
+import java.util.Arrays;
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares hashing instances with large primitive array fields using DogTag, which uses an unrolled polynomial hash for
+ * arrays, against hashing the same arrays with Arrays.hashCode(), at several array sizes.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 12:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestArrayHash {
+  private static final int TOTAL_ELEMENTS = 20_000_000;
+
+  @Ignore
+  @Test
+  public void timeArrayHash() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(43);
+    for (final int size : new int[] {8, 64, 1024, 65536}) {
+      final int count = TOTAL_ELEMENTS / size;
+      final Key[] keys = new Key[count];
+      for (int i = 0; i < count; ++i) {
+        final int[] ints = new int[size];
+        final double[] doubles = new double[size];
+        for (int j = 0; j < size; ++j) {
+          ints[j] = random.nextInt();
+          doubles[j] = random.nextDouble();
+        }
+        keys[i] = new Key(ints, doubles);
+      }
+      for (int round = 0; round < 5; ++round) {
+        long start = System.nanoTime();
+        int arraysSum = 0;
+        for (final Key key : keys) {
+          arraysSum += (31 * (31 + Arrays.hashCode(key.ints))) + Arrays.hashCode(key.doubles);
+        }
+        final long arraysTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        int dogTagSum = 0;
+        for (final Key key : keys) {
+          dogTagSum += key.hashCode();
+        }
+        final long dogTagTime = System.nanoTime() - start;
+        if (arraysSum != dogTagSum) {
+          throw new AssertionError("Results differ");
+        }
+        System.out.printf("Size %5d: Arrays.hashCode() %4d ms, DogTag %4d ms%n", size, arraysTime / 1_000_000L,
+            dogTagTime / 1_000_000L);
+      }
+    }
+  }
+
+  private static final class Key {
+    private final int[] ints;
+    private final double[] doubles;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int[] ints, final double[] doubles) {
+      this.ints = ints;
+      this.doubles = doubles;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
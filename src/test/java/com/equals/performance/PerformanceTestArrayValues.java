@@ -0,0 +1,111 @@
+package com.equals.performance;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import com.equals.DogTag;
+import com.equals.IntArrayValue;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares keys with an int[] field against keys with an IntArrayValue field, by adding them to a HashSet and then looking up
+ * copies of them, which hashes every key and compares it to the keys in its bucket.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:50 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestArrayValues {
+  private static final int COUNT = 20_000;
+  private static final int LENGTH = 256;
+
+  @Ignore
+  @Test
+  public void timeArrayValues() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(43);
+    final ArrayKey[] arrayKeys = new ArrayKey[COUNT];
+    final ValueKey[] valueKeys = new ValueKey[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      final int[] values = new int[LENGTH];
+      for (int j = 0; j < LENGTH; ++j) {
+        values[j] = random.nextInt(4);
+      }
+      arrayKeys[i] = new ArrayKey(values);
+      valueKeys[i] = new ValueKey(IntArrayValue.of(values));
+    }
+    for (int round = 0; round < 5; ++round) {
+      long start = System.currentTimeMillis();
+      final int arrayFound = lookUp(arrayKeys);
+      final long arrayTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      final int valueFound = lookUp(valueKeys);
+      final long valueTime = System.currentTimeMillis() - start;
+      if (arrayFound != valueFound) {
+        throw new AssertionError("Results differ");
+      }
+      System.out.printf("HashSet add and lookup: int[] %4d ms, IntArrayValue %4d ms%n", arrayTime, valueTime);
+    }
+  }
+
+  private static <K> int lookUp(final K[] keys) {
+    int found = 0;
+    for (int pass = 0; pass < 10; ++pass) {
+      final Set<K> set = new HashSet<>();
+      for (final K key : keys) {
+        set.add(key);
+      }
+      for (final K key : keys) {
+        if (set.contains(key)) {
+          found++;
+        }
+      }
+    }
+    return found;
+  }
+
+  private static final class ArrayKey {
+    private final int[] values;
+    private static final DogTag.Factory<ArrayKey> factory = DogTag.startWithAll(ArrayKey.class).build();
+    private final transient DogTag<ArrayKey> dogTag = factory.tag(this);
+
+    ArrayKey(final int[] values) {
+      this.values = values;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class ValueKey {
+    private final IntArrayValue values;
+    private static final DogTag.Factory<ValueKey> factory = DogTag.startWithAll(ValueKey.class).build();
+    private final transient DogTag<ValueKey> dogTag = factory.tag(this);
+
+    ValueKey(final IntArrayValue values) {
+      this.values = values;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
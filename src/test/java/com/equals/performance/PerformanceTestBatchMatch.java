@@ -0,0 +1,108 @@
+package com.equals.performance;
+
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares searching an array of candidates for an equal instance with an equals() loop against DogTag.Factory.findEqual() and
+ * DogTag.Factory.matchMask().
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 12:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestBatchMatch {
+  private static final int COUNT = 10_000;
+  private static final int SEARCHES = 2_000;
+
+  @Ignore
+  @Test
+  public void timeBatchMatch() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(37);
+    final Key[] candidates = new Key[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      candidates[i] = new Key(random.nextInt(8), "name" + random.nextInt(4), random.nextInt(100), random.nextInt(4));
+    }
+    final Key[] targets = new Key[SEARCHES];
+    for (int i = 0; i < SEARCHES; ++i) {
+      targets[i] = candidates[random.nextInt(COUNT)].copy();
+    }
+    for (int round = 0; round < 5; ++round) {
+      long start = System.currentTimeMillis();
+      long loopSum = 0L;
+      for (final Key target : targets) {
+        for (int i = 0; i < COUNT; ++i) {
+          if (target.equals(candidates[i])) {
+            loopSum += i;
+            break;
+          }
+        }
+      }
+      final long loopFirstTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      long loopCount = 0L;
+      for (final Key target : targets) {
+        for (int i = 0; i < COUNT; ++i) {
+          if (target.equals(candidates[i])) {
+            loopCount++;
+          }
+        }
+      }
+      final long loopAllTime = System.currentTimeMillis() - start;
+
+      start = System.currentTimeMillis();
+      long findSum = 0L;
+      for (final Key target : targets) {
+        findSum += Key.factory.findEqual(target, candidates);
+      }
+      final long findTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      long maskCount = 0L;
+      for (final Key target : targets) {
+        maskCount += Key.factory.matchMask(target, candidates).cardinality();
+      }
+      final long maskTime = System.currentTimeMillis() - start;
+      if ((loopSum != findSum) || (loopCount != maskCount)) {
+        throw new AssertionError("Results differ");
+      }
+      System.out.printf("equals() loop: first %4d ms, all %4d ms.   findEqual %4d ms, matchMask %4d ms%n",
+          loopFirstTime, loopAllTime, findTime, maskTime);
+    }
+  }
+
+  private static final class Key {
+    private final int group;
+    private final String name;
+    private final int serial;
+    private final int kind;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int group, final String name, final int serial, final int kind) {
+      this.group = group;
+      this.name = name;
+      this.serial = serial;
+      this.kind = kind;
+    }
+
+    Key copy() {
+      return new Key(group, name, serial, kind);
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.equals.performance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import com.equals.DogTag;
+import com.equals.DogTagBloomFilter;
+import com.equals.DogTagCountingBloomFilter;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Measures the insert and lookup throughput of the Bloom filters, with each hashing strategy, on the heap and memory-mapped, along
+ * with the measured false-positive rate against the target rate.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:50 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestBloomFilter {
+  private static final int COUNT = 2_000_000;
+  private static final double[] RATES = {0.01, 0.001};
+
+  @Ignore
+  @Test
+  public void timeFilters() throws IOException {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Key[] present = new Key[COUNT];
+    final Key[] absent = new Key[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      present[i] = new Key(i, i * 7L, "key" + (i % 1000));
+      absent[i] = new Key(i + COUNT, i * 7L, "key" + (i % 1000));
+    }
+    final Path file = Files.createTempFile("bloom", ".bits");
+    try {
+      for (int round = 0; round < 2; ++round) {
+        for (final double rate : RATES) {
+          for (final DogTagBloomFilter.Strategy strategy : DogTagBloomFilter.Strategy.values()) {
+            time("heap   ", rate, strategy, new DogTagBloomFilter<>(Key.factory, COUNT, rate, strategy), present, absent);
+            Files.delete(file);
+            time("mapped ", rate, strategy, DogTagBloomFilter.mapped(Key.factory, COUNT, rate, strategy, file), present, absent);
+            timeCounting(rate, strategy, new DogTagCountingBloomFilter<>(Key.factory, COUNT, rate, strategy), present, absent);
+          }
+        }
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void time(
+      final String label,
+      final double rate,
+      final DogTagBloomFilter.Strategy strategy,
+      final DogTagBloomFilter<Key> filter,
+      final Key[] present,
+      final Key[] absent
+  ) {
+    long start = System.currentTimeMillis();
+    for (final Key key : present) {
+      filter.put(key);
+    }
+    final long insertTime = System.currentTimeMillis() - start;
+    start = System.currentTimeMillis();
+    int found = 0;
+    for (final Key key : present) {
+      if (filter.mightContain(key)) {
+        found++;
+      }
+    }
+    int falsePositives = 0;
+    for (final Key key : absent) {
+      if (filter.mightContain(key)) {
+        falsePositives++;
+      }
+    }
+    final long lookupTime = System.currentTimeMillis() - start;
+    if (found != COUNT) {
+      throw new AssertionError("False negatives: " + (COUNT - found));
+    }
+    report(label, rate, strategy, filter.getHashCount(), insertTime, lookupTime, falsePositives);
+  }
+
+  private static void timeCounting(
+      final double rate,
+      final DogTagBloomFilter.Strategy strategy,
+      final DogTagCountingBloomFilter<Key> filter,
+      final Key[] present,
+      final Key[] absent
+  ) {
+    long start = System.currentTimeMillis();
+    for (final Key key : present) {
+      filter.put(key);
+    }
+    final long insertTime = System.currentTimeMillis() - start;
+    start = System.currentTimeMillis();
+    int found = 0;
+    for (final Key key : present) {
+      if (filter.mightContain(key)) {
+        found++;
+      }
+    }
+    int falsePositives = 0;
+    for (final Key key : absent) {
+      if (filter.mightContain(key)) {
+        falsePositives++;
+      }
+    }
+    final long lookupTime = System.currentTimeMillis() - start;
+    if (found != COUNT) {
+      throw new AssertionError("False negatives: " + (COUNT - found));
+    }
+    report("counting", rate, strategy, filter.getHashCount(), insertTime, lookupTime, falsePositives);
+  }
+
+  private static void report(
+      final String label,
+      final double rate,
+      final DogTagBloomFilter.Strategy strategy,
+      final int hashCount,
+      final long insertTime,
+      final long lookupTime,
+      final int falsePositives
+  ) {
+    System.out.printf("%s %-14s target %.3f%% k=%2d: insert %6.2f M/s   lookup %6.2f M/s   false positives %.3f%%%n", label,
+        strategy, rate * 100.0, hashCount, COUNT / (Math.max(1L, insertTime) * 1000.0),
+        (2.0 * COUNT) / (Math.max(1L, lookupTime) * 1000.0), (falsePositives * 100.0) / COUNT);
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final String charlie;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int alpha, final long bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.equals.performance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares a lambda factory built with the untyped addObject() for List, Set, and Map values against one built with the typed
+ * addObject(), which compares sizes first and loops over RandomAccess lists by index.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 4:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestCollections {
+  private static final int COUNT = 200_000;
+
+  private static final DogTag.Factory<Entity> untypedFactory = DogTag.startEmpty(Entity.class)
+      .addObject(Entity::getItems)
+      .addObject(Entity::getTags)
+      .addObject(Entity::getAttributes)
+      .build();
+  private static final DogTag.Factory<Entity> typedFactory = DogTag.startEmpty(Entity.class)
+      .addObject(Entity::getItems, List.class)
+      .addObject(Entity::getTags, Set.class)
+      .addObject(Entity::getAttributes, Map.class)
+      .build();
+
+  @Ignore
+  @Test
+  public void timeCollections() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(71);
+    final Entity[] entities = new Entity[COUNT];
+    final Entity[] others = new Entity[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      entities[i] = Entity.random(random, 20);
+      // Half the pairs are equal. The rest mostly differ in size.
+      others[i] = random.nextBoolean() ? entities[i].copy() : Entity.random(random, 20);
+    }
+    for (int round = 0; round < 5; ++round) {
+      final long untypedTime = time(0, entities, others);
+      final long typedTime = time(1, entities, others);
+      System.out.printf("equals and hashCode: untyped addObject %4d ms, typed addObject %4d ms%n", untypedTime, typedTime);
+    }
+  }
+
+  private static long time(final int tagIndex, final Entity[] entities, final Entity[] others) {
+    final long start = System.currentTimeMillis();
+    int total = 0;
+    for (int pass = 0; pass < 5; ++pass) {
+      for (int i = 0; i < entities.length; ++i) {
+        final DogTag<Entity> tag = entities[i].tags[tagIndex];
+        total += tag.equals(others[i]) ? 1 : 0;
+        total += tag.hashCode();
+      }
+    }
+    if (total == 42) {
+      System.out.println("Unlikely"); // keep the loop from being eliminated
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private static final class Entity {
+    private final List<String> items;
+    private final Set<String> labels;
+    private final Map<String, Integer> attributes;
+    private final DogTag<Entity>[] tags;
+    private static final DogTag.Factory<?> factory = null; // The lambda builder requires a static factory field.
+
+    Entity(final List<String> items, final Set<String> labels, final Map<String, Integer> attributes) {
+      this.items = items;
+      this.labels = labels;
+      this.attributes = attributes;
+      //noinspection unchecked
+      tags = new DogTag[] {untypedFactory.tag(this), typedFactory.tag(this)};
+    }
+
+    static Entity random(final Random random, final int maxSize) {
+      final List<String> items = new ArrayList<>();
+      final Set<String> labels = new HashSet<>();
+      final Map<String, Integer> attributes = new HashMap<>();
+      final int size = random.nextInt(maxSize);
+      for (int i = 0; i < size; ++i) {
+        items.add("item" + random.nextInt(100));
+        labels.add("label" + random.nextInt(100));
+        attributes.put("key" + random.nextInt(100), i);
+      }
+      return new Entity(items, labels, attributes);
+    }
+
+    Entity copy() {
+      return new Entity(new ArrayList<>(items), new HashSet<>(labels), new HashMap<>(attributes));
+    }
+
+    List<String> getItems() {
+      return items;
+    }
+
+    Set<String> getTags() {
+      return labels;
+    }
+
+    Map<String, Integer> getAttributes() {
+      return attributes;
+    }
+  }
+}
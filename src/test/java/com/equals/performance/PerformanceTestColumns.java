@@ -0,0 +1,115 @@
+package com.equals.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import com.equals.DogTag;
+import com.equals.DogTagColumns;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares computing hash codes and row-by-row equality over a large list of instances, one instance at a time, against
+ * extracting the values into DogTagColumns and working over the columns.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:05 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestColumns {
+  private static final int COUNT = 4_000_000;
+
+  @Ignore
+  @Test
+  public void timeColumns() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(29);
+    final List<Key> before = new ArrayList<>(COUNT);
+    final List<Key> after = new ArrayList<>(COUNT);
+    for (int i = 0; i < COUNT; ++i) {
+      final Key key = new Key(random.nextInt(), random.nextLong(), random.nextDouble(), random.nextInt(50) - 25);
+      before.add(key);
+      after.add((random.nextInt(10) == 0) ? new Key(key.alpha, key.bravo, key.charlie + 1.0, key.delta) : key.copy());
+    }
+    final DogTagColumns<Key> beforeColumns = new DogTagColumns<>(Key.factory, COUNT);
+    final DogTagColumns<Key> afterColumns = new DogTagColumns<>(Key.factory, COUNT);
+    int[] hashes = new int[COUNT];
+    boolean[] equal = new boolean[COUNT];
+    for (int round = 0; round < 5; ++round) {
+      long start = System.currentTimeMillis();
+      int hashSum = 0;
+      for (int i = 0; i < COUNT; ++i) {
+        hashes[i] = before.get(i).hashCode();
+        hashSum += hashes[i];
+      }
+      final long objectHashTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      int equalCount = 0;
+      for (int i = 0; i < COUNT; ++i) {
+        if (before.get(i).equals(after.get(i))) {
+          equalCount++;
+        }
+      }
+      final long objectEqualTime = System.currentTimeMillis() - start;
+
+      start = System.currentTimeMillis();
+      beforeColumns.fill(before);
+      afterColumns.fill(after);
+      final long fillTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      hashes = beforeColumns.hashCodes(hashes);
+      int columnHashSum = 0;
+      for (int i = 0; i < COUNT; ++i) {
+        columnHashSum += hashes[i];
+      }
+      final long columnHashTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      equal = beforeColumns.equalRows(afterColumns, equal);
+      int columnEqualCount = 0;
+      for (int i = 0; i < COUNT; ++i) {
+        if (equal[i]) {
+          columnEqualCount++;
+        }
+      }
+      final long columnEqualTime = System.currentTimeMillis() - start;
+      if ((hashSum != columnHashSum) || (equalCount != columnEqualCount)) {
+        throw new AssertionError("Results differ");
+      }
+      System.out.printf("Objects: hash %4d ms, equal %4d ms.   Columns: fill both %4d ms, hash %4d ms, equal %4d ms%n",
+          objectHashTime, objectEqualTime, fillTime, columnHashTime, columnEqualTime);
+    }
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final double charlie;
+    private final int delta;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int alpha, final long bravo, final double charlie, final int delta) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+    }
+
+    Key copy() {
+      return new Key(alpha, bravo, charlie, delta);
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.equals.performance;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the speed of the Comparator generated by a factory against a hand-written chain of {@code Comparator.comparing()}
+ * calls over the same fields, by sorting an array and by filling a TreeMap.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestComparator {
+  private static final int COUNT = 1_000_000;
+
+  @Ignore
+  @Test
+  public void timeComparators() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(3);
+    final Key[] keys = new Key[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      // Few distinct values in the leading fields, so most comparisons reach the later fields.
+      keys[i] = new Key(random.nextInt(16), random.nextInt(64), "name" + random.nextInt(1000), random.nextDouble());
+    }
+    final Comparator<Key> generated = Key.reflectiveFactory.comparator();
+    final Comparator<Key> generatedLambda = Key.lambdaFactory.comparator();
+    final Comparator<Key> chain = Comparator.comparingInt(Key::getAlpha)
+        .thenComparingLong(Key::getBravo)
+        .thenComparing(Key::getCharlie)
+        .thenComparingDouble(Key::getDelta);
+    for (int round = 0; round < 3; ++round) {
+      System.out.printf("Round %d%n", round);
+      time("reflective factory", generated, keys);
+      time("lambda factory    ", generatedLambda, keys);
+      time("comparing() chain ", chain, keys);
+    }
+  }
+
+  private static void time(final String label, final Comparator<Key> comparator, final Key[] keys) {
+    final Key[] copy = keys.clone();
+    long start = System.currentTimeMillis();
+    Arrays.sort(copy, comparator);
+    final long sortTime = System.currentTimeMillis() - start;
+
+    start = System.currentTimeMillis();
+    final TreeMap<Key, Key> map = new TreeMap<>(comparator);
+    for (final Key key : keys) {
+      map.put(key, key);
+    }
+    final long treeTime = System.currentTimeMillis() - start;
+    System.out.printf("  %s: sort %5d ms   TreeMap %5d ms   (%d entries)%n", label, sortTime, treeTime, map.size());
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final String charlie;
+    private final double delta;
+    private static final DogTag.Factory<Key> reflectiveFactory = DogTag.startWithAll(Key.class).build();
+    private static final DogTag.Factory<Key> lambdaFactory = DogTag.startEmpty(Key.class)
+        .addSimple(Key::getAlpha)
+        .addSimple(Key::getBravo)
+        .addObject(Key::getCharlie)
+        .addSimple(Key::getDelta)
+        .build();
+    private final DogTag<Key> dogTag = reflectiveFactory.tag(this);
+
+    Key(final int alpha, final long bravo, final String charlie, final double delta) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+      this.delta = delta;
+    }
+
+    int getAlpha() {
+      return alpha;
+    }
+
+    long getBravo() {
+      return bravo;
+    }
+
+    String getCharlie() {
+      return charlie;
+    }
+
+    double getDelta() {
+      return delta;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.equals.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import com.equals.ConcurrentDogTagHashMap;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares a ConcurrentDogTagHashMap against a ConcurrentHashMap whose keys implement equals() and hashCode() with a DogTag, from
+ * 1 to 64 threads. Each thread calls computeIfAbsent() on a shared set of keys, using new but equal key instances, so most calls
+ * find an existing entry, as they would when deduplicating an ingestion feed.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 4:25 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestConcurrentDogTagHashMap {
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+  private static final int KEY_COUNT = 200_000;
+  private static final int OPERATIONS = 8_000_000; // Divided among the threads
+
+  @Ignore
+  @Test
+  public void timeComputeIfAbsent() throws Exception {
+    System.out.printf("Java version %s, %d processors%n", System.getProperty("java.version"),
+        Runtime.getRuntime().availableProcessors());
+    final Key[] probes = new Key[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; ++i) {
+      probes[i] = new Key(i, i * 13L, "key" + i);
+    }
+    for (int i = 0; i < 3; ++i) {
+      for (final int threads : THREAD_COUNTS) {
+        final long chmTime = time(threads, probes, ConcurrentHashMap::new);
+        final long dogTagTime = time(threads, probes, () -> new ConcurrentDogTagHashMap<>(Key.factory));
+        System.out.printf("%2d threads: ConcurrentHashMap %5d ms   ConcurrentDogTagHashMap %5d ms   ratio %.3f%n", threads, chmTime,
+            dogTagTime, ((double) dogTagTime) / chmTime);
+      }
+    }
+  }
+
+  private static long time(final int threadCount, final Key[] probes, final Supplier<ConcurrentMap<Key, Integer>> mapSupplier)
+      throws Exception {
+    final ConcurrentMap<Key, Integer> map = mapSupplier.get();
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<Long>> futures = new ArrayList<>();
+    final int perThread = OPERATIONS / threadCount;
+    for (int t = 0; t < threadCount; ++t) {
+      final int offset = t * 7_919;
+      futures.add(executor.submit(() -> {
+        start.await();
+        long sum = 0;
+        for (int i = 0; i < perThread; ++i) {
+          final Key probe = probes[(offset + i) % KEY_COUNT];
+          sum += map.computeIfAbsent(probe, k -> k.alpha);
+        }
+        return sum;
+      }));
+    }
+    final long startTime = System.currentTimeMillis();
+    start.countDown();
+    long total = 0;
+    for (final Future<Long> future : futures) {
+      total += future.get();
+    }
+    final long elapsed = System.currentTimeMillis() - startTime;
+    executor.shutdown();
+    if (total == 42) {
+      System.out.println(); // Keep the JIT from eliminating the loop
+    }
+    return elapsed;
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final String charlie;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int alpha, final long bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.equals.performance;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.equals.DogTag;
+import com.equals.DogTagHashMap;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares a DogTagHashMap against a HashMap whose keys implement equals() and hashCode() with a DogTag. Both maps use the same
+ * factory, so the difference is the cost of the table itself and of the indirection through the keys.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 2:35 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestDogTagHashMap {
+  private static final int[] KEY_COUNTS = {1_000, 100_000, 1_000_000};
+  private static final int LOOKUPS = 5_000_000;
+
+  @Ignore
+  @Test
+  public void timeMaps() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    for (int i = 0; i < 3; ++i) {
+      for (final int count : KEY_COUNTS) {
+        final Key[] keys = new Key[count];
+        final Key[] probes = new Key[count];
+        for (int k = 0; k < count; ++k) {
+          keys[k] = new Key(k, k * 7L, "key" + k);
+          probes[k] = new Key(k, k * 7L, "key" + k); // equal, but not identical
+        }
+        final long hashMapPut = timePut(new HashMap<>(), keys);
+        final long dogTagMapPut = timePut(new DogTagHashMap<>(Key.factory), keys);
+        final Map<Key, Integer> hashMap = new HashMap<>();
+        final Map<Key, Integer> dogTagMap = new DogTagHashMap<>(Key.factory);
+        timePut(hashMap, keys);
+        timePut(dogTagMap, keys);
+        final long hashMapGet = timeGet(hashMap, probes);
+        final long dogTagMapGet = timeGet(dogTagMap, probes);
+        System.out.printf("%,9d keys  put: HashMap %5d ms  DogTagHashMap %5d ms   get x %,d: HashMap %5d ms  DogTagHashMap %5d ms%n",
+            count, hashMapPut, dogTagMapPut, LOOKUPS, hashMapGet, dogTagMapGet);
+      }
+    }
+  }
+
+  private static long timePut(final Map<Key, Integer> map, final Key[] keys) {
+    final long start = System.currentTimeMillis();
+    for (int i = 0; i < keys.length; ++i) {
+      map.put(keys[i], i);
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private static long timeGet(final Map<Key, Integer> map, final Key[] probes) {
+    long sum = 0;
+    final long start = System.currentTimeMillis();
+    for (int i = 0; i < LOOKUPS; ++i) {
+      sum += map.get(probes[i % probes.length]);
+    }
+    final long end = System.currentTimeMillis();
+    if (sum == 42) {
+      System.out.println(); // Keep the JIT from eliminating the loop
+    }
+    return end - start;
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final String charlie;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int alpha, final long bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
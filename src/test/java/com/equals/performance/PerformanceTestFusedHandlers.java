@@ -0,0 +1,224 @@
+package com.equals.performance;
+
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Times a lambda factory after several others have run through the same loops, so their call sites have seen many handlers. Run
+ * it once from target/classes, where the factory uses its loops, and once from the jar on Java 11 or later, where it uses the
+ * class generated for it.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestFusedHandlers {
+  private static final int COUNT = 200_000;
+
+  @Ignore
+  @Test
+  public void timeFusedHandlers() {
+    System.out.printf("Java version %s, DogTag loaded from %s%n", System.getProperty("java.version"),
+        DogTag.class.getProtectionDomain().getCodeSource().getLocation());
+    final Random random = new Random(67);
+    pollute(random);
+    final Trade[] trades = new Trade[COUNT];
+    final Trade[] others = new Trade[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      trades[i] = Trade.random(random);
+      others[i] = random.nextBoolean() ? trades[i].copy() : Trade.random(random);
+    }
+    for (int round = 0; round < 5; ++round) {
+      final long start = System.currentTimeMillis();
+      int total = 0;
+      for (int pass = 0; pass < 10; ++pass) {
+        for (int i = 0; i < COUNT; ++i) {
+          if (trades[i].equals(others[i])) {
+            total++;
+          }
+          total += trades[i].hashCode();
+        }
+      }
+      if (total == 42) {
+        System.out.println("Unlikely");
+      }
+      System.out.printf("equals and hashCode: %4d ms%n", System.currentTimeMillis() - start);
+    }
+  }
+
+  // Runs other factories, with other kinds of getters, through the same code.
+  private static void pollute(final Random random) {
+    int total = 0;
+    for (int i = 0; i < COUNT; ++i) {
+      final Quote quote = new Quote("q" + random.nextInt(3), random.nextLong(), random.nextDouble());
+      final Tick tick = new Tick(random.nextInt(3), (short) random.nextInt(3), random.nextFloat());
+      if (quote.equals(new Quote(quote.symbol, quote.time, quote.price))) {
+        total++;
+      }
+      if (tick.equals(new Tick(tick.venue, tick.lot, tick.size))) {
+        total++;
+      }
+      total += quote.hashCode() + tick.hashCode();
+    }
+    if (total == 42) {
+      System.out.println("Unlikely");
+    }
+  }
+
+  private static final class Trade {
+    private final String account;
+    private final long time;
+    private final int quantity;
+    private final double price;
+    private final boolean buy;
+    private final char venue;
+    private static final DogTag.Factory<Trade> factory = DogTag.startEmpty(Trade.class)
+        .addString(Trade::getAccount)
+        .addSimple(Trade::getTime)
+        .addSimple(Trade::getQuantity)
+        .addSimple(Trade::getPrice)
+        .addSimple(Trade::isBuy)
+        .addSimple(Trade::getVenue)
+        .build();
+    private final transient DogTag<Trade> dogTag = factory.tag(this);
+
+    Trade(final String account, final long time, final int quantity, final double price, final boolean buy, final char venue) {
+      this.account = account;
+      this.time = time;
+      this.quantity = quantity;
+      this.price = price;
+      this.buy = buy;
+      this.venue = venue;
+    }
+
+    static Trade random(final Random random) {
+      return new Trade("a" + random.nextInt(3), random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextBoolean(),
+          (char) ('a' + random.nextInt(2)));
+    }
+
+    Trade copy() {
+      return new Trade(account, time, quantity, price, buy, venue);
+    }
+
+    String getAccount() {
+      return account;
+    }
+
+    long getTime() {
+      return time;
+    }
+
+    int getQuantity() {
+      return quantity;
+    }
+
+    double getPrice() {
+      return price;
+    }
+
+    boolean isBuy() {
+      return buy;
+    }
+
+    char getVenue() {
+      return venue;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Quote {
+    private final String symbol;
+    private final long time;
+    private final double price;
+    private static final DogTag.Factory<Quote> factory = DogTag.startEmpty(Quote.class)
+        .addString(Quote::getSymbol)
+        .addSimple(Quote::getTime)
+        .addSimple(Quote::getPrice)
+        .build();
+    private final transient DogTag<Quote> dogTag = factory.tag(this);
+
+    Quote(final String symbol, final long time, final double price) {
+      this.symbol = symbol;
+      this.time = time;
+      this.price = price;
+    }
+
+    String getSymbol() {
+      return symbol;
+    }
+
+    long getTime() {
+      return time;
+    }
+
+    double getPrice() {
+      return price;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Tick {
+    private final int venue;
+    private final short lot;
+    private final float size;
+    private static final DogTag.Factory<Tick> factory = DogTag.startEmpty(Tick.class)
+        .addSimple(Tick::getVenue)
+        .addSimple(Tick::getLot)
+        .addSimple(Tick::getSize)
+        .build();
+    private final transient DogTag<Tick> dogTag = factory.tag(this);
+
+    Tick(final int venue, final short lot, final float size) {
+      this.venue = venue;
+      this.lot = lot;
+      this.size = size;
+    }
+
+    int getVenue() {
+      return venue;
+    }
+
+    short getLot() {
+      return lot;
+    }
+
+    float getSize() {
+      return size;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.equals.performance;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import com.equals.DogTag;
+import com.equals.DogTagCollectors;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares DogTagCollectors.groupingByConcurrent() against {@code Collectors.groupingByConcurrent()} and
+ * {@code Collectors.groupingBy()}, counting 10 million records in parallel streams. The records implement equals() and hashCode()
+ * with the same factory.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:50 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestGroupingCollector {
+  private static final int COUNT = 10_000_000;
+  private static final int[] GROUP_COUNTS = {1_000, 1_000_000};
+
+  @Ignore
+  @Test
+  public void timeGrouping() {
+    System.out.printf("Java version %s with %d processors%n", System.getProperty("java.version"),
+        Runtime.getRuntime().availableProcessors());
+    for (final int groups : GROUP_COUNTS) {
+      final Random random = new Random(3L);
+      final Key[] keys = new Key[COUNT];
+      for (int i = 0; i < COUNT; ++i) {
+        final int k = random.nextInt(groups);
+        keys[i] = new Key(k, k * 7L, "key" + (k % 1000));
+      }
+      for (int i = 0; i < 3; ++i) {
+        time(groups, "groupingBy                ", () -> Arrays.stream(keys).parallel()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+        time(groups, "groupingByConcurrent      ", () -> Arrays.stream(keys).parallel()
+            .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting())));
+        time(groups, "DogTag groupingByConcurrent", () -> Arrays.stream(keys).parallel()
+            .collect(DogTagCollectors.groupingByConcurrent(Function.identity(), Key.factory, Collectors.counting(), groups)));
+      }
+    }
+  }
+
+  private static void time(final int groups, final String label, final Supplier<Map<Key, Long>> grouping) {
+    System.gc();
+    final long start = System.currentTimeMillis();
+    final Map<Key, Long> counts = grouping.get();
+    final long end = System.currentTimeMillis();
+    if (counts.size() > groups) {
+      throw new AssertionError(counts.size());
+    }
+    System.out.printf("%,9d groups  %s %5d ms%n", groups, label, end - start);
+  }
+
+  private static final class Key {
+    private final int alpha;
+    private final long bravo;
+    private final String charlie;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private final DogTag<Key> dogTag = factory.tag(this);
+
+    Key(final int alpha, final long bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.equals.performance;
+
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares a factory for a composite key, whose members have DogTags of their own, with and without the InlinedMembers option.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 8:05 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestInlinedMembers {
+  private static final int COUNT = 200_000;
+
+  @Ignore
+  @Test
+  public void timeInlinedMembers() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(59);
+    final Key[] keys = new Key[COUNT];
+    final Key[] others = new Key[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      keys[i] = Key.random(random);
+      others[i] = random.nextBoolean() ? keys[i].copy() : Key.random(random);
+    }
+    for (int round = 0; round < 5; ++round) {
+      final long plainTime = time(0, keys, others);
+      final long inlinedTime = time(1, keys, others);
+      System.out.printf("equals and hashCode: plain %4d ms, inlined %4d ms%n", plainTime, inlinedTime);
+    }
+  }
+
+  private static long time(final int tagIndex, final Key[] keys, final Key[] others) {
+    final long start = System.currentTimeMillis();
+    int total = 0;
+    for (int pass = 0; pass < 10; ++pass) {
+      for (int i = 0; i < keys.length; ++i) {
+        final DogTag<Key> tag = keys[i].tags[tagIndex];
+        if (tag.equals(others[i])) {
+          total++;
+        }
+        total += tag.hashCode();
+      }
+    }
+    if (total == 42) {
+      System.out.println("Unlikely");
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private static final class Account {
+    private final String bank;
+    private final long number;
+    private static final DogTag.Factory<Account> factory = DogTag.startWithAll(Account.class).build();
+    private final DogTag<Account> dogTag = factory.tag(this);
+
+    Account(final String bank, final long number) {
+      this.bank = bank;
+      this.number = number;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Period {
+    private final int year;
+    private final int month;
+    private static final DogTag.Factory<Period> factory = DogTag.startWithAll(Period.class).build();
+    private final DogTag<Period> dogTag = factory.tag(this);
+
+    Period(final int year, final int month) {
+      this.year = year;
+      this.month = month;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Key {
+    private final Account account;
+    private final Period period;
+    private final int sequence;
+    private static final DogTag.Factory<Key> factory = DogTag.startWithAll(Key.class).build();
+    private static final DogTag.Factory<Key> inlinedFactory = DogTag.startWithAll(Key.class).withInlinedMembers(1).build();
+    @SuppressWarnings("unchecked")
+    private final transient DogTag<Key>[] tags = new DogTag[] {factory.tag(this), inlinedFactory.tag(this)};
+
+    Key(final Account account, final Period period, final int sequence) {
+      this.account = account;
+      this.period = period;
+      this.sequence = sequence;
+    }
+
+    static Key random(final Random random) {
+      return new Key(new Account("bank" + random.nextInt(3), random.nextInt(4)), new Period(2020 + random.nextInt(3),
+          random.nextInt(12)), random.nextInt(2));
+    }
+
+    Key copy() {
+      return new Key(new Account(account.bank, account.number), new Period(period.year, period.month), sequence);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.equals.performance;
+
+import com.equals.DogTag;
+import com.equals.Interner;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Simulates reading a feed of quotes, in which most quotes are equal to an earlier one, with and without interning them. This
+ * reports the heap retained by the quotes, the time to read and intern them, and the time to compare pairs of quotes with equals()
+ * against comparing interned quotes by reference.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 10:00 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestInterner {
+  private static final int COUNT = 2_000_000;
+  private static final int DISTINCT = 10_000;
+  private static final int COMPARISONS = 50_000_000;
+
+  @Ignore
+  @Test
+  public void timeInterning() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    for (int round = 0; round < 3; ++round) {
+      final long baseline = usedHeap();
+      long start = System.currentTimeMillis();
+      final Quote[] raw = readFeed(null);
+      final long rawTime = System.currentTimeMillis() - start;
+      final long rawHeap = usedHeap() - baseline;
+
+      final Interner<Quote> interner = new Interner<>(Quote.factory);
+      final long internBaseline = usedHeap();
+      start = System.currentTimeMillis();
+      final Quote[] interned = readFeed(interner);
+      final long internTime = System.currentTimeMillis() - start;
+      final long internHeap = usedHeap() - internBaseline;
+      System.out.printf("%,d quotes, %,d distinct: raw %5d ms, %,12d bytes   interned %5d ms, %,12d bytes%n", COUNT,
+          interner.size(), rawTime, rawHeap, internTime, internHeap);
+
+      long sum = 0;
+      start = System.currentTimeMillis();
+      for (int i = 0; i < COMPARISONS; ++i) {
+        if (raw[i % COUNT].equals(raw[(i * 7) % COUNT])) {
+          sum++;
+        }
+      }
+      final long equalsTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      for (int i = 0; i < COMPARISONS; ++i) {
+        if (interned[i % COUNT] == interned[(i * 7) % COUNT]) {
+          sum--;
+        }
+      }
+      final long identityTime = System.currentTimeMillis() - start;
+      if (sum != 0) {
+        throw new AssertionError(sum);
+      }
+      System.out.printf("%,d comparisons: equals() %5d ms   == %5d ms%n", COMPARISONS, equalsTime, identityTime);
+    }
+  }
+
+  private static Quote[] readFeed(final Interner<Quote> interner) {
+    final Quote[] quotes = new Quote[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      final int k = (int) ((i * 2654435761L) % DISTINCT);
+      final Quote quote = new Quote(new String(("SYM" + k).toCharArray()), "exchange-" + (k % 7), k * 25L);
+      quotes[i] = (interner == null) ? quote : interner.intern(quote);
+    }
+    return quotes;
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static final class Quote {
+    private final String symbol;
+    private final String exchange;
+    private final long price;
+    private static final DogTag.Factory<Quote> factory = DogTag.startWithAll(Quote.class).build();
+    private final DogTag<Quote> dogTag = factory.tag(this);
+
+    Quote(final String symbol, final String exchange, final long price) {
+      this.symbol = symbol;
+      this.exchange = exchange;
+      this.price = price;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.equals.performance;
+
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Times equals() and hashCode() for a reflective factory of twelve fields, too many for the small plan handlers, so it runs on the
+ * plan interpreter. To compare it with the old loop over the field processors, run it against a build from before the interpreter
+ * was added.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:58 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestPlanInterpreter {
+  private static final int COUNT = 200_000;
+
+  @Ignore
+  @Test
+  public void timePlanInterpreter() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(83);
+    final Record[] records = new Record[COUNT];
+    final Record[] others = new Record[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      records[i] = Record.random(random);
+      others[i] = random.nextBoolean() ? records[i].copy() : Record.random(random);
+    }
+    for (int round = 0; round < 5; ++round) {
+      final long start = System.currentTimeMillis();
+      int total = 0;
+      for (int pass = 0; pass < 10; ++pass) {
+        for (int i = 0; i < COUNT; ++i) {
+          if (records[i].equals(others[i])) {
+            total++;
+          }
+          total += records[i].hashCode();
+        }
+      }
+      if (total == 42) {
+        System.out.println("Unlikely");
+      }
+      System.out.printf("equals and hashCode: %4d ms%n", System.currentTimeMillis() - start);
+    }
+  }
+
+  private static final class Record {
+    private final String account;
+    private final String branch;
+    private final long time;
+    private final long sequence;
+    private final int quantity;
+    private final int lot;
+    private final double price;
+    private final double fee;
+    private final boolean buy;
+    private final char venue;
+    private final short desk;
+    private final int[] legs;
+    private static final DogTag.Factory<Record> factory = DogTag.startWithAll(Record.class).build();
+    private final transient DogTag<Record> dogTag = factory.tag(this);
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    Record(final String account, final String branch, final long time, final long sequence, final int quantity, final int lot,
+        final double price, final double fee, final boolean buy, final char venue, final short desk, final int[] legs) {
+      this.account = account;
+      this.branch = branch;
+      this.time = time;
+      this.sequence = sequence;
+      this.quantity = quantity;
+      this.lot = lot;
+      this.price = price;
+      this.fee = fee;
+      this.buy = buy;
+      this.venue = venue;
+      this.desk = desk;
+      this.legs = legs;
+    }
+
+    static Record random(final Random random) {
+      return new Record("a" + random.nextInt(2), "b" + random.nextInt(2), random.nextInt(2), random.nextInt(2),
+          random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextBoolean(),
+          (char) ('a' + random.nextInt(2)), (short) random.nextInt(2), new int[] {random.nextInt(2), random.nextInt(2)});
+    }
+
+    Record copy() {
+      return new Record(account, branch, time, sequence, quantity, lot, price, fee, buy, venue, desk, legs.clone());
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.equals.performance;
+
+import java.lang.management.ManagementFactory;
+import com.equals.DogTag;
+import com.equals.DogTagHashSet;
+import com.equals.Probe;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares looking up a (customerId, sku, region) triple in a DogTagHashSet by constructing a throw-away key, with looking it up
+ * with a Probe. Along with the time, this reports the bytes allocated per lookup, using the HotSpot extension of ThreadMXBean.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 6:20 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestProbe {
+  private static final int KEY_COUNT = 100_000;
+  private static final int LOOKUPS = 10_000_000;
+  private static final String[] REGIONS = {"north", "south", "east", "west"};
+
+  @Ignore
+  @Test
+  public void timeLookups() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final DogTagHashSet<Order> set = new DogTagHashSet<>(Order.factory, KEY_COUNT);
+    final String[] skus = new String[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; ++i) {
+      skus[i] = "sku-" + i;
+      set.add(new Order(i * 31L, skus[i], REGIONS[i % REGIONS.length]));
+    }
+    final Probe<Order> probe = Order.factory.newProbe();
+    final int customerIndex = probe.indexOf("customerId");
+    final int skuIndex = probe.indexOf("sku");
+    final int regionIndex = probe.indexOf("region");
+
+    for (int round = 0; round < 4; ++round) {
+      long allocated = allocatedBytes();
+      long start = System.currentTimeMillis();
+      int found = 0;
+      for (int i = 0; i < LOOKUPS; ++i) {
+        final int k = i % KEY_COUNT;
+        if (set.contains(new Order(k * 31L, skus[k], REGIONS[k % REGIONS.length]))) {
+          found++;
+        }
+      }
+      final long keyTime = System.currentTimeMillis() - start;
+      final long keyBytes = allocatedBytes() - allocated;
+
+      allocated = allocatedBytes();
+      start = System.currentTimeMillis();
+      for (int i = 0; i < LOOKUPS; ++i) {
+        final int k = i % KEY_COUNT;
+        probe.setLong(customerIndex, k * 31L)
+            .setObject(skuIndex, skus[k])
+            .setObject(regionIndex, REGIONS[k % REGIONS.length]);
+        if (set.containsProbe(probe)) {
+          found++;
+        }
+      }
+      final long probeTime = System.currentTimeMillis() - start;
+      final long probeBytes = allocatedBytes() - allocated;
+      if (found != 2 * LOOKUPS) {
+        throw new AssertionError("Missing keys: " + found);
+      }
+      System.out.printf("%,d lookups: key %5d ms, %6.2f bytes/lookup   probe %5d ms, %6.2f bytes/lookup%n", LOOKUPS,
+          keyTime, ((double) keyBytes) / LOOKUPS, probeTime, ((double) probeBytes) / LOOKUPS);
+    }
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+  }
+
+  private static final class Order {
+    private final long customerId;
+    private final String sku;
+    private final String region;
+    private static final DogTag.Factory<Order> factory = DogTag.startWithAll(Order.class).build();
+    private final DogTag<Order> dogTag = factory.tag(this);
+
+    Order(final long customerId, final String sku, final String region) {
+      this.customerId = customerId;
+      this.sku = sku;
+      this.region = region;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.equals.performance;
+
+import com.equals.DogTag;
+import com.equals.DogTagSampledHash;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares hashing an instance with a very large array field in full against hashing a sample of it with the
+ * {@literal @}DogTagSampledHash annotation.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 2:30 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestSampledHash {
+  private static final int SIZE = 2_000_000;
+  private static final int HASHES = 500;
+
+  @Ignore
+  @Test
+  public void timeSampledHash() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final double[] prices = new double[SIZE];
+    for (int i = 0; i < SIZE; ++i) {
+      prices[i] = i * 0.01;
+    }
+    final Full full = new Full(prices);
+    final Sampled sampled = new Sampled(prices);
+    for (int round = 0; round < 5; ++round) {
+      long start = System.nanoTime();
+      int fullSum = 0;
+      for (int i = 0; i < HASHES; ++i) {
+        fullSum += full.hashCode();
+      }
+      final long fullTime = System.nanoTime() - start;
+      start = System.nanoTime();
+      int sampledSum = 0;
+      for (int i = 0; i < HASHES; ++i) {
+        sampledSum += sampled.hashCode();
+      }
+      final long sampledTime = System.nanoTime() - start;
+      System.out.printf("%d hashes of %d doubles: full %5d ms, sampled %5.2f ms   (%d, %d)%n", HASHES, SIZE, fullTime / 1_000_000L,
+          sampledTime / 1.0e6, fullSum, sampledSum);
+    }
+  }
+
+  private static final class Full {
+    private final double[] prices;
+    private static final DogTag.Factory<Full> factory = DogTag.startWithAll(Full.class).build();
+    private final DogTag<Full> dogTag = factory.tag(this);
+
+    Full(final double[] prices) {
+      this.prices = prices;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Sampled {
+    @DogTagSampledHash
+    private final double[] prices;
+    private static final DogTag.Factory<Sampled> factory = DogTag.startWithAll(Sampled.class).build();
+    private final DogTag<Sampled> dogTag = factory.tag(this);
+
+    Sampled(final double[] prices) {
+      this.prices = prices;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
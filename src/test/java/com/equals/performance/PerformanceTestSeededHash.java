@@ -0,0 +1,134 @@
+package com.equals.performance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the cost of the SeededHashBuilder with the default HashBuilder, first for plain hash code calculation, then for a HashMap
+ * filled with keys crafted to collide under the default formula.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:40 AM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestSeededHash {
+  private static final int HASH_ITERATIONS = 20_000_000;
+  private static final int[] KEY_COUNTS = {1_000, 4_000, 10_000};
+
+  @Ignore
+  @Test
+  public void timeHashOverhead() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final DefaultKey defaultKey = new DefaultKey(12345, 67890, "charlie");
+    final SeededKey seededKey = new SeededKey(12345, 67890, "charlie");
+    for (int i = 0; i < 4; ++i) {
+      final long defaultTime = timeHash(defaultKey);
+      final long seededTime = timeHash(seededKey);
+      System.out.printf("Hash x %,d: default %5d ms   seeded %5d ms   ratio %.3f%n", HASH_ITERATIONS, defaultTime, seededTime,
+          ((double) seededTime) / defaultTime);
+    }
+  }
+
+  @Ignore
+  @Test
+  public void timeAdversarialKeys() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    for (int i = 0; i < 2; ++i) {
+      for (final int count : KEY_COUNTS) {
+        // (31 * alpha) + bravo is always zero, so all default hashes collide.
+        final long defaultTime = timeMap(count, n -> new DefaultKey(n, -31 * n, "x"));
+        final long seededTime = timeMap(count, n -> new SeededKey(n, -31 * n, "x"));
+        System.out.printf("HashMap with %,6d crafted keys: default %6d ms   seeded %6d ms%n", count, defaultTime, seededTime);
+      }
+    }
+  }
+
+  private static long timeHash(final Object key) {
+    int sum = 0;
+    final long start = System.currentTimeMillis();
+    for (int i = 0; i < HASH_ITERATIONS; ++i) {
+      sum += key.hashCode();
+    }
+    final long end = System.currentTimeMillis();
+    if (sum == 42) {
+      System.out.println(); // Keep the JIT from eliminating the loop
+    }
+    return end - start;
+  }
+
+  private static long timeMap(final int count, final IntFunction<Object> keyMaker) {
+    final Object[] keys = new Object[count];
+    for (int i = 0; i < count; ++i) {
+      keys[i] = keyMaker.apply(i);
+    }
+    final long start = System.currentTimeMillis();
+    final Map<Object, Integer> map = new HashMap<>();
+    for (int i = 0; i < count; ++i) {
+      map.put(keys[i], i);
+    }
+    for (final Object key : keys) {
+      if (map.get(key) == null) {
+        throw new AssertionError("Missing key");
+      }
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private static final class DefaultKey {
+    private final int alpha;
+    private final int bravo;
+    private final String charlie;
+    private static final DogTag.Factory<DefaultKey> factory = DogTag.startWithAll(DefaultKey.class).build();
+    private final DogTag<DefaultKey> dogTag = factory.tag(this);
+
+    DefaultKey(final int alpha, final int bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class SeededKey {
+    private final int alpha;
+    private final int bravo;
+    private final String charlie;
+    private static final DogTag.Factory<SeededKey> factory = DogTag.startWithAll(SeededKey.class)
+        .withHashBuilder(1, DogTag.SeededHashBuilder.perJvm())
+        .build();
+    private final DogTag<SeededKey> dogTag = factory.tag(this);
+
+    SeededKey(final int alpha, final int bravo, final String charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.equals.performance;
+
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Times equals() and hashCode() for small classes, of two to six fields, with reflective and lambda factories, all running through
+ * the same factory code. Run it from target/classes, where lambda factories generate no classes, to time the small plan handlers
+ * without code generation. To compare them with the old loops, run it against a build from before they were added.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:10 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestSmallPlans {
+  private static final int COUNT = 200_000;
+
+  @Ignore
+  @Test
+  public void timeSmallPlans() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(73);
+    final Object[] values = new Object[COUNT];
+    final Object[] others = new Object[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      values[i] = randomValue(random, i % 3);
+      others[i] = random.nextBoolean() ? copy(values[i]) : randomValue(random, i % 3);
+    }
+    for (int round = 0; round < 5; ++round) {
+      final long start = System.currentTimeMillis();
+      int total = 0;
+      for (int pass = 0; pass < 10; ++pass) {
+        for (int i = 0; i < COUNT; ++i) {
+          if (values[i].equals(others[i])) {
+            total++;
+          }
+          total += values[i].hashCode();
+        }
+      }
+      if (total == 42) {
+        System.out.println("Unlikely");
+      }
+      System.out.printf("equals and hashCode: %4d ms%n", System.currentTimeMillis() - start);
+    }
+  }
+
+  private static Object randomValue(final Random random, final int kind) {
+    switch (kind) {
+      case 0:
+        return new Point(random.nextInt(2), random.nextInt(2));
+      case 1:
+        return new Span("s" + random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextBoolean());
+      default:
+        return new Order("o" + random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextInt(2), random.nextBoolean(),
+            (char) ('a' + random.nextInt(2)));
+    }
+  }
+
+  private static Object copy(final Object value) {
+    if (value instanceof Point) {
+      final Point point = (Point) value;
+      return new Point(point.x, point.y);
+    }
+    if (value instanceof Span) {
+      final Span span = (Span) value;
+      return new Span(span.name, span.start, span.end, span.open);
+    }
+    final Order order = (Order) value;
+    return new Order(order.account, order.time, order.quantity, order.price, order.buy, order.venue);
+  }
+
+  private static final class Point {
+    private final int x;
+    private final int y;
+    private static final DogTag.Factory<Point> factory = DogTag.startWithAll(Point.class).build();
+    private final transient DogTag<Point> dogTag = factory.tag(this);
+
+    Point(final int x, final int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Span {
+    private final String name;
+    private final long start;
+    private final long end;
+    private final boolean open;
+    private static final DogTag.Factory<Span> factory = DogTag.startWithAll(Span.class).build();
+    private final transient DogTag<Span> dogTag = factory.tag(this);
+
+    Span(final String name, final long start, final long end, final boolean open) {
+      this.name = name;
+      this.start = start;
+      this.end = end;
+      this.open = open;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+
+  private static final class Order {
+    private final String account;
+    private final long time;
+    private final int quantity;
+    private final double price;
+    private final boolean buy;
+    private final char venue;
+    private static final DogTag.Factory<Order> factory = DogTag.startEmpty(Order.class)
+        .addString(Order::getAccount)
+        .addSimple(Order::getTime)
+        .addSimple(Order::getQuantity)
+        .addSimple(Order::getPrice)
+        .addSimple(Order::isBuy)
+        .addSimple(Order::getVenue)
+        .build();
+    private final transient DogTag<Order> dogTag = factory.tag(this);
+
+    Order(final String account, final long time, final int quantity, final double price, final boolean buy, final char venue) {
+      this.account = account;
+      this.time = time;
+      this.quantity = quantity;
+      this.price = price;
+      this.buy = buy;
+      this.venue = venue;
+    }
+
+    String getAccount() {
+      return account;
+    }
+
+    long getTime() {
+      return time;
+    }
+
+    int getQuantity() {
+      return quantity;
+    }
+
+    double getPrice() {
+      return price;
+    }
+
+    boolean isBuy() {
+      return buy;
+    }
+
+    char getVenue() {
+      return venue;
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.equals.performance;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import com.equals.DogTag;
+import com.equals.DogTagInclude;
+import com.equals.DogTagSort;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares sorting a large array with DogTagSort, which radix-sorts prefix keys, against {@code Arrays.sort()} with the factory's
+ * comparator and with a {@code Comparator.comparing()} chain. The first key type's prefix holds all its values. The second's ends
+ * in a String, so ties are sorted with the comparator. Its names all start with the same four characters, which is the worst case,
+ * since the prefix holds nothing useful from them.
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 11:45 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestSort {
+  private static final int COUNT = 2_000_000;
+
+  @Ignore
+  @Test
+  public void timeSorts() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(11);
+    final Exact[] exact = new Exact[COUNT];
+    final Named[] named = new Named[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      exact[i] = new Exact(random.nextInt(1000), random.nextLong(), random.nextDouble());
+      named[i] = new Named(random.nextInt(100), "name" + random.nextInt(100_000), random.nextInt());
+    }
+    final Comparator<Exact> exactChain = Comparator.comparingInt(Exact::getAlpha)
+        .thenComparingLong(Exact::getBravo)
+        .thenComparingDouble(Exact::getCharlie);
+    final Comparator<Named> namedChain = Comparator.comparingInt(Named::getGroup)
+        .thenComparing(Named::getName)
+        .thenComparingInt(Named::getValue);
+    for (int round = 0; round < 3; ++round) {
+      System.out.printf("Round %d%n", round);
+      time("exact: comparator ", exact, (a) -> Arrays.sort(a, Exact.factory.comparator()));
+      time("exact: chain      ", exact, (a) -> Arrays.sort(a, exactChain));
+      time("exact: DogTagSort ", exact, (a) -> DogTagSort.sort(Exact.factory, a));
+      time("named: comparator ", named, (a) -> Arrays.sort(a, Named.factory.comparator()));
+      time("named: chain      ", named, (a) -> Arrays.sort(a, namedChain));
+      time("named: DogTagSort ", named, (a) -> DogTagSort.sort(Named.factory, a));
+    }
+  }
+
+  private interface Sorter<T> {
+    void sort(T[] array);
+  }
+
+  private static <T> void time(final String label, final T[] array, final Sorter<T> sorter) {
+    final T[] copy = array.clone();
+    final long start = System.currentTimeMillis();
+    sorter.sort(copy);
+    System.out.printf("  %s %5d ms%n", label, System.currentTimeMillis() - start);
+  }
+
+  private static final class Exact {
+    private final int alpha;
+    private final long bravo;
+    private final double charlie;
+    private static final DogTag.Factory<Exact> factory = DogTag.startWithAll(Exact.class).build();
+
+    Exact(final int alpha, final long bravo, final double charlie) {
+      this.alpha = alpha;
+      this.bravo = bravo;
+      this.charlie = charlie;
+    }
+
+    int getAlpha() {
+      return alpha;
+    }
+
+    long getBravo() {
+      return bravo;
+    }
+
+    double getCharlie() {
+      return charlie;
+    }
+  }
+
+  private static final class Named {
+    @DogTagInclude(order = 1)
+    private final int group;
+    @DogTagInclude(order = 2)
+    private final String name;
+    @DogTagInclude(order = 3)
+    private final int value;
+    private static final DogTag.Factory<Named> factory = DogTag.startWithAll(Named.class).build();
+
+    Named(final int group, final String name, final int value) {
+      this.group = group;
+      this.name = name;
+      this.value = value;
+    }
+
+    int getGroup() {
+      return group;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    int getValue() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.equals.performance;
+
+import java.util.Arrays;
+import java.util.Random;
+import com.equals.DogTag;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares equals() and hashCode() for int[][] and String[] fields, which DogTag specializes from their declared types, against
+ * Arrays.deepEquals() and Arrays.deepHashCode().
+ * <p>Created by IntelliJ IDEA.
+ * <p>Date: 10/19/26
+ * <p>Time: 3:15 PM
+ *
+ * @author Miguel Mu\u00f1oz
+ */
+@SuppressWarnings({"MagicNumber", "HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public class PerformanceTestTypedArrays {
+  private static final int COUNT = 2_000;
+  private static final int ITERATIONS = 500;
+
+  @Ignore
+  @Test
+  public void timeTypedArrays() {
+    System.out.printf("Java version %s%n", System.getProperty("java.version"));
+    final Random random = new Random(59);
+    final Table[] tables = new Table[COUNT];
+    final Table[] copies = new Table[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      final int[][] cells = new int[32][8];
+      for (final int[] row : cells) {
+        for (int j = 0; j < row.length; ++j) {
+          row[j] = random.nextInt();
+        }
+      }
+      final String[] headers = new String[32];
+      for (int j = 0; j < headers.length; ++j) {
+        headers[j] = "header" + random.nextInt(100);
+      }
+      tables[i] = new Table(cells, headers);
+      final int[][] cellsCopy = new int[cells.length][];
+      for (int j = 0; j < cells.length; ++j) {
+        cellsCopy[j] = cells[j].clone();
+      }
+      copies[i] = new Table(cellsCopy, headers.clone());
+    }
+    for (int round = 0; round < 5; ++round) {
+      long start = System.currentTimeMillis();
+      int deepCount = 0;
+      for (int k = 0; k < ITERATIONS; ++k) {
+        for (int i = 0; i < COUNT; ++i) {
+          deepCount += tables[i].deepEquals(copies[i]) ? 1 : 0;
+          deepCount += tables[i].deepHashCode();
+        }
+      }
+      final long deepTime = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      int dogTagCount = 0;
+      for (int k = 0; k < ITERATIONS; ++k) {
+        for (int i = 0; i < COUNT; ++i) {
+          dogTagCount += tables[i].equals(copies[i]) ? 1 : 0;
+          dogTagCount += tables[i].hashCode();
+        }
+      }
+      final long dogTagTime = System.currentTimeMillis() - start;
+      if (deepCount != dogTagCount) {
+        throw new AssertionError("Results differ");
+      }
+      System.out.printf("deepEquals() and deepHashCode(): %4d ms, DogTag: %4d ms%n", deepTime, dogTagTime);
+    }
+  }
+
+  private static final class Table {
+    private final int[][] cells;
+    private final String[] headers;
+    private static final DogTag.Factory<Table> factory = DogTag.startWithAll(Table.class).build();
+    private final DogTag<Table> dogTag = factory.tag(this);
+
+    Table(final int[][] cells, final String[] headers) {
+      this.cells = cells;
+      this.headers = headers;
+    }
+
+    boolean deepEquals(final Table other) {
+      return Arrays.deepEquals(cells, other.cells) && Arrays.deepEquals(headers, other.headers);
+    }
+
+    int deepHashCode() {
+      return (31 * ((31 * 1) + Arrays.deepHashCode(cells))) + Arrays.deepHashCode(headers);
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object obj) {
+      return dogTag.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return dogTag.hashCode();
+    }
+  }
+}